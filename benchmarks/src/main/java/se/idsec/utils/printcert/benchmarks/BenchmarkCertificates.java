@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.benchmarks;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.X500NameBuilder;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CertificatePolicies;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.asn1.x509.PolicyInformation;
+import org.bouncycastle.asn1.x509.qualified.ETSIQCObjectIdentifiers;
+import org.bouncycastle.asn1.x509.qualified.QCStatement;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+
+/**
+ * Generates the certificates used by the benchmarks.
+ *
+ * @author stefan
+ */
+public final class BenchmarkCertificates {
+
+  /** Number of subject alternative names in the large SAN certificate */
+  public static final int LARGE_SAN_COUNT = 500;
+
+  /**
+   * Certificate types used as benchmark parameter.
+   */
+  public enum CertType {
+    /** RSA 2048 end entity certificate */
+    rsa,
+    /** EC P-256 end entity certificate */
+    ec,
+    /** EC P-256 certificate with ETSI QC statements and certificate policies */
+    qc,
+    /** RSA 2048 certificate with a large subject alternative name extension */
+    largeSan
+  }
+
+  private BenchmarkCertificates() {
+  }
+
+  /**
+   * Registers the Bouncy Castle provider used by the eager {@code PrintCertificate} constructors.
+   */
+  public static void registerProvider() {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+  }
+
+  /**
+   * Generates a DER encoded certificate of the given type.
+   *
+   * @param certType certificate type
+   * @return DER encoded certificate
+   * @throws Exception error generating the certificate
+   */
+  public static byte[] generate(CertType certType) throws Exception {
+    registerProvider();
+    boolean ec = certType == CertType.ec || certType == CertType.qc;
+    KeyPair issuerKeyPair = generateKeyPair(ec);
+    KeyPair subjectKeyPair = generateKeyPair(ec);
+
+    X500Name issuer = new X500NameBuilder(BCStyle.INSTANCE)
+      .addRDN(BCStyle.C, "SE")
+      .addRDN(BCStyle.O, "IDsec Solutions AB")
+      .addRDN(BCStyle.CN, "Benchmark Issuing CA")
+      .build();
+    X500Name subject = new X500NameBuilder(BCStyle.INSTANCE)
+      .addRDN(BCStyle.C, "SE")
+      .addRDN(BCStyle.O, "IDsec Solutions AB")
+      .addRDN(BCStyle.SERIALNUMBER, "196505283265")
+      .addRDN(BCStyle.GIVENNAME, "Benchmark")
+      .addRDN(BCStyle.SURNAME, "User")
+      .addRDN(BCStyle.CN, "Benchmark User")
+      .build();
+
+    long now = System.currentTimeMillis();
+    X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(issuer,
+      new BigInteger(128, new SecureRandom()), new Date(now - 86400000L),
+      new Date(now + 365L * 86400000L), subject, subjectKeyPair.getPublic());
+
+    JcaX509ExtensionUtils extensionUtils = new JcaX509ExtensionUtils();
+    builder.addExtension(Extension.basicConstraints, true, new BasicConstraints(false));
+    builder.addExtension(Extension.keyUsage, true,
+      new KeyUsage(KeyUsage.digitalSignature | KeyUsage.nonRepudiation));
+    builder.addExtension(Extension.extendedKeyUsage, false, new ExtendedKeyUsage(
+      new KeyPurposeId[] { KeyPurposeId.id_kp_clientAuth, KeyPurposeId.id_kp_emailProtection }));
+    builder.addExtension(Extension.subjectKeyIdentifier, false,
+      extensionUtils.createSubjectKeyIdentifier(subjectKeyPair.getPublic()));
+    builder.addExtension(Extension.authorityKeyIdentifier, false,
+      extensionUtils.createAuthorityKeyIdentifier(issuerKeyPair.getPublic()));
+
+    if (certType == CertType.qc) {
+      ASN1EncodableVector qcStatements = new ASN1EncodableVector();
+      qcStatements.add(new QCStatement(ETSIQCObjectIdentifiers.id_etsi_qcs_QcCompliance));
+      qcStatements.add(new QCStatement(ETSIQCObjectIdentifiers.id_etsi_qcs_QcSSCD));
+      qcStatements.add(new QCStatement(ETSIQCObjectIdentifiers.id_etsi_qcs_QcType,
+        new DERSequence(ETSIQCObjectIdentifiers.id_etsi_qct_esign)));
+      builder.addExtension(Extension.qCStatements, false, new DERSequence(qcStatements));
+      builder.addExtension(Extension.certificatePolicies, false, new CertificatePolicies(
+        new PolicyInformation(new ASN1ObjectIdentifier("0.4.0.194112.1.2"))));
+    }
+
+    if (certType == CertType.largeSan) {
+      List<GeneralName> names = new ArrayList<>();
+      for (int i = 0; i < LARGE_SAN_COUNT; i++) {
+        names.add(i % 5 == 0
+          ? new GeneralName(GeneralName.rfc822Name, "user" + i + "@example.com")
+          : new GeneralName(GeneralName.dNSName, "host" + i + ".service.example.com"));
+      }
+      builder.addExtension(Extension.subjectAlternativeName, false,
+        new GeneralNames(names.toArray(new GeneralName[0])));
+    }
+    else {
+      builder.addExtension(Extension.subjectAlternativeName, false,
+        new GeneralNames(new GeneralName(GeneralName.rfc822Name, "user@example.com")));
+    }
+
+    String signatureAlgorithm = ec ? "SHA256withECDSA" : "SHA256withRSA";
+    return builder.build(new JcaContentSignerBuilder(signatureAlgorithm).setProvider("BC")
+      .build(issuerKeyPair.getPrivate())).getEncoded();
+  }
+
+  private static KeyPair generateKeyPair(boolean ec) throws Exception {
+    if (ec) {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance("EC", "BC");
+      generator.initialize(new ECGenParameterSpec("secp256r1"));
+      return generator.generateKeyPair();
+    }
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA", "BC");
+    generator.initialize(2048);
+    return generator.generateKeyPair();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.idsec.utils.printcert.utils.Base64Coder;
+import se.idsec.utils.printcert.utils.PEM;
+
+/**
+ * Benchmarks of PEM and Base64 encoding and decoding.
+ *
+ * @author stefan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodeBenchmark {
+
+  @Param({ "rsa", "ec", "qc", "largeSan" })
+  public BenchmarkCertificates.CertType certType;
+
+  private byte[] certBytes;
+  private String pem;
+  private String base64Lines;
+  private char[] base64;
+
+  @Setup
+  public void setup() throws Exception {
+    certBytes = BenchmarkCertificates.generate(certType);
+    pem = PEM.getPemCert(certBytes, "\n");
+    base64Lines = Base64Coder.encodeLines(certBytes);
+    base64 = Base64Coder.encode(certBytes);
+  }
+
+  @Benchmark
+  public String getPemCert() {
+    return PEM.getPemCert(certBytes);
+  }
+
+  @Benchmark
+  public String trimPemCert() {
+    return PEM.trimPemCert(pem);
+  }
+
+  @Benchmark
+  public List<byte[]> decodePemCerts() {
+    return PEM.decodePemCerts(pem);
+  }
+
+  @Benchmark
+  public char[] base64Encode() {
+    return Base64Coder.encode(certBytes);
+  }
+
+  @Benchmark
+  public String base64EncodeLines() {
+    return Base64Coder.encodeLines(certBytes);
+  }
+
+  @Benchmark
+  public byte[] base64Decode() {
+    return Base64Coder.decode(base64);
+  }
+
+  @Benchmark
+  public byte[] base64DecodeLines() {
+    return Base64Coder.decodeLines(base64Lines);
+  }
+}
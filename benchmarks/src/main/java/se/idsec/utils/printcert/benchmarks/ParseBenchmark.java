@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+import se.idsec.utils.printcert.data.SubjectAttributeInfo;
+import se.idsec.utils.printcert.utils.CertUtils;
+
+/**
+ * Benchmarks of certificate parsing.
+ *
+ * @author stefan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+  @Param({ "rsa", "ec", "qc", "largeSan" })
+  public BenchmarkCertificates.CertType certType;
+
+  private byte[] certBytes;
+  private X509Certificate x509Certificate;
+  private X509CertificateHolder certificateHolder;
+
+  @Setup
+  public void setup() throws Exception {
+    certBytes = BenchmarkCertificates.generate(certType);
+    x509Certificate = (X509Certificate) CertificateFactory.getInstance("X.509", "BC")
+      .generateCertificate(new ByteArrayInputStream(certBytes));
+    certificateHolder = new X509CertificateHolder(certBytes);
+  }
+
+  @Benchmark
+  public PrintCertificate constructFromBytes() throws Exception {
+    return new PrintCertificate(certBytes);
+  }
+
+  @Benchmark
+  public PrintCertificate constructFromX509Certificate() throws Exception {
+    return new PrintCertificate(x509Certificate);
+  }
+
+  @Benchmark
+  public PrintCertificate constructFromHolder() throws Exception {
+    return new PrintCertificate(certificateHolder);
+  }
+
+  @Benchmark
+  public PrintCertificate lazyInstance() throws Exception {
+    return PrintCertificate.getLazyInstance(certBytes);
+  }
+
+  @Benchmark
+  public List<ExtensionInfo> getExtensions() {
+    return CertUtils.getExtensions(certBytes);
+  }
+
+  @Benchmark
+  public List<SubjectAttributeInfo> getAttributeInfoList() {
+    return CertUtils.getAttributeInfoList(x509Certificate.getSubjectX500Principal());
+  }
+}
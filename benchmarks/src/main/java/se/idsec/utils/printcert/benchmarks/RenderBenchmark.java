@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.display.DisplayCert;
+import se.idsec.utils.printcert.display.ExtensionRenderers;
+
+/**
+ * Benchmarks of text and html rendering across the render option combinations. Rendering goes directly through
+ * {@link DisplayCert}, so no complete render results are memoized between invocations. Rendered extensions are reused
+ * from the {@link ExtensionRenderers} cache when {@code warmExtensionCache} is true, and rendered from scratch
+ * otherwise, where the cache is cleared before each invocation.
+ *
+ * @author stefan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+
+  @Param({ "rsa", "ec", "qc", "largeSan" })
+  public BenchmarkCertificates.CertType certType;
+
+  @Param({ "false", "true" })
+  public boolean verbose;
+
+  @Param({ "false", "true" })
+  public boolean decode;
+
+  @Param({ "false", "true" })
+  public boolean monospace;
+
+  @Param({ "false", "true" })
+  public boolean warmExtensionCache;
+
+  private PrintCertificate cert;
+
+  @Setup
+  public void setup() throws Exception {
+    cert = new PrintCertificate(BenchmarkCertificates.generate(certType));
+  }
+
+  @Setup(Level.Invocation)
+  public void clearExtensionCache() {
+    if (!warmExtensionCache) {
+      ExtensionRenderers.clearCache();
+    }
+  }
+
+  @Benchmark
+  public String text() {
+    return DisplayCert.certToDisplayString(cert, monospace, verbose, decode);
+  }
+
+  /**
+   * Html output does not depend on the monospace option, so this benchmark is only meaningful with monospace false.
+   *
+   * @return html
+   */
+  @Benchmark
+  public String html() {
+    return DisplayCert.certToHtmlString(cert, "X.509 Certificate", verbose, decode);
+  }
+}
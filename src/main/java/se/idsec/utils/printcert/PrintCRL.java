@@ -0,0 +1,194 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert;
+
+import se.idsec.utils.printcert.display.DisplayCRL;
+import se.idsec.utils.printcert.display.RenderOptions;
+import se.idsec.utils.printcert.utils.ByteBufferInputStream;
+import se.idsec.utils.printcert.utils.MappedFileInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+/**
+ * Printable DER encoded CRL.
+ *
+ * <p>
+ * Unlike {@link PrintCertificate}, a PrintCRL does not parse the CRL into memory. The CRL is parsed from its encoding
+ * each time it is rendered, one revoked certificate entry at a time, so that CRLs with millions of entries can be
+ * rendered with constant memory. A CRL read from a file is read through memory-mapped windows rather than loaded onto
+ * the heap, so CRL files are not limited by the 2 GB size of a single mapping. Large CRLs are preferably written to a
+ * {@link java.io.Writer} by {@link #write(RenderOptions, Appendable)} or rendered in pages by
+ * {@link #render(RenderOptions, long, long)}. {@link #toString()} only renders the first
+ * {@link #TO_STRING_ENTRY_LIMIT} entries.
+ * </p>
+ */
+public class PrintCRL {
+
+  /** The maximum number of revoked certificate entries rendered by {@link #toString()} */
+  public static final int TO_STRING_ENTRY_LIMIT = 100;
+
+  private final ByteBuffer encoded;
+  private final Path file;
+
+  /**
+   * Creates a printable CRL from its DER encoding.
+   *
+   * @param encoded DER encoded CRL
+   */
+  public PrintCRL(byte[] encoded) {
+    this(ByteBuffer.wrap(encoded));
+  }
+
+  /**
+   * Creates a printable CRL from a buffer holding its DER encoding between the buffer position and limit. The buffer
+   * content is not copied.
+   *
+   * @param encoded buffer holding a DER encoded CRL
+   */
+  public PrintCRL(ByteBuffer encoded) {
+    this.encoded = encoded.slice().asReadOnlyBuffer();
+    this.file = null;
+  }
+
+  /**
+   * Creates a printable CRL from a file holding a DER encoded CRL. The file is read through memory-mapped windows each
+   * time the CRL is rendered.
+   *
+   * @param file file holding a DER encoded CRL
+   * @throws IOException if the file can not be read
+   */
+  public PrintCRL(Path file) throws IOException {
+    if (!Files.isReadable(file)) {
+      throw new IOException("Unable to read CRL file " + file);
+    }
+    this.encoded = null;
+    this.file = file;
+  }
+
+  /**
+   * Writes a DER encoded CRL read from a stream according to the provided render options, without retaining the CRL.
+   *
+   * @param in stream holding a DER encoded CRL
+   * @param options render options
+   * @param out the destination of the rendered CRL
+   * @throws IOException on errors reading the CRL or writing to the destination
+   */
+  public static void write(InputStream in, RenderOptions options, Appendable out) throws IOException {
+    DisplayCRL.write(in, options, out);
+  }
+
+  /**
+   * Renders this CRL with all entries according to the provided options.
+   *
+   * @param options render options
+   * @return rendered CRL
+   */
+  public String render(RenderOptions options) {
+    return render(options, 0, Long.MAX_VALUE);
+  }
+
+  /**
+   * Renders this CRL with a page of entries according to the provided options.
+   *
+   * @param options render options
+   * @param offset the number of revoked certificate entries to skip
+   * @param limit the maximum number of revoked certificate entries to render
+   * @return rendered CRL
+   */
+  public String render(RenderOptions options, long offset, long limit) {
+    StringBuilder b = new StringBuilder();
+    try {
+      write(options, offset, limit, b);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return b.toString();
+  }
+
+  /**
+   * Writes this CRL with all entries according to the provided options.
+   *
+   * @param options render options
+   * @param out the destination of the rendered CRL
+   * @throws IOException on errors writing to the destination
+   */
+  public void write(RenderOptions options, Appendable out) throws IOException {
+    write(options, 0, Long.MAX_VALUE, out);
+  }
+
+  /**
+   * Writes this CRL with a page of entries according to the provided options.
+   *
+   * @param options render options
+   * @param offset the number of revoked certificate entries to skip
+   * @param limit the maximum number of revoked certificate entries to render
+   * @param out the destination of the rendered CRL
+   * @throws IOException on errors writing to the destination
+   */
+  public void write(RenderOptions options, long offset, long limit, Appendable out) throws IOException {
+    if (file == null) {
+      DisplayCRL.write(new ByteBufferInputStream(encoded), options, offset, limit, out);
+      return;
+    }
+    try (InputStream in = new MappedFileInputStream(file)) {
+      DisplayCRL.write(in, options, offset, limit, out);
+    }
+  }
+
+  /**
+   * Get the DER encoding of this CRL. A CRL file is memory-mapped as a single buffer.
+   *
+   * @return read-only buffer holding the DER encoded CRL
+   * @throws IOException on errors mapping the CRL file, or if the CRL file is larger than 2 GB
+   */
+  public ByteBuffer getEncoded() throws IOException {
+    if (file == null) {
+      return encoded.duplicate();
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("CRL file " + file + " is too large to be held in a single buffer");
+      }
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asReadOnlyBuffer();
+    }
+  }
+
+  /**
+   * Renders the CRL header, the first {@link #TO_STRING_ENTRY_LIMIT} revoked certificate entries, the total number of
+   * entries, the CRL extensions and the signature as text.
+   *
+   * @return text print of this CRL
+   */
+  @Override
+  public String toString() {
+    try {
+      return render(RenderOptions.DEFAULT_TEXT, 0, TO_STRING_ENTRY_LIMIT);
+    }
+    catch (Exception ex) {
+      Logger.getLogger(PrintCRL.class.getName()).warning("Failed to print CRL info: " + ex.getMessage());
+      return file == null ? "X.509 CRL of " + encoded.remaining() + " bytes" : "X.509 CRL file " + file;
+    }
+  }
+}
@@ -15,30 +15,41 @@
  */
 package se.idsec.utils.printcert;
 
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.Certificate;
 import org.bouncycastle.asn1.x509.Extension;
 import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
 import org.bouncycastle.cert.X509CertificateHolder;
 import se.idsec.utils.printcert.display.CertTableClasses;
 import se.idsec.utils.printcert.display.DisplayCert;
+import se.idsec.utils.printcert.display.JsonCertWriter;
+import se.idsec.utils.printcert.display.RenderOptions;
+import se.idsec.utils.printcert.enums.FingerprintType;
 import se.idsec.utils.printcert.extension.ExtensionInfo;
 import se.idsec.utils.printcert.utils.CertUtils;
+import se.idsec.utils.printcert.utils.DerCertificateView;
+import se.idsec.utils.printcert.utils.OidRegistry;
 import se.idsec.utils.printcert.utils.PEM;
 
 import javax.security.auth.x500.X500Principal;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
+import java.security.MessageDigest;
 import java.security.NoSuchProviderException;
 import java.security.PublicKey;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
-import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,16 +57,30 @@ import java.util.logging.Logger;
  * This extension of the Bouncy castle X509CertificateHolder adds extended printing capabilities for outputting the
  * certificate content to text or html
  *
+ * <p>
+ * Instances created by the public constructors parse all certificate data on construction. Instances created by
+ * {@code getLazyInstance(...)} parse the DER encoding once and create the remaining data on first access.
+ * </p>
+ *
  * @author Stefan Santeson
  */
 public class PrintCertificate extends X509CertificateHolder {
 
   private static final long serialVersionUID = 3088571489307085589L;
+  private static final int FINGERPRINT_CHUNK_SIZE = 4096;
+
+  transient volatile Map<String, ExtensionInfo> extensionsMap;
+  transient volatile List<ExtensionInfo> extensionInfoList;
+  transient volatile X509Certificate cert;
+  transient volatile String certStringRepr;
+  transient volatile DerCertificateView derView;
+  transient volatile byte[][] fingerprints;
+  transient volatile ConcurrentMap<RenderOptions, String> renderResults;
+  transient volatile long renderResultsVersion;
+  private final boolean lazy;
 
-  Map<String, ExtensionInfo> extensionsMap;
-  List<ExtensionInfo> extensionInfoList;
-  X509Certificate cert;
-  String certStringRepr;
+  /** The maximum number of render results memoized per instance */
+  public static final int MAX_MEMOIZED_RENDER_RESULTS = 8;
 
   /**
    * Constructor
@@ -67,6 +92,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public PrintCertificate(X509Certificate cert) throws CertificateEncodingException, CertificateException, IOException {
     super(cert.getEncoded());
+    this.lazy = false;
     initValues();
   }
 
@@ -79,6 +105,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public PrintCertificate(byte[] bytes) throws CertificateException, IOException {
     super(bytes);
+    this.lazy = false;
     initValues();
   }
 
@@ -90,76 +117,147 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public PrintCertificate(X509CertificateHolder x509CertificateHolder) throws IOException {
     super(x509CertificateHolder.getEncoded());
+    this.lazy = false;
     initValues();
   }
 
-  private final void initValues() {
-    certStringRepr = toOriginalString();
-    this.extensionsMap = new HashMap<>();
-    try {
-      this.cert = toX509Certificate();
-      extensionInfoList = CertUtils.getExtensions(this);
-      if (extensionInfoList != null && !extensionInfoList.isEmpty()) {
-        for (ExtensionInfo ext : extensionInfoList) {
-          extensionsMap.put(ext.getOid().getId(), ext);
-        }
-      }
+  private PrintCertificate(Certificate certificate) {
+    super(certificate);
+    this.lazy = true;
+  }
 
-    }
-    catch (IOException | CertificateException | NoSuchProviderException ex) {
-      //Logger.getLogger(AaaCertificate.class.getName()).log(Level.SEVERE, null, ex);
-      Logger.getLogger(PrintCertificate.class.getName()).warning("Certificate parsing error: " + ex.getMessage());
-      throw new IllegalArgumentException("Illegal certificate content: " + ex.getMessage());
-    }
+  /**
+   * Creates a lazy instance from certificate bytes. The DER encoding is parsed once, while the JCA
+   * {@link X509Certificate}, the extension list and map and the original text representation are created when first
+   * requested. Content errors detected by the JCA parser are reported as {@link IllegalArgumentException} on first
+   * access rather than on construction.
+   *
+   * @param bytes certificate bytes
+   * @return lazy print certificate
+   * @throws IOException exception parsing certificate
+   */
+  public static PrintCertificate getLazyInstance(byte[] bytes) throws IOException {
+    return new PrintCertificate(new X509CertificateHolder(bytes).toASN1Structure());
+  }
+
+  /**
+   * Creates a lazy instance sharing the parsed certificate structure of an {@link X509CertificateHolder}.
+   *
+   * @param x509CertificateHolder {@link X509CertificateHolder}
+   * @return lazy print certificate
+   */
+  public static PrintCertificate getLazyInstance(X509CertificateHolder x509CertificateHolder) {
+    return new PrintCertificate(x509CertificateHolder.toASN1Structure());
+  }
+
+  /**
+   * Creates a lazy instance from an {@link X509Certificate}. The provided certificate object is returned by
+   * {@link #getCert()} instead of being parsed again.
+   *
+   * @param cert {@link X509Certificate}
+   * @return lazy print certificate
+   * @throws CertificateEncodingException exception encoding certificate
+   */
+  public static PrintCertificate getLazyInstance(X509Certificate cert) throws CertificateEncodingException {
+    PrintCertificate printCertificate = new PrintCertificate(Certificate.getInstance(cert.getEncoded()));
+    printCertificate.cert = cert;
+    return printCertificate;
+  }
+
+  private void initValues() {
+    getCert();
+    getExtensionInfoList();
+    toOriginalString();
+  }
+
+  /**
+   * Tells whether this instance creates its certificate data on first access.
+   *
+   * @return true if this is a lazy instance
+   */
+  public boolean isLazy() {
+    return lazy;
   }
 
   public ExtensionInfo getExtensionInfo(String oid) {
-    if (extensionsMap.containsKey(oid)) {
-      return extensionsMap.get(oid);
-    }
-    return null;
+    return getExtensionsMap().get(oid);
   }
 
   public Map<String, ExtensionInfo> getExtensionsMap() {
-    return extensionsMap;
+    Map<String, ExtensionInfo> result = extensionsMap;
+    if (result == null) {
+      synchronized (this) {
+        result = extensionsMap;
+        if (result == null) {
+          result = new HashMap<>();
+          for (ExtensionInfo ext : getExtensionInfoList()) {
+            result.put(ext.getOid().getId(), ext);
+          }
+          extensionsMap = result;
+        }
+      }
+    }
+    return result;
   }
 
+  /**
+   * Get the extensions of this certificate. The extension data of lazy instances is backed by slices of the certificate
+   * encoding held by the {@link #getDerView() DER view}, while other instances hold copies of the extension values.
+   *
+   * @return list of extension information in extension order
+   */
   public List<ExtensionInfo> getExtensionInfoList() {
-    return extensionInfoList;
+    List<ExtensionInfo> result = extensionInfoList;
+    if (result == null) {
+      synchronized (this) {
+        result = extensionInfoList;
+        if (result == null) {
+          extensionInfoList = result = lazy
+            ? CertUtils.getExtensions(getDerView())
+            : CertUtils.getExtensions(getExtensions());
+        }
+      }
+    }
+    return result;
   }
 
   public X509Certificate getCert() {
-    return cert;
+    X509Certificate result = cert;
+    if (result == null) {
+      synchronized (this) {
+        result = cert;
+        if (result == null) {
+          try {
+            cert = result = toX509Certificate();
+          }
+          catch (IOException | CertificateException | NoSuchProviderException ex) {
+            Logger.getLogger(PrintCertificate.class.getName()).warning("Certificate parsing error: " + ex.getMessage());
+            throw new IllegalArgumentException("Illegal certificate content: " + ex.getMessage());
+          }
+        }
+      }
+    }
+    return result;
   }
 
   public PublicKey getPublicKey() {
-    return cert.getPublicKey();
+    return getCert().getPublicKey();
   }
 
   public int getBasicConstraints() {
-    return cert.getBasicConstraints();
+    return getCert().getBasicConstraints();
   }
 
   public X500Principal getIssuerX500Principal() {
-    return cert.getIssuerX500Principal();
+    return getCert().getIssuerX500Principal();
   }
 
   public X500Principal getSubjectX500Principal() {
-    return cert.getSubjectX500Principal();
+    return getCert().getSubjectX500Principal();
   }
 
   public byte[] getExtensionValue(String oid) {
-    return cert.getExtensionValue(oid);
-  }
-
-  @Override
-  public Date getNotAfter() {
-    return cert.getNotAfter();
-  }
-
-  @Override
-  public Date getNotBefore() {
-    return cert.getNotBefore();
+    return getCert().getExtensionValue(oid);
   }
 
   @Override
@@ -173,24 +271,188 @@ public class PrintCertificate extends X509CertificateHolder {
     return null;
   }
 
-  @Override
-  public BigInteger getSerialNumber() {
-    return cert.getSerialNumber();
+  /**
+   * Get a read-only DER view of this certificate. The view is created on first access and gives offset based access to
+   * the certificate fields and extensions as slices of a single buffer holding the certificate encoding.
+   *
+   * @return DER certificate view
+   */
+  public DerCertificateView getDerView() {
+    DerCertificateView result = derView;
+    if (result == null) {
+      // The view is immutable, so concurrent first calls may create separate equal views without harm
+      derView = result = new DerCertificateView(getEncoded());
+    }
+    return result;
+  }
+
+  /**
+   * Get a fingerprint of this certificate. Computed fingerprints are cached on this instance.
+   *
+   * @param type fingerprint type
+   * @return fingerprint value
+   */
+  public byte[] getFingerprint(FingerprintType type) {
+    return getFingerprints(EnumSet.of(type)).get(type);
+  }
+
+  /**
+   * Get a set of fingerprints of this certificate. Fingerprints not already cached on this instance are computed in a
+   * single pass over the certificate encoding, where fingerprints over the subject public key info are computed over
+   * the corresponding part of the certificate encoding.
+   *
+   * @param types fingerprint types
+   * @return fingerprint values in fingerprint type order
+   */
+  public Map<FingerprintType, byte[]> getFingerprints(Set<FingerprintType> types) {
+    byte[][] cached = fingerprints;
+    boolean complete = cached != null;
+    for (FingerprintType type : types) {
+      complete = complete && cached[type.ordinal()] != null;
+    }
+    if (!complete) {
+      synchronized (this) {
+        cached = fingerprints == null ? new byte[FingerprintType.values().length][] : fingerprints.clone();
+        computeFingerprints(types, cached);
+        fingerprints = cached;
+      }
+    }
+    Map<FingerprintType, byte[]> result = new EnumMap<>(FingerprintType.class);
+    for (FingerprintType type : types) {
+      result.put(type, cached[type.ordinal()].clone());
+    }
+    return result;
+  }
+
+  private void computeFingerprints(Set<FingerprintType> types, byte[][] values) {
+    MessageDigest[] digests = new MessageDigest[values.length];
+    boolean publicKeyInfo = false;
+    for (FingerprintType type : types) {
+      if (values[type.ordinal()] == null) {
+        digests[type.ordinal()] = type.getMessageDigest();
+        publicKeyInfo |= type.isPublicKeyInfo();
+      }
+    }
+    byte[] encoded = getEncoded();
+    int spkiStart = 0;
+    int spkiEnd = 0;
+    if (publicKeyInfo) {
+      // An existing view is reused, but a view is not retained only to locate the subject public key info
+      DerCertificateView view = derView;
+      if (view == null) {
+        view = new DerCertificateView(encoded);
+      }
+      spkiStart = view.getOffset(DerCertificateView.Field.subjectPublicKeyInfo);
+      spkiEnd = spkiStart + view.getLength(DerCertificateView.Field.subjectPublicKeyInfo);
+    }
+    FingerprintType[] fingerprintTypes = FingerprintType.values();
+    for (int offset = 0; offset < encoded.length; offset += FINGERPRINT_CHUNK_SIZE) {
+      int end = Math.min(offset + FINGERPRINT_CHUNK_SIZE, encoded.length);
+      int spkiChunkStart = Math.max(offset, spkiStart);
+      int spkiChunkEnd = Math.min(end, spkiEnd);
+      for (int i = 0; i < digests.length; i++) {
+        if (digests[i] == null) {
+          continue;
+        }
+        if (!fingerprintTypes[i].isPublicKeyInfo()) {
+          digests[i].update(encoded, offset, end - offset);
+        }
+        else if (spkiChunkStart < spkiChunkEnd) {
+          digests[i].update(encoded, spkiChunkStart, spkiChunkEnd - spkiChunkStart);
+        }
+      }
+    }
+    for (int i = 0; i < digests.length; i++) {
+      if (digests[i] != null) {
+        values[i] = digests[i].digest();
+      }
+    }
   }
 
   public byte[] getSubjectKeyInfo() {
     ExtensionInfo extension = getExtensionInfo(Extension.subjectKeyIdentifier.getId());
-    if (extension == null) {
+    if (extension == null || extension.getExtDataASN1() == null) {
       return null;
     }
     SubjectKeyIdentifier skiData = SubjectKeyIdentifier.getInstance(extension.getExtDataASN1());
     return skiData.getKeyIdentifier();
   }
 
+  /**
+   * Get the key identifier of the authority key identifier extension.
+   *
+   * @return key identifier or null if the extension or its key identifier is absent
+   */
+  public byte[] getAuthorityKeyInfo() {
+    ExtensionInfo extension = getExtensionInfo(Extension.authorityKeyIdentifier.getId());
+    if (extension == null || extension.getExtDataASN1() == null) {
+      return null;
+    }
+    AuthorityKeyIdentifier akiData = AuthorityKeyIdentifier.getInstance(extension.getExtDataASN1());
+    return akiData.getKeyIdentifierOctets();
+  }
+
+  /**
+   * Enables or disables memoization of render results on this instance. When enabled, the text and html output is
+   * kept per distinct set of render options, up to {@link #MAX_MEMOIZED_RENDER_RESULTS} results. Output for further
+   * option combinations is generated on each request. Disabling memoization discards all memoized results.
+   *
+   * @param memoize true to memoize render results
+   */
+  public void setMemoizeRenderResults(boolean memoize) {
+    renderResultsVersion = OidRegistry.getVersion();
+    renderResults = memoize ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * Tells whether render results are memoized on this instance.
+   *
+   * @return true if render results are memoized
+   */
+  public boolean isMemoizeRenderResults() {
+    return renderResults != null;
+  }
+
+  /**
+   * Renders this certificate according to the provided options. If memoization is enabled, concurrent first requests
+   * for the same options render the certificate only once. Memoized results are discarded when a display name is
+   * registered with the {@link OidRegistry}.
+   *
+   * @param options render options
+   * @return rendered certificate
+   */
+  public String render(RenderOptions options) {
+    ConcurrentMap<RenderOptions, String> results = getRenderResults();
+    if (results == null) {
+      return DisplayCert.render(this, options);
+    }
+    String result = results.get(options);
+    if (result != null) {
+      return result;
+    }
+    if (results.size() >= MAX_MEMOIZED_RENDER_RESULTS) {
+      return DisplayCert.render(this, options);
+    }
+    return results.computeIfAbsent(options, renderOptions -> DisplayCert.render(this, renderOptions));
+  }
+
+  /**
+   * Get the memoized render results, discarding results rendered before the last display name registration.
+   */
+  private ConcurrentMap<RenderOptions, String> getRenderResults() {
+    ConcurrentMap<RenderOptions, String> results = renderResults;
+    long registryVersion = OidRegistry.getVersion();
+    if (results != null && registryVersion != renderResultsVersion) {
+      results.clear();
+      renderResultsVersion = registryVersion;
+    }
+    return results;
+  }
+
   @Override
   public String toString() {
     try {
-      return DisplayCert.certToDisplayString(this, true, false, false);
+      return render(RenderOptions.DEFAULT_TEXT);
     }
     catch (Exception ex) {
       Logger.getLogger(PrintCertificate.class.getName())
@@ -207,7 +469,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public String toString(boolean verbose) {
     try {
-      return DisplayCert.certToDisplayString(this, true, verbose, false);
+      return render(RenderOptions.text(true, verbose, false));
     }
     catch (Exception ex) {
       Logger.getLogger(PrintCertificate.class.getName())
@@ -224,7 +486,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public String toString(boolean monospace, boolean verbose) {
     try {
-      return DisplayCert.certToDisplayString(this, monospace, verbose, false);
+      return render(RenderOptions.text(monospace, verbose, false));
     }
     catch (Exception ex) {
       Logger.getLogger(PrintCertificate.class.getName())
@@ -243,7 +505,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public String toString(boolean monospace, boolean verbose, boolean decode) {
     try {
-      return DisplayCert.certToDisplayString(this, monospace, verbose, decode);
+      return render(RenderOptions.text(monospace, verbose, decode));
     }
     catch (Exception ex) {
       Logger.getLogger(PrintCertificate.class.getName())
@@ -252,20 +514,57 @@ public class PrintCertificate extends X509CertificateHolder {
     }
   }
 
+  /**
+   * Writes a text print of the current certificate to an {@link Appendable}, such as a {@link java.io.Writer}, without
+   * first building the complete print in memory. A memoized print is written if present.
+   *
+   * @param out the destination of the print
+   * @param monospace indicates that the print is done using monospace characters
+   * @param verbose set to true to print out explicit key parameter and signature values
+   * @param decode set to true to decode name parameters
+   * @throws IOException on errors writing to the destination
+   */
+  public void writeTo(Appendable out, boolean monospace, boolean verbose, boolean decode) throws IOException {
+    writeTo(out, RenderOptions.text(monospace, verbose, decode));
+  }
+
+  /**
+   * Writes the current certificate to an {@link Appendable} according to the provided render options. A memoized
+   * result is written if present.
+   *
+   * @param out the destination of the rendered certificate
+   * @param options render options
+   * @throws IOException on errors writing to the destination
+   */
+  public void writeTo(Appendable out, RenderOptions options) throws IOException {
+    ConcurrentMap<RenderOptions, String> results = getRenderResults();
+    String result = results == null ? null : results.get(options);
+    if (result != null) {
+      out.append(result);
+      return;
+    }
+    DisplayCert.write(this, options, out);
+  }
+
   /**
    * Provides the original certificate print format provided by the X509Certificate class
    *
    * @return Print string
    */
   public String toOriginalString() {
-    try {
-      return toX509Certificate().toString();
-    }
-    catch (IOException | CertificateException | NoSuchProviderException ex) {
-      Logger.getLogger(PrintCertificate.class.getName())
-          .warning("Failed to print certificate info: " + ex.getMessage());
+    String result = certStringRepr;
+    if (result == null) {
+      try {
+        result = getCert().toString();
+      }
+      catch (IllegalArgumentException ex) {
+        Logger.getLogger(PrintCertificate.class.getName())
+            .warning("Failed to print certificate info: " + ex.getMessage());
+        result = super.toString();
+      }
+      certStringRepr = result;
     }
-    return super.toString();
+    return result;
   }
 
   /**
@@ -280,7 +579,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public String toHtml(String heading, CertTableClasses tableClasses, boolean verbose, boolean decodeSubject) {
     try {
-      return DisplayCert.certToHtmlString(this, heading, tableClasses, true, decodeSubject);
+      return render(RenderOptions.html(heading, tableClasses, true, decodeSubject));
     }
     catch (Exception ex) {
       Logger.getLogger(PrintCertificate.class.getName())
@@ -299,7 +598,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public String toHtml(String heading, boolean verbose, boolean decodeSubject) {
     try {
-      return DisplayCert.certToHtmlString(this, heading, verbose, decodeSubject);
+      return render(RenderOptions.html(heading, null, verbose, decodeSubject));
     }
     catch (Exception ex) {
       Logger.getLogger(PrintCertificate.class.getName())
@@ -316,7 +615,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public String toHtml(boolean verbose) {
     try {
-      return DisplayCert.certToHtmlString(this, null, verbose);
+      return render(RenderOptions.html(null, null, verbose, true));
     }
     catch (Exception ex) {
       Logger.getLogger(PrintCertificate.class.getName())
@@ -332,7 +631,7 @@ public class PrintCertificate extends X509CertificateHolder {
    */
   public String toHtml() {
     try {
-      return DisplayCert.certToHtmlString(this, null, false);
+      return render(RenderOptions.html(null, null, false, true));
     }
     catch (Exception ex) {
       Logger.getLogger(PrintCertificate.class.getName())
@@ -341,6 +640,33 @@ public class PrintCertificate extends X509CertificateHolder {
     }
   }
 
+  /**
+   * Generates a JSON representation of the current certificate
+   *
+   * @param verbose set to true to include explicit key parameter and signature values
+   * @param decode set to true to decode subject and issuer attributes
+   * @return JSON object
+   */
+  public String toJson(boolean verbose, boolean decode) {
+    try {
+      return render(RenderOptions.json(verbose, decode));
+    }
+    catch (Exception ex) {
+      Logger.getLogger(PrintCertificate.class.getName())
+          .warning("Failed to print certificate info: " + ex.getMessage());
+      return JsonCertWriter.getErrorObject("Failed to print certificate info: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Generates a JSON representation of the current certificate with decoded subject and issuer attributes
+   *
+   * @return JSON object
+   */
+  public String toJson() {
+    return toJson(false, true);
+  }
+
   public String toPEM() {
     return PEM.getPemCert(this.getEncoded());
   }
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert;
+
+import org.bouncycastle.asn1.pkcs.CertificationRequest;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import se.idsec.utils.printcert.display.CertTableClasses;
+import se.idsec.utils.printcert.display.DisplayCertificationRequest;
+import se.idsec.utils.printcert.display.RenderOptions;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+import se.idsec.utils.printcert.utils.CertUtils;
+import se.idsec.utils.printcert.utils.PEM;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * This extension of the Bouncy castle PKCS10CertificationRequest adds printing capabilities for outputting the
+ * certification request content to text, html or JSON in the same format as {@link PrintCertificate}.
+ *
+ * <p>
+ * The requested extensions are parsed from the extension request attribute on first access and are then kept for the
+ * lifetime of the instance. Rendered extensions are shared with certificates and other requests through the extension
+ * renderer cache, so queues of requests with the same requested extensions render each distinct extension once.
+ * </p>
+ *
+ * @author Stefan Santeson
+ */
+public class PrintCertificationRequest extends PKCS10CertificationRequest {
+
+  private transient volatile List<ExtensionInfo> extensionInfoList;
+  private transient volatile Map<String, ExtensionInfo> extensionsMap;
+
+  /**
+   * Creates a printable certification request from its DER encoding.
+   *
+   * @param encoded DER encoded PKCS#10 certification request
+   * @throws IOException if the encoding can not be parsed
+   */
+  public PrintCertificationRequest(byte[] encoded) throws IOException {
+    super(encoded);
+  }
+
+  /**
+   * Creates a printable certification request from a certification request structure.
+   *
+   * @param certificationRequest certification request structure
+   */
+  public PrintCertificationRequest(CertificationRequest certificationRequest) {
+    super(certificationRequest);
+  }
+
+  /**
+   * Creates a printable certification request from a Bouncy castle certification request.
+   *
+   * @param certificationRequest certification request
+   */
+  public PrintCertificationRequest(PKCS10CertificationRequest certificationRequest) {
+    super(certificationRequest.toASN1Structure());
+  }
+
+  /**
+   * @return the version number of the certification request, which is 1 for the version defined in RFC 2986
+   */
+  public int getVersionNumber() {
+    return toASN1Structure().getCertificationRequestInfo().getVersion().intValueExact() + 1;
+  }
+
+  public ExtensionInfo getExtensionInfo(String oid) {
+    return getExtensionsMap().get(oid);
+  }
+
+  public Map<String, ExtensionInfo> getExtensionsMap() {
+    Map<String, ExtensionInfo> result = extensionsMap;
+    if (result == null) {
+      synchronized (this) {
+        result = extensionsMap;
+        if (result == null) {
+          result = new HashMap<>();
+          for (ExtensionInfo ext : getExtensionInfoList()) {
+            result.put(ext.getOid().getId(), ext);
+          }
+          extensionsMap = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get the requested extensions from the extension request attribute.
+   *
+   * @return list of requested extensions in request order, empty if no extensions are requested
+   */
+  public List<ExtensionInfo> getExtensionInfoList() {
+    List<ExtensionInfo> result = extensionInfoList;
+    if (result == null) {
+      synchronized (this) {
+        result = extensionInfoList;
+        if (result == null) {
+          extensionInfoList = result = CertUtils.getExtensions(getRequestedExtensions());
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Renders this certification request according to the provided options.
+   *
+   * @param options render options
+   * @return rendered certification request
+   */
+  public String render(RenderOptions options) {
+    return DisplayCertificationRequest.render(this, options);
+  }
+
+  /**
+   * Writes this certification request to an {@link Appendable} according to the provided render options.
+   *
+   * @param out the destination of the rendered certification request
+   * @param options render options
+   * @throws IOException on errors writing to the destination
+   */
+  public void writeTo(Appendable out, RenderOptions options) throws IOException {
+    DisplayCertificationRequest.write(this, options, out);
+  }
+
+  @Override
+  public String toString() {
+    return toString(true, false, false);
+  }
+
+  /**
+   * Generates a printout of the current certification request
+   *
+   * @param monospace indicates that the print is done using monospace characters
+   * @param verbose set to true to print out explicit key parameter and signature values
+   * @param decode set to true to decode subject name attributes
+   * @return Print string
+   */
+  public String toString(boolean monospace, boolean verbose, boolean decode) {
+    try {
+      return render(RenderOptions.text(monospace, verbose, decode));
+    }
+    catch (Exception ex) {
+      Logger.getLogger(PrintCertificationRequest.class.getName())
+          .warning("Failed to print certification request info: " + ex.getMessage());
+      return super.toString();
+    }
+  }
+
+  /**
+   * Generates HTML print of the current certification request
+   *
+   * @param heading A heading to add to the print. Null if none.
+   * @param tableClasses The html classes to be added to print table elements. Null for default classes.
+   * @param verbose Set to true to display explicit values of key parameters and signature value
+   * @param decodeSubject set to true to decode subject attributes for friendly display
+   * @return html print
+   */
+  public String toHtml(String heading, CertTableClasses tableClasses, boolean verbose, boolean decodeSubject) {
+    try {
+      return render(RenderOptions.html(heading, tableClasses, verbose, decodeSubject));
+    }
+    catch (Exception ex) {
+      Logger.getLogger(PrintCertificationRequest.class.getName())
+          .warning("Failed to print certification request info: " + ex.getMessage());
+      return "<pre><code>" + super.toString() + "</code></pre>";
+    }
+  }
+
+  /**
+   * Generates HTML print of the current certification request using default table classes.
+   *
+   * @return html print
+   */
+  public String toHtml() {
+    return toHtml(null, null, false, true);
+  }
+
+  /**
+   * Generates a JSON representation of the current certification request
+   *
+   * @param verbose set to true to include explicit key parameter and signature values
+   * @param decode set to true to decode subject attributes
+   * @return JSON object
+   */
+  public String toJson(boolean verbose, boolean decode) {
+    return render(RenderOptions.json(verbose, decode));
+  }
+
+  public String toPEM() throws IOException {
+    return PEM.getPemReq(getEncoded());
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert;
+
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPException;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import se.idsec.utils.printcert.display.CertTableClasses;
+import se.idsec.utils.printcert.display.DisplayOCSPResponse;
+import se.idsec.utils.printcert.display.JsonCertWriter;
+import se.idsec.utils.printcert.display.RenderCache;
+import se.idsec.utils.printcert.display.RenderOptions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Printable OCSP response, outputting the response content to text, html or JSON in the same format as
+ * {@link PrintCertificate}.
+ *
+ * <p>
+ * Certificates embedded in a basic OCSP response, such as the responder certificate, are printed through the shared
+ * {@link RenderCache} by default. Since monitoring of an OCSP responder typically sees the same responder certificate
+ * in every response, each distinct embedded certificate is then decoded and rendered once rather than once per
+ * response.
+ * </p>
+ *
+ * @author Stefan Santeson
+ */
+public class PrintOCSPResponse {
+
+  private final int status;
+  private final BasicOCSPResp basicResponse;
+  private volatile List<PrintCertificate> certificates;
+
+  /**
+   * Creates a printable OCSP response from its DER encoding.
+   *
+   * @param encoded DER encoded OCSP response
+   * @throws IOException if the encoding can not be parsed
+   */
+  public PrintOCSPResponse(byte[] encoded) throws IOException {
+    this(new OCSPResp(encoded));
+  }
+
+  /**
+   * Creates a printable OCSP response.
+   *
+   * @param ocspResponse OCSP response
+   * @throws IOException if the response bytes of a successful response can not be parsed as a basic OCSP response
+   */
+  public PrintOCSPResponse(OCSPResp ocspResponse) throws IOException {
+    this.status = ocspResponse.getStatus();
+    try {
+      Object responseObject = ocspResponse.getResponseObject();
+      this.basicResponse = responseObject instanceof BasicOCSPResp ? (BasicOCSPResp) responseObject : null;
+    }
+    catch (OCSPException ex) {
+      throw new IOException("Unable to parse OCSP response bytes", ex);
+    }
+  }
+
+  /**
+   * Creates a printable successful OCSP response from a basic OCSP response.
+   *
+   * @param basicResponse basic OCSP response
+   */
+  public PrintOCSPResponse(BasicOCSPResp basicResponse) {
+    this.status = OCSPRespBuilder.SUCCESSFUL;
+    this.basicResponse = basicResponse;
+  }
+
+  /**
+   * @return the OCSP response status
+   */
+  public int getStatus() {
+    return status;
+  }
+
+  /**
+   * @return the basic OCSP response or null if the response does not hold a basic OCSP response
+   */
+  public BasicOCSPResp getBasicResponse() {
+    return basicResponse;
+  }
+
+  /**
+   * Get the certificates embedded in the basic OCSP response as lazy print certificates.
+   *
+   * @return embedded certificates in response order, empty if none are present
+   */
+  public List<PrintCertificate> getCertificates() {
+    List<PrintCertificate> result = certificates;
+    if (result == null) {
+      if (basicResponse == null) {
+        result = Collections.emptyList();
+      }
+      else {
+        X509CertificateHolder[] certs = basicResponse.getCerts();
+        List<PrintCertificate> certList = new ArrayList<>(certs.length);
+        for (X509CertificateHolder cert : certs) {
+          certList.add(PrintCertificate.getLazyInstance(cert));
+        }
+        result = Collections.unmodifiableList(certList);
+      }
+      certificates = result;
+    }
+    return result;
+  }
+
+  /**
+   * Renders this OCSP response according to the provided options.
+   *
+   * @param options render options
+   * @return rendered OCSP response
+   */
+  public String render(RenderOptions options) {
+    return DisplayOCSPResponse.render(this, options);
+  }
+
+  /**
+   * Writes this OCSP response to an {@link Appendable} according to the provided render options, rendering embedded
+   * certificates through the provided render cache.
+   *
+   * @param out the destination of the rendered OCSP response
+   * @param options render options
+   * @param renderCache the cache used to render embedded certificates
+   * @throws IOException on errors writing to the destination
+   */
+  public void writeTo(Appendable out, RenderOptions options, RenderCache renderCache) throws IOException {
+    DisplayOCSPResponse.write(this, options, renderCache, out);
+  }
+
+  @Override
+  public String toString() {
+    return toString(true, false, false);
+  }
+
+  /**
+   * Generates a printout of the current OCSP response
+   *
+   * @param monospace indicates that the print is done using monospace characters
+   * @param verbose set to true to print out explicit key parameter and signature values
+   * @param decode set to true to decode name attributes
+   * @return Print string
+   */
+  public String toString(boolean monospace, boolean verbose, boolean decode) {
+    try {
+      return render(RenderOptions.text(monospace, verbose, decode));
+    }
+    catch (Exception ex) {
+      Logger.getLogger(PrintOCSPResponse.class.getName())
+          .warning("Failed to print OCSP response info: " + ex.getMessage());
+      return "OCSP Response status " + status;
+    }
+  }
+
+  /**
+   * Generates HTML print of the current OCSP response
+   *
+   * @param heading A heading to add to the print. Null if none.
+   * @param tableClasses The html classes to be added to print table elements. Null for default classes.
+   * @param verbose Set to true to display explicit values of key parameters and signature value
+   * @param decode set to true to decode name attributes for friendly display
+   * @return html print
+   */
+  public String toHtml(String heading, CertTableClasses tableClasses, boolean verbose, boolean decode) {
+    try {
+      return render(RenderOptions.html(heading, tableClasses, verbose, decode));
+    }
+    catch (Exception ex) {
+      Logger.getLogger(PrintOCSPResponse.class.getName())
+          .warning("Failed to print OCSP response info: " + ex.getMessage());
+      return "<pre><code>OCSP Response status " + status + "</code></pre>";
+    }
+  }
+
+  /**
+   * Generates HTML print of the current OCSP response using default table classes.
+   *
+   * @return html print
+   */
+  public String toHtml() {
+    return toHtml(null, null, false, true);
+  }
+
+  /**
+   * Generates a JSON representation of the current OCSP response
+   *
+   * @param verbose set to true to include explicit key parameter and signature values
+   * @param decode set to true to decode name attributes
+   * @return JSON object
+   */
+  public String toJson(boolean verbose, boolean decode) {
+    try {
+      return render(RenderOptions.json(verbose, decode));
+    }
+    catch (Exception ex) {
+      Logger.getLogger(PrintOCSPResponse.class.getName())
+          .warning("Failed to print OCSP response info: " + ex.getMessage());
+      return JsonCertWriter.getErrorObject("Failed to print OCSP response with status " + status + ": "
+          + ex.getMessage());
+    }
+  }
+}
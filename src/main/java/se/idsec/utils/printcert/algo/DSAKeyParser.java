@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.algo;
+
+import java.math.BigInteger;
+import org.bouncycastle.asn1.ASN1BitString;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.DSAParameter;
+
+/**
+ * Parser of DSA public key values.
+ */
+public class DSAKeyParser extends PKValueData {
+
+    BigInteger y;
+    DSAParameter parameters;
+
+    public DSAKeyParser(ASN1BitString pkValBitString, AlgorithmIdentifier aid) {
+        super(pkValBitString, aid);
+    }
+
+    @Override
+    protected void parsePk() {
+        try {
+            y = ASN1Integer.getInstance(ASN1Primitive.fromByteArray(pkValBitString.getOctets())).getValue();
+            if (aid != null && aid.getParameters() != null) {
+                parameters = DSAParameter.getInstance(aid.getParameters());
+            }
+            keySize = parameters == null ? y.bitLength() : parameters.getP().bitLength();
+        } catch (Exception e) {
+            keySize = 0;
+        }
+    }
+
+    /**
+     * @return public value Y or null if the key could not be parsed
+     */
+    public BigInteger getY() {
+        return y;
+    }
+
+    /**
+     * @return domain parameters or null if the parameters are inherited from the issuer
+     */
+    public DSAParameter getParameters() {
+        return parameters;
+    }
+
+}
@@ -15,10 +15,16 @@
  */
 package se.idsec.utils.printcert.algo;
 
+import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.bouncycastle.asn1.ASN1BitString;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x9.ECNamedCurveTable;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.math.ec.ECPoint;
 
 /**
  *
@@ -26,6 +32,10 @@ import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
  */
 public class ECKeyParser extends PKValueData{
 
+    ASN1ObjectIdentifier curveOid;
+    BigInteger x;
+    BigInteger y;
+
     public ECKeyParser(ASN1BitString pkValBitString, AlgorithmIdentifier aid) {
         super(pkValBitString, aid);
     }
@@ -37,10 +47,51 @@ public class ECKeyParser extends PKValueData{
             //THis assumes that the key is uncompressed. Identified by leading 0x04 byte.
             //Future development may determine more precise key length of compressed keys (0x02 or 0x03).
             keySize = (bytes.length-1)*4;
+            if (aid != null && aid.getParameters() instanceof ASN1ObjectIdentifier) {
+                curveOid = (ASN1ObjectIdentifier) aid.getParameters();
+            }
+            if (bytes.length > 1 && bytes[0] == 0x04) {
+                int coordLen = (bytes.length - 1) / 2;
+                x = new BigInteger(1, Arrays.copyOfRange(bytes, 1, 1 + coordLen));
+                y = new BigInteger(1, Arrays.copyOfRange(bytes, 1 + coordLen, bytes.length));
+            }
+            else if (bytes.length > 1 && (bytes[0] == 0x02 || bytes[0] == 0x03) && curveOid != null) {
+                //Compressed points can only be decoded when the curve is known
+                X9ECParameters curveParams = ECNamedCurveTable.getByOID(curveOid);
+                if (curveParams != null) {
+                    ECPoint point = curveParams.getCurve().decodePoint(bytes).normalize();
+                    x = point.getAffineXCoord().toBigInteger();
+                    y = point.getAffineYCoord().toBigInteger();
+                    keySize = curveParams.getCurve().getFieldSize();
+                }
+            }
         } catch (Exception ex) {
             Logger.getLogger(ECKeyParser.class.getName()).log(Level.SEVERE, null, ex);
         }
 
     }
 
+    /**
+     * @return named curve OID or null if the key does not use a named curve
+     */
+    public ASN1ObjectIdentifier getCurveOid() {
+        return curveOid;
+    }
+
+    /**
+     * @return public x coordinate or null if the key is neither an uncompressed point nor a compressed point on a named
+     *     curve
+     */
+    public BigInteger getX() {
+        return x;
+    }
+
+    /**
+     * @return public y coordinate or null if the key is neither an uncompressed point nor a compressed point on a named
+     *     curve
+     */
+    public BigInteger getY() {
+        return y;
+    }
+
 }
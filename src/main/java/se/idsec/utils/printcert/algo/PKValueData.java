@@ -30,6 +30,7 @@ public abstract class PKValueData {
 
     public PKValueData(ASN1BitString pkValBitString, AlgorithmIdentifier aid) {
         this.pkValBitString = pkValBitString;
+        this.aid = aid;
         parsePk();
     }
 
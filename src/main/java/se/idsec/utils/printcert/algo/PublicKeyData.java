@@ -15,17 +15,14 @@
  */
 package se.idsec.utils.printcert.algo;
 
-import java.io.IOException;
 import java.security.PublicKey;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.bouncycastle.asn1.ASN1BitString;
-import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
-import org.bouncycastle.asn1.ASN1Sequence;
-import org.bouncycastle.asn1.DERBitString;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 
 /**
  *
@@ -41,30 +38,41 @@ public class PublicKeyData {
 
     public PublicKeyData(PublicKey publicKey) {
         this.publicKey = publicKey;
-        parse();
-    }
-
-    private void parse() {
         algorithm = publicKey.getAlgorithm();
-
         try {
-            ASN1InputStream ain = new ASN1InputStream(publicKey.getEncoded());
-            ASN1Sequence pkSeq = ASN1Sequence.getInstance(ain.readObject());
-            AlgorithmIdentifier algId = AlgorithmIdentifier.getInstance(pkSeq.getObjectAt(0));
-            algorithmOid = algId.getAlgorithm();
-            ASN1BitString pkBits = ASN1BitString.getInstance(pkSeq.getObjectAt(1));
-
-            pkType = PublicKeyType.getKeyType(algorithmOid);
-            pkValData = getPKValueData(pkBits,algId);
-        } catch (IOException ex) {
+            parse(SubjectPublicKeyInfo.getInstance(publicKey.getEncoded()));
+        } catch (IllegalArgumentException ex) {
             Logger.getLogger(PublicKeyData.class.getName()).log(Level.WARNING, null, ex);
         }
     }
 
+    /**
+     * Constructor parsing the public key data directly from its ASN.1 structure without creating a JCA
+     * {@link PublicKey}. {@link #getPublicKey()} returns null for instances created by this constructor.
+     *
+     * @param publicKeyInfo subject public key info
+     */
+    public PublicKeyData(SubjectPublicKeyInfo publicKeyInfo) {
+        parse(publicKeyInfo);
+        algorithm = pkType.getName();
+    }
+
+    private void parse(SubjectPublicKeyInfo publicKeyInfo) {
+        AlgorithmIdentifier algId = publicKeyInfo.getAlgorithm();
+        algorithmOid = algId.getAlgorithm();
+        ASN1BitString pkBits = publicKeyInfo.getPublicKeyData();
+
+        pkType = PublicKeyType.getKeyType(algorithmOid);
+        pkValData = getPKValueData(pkBits,algId);
+    }
+
     private PKValueData getPKValueData(ASN1BitString pkBits, AlgorithmIdentifier algId) {
         switch (pkType){
             case rsa:
+            case rsassa_pss:
                 return new RSAKeyParser(pkBits, algId);
+            case dsa:
+                return new DSAKeyParser(pkBits, algId);
             case ecdsa:
                 return new ECKeyParser(pkBits, algId);
             default:
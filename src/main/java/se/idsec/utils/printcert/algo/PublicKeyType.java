@@ -16,6 +16,7 @@
 package se.idsec.utils.printcert.algo;
 
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import se.idsec.utils.printcert.utils.OidRegistry;
 
 /**
  *
@@ -27,8 +28,15 @@ public enum PublicKeyType {
     ecdsa("EC", "1.2.840.10045.2.1"),
     dsa("DSA", "1.2.840.10040.4.1"),
     dh("DH", "1.2.840.10046.2.1"),
+    x25519("X25519", "1.3.101.110"),
+    x448("X448", "1.3.101.111"),
+    ed25519("Ed25519", "1.3.101.112"),
+    ed448("Ed448", "1.3.101.113"),
     unknown("Unknown", null);
 
+    private static final OidRegistry.Lookup<PublicKeyType> OID_LOOKUP = OidRegistry.index(values(),
+      PublicKeyType::getOid, unknown);
+
     String name;
     String oid;
 
@@ -46,16 +54,11 @@ public enum PublicKeyType {
     }
 
     public static PublicKeyType getKeyType(ASN1ObjectIdentifier oid) {
-        return getKeyType(oid.getId());
+        return OID_LOOKUP.get(oid);
     }
 
     public static PublicKeyType getKeyType(String oid) {
-        for (PublicKeyType pkType : values()) {
-            if (pkType.getOid().equalsIgnoreCase(oid)) {
-                return pkType;
-            }
-        }
-        return unknown;
+        return OID_LOOKUP.get(oid);
     }
 
 }
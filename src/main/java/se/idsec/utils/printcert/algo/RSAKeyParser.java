@@ -15,6 +15,8 @@
  */
 package se.idsec.utils.printcert.algo;
 
+import java.math.BigInteger;
+
 import org.bouncycastle.asn1.ASN1BitString;
 import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1Integer;
@@ -27,6 +29,9 @@ import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
  */
 public class RSAKeyParser extends PKValueData {
 
+    BigInteger modulus;
+    BigInteger publicExponent;
+
     public RSAKeyParser(ASN1BitString pkValBitString, AlgorithmIdentifier aid) {
         super(pkValBitString, aid);
     }
@@ -36,13 +41,27 @@ public class RSAKeyParser extends PKValueData {
         try {
             ASN1InputStream pkIn = new ASN1InputStream(pkValBitString.getOctets());
             ASN1Sequence pkValSeq = ASN1Sequence.getInstance(pkIn.readObject());
-            ASN1Integer modulus = ASN1Integer.getInstance(pkValSeq.getObjectAt(0));
-            ASN1Integer.getInstance(pkValSeq.getObjectAt(1));
-            keySize = modulus.getValue().bitLength();
+            modulus = ASN1Integer.getInstance(pkValSeq.getObjectAt(0)).getValue();
+            publicExponent = ASN1Integer.getInstance(pkValSeq.getObjectAt(1)).getValue();
+            keySize = modulus.bitLength();
         } catch (Exception e) {
             keySize = 0;
         }
 
     }
 
+    /**
+     * @return RSA modulus or null if the key could not be parsed
+     */
+    public BigInteger getModulus() {
+        return modulus;
+    }
+
+    /**
+     * @return RSA public exponent or null if the key could not be parsed
+     */
+    public BigInteger getPublicExponent() {
+        return publicExponent;
+    }
+
 }
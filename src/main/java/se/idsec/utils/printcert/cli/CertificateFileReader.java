@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.cli;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.cms.ContentInfo;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSSignedData;
+import org.bouncycastle.openssl.PEMParser;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.utils.PemCertificateReader;
+
+/**
+ * Reads the certificates of a certificate file, detecting the file format from its content.
+ *
+ * <p>
+ * Supported formats are PEM certificate bundles, PEM encoded PKCS#7, DER encoded certificates and DER encoded PKCS#7
+ * signed data, such as {@code .p7b} files. Certificates are returned as lazy {@link PrintCertificate} instances.
+ * </p>
+ */
+final class CertificateFileReader {
+
+  private static final byte[] PEM_BEGIN = "-----BEGIN ".getBytes(StandardCharsets.US_ASCII);
+
+  private CertificateFileReader() {
+  }
+
+  /**
+   * Reads the certificates of a file.
+   *
+   * @param content file content
+   * @param errors list collecting errors of individual certificates that could not be read, such as a malformed block
+   *     in a PEM bundle
+   * @return certificates in file order
+   * @throws IllegalArgumentException if the content is not in a supported format or is malformed
+   * @throws IOException on errors parsing PKCS#7 content
+   */
+  static List<PrintCertificate> read(byte[] content, List<String> errors) throws IOException {
+    int start = 0;
+    while (start < content.length && Character.isWhitespace(content[start])) {
+      start++;
+    }
+    if (start < content.length && content[start] == 0x30) {
+      return readDer(content);
+    }
+    int pemStart = indexOf(content, PEM_BEGIN, start);
+    if (pemStart < 0) {
+      throw new IllegalArgumentException("Unrecognized certificate file format");
+    }
+    String label = new String(content, pemStart + PEM_BEGIN.length,
+      Math.min(5, content.length - pemStart - PEM_BEGIN.length), StandardCharsets.US_ASCII);
+    if (label.startsWith("PKCS7") || label.startsWith("CMS")) {
+      return readPemPkcs7(content);
+    }
+    List<PrintCertificate> certificates = new ArrayList<>();
+    PemCertificateReader reader = new PemCertificateReader(ByteBuffer.wrap(content), true);
+    while (reader.hasNext()) {
+      try {
+        certificates.add(reader.next());
+      }
+      catch (IllegalArgumentException ex) {
+        errors.add(ex.getMessage());
+      }
+    }
+    if (certificates.isEmpty() && errors.isEmpty()) {
+      throw new IllegalArgumentException("No certificates found in PEM content");
+    }
+    return certificates;
+  }
+
+  private static List<PrintCertificate> readDer(byte[] content) throws IOException {
+    ASN1Sequence sequence;
+    try {
+      sequence = ASN1Sequence.getInstance(content);
+    }
+    catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("Malformed DER content: " + ex.getMessage(), ex);
+    }
+    if (sequence.size() > 0 && sequence.getObjectAt(0) instanceof ASN1ObjectIdentifier) {
+      return readPkcs7(ContentInfo.getInstance(sequence));
+    }
+    List<PrintCertificate> certificates = new ArrayList<>(1);
+    certificates.add(PrintCertificate.getLazyInstance(content));
+    return certificates;
+  }
+
+  private static List<PrintCertificate> readPemPkcs7(byte[] content) throws IOException {
+    List<PrintCertificate> certificates = new ArrayList<>();
+    try (Reader reader = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.US_ASCII);
+      PEMParser pemParser = new PEMParser(reader)) {
+      Object pemObject;
+      while ((pemObject = pemParser.readObject()) != null) {
+        if (pemObject instanceof ContentInfo) {
+          certificates.addAll(readPkcs7((ContentInfo) pemObject));
+        }
+        else if (pemObject instanceof X509CertificateHolder) {
+          certificates.add(PrintCertificate.getLazyInstance((X509CertificateHolder) pemObject));
+        }
+      }
+    }
+    return certificates;
+  }
+
+  private static List<PrintCertificate> readPkcs7(ContentInfo contentInfo) throws IOException {
+    try {
+      List<PrintCertificate> certificates = new ArrayList<>();
+      for (X509CertificateHolder cert : new CMSSignedData(contentInfo).getCertificates().getMatches(null)) {
+        certificates.add(PrintCertificate.getLazyInstance(cert));
+      }
+      return certificates;
+    }
+    catch (CMSException | IllegalArgumentException ex) {
+      throw new IllegalArgumentException("Malformed PKCS#7 content: " + ex.getMessage(), ex);
+    }
+  }
+
+  private static int indexOf(byte[] content, byte[] pattern, int from) {
+    outer:
+    for (int i = from; i <= content.length - pattern.length; i++) {
+      for (int j = 0; j < pattern.length; j++) {
+        if (content[i + j] != pattern[j]) {
+          continue outer;
+        }
+      }
+      return i;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Expands command line input arguments into the list of files to process.
+ *
+ * <p>
+ * An argument may be a file, a directory or a glob pattern. Files are used as given, whatever their name. Directories
+ * are searched recursively for files with one of the {@link #CERTIFICATE_FILE_EXTENSIONS}. Glob patterns, such as
+ * {@code certs/**}{@code /*.pem}, are matched against the files below the longest leading part of the pattern that
+ * holds no glob characters. Patterns follow the {@link java.nio.file.FileSystem#getPathMatcher(String)} glob syntax,
+ * where {@code **} crosses directory boundaries and {@code *} does not, so {@code archive/**}{@code /*.pem} does not
+ * match the files directly in {@code archive} while {@code archive/**.pem} does. Files found in a directory or by a
+ * pattern are sorted by path, so that the output order does not depend on the file system.
+ * </p>
+ */
+final class InputFiles {
+
+  /** File name extensions of the files processed in directories */
+  static final Set<String> CERTIFICATE_FILE_EXTENSIONS = Set.of("crt", "cer", "pem", "der", "p7b", "p7c");
+
+  private InputFiles() {
+  }
+
+  /**
+   * Expands input arguments into files.
+   *
+   * @param arguments files, directories and glob patterns
+   * @return files in argument order
+   * @throws IOException on errors searching a directory
+   * @throws IllegalArgumentException if an argument is neither an existing file or directory nor a glob pattern
+   */
+  static List<Path> expand(List<String> arguments) throws IOException {
+    List<Path> files = new ArrayList<>();
+    for (String argument : arguments) {
+      if (isGlob(argument)) {
+        files.addAll(expandGlob(argument));
+        continue;
+      }
+      Path path = Paths.get(argument);
+      if (Files.isDirectory(path)) {
+        files.addAll(expandDirectory(path));
+      }
+      else if (Files.isRegularFile(path)) {
+        files.add(path);
+      }
+      else {
+        throw new IllegalArgumentException("No such file or directory: " + argument);
+      }
+    }
+    return files;
+  }
+
+  private static List<Path> expandDirectory(Path dir) throws IOException {
+    try (Stream<Path> paths = Files.walk(dir)) {
+      List<Path> files = new ArrayList<>();
+      paths.filter(Files::isRegularFile).filter(InputFiles::hasCertificateExtension).forEach(files::add);
+      Collections.sort(files);
+      return files;
+    }
+  }
+
+  private static List<Path> expandGlob(String pattern) throws IOException {
+    int globStart = indexOfGlob(pattern);
+    int baseEnd = Math.max(pattern.lastIndexOf('/', globStart), pattern.lastIndexOf(File.separatorChar, globStart));
+    Path base = Paths.get(baseEnd < 0 ? "" : pattern.substring(0, Math.max(baseEnd, 1)));
+    int maxDepth = 1;
+    for (int i = baseEnd + 1; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '/' || c == File.separatorChar) {
+        maxDepth++;
+      }
+    }
+    if (pattern.contains("**")) {
+      maxDepth = Integer.MAX_VALUE;
+    }
+    if (!Files.isDirectory(baseEnd < 0 ? Paths.get(".") : base)) {
+      return Collections.emptyList();
+    }
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+    try (Stream<Path> paths = Files.walk(base, maxDepth)) {
+      List<Path> files = new ArrayList<>();
+      paths.filter(matcher::matches).filter(Files::isRegularFile).forEach(files::add);
+      Collections.sort(files);
+      return files;
+    }
+  }
+
+  private static boolean hasCertificateExtension(Path file) {
+    String name = file.getFileName().toString();
+    int dot = name.lastIndexOf('.');
+    return dot >= 0 && CERTIFICATE_FILE_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+  }
+
+  private static boolean isGlob(String argument) {
+    return indexOfGlob(argument) >= 0;
+  }
+
+  private static int indexOfGlob(String argument) {
+    for (int i = 0; i < argument.length(); i++) {
+      switch (argument.charAt(i)) {
+      case '*':
+      case '?':
+      case '[':
+      case '{':
+        return i;
+      default:
+        break;
+      }
+    }
+    return -1;
+  }
+}
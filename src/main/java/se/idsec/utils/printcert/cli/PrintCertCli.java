@@ -0,0 +1,346 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.cli;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Security;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.display.DisplayCert;
+import se.idsec.utils.printcert.display.JsonCertWriter;
+import se.idsec.utils.printcert.display.RenderFormat;
+import se.idsec.utils.printcert.display.RenderOptions;
+
+/**
+ * Command line tool printing the certificates of files, directories and glob patterns.
+ *
+ * <p>
+ * Files are read and rendered by a bounded pool of worker threads, while the output is written in input order. At most
+ * a fixed number of files per worker are read ahead of the output, so memory use does not depend on the number of
+ * input files. A summary of the processed files and the throughput is written to standard error when done.
+ * </p>
+ *
+ * <p>
+ * The exit status is 0 if all files were printed, 1 if any file or certificate could not be printed and 2 on usage
+ * errors.
+ * </p>
+ */
+public final class PrintCertCli {
+
+  /** Exit status when all input was printed */
+  public static final int EXIT_OK = 0;
+  /** Exit status when any file or certificate could not be printed */
+  public static final int EXIT_ERRORS = 1;
+  /** Exit status on usage errors */
+  public static final int EXIT_USAGE = 2;
+
+  /** The number of files per worker thread that may be read ahead of the output */
+  private static final int FILES_PER_WORKER = 4;
+
+  private static final String USAGE = String.join("\n",
+    "Usage: print-cert [options] <file|directory|glob>...",
+    "",
+    "Prints the certificates of DER, PEM and PKCS#7 files. Directories are searched recursively for files ending with",
+    ".crt, .cer, .pem, .der, .p7b or .p7c.",
+    "",
+    "Options:",
+    "  -f, --format <text|html|json>  output format, default text. JSON output holds one object per line.",
+    "  -j, --jobs <n>                 number of worker threads, default the number of processors",
+    "  -v, --verbose                  print explicit key parameter and signature values",
+    "  -d, --decode                   decode name attributes",
+    "  -q, --quiet                    do not print the summary",
+    "  -h, --help                     print this help",
+    "");
+
+  private PrintCertCli() {
+  }
+
+  public static void main(String[] args) {
+    System.exit(run(args, System.out, System.err));
+  }
+
+  /**
+   * Runs the tool.
+   *
+   * @param args command line arguments
+   * @param out destination of the printed certificates
+   * @param err destination of error messages and the summary
+   * @return exit status
+   */
+  public static int run(String[] args, OutputStream out, PrintStream err) {
+    Options options;
+    List<Path> files;
+    try {
+      options = Options.parse(args);
+      if (options.help) {
+        err.print(USAGE);
+        return EXIT_OK;
+      }
+      files = InputFiles.expand(options.inputs);
+    }
+    catch (IllegalArgumentException | IOException ex) {
+      err.println("print-cert: " + ex.getMessage());
+      err.print(USAGE);
+      return EXIT_USAGE;
+    }
+    if (Security.getProvider("BC") == null) {
+      Security.addProvider(new BouncyCastleProvider());
+    }
+
+    long startTime = System.nanoTime();
+    Summary summary = new Summary();
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(options.jobs, runnable -> {
+      Thread thread = new Thread(runnable, "print-cert-worker-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+      Deque<Future<FileResult>> pending = new ArrayDeque<>();
+      Iterator<Path> fileIterator = files.iterator();
+      int window = options.jobs * FILES_PER_WORKER;
+      while (fileIterator.hasNext() || !pending.isEmpty()) {
+        while (fileIterator.hasNext() && pending.size() < window) {
+          Path file = fileIterator.next();
+          pending.add(executor.submit(() -> processFile(file, options)));
+        }
+        FileResult result = pending.poll().get();
+        writer.write(result.output);
+        for (String error : result.errors) {
+          err.println(result.file + ": " + error);
+        }
+        summary.add(result);
+      }
+      writer.flush();
+    }
+    catch (IOException ex) {
+      err.println("print-cert: " + ex.getMessage());
+      return EXIT_ERRORS;
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return EXIT_ERRORS;
+    }
+    catch (ExecutionException ex) {
+      err.println("print-cert: " + ex.getCause());
+      return EXIT_ERRORS;
+    }
+    finally {
+      executor.shutdownNow();
+    }
+    if (!options.quiet) {
+      err.println(summary.toString(System.nanoTime() - startTime));
+    }
+    return summary.errors > 0 ? EXIT_ERRORS : EXIT_OK;
+  }
+
+  private static FileResult processFile(Path file, Options options) {
+    FileResult result = new FileResult(file);
+    List<PrintCertificate> certificates;
+    try {
+      byte[] content = Files.readAllBytes(file);
+      result.bytes = content.length;
+      certificates = CertificateFileReader.read(content, result.errors);
+    }
+    catch (IOException | RuntimeException ex) {
+      result.errors.add(ex.getMessage());
+      return result;
+    }
+    StringBuilder b = new StringBuilder();
+    for (int i = 0; i < certificates.size(); i++) {
+      int length = b.length();
+      try {
+        writeCertificate(file.toString(), i, certificates.size(), certificates.get(i), options, b);
+        result.certificates++;
+      }
+      catch (IOException | RuntimeException ex) {
+        b.setLength(length);
+        result.errors.add("Certificate " + (i + 1) + ": " + ex.getMessage());
+      }
+    }
+    result.output = b.toString();
+    return result;
+  }
+
+  private static void writeCertificate(String fileName, int index, int count, PrintCertificate cert, Options options,
+    StringBuilder b) throws IOException {
+    String title = count > 1 ? fileName + " (certificate " + (index + 1) + " of " + count + ")" : fileName;
+    switch (options.format) {
+    case text:
+      b.append("File: ").append(title).append('\n');
+      DisplayCert.write(cert, RenderOptions.text(true, options.verbose, options.decode), b);
+      b.append("\n\n");
+      break;
+    case html:
+      DisplayCert.write(cert, RenderOptions.html(title, null, options.verbose, options.decode), b);
+      b.append('\n');
+      break;
+    case json:
+      b.append("{\"file\":");
+      JsonCertWriter.writeString(fileName, b);
+      b.append(",\"index\":").append(index).append(",\"certificate\":");
+      DisplayCert.write(cert, RenderOptions.json(options.verbose, options.decode), b);
+      b.append("}\n");
+      break;
+    default:
+      throw new AssertionError(options.format.name());
+    }
+  }
+
+  private static final class Options {
+
+    RenderFormat format = RenderFormat.text;
+    int jobs = Runtime.getRuntime().availableProcessors();
+    boolean verbose;
+    boolean decode;
+    boolean quiet;
+    boolean help;
+    List<String> inputs = new ArrayList<>();
+
+    static Options parse(String[] args) {
+      Options options = new Options();
+      boolean endOfOptions = false;
+      for (int i = 0; i < args.length; i++) {
+        String arg = args[i];
+        if (endOfOptions || !arg.startsWith("-") || arg.equals("-")) {
+          options.inputs.add(arg);
+          continue;
+        }
+        String value = null;
+        int eq = arg.indexOf('=');
+        if (arg.startsWith("--") && eq > 0) {
+          value = arg.substring(eq + 1);
+          arg = arg.substring(0, eq);
+        }
+        switch (arg) {
+        case "--":
+          endOfOptions = true;
+          break;
+        case "-f":
+        case "--format":
+          value = value != null ? value : requireValue(args, ++i, arg);
+          try {
+            options.format = RenderFormat.valueOf(value.toLowerCase(Locale.ROOT));
+          }
+          catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported format: " + value);
+          }
+          break;
+        case "-j":
+        case "--jobs":
+          value = value != null ? value : requireValue(args, ++i, arg);
+          try {
+            options.jobs = Integer.parseInt(value);
+          }
+          catch (NumberFormatException ex) {
+            options.jobs = 0;
+          }
+          if (options.jobs < 1) {
+            throw new IllegalArgumentException("The number of jobs must be a positive integer: " + value);
+          }
+          break;
+        case "-v":
+        case "--verbose":
+          options.verbose = true;
+          break;
+        case "-d":
+        case "--decode":
+          options.decode = true;
+          break;
+        case "-q":
+        case "--quiet":
+          options.quiet = true;
+          break;
+        case "-h":
+        case "--help":
+          options.help = true;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+      }
+      if (options.inputs.isEmpty() && !options.help) {
+        throw new IllegalArgumentException("No input files");
+      }
+      return options;
+    }
+
+    private static String requireValue(String[] args, int index, String option) {
+      if (index >= args.length) {
+        throw new IllegalArgumentException("Missing value of option " + option);
+      }
+      return args[index];
+    }
+  }
+
+  private static final class FileResult {
+
+    final Path file;
+    final List<String> errors = new ArrayList<>();
+    String output = "";
+    long bytes;
+    int certificates;
+
+    FileResult(Path file) {
+      this.file = file;
+    }
+  }
+
+  private static final class Summary {
+
+    long files;
+    long certificates;
+    long errors;
+    long bytes;
+
+    void add(FileResult result) {
+      files++;
+      certificates += result.certificates;
+      errors += result.errors.size();
+      bytes += result.bytes;
+    }
+
+    String toString(long elapsedNanos) {
+      double seconds = Math.max(elapsedNanos, 1) / 1e9;
+      return String.format(Locale.ROOT,
+        "Processed %d files with %d certificates and %d errors in %.3f s"
+          + " (%.1f files/s, %.1f certificates/s, %.2f MB/s)",
+        files, certificates, errors, seconds, files / seconds, certificates / seconds, bytes / seconds / (1024 * 1024));
+    }
+  }
+}
@@ -37,7 +37,7 @@ public class SubjectAttributeInfo {
         if (!type.equals(SubjectDnType.unknown)){
             dispName = type.getDispName();
         } else {
-            dispName = OidName.getName(oid.getId());
+            dispName = OidName.getName(oid);
         }
     }
 
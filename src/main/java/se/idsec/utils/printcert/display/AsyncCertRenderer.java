@@ -0,0 +1,264 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import se.idsec.utils.printcert.PrintCertificate;
+
+/**
+ * Renders certificates asynchronously on an {@link Executor} so that rendering never takes place on the calling
+ * thread.
+ *
+ * <p>
+ * Unless an executor is provided, rendering takes place on virtual threads when the runtime supports them and on a
+ * shared pool of daemon threads otherwise.
+ * </p>
+ */
+public class AsyncCertRenderer {
+
+  private static final Logger LOG = Logger.getLogger(AsyncCertRenderer.class.getName());
+
+  private final Executor executor;
+
+  /**
+   * Constructor using the default executor.
+   */
+  public AsyncCertRenderer() {
+    this(DefaultExecutorHolder.EXECUTOR);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param executor the executor on which certificates are parsed and rendered
+   */
+  public AsyncCertRenderer(Executor executor) {
+    this.executor = Objects.requireNonNull(executor, "Executor must not be null");
+  }
+
+  /**
+   * @return the executor on which certificates are parsed and rendered
+   */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Renders a certificate asynchronously.
+   *
+   * @param cert certificate to render
+   * @param options render options
+   * @return future completed with the rendered certificate
+   */
+  public CompletableFuture<String> render(PrintCertificate cert, RenderOptions options) {
+    Objects.requireNonNull(cert, "Certificate must not be null");
+    Objects.requireNonNull(options, "Render options must not be null");
+    return CompletableFuture.supplyAsync(() -> cert.render(options), executor);
+  }
+
+  /**
+   * Parses and renders a DER encoded certificate asynchronously.
+   *
+   * @param certBytes DER encoded certificate
+   * @param options render options
+   * @return future completed with the rendered certificate, or exceptionally if the certificate could not be parsed
+   */
+  public CompletableFuture<String> render(byte[] certBytes, RenderOptions options) {
+    Objects.requireNonNull(certBytes, "Certificate bytes must not be null");
+    Objects.requireNonNull(options, "Render options must not be null");
+    return CompletableFuture.supplyAsync(() -> parse(certBytes).render(options), executor);
+  }
+
+  /**
+   * Creates a publisher that parses and renders a stream of DER encoded certificates. Each subscriber iterates the
+   * source independently and receives one {@link RenderResult} per certificate, in source order. Certificates are only
+   * taken from the source as the subscriber requests them, and certificates that fail to parse or render are
+   * published as failed results.
+   *
+   * @param certificates source of DER encoded certificates
+   * @param options render options
+   * @return render result publisher
+   */
+  public Flow.Publisher<RenderResult> publisher(Iterable<byte[]> certificates, RenderOptions options) {
+    Objects.requireNonNull(certificates, "Certificates must not be null");
+    Objects.requireNonNull(options, "Render options must not be null");
+    return subscriber -> {
+      Objects.requireNonNull(subscriber, "Subscriber must not be null");
+      Iterator<byte[]> iterator;
+      try {
+        iterator = certificates.iterator();
+      }
+      catch (RuntimeException ex) {
+        subscriber.onSubscribe(new RenderSubscription(null, null, options, executor));
+        subscriber.onError(ex);
+        return;
+      }
+      subscriber.onSubscribe(new RenderSubscription(subscriber, iterator, options, executor));
+    };
+  }
+
+  private static PrintCertificate parse(byte[] certBytes) {
+    try {
+      return PrintCertificate.getLazyInstance(certBytes);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static Executor createDefaultExecutor() {
+    try {
+      Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    }
+    catch (ReflectiveOperationException | RuntimeException ex) {
+      LOG.fine("Virtual threads not available, using platform threads for rendering");
+    }
+    AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+      Thread thread = new Thread(runnable, "print-cert-render-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  private static class DefaultExecutorHolder {
+    private static final Executor EXECUTOR = createDefaultExecutor();
+  }
+
+  /**
+   * Subscription that drains the source on the executor as long as there is outstanding demand. At most one drain task
+   * is running or scheduled at any time, so signals to the subscriber are serialized.
+   */
+  private static class RenderSubscription implements Flow.Subscription, Runnable {
+
+    private final Flow.Subscriber<? super RenderResult> subscriber;
+    private final Iterator<byte[]> iterator;
+    private final RenderOptions options;
+    private final Executor executor;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean done;
+    private volatile Throwable invalidRequest;
+    private int index;
+
+    RenderSubscription(Flow.Subscriber<? super RenderResult> subscriber, Iterator<byte[]> iterator,
+      RenderOptions options, Executor executor) {
+      this.subscriber = subscriber;
+      this.iterator = iterator;
+      this.options = options;
+      this.executor = executor;
+      this.done = iterator == null;
+    }
+
+    @Override
+    public void request(long n) {
+      if (done) {
+        return;
+      }
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("Requested number of items must be positive, was " + n);
+      }
+      else {
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      done = true;
+    }
+
+    private void schedule() {
+      if (pending.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        }
+        catch (RuntimeException ex) {
+          LOG.log(Level.WARNING, "Failed to schedule certificate rendering", ex);
+          done = true;
+          subscriber.onError(ex);
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      try {
+        while (true) {
+          if (done) {
+            return;
+          }
+          if (invalidRequest != null) {
+            done = true;
+            subscriber.onError(invalidRequest);
+            return;
+          }
+          long requested = demand.get();
+          long emitted = 0;
+          while (emitted != requested && !done && iterator.hasNext()) {
+            subscriber.onNext(renderNext(iterator.next()));
+            emitted++;
+          }
+          if (!done && !iterator.hasNext()) {
+            done = true;
+            subscriber.onComplete();
+            return;
+          }
+          if (emitted != 0 && requested != Long.MAX_VALUE) {
+            demand.addAndGet(-emitted);
+          }
+          missed = pending.addAndGet(-missed);
+          if (missed == 0) {
+            return;
+          }
+        }
+      }
+      catch (RuntimeException ex) {
+        if (!done) {
+          done = true;
+          subscriber.onError(ex);
+        }
+      }
+    }
+
+    private RenderResult renderNext(byte[] certBytes) {
+      int resultIndex = index++;
+      try {
+        return RenderResult.success(resultIndex, parse(certBytes).render(options));
+      }
+      catch (Exception ex) {
+        return RenderResult.failure(resultIndex, ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,781 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Vector;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1InputStream;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1Sequence;
+import org.bouncycastle.asn1.DERIA5String;
+import org.bouncycastle.asn1.x509.AccessDescription;
+import org.bouncycastle.asn1.x509.Attribute;
+import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
+import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLDistPoint;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.CertificatePolicies;
+import org.bouncycastle.asn1.x509.DistributionPoint;
+import org.bouncycastle.asn1.x509.DistributionPointName;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.GeneralSubtree;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.asn1.x509.NameConstraints;
+import org.bouncycastle.asn1.x509.PolicyConstraints;
+import org.bouncycastle.asn1.x509.PolicyMappings;
+import org.bouncycastle.asn1.x509.PrivateKeyUsagePeriod;
+import org.bouncycastle.asn1.x509.SubjectDirectoryAttributes;
+import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
+import org.bouncycastle.asn1.x509.Time;
+import org.bouncycastle.asn1.x509.qualified.BiometricData;
+import org.bouncycastle.util.encoders.Hex;
+import org.w3c.dom.Element;
+
+import se.idsec.utils.printcert.enums.OidName;
+import se.idsec.utils.printcert.enums.SubjectDnType;
+import se.idsec.utils.printcert.enums.SupportedExtension;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+import se.idsec.utils.printcert.utils.OidRegistry;
+import se.swedenconnect.cert.extensions.AuthnContext;
+import se.swedenconnect.cert.extensions.BiometricInfo;
+import se.swedenconnect.cert.extensions.InhibitAnyPolicy;
+import se.swedenconnect.cert.extensions.QCStatements;
+import se.swedenconnect.cert.extensions.SubjectInformationAccess;
+import se.swedenconnect.cert.extensions.data.MonetaryValue;
+import se.swedenconnect.cert.extensions.data.PDSLocation;
+import se.swedenconnect.cert.extensions.data.SemanticsInformation;
+import se.swedenconnect.cert.extensions.data.saci.AttributeMapping;
+import se.swedenconnect.cert.extensions.data.saci.AuthContextInfo;
+import se.swedenconnect.cert.extensions.data.saci.IdAttributes;
+import se.swedenconnect.cert.extensions.data.saci.SAMLAuthContext;
+
+/**
+ * The extension renderers provided by this library.
+ */
+final class BuiltInExtensionRenderers {
+
+  /** Renderer of extensions without a registered renderer */
+  static final ExtensionRenderer UNKNOWN = new SupportedExtensionRenderer(SupportedExtension.unknown,
+    BuiltInExtensionRenderers::unknown, false);
+
+  private static final String[] REASON_NAMES = { "unspecified", "keyCompromise", "cACompromise", "affiliationChanged",
+    "superseded", "cessationOfOperation", "certificateHold", "unknown", "removeFromCRL", "privilegeWithdrawn",
+    "aACompromise" };
+
+  private BuiltInExtensionRenderers() {
+  }
+
+  /**
+   * Get the renderers of all supported extensions.
+   *
+   * @return built-in renderers
+   */
+  static List<ExtensionRenderer> getRenderers() {
+    return List.of(
+      new SupportedExtensionRenderer(SupportedExtension.basicConstraints, BuiltInExtensionRenderers::basicConstraints),
+      new SupportedExtensionRenderer(SupportedExtension.authorityInfoAccess, BuiltInExtensionRenderers::authorityInfoAccess),
+      new SupportedExtensionRenderer(SupportedExtension.authorityKeyIdentifier, BuiltInExtensionRenderers::authorityKeyIdentifier),
+      new SupportedExtensionRenderer(SupportedExtension.biometricInfo, BuiltInExtensionRenderers::biometricInfo),
+      new SupportedExtensionRenderer(SupportedExtension.cRLDistributionPoints, BuiltInExtensionRenderers::cRLDistributionPoints),
+      new SupportedExtensionRenderer(SupportedExtension.certificateIssuer, BuiltInExtensionRenderers::certificateIssuer),
+      new SupportedExtensionRenderer(SupportedExtension.certificatePolicies, BuiltInExtensionRenderers::certificatePolicies),
+      new SupportedExtensionRenderer(SupportedExtension.extendedKeyUsage, BuiltInExtensionRenderers::extendedKeyUsage),
+      new SupportedExtensionRenderer(SupportedExtension.issuerAlternativeName, BuiltInExtensionRenderers::issuerAlternativeName),
+      new SupportedExtensionRenderer(SupportedExtension.keyUsage, BuiltInExtensionRenderers::keyUsage),
+      new SupportedExtensionRenderer(SupportedExtension.netscapeCertType, BuiltInExtensionRenderers::netscapeCertType),
+      new SupportedExtensionRenderer(SupportedExtension.logoType, BuiltInExtensionRenderers::logoType),
+      new SupportedExtensionRenderer(SupportedExtension.inhibitAnyPolicy, BuiltInExtensionRenderers::inhibitAnyPolicy),
+      new SupportedExtensionRenderer(SupportedExtension.nameConstraints, BuiltInExtensionRenderers::nameConstraints),
+      new SupportedExtensionRenderer(SupportedExtension.policyConstraints, BuiltInExtensionRenderers::policyConstraints),
+      new SupportedExtensionRenderer(SupportedExtension.policyMappings, BuiltInExtensionRenderers::policyMappings),
+      new SupportedExtensionRenderer(SupportedExtension.privateKeyUsagePeriod, BuiltInExtensionRenderers::privateKeyUsagePeriod),
+      new SupportedExtensionRenderer(SupportedExtension.qCStatements, BuiltInExtensionRenderers::qCStatements),
+      new SupportedExtensionRenderer(SupportedExtension.subjectAlternativeName, BuiltInExtensionRenderers::subjectAlternativeName),
+      new SupportedExtensionRenderer(SupportedExtension.subjectDirectoryAttributes, BuiltInExtensionRenderers::subjectDirectoryAttributes),
+      new SupportedExtensionRenderer(SupportedExtension.subjectInfoAccess, BuiltInExtensionRenderers::subjectInfoAccess),
+      new SupportedExtensionRenderer(SupportedExtension.subjectKeyIdentifier, BuiltInExtensionRenderers::subjectKeyIdentifier, false),
+      new SupportedExtensionRenderer(SupportedExtension.cRLNumber, BuiltInExtensionRenderers::cRLNumber),
+      new SupportedExtensionRenderer(SupportedExtension.deltaCRLIndicator, BuiltInExtensionRenderers::deltaCRLIndicator),
+      new SupportedExtensionRenderer(SupportedExtension.reasonCode, BuiltInExtensionRenderers::reasonCode),
+      new SupportedExtensionRenderer(SupportedExtension.invalidityDate, BuiltInExtensionRenderers::invalidityDate, false),
+      new SupportedExtensionRenderer(SupportedExtension.ocspNocheck, BuiltInExtensionRenderers::ocspNocheck),
+      new SupportedExtensionRenderer(SupportedExtension.ocspNonce, BuiltInExtensionRenderers::ocspNonce, false),
+      new SupportedExtensionRenderer(SupportedExtension.authContext, BuiltInExtensionRenderers::authContext),
+      new SupportedExtensionRenderer(SupportedExtension.signedCertificateTimestampList, BuiltInExtensionRenderers::signedCertificateTimestampList, false));
+  }
+
+  private static UnitDisplayData basicConstraints(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    BasicConstraints ext = BasicConstraints.getInstance(extInfo.getExtDataASN1());
+    da.add(new String[] { "CA", String.valueOf(ext.isCA()) });
+    if (ext.getPathLenConstraint() != null) {
+      da.add(new String[] { "PathLen", ext.getPathLenConstraint().toString() });
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData authorityInfoAccess(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    AuthorityInformationAccess aia = AuthorityInformationAccess.getInstance(extInfo.getExtDataASN1());
+    AccessDescription[] aiadescArray = aia.getAccessDescriptions();
+    if (aiadescArray != null) {
+      for (int i = 0; i < aiadescArray.length; i++) {
+        da.add(new String[] { "accessMethod" + getIndexStr(i), OidName.getName(aiadescArray[i].getAccessMethod()) });
+        da.add(new String[] { "  accessLocation", DisplayCert.getGeneralNameStr(aiadescArray[i].getAccessLocation()) });
+      }
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData authorityKeyIdentifier(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    AuthorityKeyIdentifier aki = AuthorityKeyIdentifier.getInstance(extInfo.getExtDataASN1());
+    byte[] keyIdentifier = aki.getKeyIdentifier();
+    BigInteger authorityCertSerialNumber = aki.getAuthorityCertSerialNumber();
+    GeneralNames authorityCertIssuer = aki.getAuthorityCertIssuer();
+    if (keyIdentifier != null) {
+      da.add(new String[] { "Key identifier", DisplayCert.byteArrayToHexString(keyIdentifier) });
+    }
+    if (authorityCertIssuer != null) {
+      da.add(new String[] { "Cert Issuer", getGeneralNamesString(authorityCertIssuer) });
+    }
+    if (authorityCertSerialNumber != null) {
+      da.add(new String[] { "Cert serial", authorityCertSerialNumber.toString(16) });
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData biometricInfo(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    BiometricInfo biometricInfo = BiometricInfo.getInstance(extInfo.getExtDataASN1());
+    List<BiometricData> biometricDataList = biometricInfo.getBiometricDataList();
+    for (int bdIdx = 0; bdIdx < biometricDataList.size(); bdIdx++) {
+      BiometricData biometricData = biometricDataList.get(bdIdx);
+
+      da.add(new String[] { "Biometric data" + getIndexStr(bdIdx),
+        "Type: " + BiometricInfo.getTypeString(biometricData.getTypeOfBiometricData()) });
+      da.add(new String[] { "  Hash algoritm", biometricData.getHashAlgorithm().getAlgorithm().getId() });
+      da.add(new String[] { "  Hash value", Hex.toHexString(biometricData.getBiometricDataHash().getOctets()) });
+      if (biometricData.getSourceDataUriIA5() != null) {
+        da.add(new String[] { "  Source UIR", biometricData.getSourceDataUriIA5().getString() });
+      }
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData cRLDistributionPoints(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    CRLDistPoint crldp = CRLDistPoint.getInstance(extInfo.getExtDataASN1());
+    DistributionPoint[] distributionPoints = crldp.getDistributionPoints();
+    if (distributionPoints != null) {
+      for (int dpIdx = 0; dpIdx < distributionPoints.length; dpIdx++) {
+        DistributionPointName dpn = distributionPoints[dpIdx].getDistributionPoint();
+        try {
+          GeneralNames dpGns = (GeneralNames) dpn.getName();
+          GeneralName[] names = dpGns.getNames();
+          for (int i = 0; i < names.length; i++) {
+            da.add(new String[] { "DistributionPoint" + getIndexStr(dpIdx), DisplayCert.getGeneralNameStr(names[i]) });
+          }
+        }
+        catch (Exception ex) {
+        }
+      }
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData certificateIssuer(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), null, false);
+  }
+
+  private static UnitDisplayData certificatePolicies(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    CertificatePolicies cp = CertificatePolicies.getInstance(extInfo.getExtDataASN1());
+    getPolicyText(cp, da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData extendedKeyUsage(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    ExtendedKeyUsage eku = ExtendedKeyUsage.getInstance(extInfo.getExtDataASN1());
+    KeyPurposeId[] usages = eku.getUsages();
+    if (usages != null) {
+      for (int i = 0; i < usages.length; i++) {
+        da.add(new String[] { "KeyPurposeId " + getIndexStr(i), OidName.getName(usages[i].toOID()) });
+      }
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData issuerAlternativeName(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    GeneralNames ian = GeneralNames.getInstance(extInfo.getExtDataASN1());
+    if (ian != null) {
+      getAltNameExtensionDisp(ian, da);
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData keyUsage(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    KeyUsage keyUsage = KeyUsage.getInstance(extInfo.getExtDataASN1());
+    getKeyUsageText(keyUsage, da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData netscapeCertType(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    KeyUsage nsct = KeyUsage.getInstance(extInfo.getExtDataASN1());
+    getNetscapeCertTypeText(nsct, da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData logoType(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), null, false);
+  }
+
+  private static UnitDisplayData inhibitAnyPolicy(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    getInhibitAnyPolicyText(InhibitAnyPolicy.getInstance(extInfo.getExtDataASN1()), da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData nameConstraints(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    getNameConstraintsText(NameConstraints.getInstance(extInfo.getExtDataASN1()), da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData policyConstraints(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    getPolicyConstraintsText(PolicyConstraints.getInstance(extInfo.getExtDataASN1()), da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData policyMappings(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    getPolicyMappingsText(PolicyMappings.getInstance(extInfo.getExtDataASN1()), da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData privateKeyUsagePeriod(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    PrivateKeyUsagePeriod pkup = PrivateKeyUsagePeriod.getInstance(extInfo.getExtDataASN1());
+    if (pkup.getNotBefore() != null) {
+      try {
+        da.add(new String[] { "NotBefore ", DisplayCert.DATE_TIME_FORMATTER.format(Instant.ofEpochMilli(pkup.getNotBefore().getDate().getTime())) });
+      }
+      catch (ParseException e) {
+        da.add(new String[]{"NotBefore ", "Illegal time data"});
+      }
+    }
+    if (pkup.getNotAfter() != null) {
+      try {
+        da.add(new String[] { "NotAfter ", DisplayCert.DATE_TIME_FORMATTER.format(Instant.ofEpochMilli(pkup.getNotAfter().getDate().getTime())) });
+      } catch (ParseException e) {
+        da.add(new String[]{"NotBefore ", "Illegal time data"});
+      }
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData qCStatements(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    QCStatements qcstatements = QCStatements.getInstance(extInfo.getExtDataASN1());
+    getQcStatementsDisp(qcstatements, da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData subjectAlternativeName(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    GeneralNames san = GeneralNames.getInstance(extInfo.getExtDataASN1());
+    if (san != null) {
+      getAltNameExtensionDisp(san, da);
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData subjectDirectoryAttributes(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    SubjectDirectoryAttributes subjectDirectoryAttributes = SubjectDirectoryAttributes.getInstance(extInfo.getExtDataASN1());
+    try {
+      @SuppressWarnings("unchecked")
+      Vector<Attribute> attributes = subjectDirectoryAttributes.getAttributes();
+      for (Attribute attribute : attributes) {
+        List<String> valueList = Arrays.stream(attribute.getAttributeValues())
+          .map(asn1Encodable -> DisplayCert.getStringValue(asn1Encodable))
+          .collect(Collectors.toList());
+        ASN1ObjectIdentifier attrType = attribute.getAttrType();
+        SubjectDnType subjectDnType = SubjectDnType.getNameTypeForOid(attrType);
+        String attrName = subjectDnType.getOidString() == null
+          ? attrType.getId()
+          : subjectDnType.getDispName();
+        if (!valueList.isEmpty()) {
+          String displayValue = valueList.size() == 1
+            ? valueList.get(0)
+            : "[ " + String.join(", ", valueList) + " ]";
+          da.add(new String[] { attrName, displayValue });
+        }
+      }
+    } catch (Exception ex) {
+      return new UnitDisplayData(extension, idx, extInfo.isCritical(), SubjectDirectoryAttributes.getInstance(extInfo.getExtDataASN1()).toString(), true);
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData subjectInfoAccess(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    SubjectInformationAccess sia = SubjectInformationAccess.getInstance(extInfo.getExtDataASN1());
+    AccessDescription[] siadescArray = sia.getAccessDescriptions();
+    if (siadescArray != null) {
+      for (int i = 0; i < siadescArray.length; i++) {
+        da.add(new String[] { "accessMethod" + getIndexStr(i), OidName.getName(siadescArray[i].getAccessMethod()) });
+        da.add(new String[] { "  accessLocation", DisplayCert.getGeneralNameStr(siadescArray[i].getAccessLocation()) });
+      }
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData subjectKeyIdentifier(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    SubjectKeyIdentifier ski = SubjectKeyIdentifier.getInstance(extInfo.getExtDataASN1());
+    byte[] skeyIdentifier = ski.getKeyIdentifier();
+    if (skeyIdentifier != null) {
+      da.add(new String[] { "Key identifier", DisplayCert.byteArrayToHexString(skeyIdentifier) });
+    }
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData cRLNumber(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    da.add(new String[] { "CRL number", CRLNumber.getInstance(extInfo.getExtDataASN1()).getCRLNumber().toString() });
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData deltaCRLIndicator(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    da.add(new String[] { "Base CRL number", CRLNumber.getInstance(extInfo.getExtDataASN1()).getCRLNumber().toString() });
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData reasonCode(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    da.add(new String[] { "Reason", getReasonText(CRLReason.getInstance(extInfo.getExtDataASN1())) });
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData invalidityDate(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    da.add(new String[] { "Invalidity date", Time.getInstance(extInfo.getExtDataASN1()).getDate().toString() });
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData ocspNocheck(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    da.add(new String[] { "OCSP no-check", "true" });
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData ocspNonce(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    ASN1Primitive nonce = extInfo.getExtDataASN1();
+    byte[] nonceValue = nonce instanceof ASN1OctetString ? ((ASN1OctetString) nonce).getOctets() : extInfo.getExtData();
+    da.add(new String[] { "Nonce", Hex.toHexString(nonceValue) });
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData authContext(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    AuthnContext authCont = AuthnContext.getInstance(extInfo.getExtDataASN1());
+    getAuthnContextDisp(authCont, da);
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static UnitDisplayData unknown(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    UnitDisplayData unknownData = new UnitDisplayData(UnitType.extension);
+    unknownData.setCriticality(extInfo.isCritical());
+    unknownData.setId(extInfo.getOid().getId());
+    unknownData.setSequence(idx);
+    String registeredName = OidRegistry.getDisplayName(extInfo.getOid());
+    unknownData.setName(registeredName == null ? "Unkown extension" : registeredName);
+    unknownData.setStructured(false);
+    unknownData.setFreeText("Unknown data structure with " + String.valueOf(extInfo.getExtDataBuffer().remaining()) + " bytes of data");
+    return unknownData;
+  }
+
+  private static UnitDisplayData signedCertificateTimestampList(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException {
+    List<String[]> da = new ArrayList<>();
+    da.add(new String[] { "SignedTimeStampList", String.valueOf(extInfo.getExtDataBuffer().remaining()) + " bytes of data" });
+    return new UnitDisplayData(extension, idx, extInfo.isCritical(), da);
+  }
+
+  private static String getGeneralNamesString(GeneralNames genNames) {
+    GeneralName[] names = genNames.getNames();
+    StringBuilder b = new StringBuilder();
+    b.append("GeneralNames {");
+    for (int i = 0; i < names.length; i++) {
+      b.append(DisplayCert.getGeneralNameStr(names[i]));
+      if (i + 1 < names.length) {
+        b.append(" | ");
+      }
+    }
+    b.append("}");
+    return b.toString();
+  }
+
+  private static void getPolicyText(CertificatePolicies cp, List<String[]> da) {
+    try {
+      ASN1InputStream din = new ASN1InputStream(new ByteArrayInputStream(cp.getEncoded()));
+      ASN1Sequence polInfoSeq = ASN1Sequence.getInstance(din.readObject());
+      for (int i = 0; i < polInfoSeq.size(); i++) {
+        ASN1Sequence polSeq = ASN1Sequence.getInstance(polInfoSeq.getObjectAt(i));
+        ASN1ObjectIdentifier policyId = ASN1ObjectIdentifier.getInstance(polSeq.getObjectAt(0));
+        da.add(new String[] { "certificatePolicy" + getIndexStr(i), OidName.getName(policyId) });
+        if (polSeq.size() > 1) {
+          ASN1Sequence qualSeq = ASN1Sequence.getInstance(polSeq.getObjectAt(1));
+          for (int qualifierIdx = 0; qualifierIdx < qualSeq.size(); qualifierIdx++) {
+            ASN1Sequence qualInfoSeq = ASN1Sequence.getInstance(qualSeq.getObjectAt(qualifierIdx));
+            ASN1ObjectIdentifier qualifierId = ASN1ObjectIdentifier.getInstance(qualInfoSeq.getObjectAt(0));
+            da.add(new String[] { "  qualifier" + getIndexStr(qualifierIdx), OidName.getName(qualifierId) });
+            if (qualifierId.getId().equalsIgnoreCase(OidName.cpsQualifier.getOid())) {
+              da.add(new String[] { "  - CPS URI", DERIA5String.getInstance(qualInfoSeq.getObjectAt(1)).getString() });
+            }
+            if (qualifierId.getId().equalsIgnoreCase(OidName.usernoticeQualifier.getOid())) {
+              da.add(new String[] { "  - User Notice", qualInfoSeq.getObjectAt(1).toString() });
+            }
+          }
+        }
+
+      }
+
+    }
+    catch (IOException ex) {
+      Logger.getLogger(BuiltInExtensionRenderers.class.getName()).log(Level.SEVERE, null, ex);
+    }
+
+  }
+
+  private static void getKeyUsageText(KeyUsage keyUsage, List<String[]> da) {
+    da.add(new String[] { "Usage", DisplayCert.getKeyUsageText(keyUsage) });
+
+  }
+
+  private static void getNetscapeCertTypeText(KeyUsage keyUsage, List<String[]> da) {
+    List<String> usagesList = new ArrayList<>();
+    StringBuilder b = new StringBuilder();
+    if (keyUsage.hasUsages(KeyUsage.digitalSignature)) {
+      usagesList.add("SSL Client");
+    }
+    if (keyUsage.hasUsages(KeyUsage.nonRepudiation)) {
+      usagesList.add("SSL Server");
+    }
+    if (keyUsage.hasUsages(KeyUsage.keyEncipherment)) {
+      usagesList.add("S/MIME");
+    }
+    if (keyUsage.hasUsages(KeyUsage.dataEncipherment)) {
+      usagesList.add("Object-signing");
+    }
+    if (keyUsage.hasUsages(KeyUsage.keyAgreement)) {
+      usagesList.add("Reserved");
+    }
+    if (keyUsage.hasUsages(KeyUsage.keyCertSign)) {
+      usagesList.add("SSL-CA");
+    }
+    if (keyUsage.hasUsages(KeyUsage.cRLSign)) {
+      usagesList.add("S/MIME CA");
+    }
+    if (keyUsage.hasUsages(KeyUsage.encipherOnly)) {
+      usagesList.add("Object-signing CA");
+    }
+    for (int i = 0; i < usagesList.size(); i++) {
+      b.append(usagesList.get(i));
+      if (i + 1 < usagesList.size()) {
+        b.append(" | ");
+      }
+    }
+    da.add(new String[] { "CertType", b.toString() });
+  }
+
+  private static void getAuthnContextDisp(AuthnContext authCont, List<String[]> da) {
+    List<SAMLAuthContext> statementInfoList = authCont.getStatementInfoList();
+    for (int stIdx = 0; stIdx < statementInfoList.size(); stIdx++) {
+      da.add(new String[] { "SAMLAuthContext" + getIndexStr(stIdx), "http://id.elegnamnden.se/auth-cont/1.0/saci" });
+      SAMLAuthContext samlAuthContext = statementInfoList.get(stIdx);
+      try {
+        AuthContextInfo aci = samlAuthContext.getAuthContextInfo();
+        addDispItem(aci.getIdentityProvider(), "  Identity Provider", da);
+        addDispItem(aci.getAuthnContextClassRef(), "  Level of Assurance", da);
+        addDispItem(DisplayCert.DATE_TIME_FORMATTER.format(aci.getAuthenticationInstant()), "  Authn Instant", da);
+        addDispItem(aci.getAssertionRef(), "  Assertion Ref", da);
+        addDispItem(aci.getServiceID(), "  ServiceID", da);
+
+        IdAttributes idAttributes = samlAuthContext.getIdAttributes();
+        if (idAttributes != null) {
+          List<AttributeMapping> attributeMappingList = idAttributes.getAttributeMappings();
+          for (int amIdx = 0; amIdx < attributeMappingList.size(); amIdx++) {
+            AttributeMapping amt = attributeMappingList.get(amIdx);
+            String ref = amt.getRef();
+            String type = amt.getType().toString();
+            if (type.equalsIgnoreCase("san")) {
+              try {
+                ref = DisplayCert.generalNameTagText[Integer.valueOf(ref)];
+              }
+              catch (Exception e) {
+              }
+            }
+            String name = amt.getAttribute().getName();
+            String friendlyName = amt.getAttribute().getFriendlyName();
+            String friendlyNameString = friendlyName != null ? " | " + friendlyName : "";
+            List<Element> attributeValues = amt.getAttribute().getAttributeValues();
+            String attributeValueString = "";
+            if (attributeValues != null && !attributeValues.isEmpty()){
+              attributeValueString = " (" + attributeValues.get(0).getTextContent() + ")";
+            }
+            String val = "SAML: " + name + friendlyNameString + " --> Type=" + type + " Ref=" + ref + attributeValueString;
+            addDispItem(val, "  Attribute mapping " + String.valueOf(amIdx), da);
+          }
+        }
+
+      }
+      catch (Exception e) {
+      }
+    }
+  }
+
+  private static void addDispItem(Object value, String name, List<String[]> da) {
+    StringBuilder b = new StringBuilder();
+    if (value != null) {
+      b.append(value);
+      if (b.length() > 0) {
+        da.add(new String[] { name, b.toString() });
+      }
+    }
+  }
+
+  private static void getAltNameExtensionDisp(GeneralNames san, List<String[]> da) {
+    GeneralName[] names = san.getNames();
+    if (names != null) {
+      for (GeneralName name : names) {
+        String toString = name.toString();
+        try {
+          int tagNo = Integer.valueOf(toString.substring(0, toString.indexOf(":")));
+          da.add(new String[] { DisplayCert.generalNameTagText[tagNo], toString.substring(toString.indexOf(":") + 1) });
+
+        }
+        catch (Exception e) {
+        }
+      }
+    }
+  }
+
+  private static void getPolicyMappingsText(PolicyMappings instance, List<String[]> da) {
+
+    final ASN1Sequence pmSeq = (ASN1Sequence) instance.toASN1Primitive();
+    final Iterator<ASN1Encodable> iterator = pmSeq.iterator();
+    while (iterator.hasNext()){
+      ASN1Sequence oidSeq = ASN1Sequence.getInstance(iterator.next());
+      String idp = ASN1ObjectIdentifier.getInstance(oidSeq.getObjectAt(0)).getId();
+      String sdp = ASN1ObjectIdentifier.getInstance(oidSeq.getObjectAt(0)).getId();
+      da.add(new String[]{"Mapping", "issuer: " + idp + " --> subject: " + sdp});
+    }
+  }
+
+  private static void getPolicyConstraintsText(PolicyConstraints instance, List<String[]> da) {
+
+    final BigInteger requireExplicitPolicyMapping = instance.getRequireExplicitPolicyMapping();
+    if (requireExplicitPolicyMapping != null){
+      da.add(new String[]{"Require explicit", requireExplicitPolicyMapping.toString()});
+    }
+    final BigInteger inhibitPolicyMapping = instance.getInhibitPolicyMapping();
+    if (inhibitPolicyMapping != null) {
+      da.add(new String[]{"Inhibit mapping", inhibitPolicyMapping.toString()});
+    }
+  }
+
+  private static void getNameConstraintsText(NameConstraints instance, List<String[]> da) {
+
+    final GeneralSubtree[] permittedSubtrees = instance.getPermittedSubtrees();
+    final GeneralSubtree[] excludedSubtrees = instance.getExcludedSubtrees();
+
+    printGeneralSubtree("Permitted Subtree", permittedSubtrees, da);
+    printGeneralSubtree("Excluded Subtree", excludedSubtrees, da);
+  }
+
+  private static void printGeneralSubtree(String title, GeneralSubtree[] generalSubtreeArray, List<String[]> da) {
+    if (generalSubtreeArray != null && generalSubtreeArray.length > 0 ){
+      for (int i = 0; i< generalSubtreeArray.length ; i++){
+        GeneralSubtree subtree = generalSubtreeArray[i];
+        da.add(new String[]{title + "["+i+"]", DisplayCert.getGeneralNameStr(subtree.getBase())});
+        if (subtree.getMinimum() != null){
+          da.add(new String[]{"  minimum", subtree.getMinimum().toString()});
+        }
+        if (subtree.getMaximum() != null){
+          da.add(new String[]{"  maximum", subtree.getMaximum().toString()});
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the name of a CRL reason code.
+   *
+   * @param reason CRL reason
+   * @return reason name
+   */
+  static String getReasonText(CRLReason reason) {
+    int value = reason.getValue().intValue();
+    return value >= 0 && value < REASON_NAMES.length ? REASON_NAMES[value] : "Unknown reason (" + value + ")";
+  }
+
+  private static void getInhibitAnyPolicyText(InhibitAnyPolicy instance, List<String[]> da) {
+    da.add(new String[]{"Skip certs", instance.getSkipCerts().toString()});
+  }
+
+  private static void getQcStatementsDisp(QCStatements qcstatements, List<String[]> da) {
+    int idx = 0;
+    if (qcstatements.isPkixSyntaxV1()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC Syntax V1" });
+    }
+    if (qcstatements.isPkixSyntaxV2()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC Syntax V2" });
+    }
+    if (qcstatements.isPkixSyntaxV1() || qcstatements.isPkixSyntaxV2()) {
+      SemanticsInformation semanticsInfo = qcstatements.getSemanticsInfo();
+      if (semanticsInfo != null) {
+        if (semanticsInfo.getSemanticsIdentifier() != null) {
+          da.add(new String[] { "  SemanticsID", OidName.getName(semanticsInfo.getSemanticsIdentifier()) });
+        }
+        if (!semanticsInfo.getNameRegistrationAuthorityList().isEmpty()) {
+          semanticsInfo.getNameRegistrationAuthorityList().forEach((name) -> {
+            da.add(new String[] { "  NameRegAuth", DisplayCert.getGeneralNameStr(name) });
+          });
+        }
+      }
+    }
+
+    if (qcstatements.isQcCompliance()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "Qualified Certificate" });
+    }
+    if (qcstatements.isQcSscd()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC SSCD" });
+    }
+    if (qcstatements.isQcType()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC Type" });
+      for (ASN1ObjectIdentifier type : qcstatements.getQcTypeIdList()) {
+        if (type.getId().equalsIgnoreCase(QCStatements.QC_TYPE_ELECTRONIC_SIGNATURE.getId())) {
+          da.add(new String[] { "  Type", "Electronic Signature" });
+        }
+        if (type.getId().equalsIgnoreCase(QCStatements.QC_TYPE_ELECTRONIC_SEAL.getId())) {
+          da.add(new String[] { "  Type", "Electronic Seal" });
+        }
+        if (type.getId().equalsIgnoreCase(QCStatements.QC_TYPE_WEBSITE_AUTH.getId())) {
+          da.add(new String[] { "  Type", "Website Authentication" });
+        }
+      }
+    }
+    if (qcstatements.isLimitValue()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "Reliance Limit" });
+      MonetaryValue monetaryValue = qcstatements.getMonetaryValue();
+      da.add(new String[] { "  Currency", monetaryValue.getCurrency() });
+      da.add(new String[] { "  Amount", monetaryValue.getAmount().toString() });
+      da.add(new String[] { "  Exponent", monetaryValue.getExponent().toString() });
+    }
+    if (qcstatements.isRetentionPeriod()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "Retention Period" });
+      da.add(new String[] { "  Years", qcstatements.getRetentionPeriodVal().toString() });
+    }
+    if (qcstatements.isPdsStatement()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "PKI Disclosure Statements" });
+      for (PDSLocation pdsLoc : qcstatements.getLocationList()) {
+        da.add(new String[] { "  Location", "Lang=" + pdsLoc.getLang() + " URL: " + pdsLoc.getUrl() });
+      }
+    }
+    if (qcstatements.isQcCClegislation()) {
+      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC Legislation Countries" });
+      for (String country : qcstatements.getLegislationCountryList()) {
+        da.add(new String[] { "  Country", country });
+      }
+    }
+  }
+
+  private static String getIndexStr(int i) {
+    return "[" + String.valueOf(i) + "]";
+  }
+
+  @FunctionalInterface
+  private interface RenderFunction {
+    UnitDisplayData render(SupportedExtension extension, ExtensionInfo extInfo, int idx) throws IOException;
+  }
+
+  /**
+   * Renderer of one of the {@link SupportedExtension} types. The output depends only on the extension content and the
+   * registered OID display names. Renderers of extensions with values that are unique to each certificate, CRL entry or
+   * response, such as key identifiers and nonces, are not cacheable since caching their output would only fill the
+   * cache.
+   */
+  private static final class SupportedExtensionRenderer implements ExtensionRenderer {
+
+    private final SupportedExtension extension;
+    private final RenderFunction renderFunction;
+    private final boolean cacheable;
+
+    SupportedExtensionRenderer(SupportedExtension extension, RenderFunction renderFunction) {
+      this(extension, renderFunction, true);
+    }
+
+    SupportedExtensionRenderer(SupportedExtension extension, RenderFunction renderFunction, boolean cacheable) {
+      this.extension = extension;
+      this.renderFunction = renderFunction;
+      this.cacheable = cacheable;
+    }
+
+    @Override
+    public Collection<ASN1ObjectIdentifier> getOids() {
+      return extension.getOid() == null ? List.of() : List.of(extension.getOid());
+    }
+
+    @Override
+    public UnitDisplayData render(ExtensionInfo extension, int index) throws IOException {
+      return renderFunction.render(this.extension, extension, index);
+    }
+
+    @Override
+    public boolean isCacheable() {
+      return cacheable;
+    }
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.display.html.GenericHtmlElement;
+import se.idsec.utils.printcert.display.html.HtmlElement;
+import se.idsec.utils.printcert.enums.FingerprintType;
+
+/**
+ * Renders certificate chains and bundles.
+ *
+ * <p>
+ * Certificates are ordered from each leaf certificate up to its root, where issuers are located by matching the issuer
+ * name against the subject name and, when present, the authority key identifier against the subject key identifier.
+ * Each distinct certificate is rendered once per output and is followed by a reference to its issuer, which in html
+ * output is a link to the anchor of the issuer section. Sections are rendered through a {@link RenderCache}, so issuer
+ * sections shared by many chains in a batch are rendered only once.
+ * </p>
+ */
+public class CertificateChainRenderer {
+
+  private final RenderCache renderCache;
+
+  /**
+   * Creates a chain renderer using the shared render cache.
+   */
+  public CertificateChainRenderer() {
+    this(RenderCache.getSharedInstance());
+  }
+
+  /**
+   * Creates a chain renderer.
+   *
+   * @param renderCache render cache for certificate sections
+   */
+  public CertificateChainRenderer(RenderCache renderCache) {
+    this.renderCache = Objects.requireNonNull(renderCache, "Render cache must not be null");
+  }
+
+  /**
+   * Orders certificates from each leaf certificate up to its root. Duplicate certificates are removed, and certificates
+   * that are not part of any chain from a leaf are added last in input order.
+   *
+   * @param certificates certificates in any order
+   * @return distinct certificates in chain order
+   */
+  public static List<PrintCertificate> orderChain(Collection<PrintCertificate> certificates) {
+    return new Chain(certificates).ordered;
+  }
+
+  /**
+   * Renders certificates in chain order.
+   *
+   * @param certificates certificates in any order
+   * @param options text or html render options for each certificate section
+   * @return rendered chain
+   * @throws IllegalArgumentException if the render options are not text or html options
+   */
+  public String render(Collection<PrintCertificate> certificates, RenderOptions options) {
+    StringBuilder b = new StringBuilder();
+    try {
+      write(certificates, options, b);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return b.toString();
+  }
+
+  /**
+   * Writes certificates in chain order to an {@link Appendable}.
+   *
+   * @param certificates certificates in any order
+   * @param options text or html render options for each certificate section
+   * @param out the destination of the rendered chain
+   * @throws IOException on errors writing to the destination
+   * @throws IllegalArgumentException if the render options are not text or html options
+   */
+  public void write(Collection<PrintCertificate> certificates, RenderOptions options, Appendable out)
+    throws IOException {
+    if (options.getFormat() != RenderFormat.text && options.getFormat() != RenderFormat.html) {
+      throw new IllegalArgumentException("Chain rendering requires text or html render options");
+    }
+    boolean html = options.getFormat() == RenderFormat.html;
+    Chain chain = new Chain(certificates);
+    List<PrintCertificate> ordered = chain.ordered;
+    for (int i = 0; i < ordered.size(); i++) {
+      PrintCertificate cert = ordered.get(i);
+      int issuerIndex = chain.issuerIndexes[i];
+      PrintCertificate issuer = issuerIndex < 0 ? null : ordered.get(issuerIndex);
+      if (html) {
+        new GenericHtmlElement("a").addAttribute("id", getAnchor(cert)).writeTo(out, false);
+        out.append(renderCache.render(cert, options));
+        if (issuer != null) {
+          HtmlElement issuedBy = new GenericHtmlElement("p").setText("Issued by: ");
+          issuedBy.addHtmlElement(new GenericHtmlElement("a").addAttribute("href", "#" + getAnchor(issuer))
+            .setText(issuer.getSubject().toString()));
+          issuedBy.writeTo(out, false);
+        }
+      }
+      else {
+        if (i > 0) {
+          out.append("\n\n");
+        }
+        out.append("Certificate ").append(String.valueOf(i + 1)).append(" of ")
+          .append(String.valueOf(ordered.size())).append("\n");
+        out.append(renderCache.render(cert, options)).append("\n");
+        if (issuer != null) {
+          out.append("Issued by: certificate ").append(String.valueOf(issuerIndex + 1)).append(" (")
+            .append(issuer.getSubject().toString()).append(")\n");
+        }
+      }
+    }
+  }
+
+  private static byte[] getSubjectKeyInfo(PrintCertificate cert) {
+    try {
+      return cert.getSubjectKeyInfo();
+    }
+    catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  private static byte[] getAuthorityKeyInfo(PrintCertificate cert) {
+    try {
+      return cert.getAuthorityKeyInfo();
+    }
+    catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+
+  private static String getAnchor(PrintCertificate cert) {
+    return "cert-" + Hex.toHexString(cert.getFingerprint(FingerprintType.sha256));
+  }
+
+  /**
+   * Distinct certificates in chain order with the index of the issuer of each certificate.
+   */
+  private static final class Chain {
+
+    private final List<PrintCertificate> ordered;
+    private final int[] issuerIndexes;
+
+    private Chain(Collection<PrintCertificate> certificates) {
+      Map<ByteBuffer, PrintCertificate> distinctMap = new LinkedHashMap<>();
+      for (PrintCertificate cert : certificates) {
+        distinctMap.putIfAbsent(cert.getDerView().getEncoded(), cert);
+      }
+      List<PrintCertificate> distinct = new ArrayList<>(distinctMap.values());
+      int count = distinct.size();
+      byte[][] keyIds = new byte[count][];
+      byte[][] authorityKeyIds = new byte[count][];
+      for (int i = 0; i < count; i++) {
+        keyIds[i] = getSubjectKeyInfo(distinct.get(i));
+        authorityKeyIds[i] = getAuthorityKeyInfo(distinct.get(i));
+      }
+
+      int[] issuers = new int[count];
+      boolean[] isIssuer = new boolean[count];
+      for (int i = 0; i < count; i++) {
+        issuers[i] = findIssuer(i, distinct, keyIds, authorityKeyIds);
+        if (issuers[i] >= 0) {
+          isIssuer[issuers[i]] = true;
+        }
+      }
+
+      // Walk from each leaf up to its root, then add certificates not reached from any leaf
+      int[] order = new int[count];
+      int[] position = new int[count];
+      Arrays.fill(position, -1);
+      int size = 0;
+      for (int pass = 0; pass < 2; pass++) {
+        for (int i = 0; i < count; i++) {
+          if (position[i] >= 0 || (pass == 0 && isIssuer[i])) {
+            continue;
+          }
+          for (int c = i; c >= 0 && position[c] < 0; c = issuers[c]) {
+            position[c] = size;
+            order[size++] = c;
+          }
+        }
+      }
+
+      List<PrintCertificate> orderedList = new ArrayList<>(count);
+      this.issuerIndexes = new int[count];
+      for (int i = 0; i < count; i++) {
+        orderedList.add(distinct.get(order[i]));
+        int issuer = issuers[order[i]];
+        issuerIndexes[i] = issuer < 0 ? -1 : position[issuer];
+      }
+      this.ordered = Collections.unmodifiableList(orderedList);
+    }
+
+    private static int findIssuer(int index, List<PrintCertificate> certs, byte[][] keyIds,
+      byte[][] authorityKeyIds) {
+      PrintCertificate cert = certs.get(index);
+      byte[] authorityKeyId = authorityKeyIds[index];
+      int nameMatch = -1;
+      for (int i = 0; i < certs.size(); i++) {
+        if (i == index || !certs.get(i).getSubject().equals(cert.getIssuer())) {
+          continue;
+        }
+        if (authorityKeyId == null || keyIds[i] == null) {
+          if (nameMatch < 0) {
+            nameMatch = i;
+          }
+          continue;
+        }
+        if (Arrays.equals(authorityKeyId, keyIds[i])) {
+          return i;
+        }
+      }
+      return nameMatch;
+    }
+  }
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.util.Fingerprint;
+import org.bouncycastle.util.encoders.Hex;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.display.html.TableElement;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+import se.idsec.utils.printcert.utils.DerCertificateView;
+
+/**
+ * Differences between two certificates, such as a certificate and its reissued replacement.
+ *
+ * <p>
+ * Certificates are compared field by field and extension by extension, where extensions are matched by OID. Fields
+ * and extensions are compared on their DER encoding first, and only those that differ are rendered. For a changed
+ * field or extension, display rows present in both certificates are omitted, so the result holds only the rows
+ * removed from the old certificate and the rows added in the new certificate.
+ * </p>
+ */
+public final class CertificateDiff {
+
+  /**
+   * Types of differences.
+   */
+  public enum ChangeType {
+    added, removed, changed
+  }
+
+  private final List<Difference> differences;
+
+  private CertificateDiff(List<Difference> differences) {
+    this.differences = Collections.unmodifiableList(differences);
+  }
+
+  /**
+   * Compares two certificates.
+   *
+   * @param oldCert the old certificate
+   * @param newCert the new certificate
+   * @return certificate differences
+   */
+  public static CertificateDiff compare(PrintCertificate oldCert, PrintCertificate newCert) {
+    return compare(oldCert, newCert, false);
+  }
+
+  /**
+   * Compares two certificates.
+   *
+   * @param oldCert the old certificate
+   * @param newCert the new certificate
+   * @param verbose set to true to show explicit key parameter and signature values. Differing signatures are always
+   *     reported, but are shown by fingerprint unless verbose.
+   * @return certificate differences
+   */
+  public static CertificateDiff compare(PrintCertificate oldCert, PrintCertificate newCert, boolean verbose) {
+    List<Difference> differences = new ArrayList<>();
+    DerCertificateView oldView = oldCert.getDerView();
+    DerCertificateView newView = newCert.getDerView();
+    if (oldView.getEncoded().equals(newView.getEncoded())) {
+      return new CertificateDiff(differences);
+    }
+
+    if (oldView.getVersion() != newView.getVersion()) {
+      addChange(differences, "Version", row("Version", String.valueOf(oldView.getVersion())),
+        row("Version", String.valueOf(newView.getVersion())));
+    }
+    if (differs(oldView, newView, DerCertificateView.Field.serialNumber)) {
+      addChange(differences, "Serial number", row("Serial number", oldCert.getSerialNumber().toString(16)),
+        row("Serial number", newCert.getSerialNumber().toString(16)));
+    }
+    if (differs(oldView, newView, DerCertificateView.Field.signatureAlgorithm)) {
+      addChange(differences, "Signature algorithm",
+        row("Algorithm", DisplayCert.getSignatureAlgorithmName(oldCert.getSignatureAlgorithm())),
+        row("Algorithm", DisplayCert.getSignatureAlgorithmName(newCert.getSignatureAlgorithm())));
+    }
+    if (differs(oldView, newView, DerCertificateView.Field.issuer)) {
+      addChange(differences, "Issuer", row("Issuer", oldCert.getIssuer().toString()),
+        row("Issuer", newCert.getIssuer().toString()));
+    }
+    if (differs(oldView, newView, DerCertificateView.Field.validity)) {
+      if (!oldCert.getNotBefore().equals(newCert.getNotBefore())) {
+        addChange(differences, "Not valid before", row("Not valid before", oldCert.getNotBefore().toString()),
+          row("Not valid before", newCert.getNotBefore().toString()));
+      }
+      if (!oldCert.getNotAfter().equals(newCert.getNotAfter())) {
+        addChange(differences, "Not valid after", row("Not valid after", oldCert.getNotAfter().toString()),
+          row("Not valid after", newCert.getNotAfter().toString()));
+      }
+    }
+    if (differs(oldView, newView, DerCertificateView.Field.subject)) {
+      addChange(differences, "Subject", row("Subject", oldCert.getSubject().toString()),
+        row("Subject", newCert.getSubject().toString()));
+    }
+    if (differs(oldView, newView, DerCertificateView.Field.subjectPublicKeyInfo)) {
+      List<String[]> oldRows = new ArrayList<>();
+      List<String[]> newRows = new ArrayList<>();
+      DisplayCert.getPublicKeyDispData(oldCert.getSubjectPublicKeyInfo(), verbose, oldRows);
+      DisplayCert.getPublicKeyDispData(newCert.getSubjectPublicKeyInfo(), verbose, newRows);
+      addChange(differences, "Public key", oldRows, newRows);
+    }
+
+    compareExtensions(oldCert, newCert, differences);
+
+    if (differs(oldView, newView, DerCertificateView.Field.signatureValue)) {
+      addChange(differences, "Signature", getSignatureRow(oldCert, verbose), getSignatureRow(newCert, verbose));
+    }
+    return new CertificateDiff(differences);
+  }
+
+  /**
+   * Signature row holding the signature value when verbose, and otherwise a fingerprint of the signature value.
+   */
+  private static List<String[]> getSignatureRow(PrintCertificate cert, boolean verbose) {
+    return verbose
+      ? row("Signature", Hex.toHexString(cert.getSignature()))
+      : row("Signature fingerprint", new Fingerprint(cert.getSignature()).toString());
+  }
+
+  private static void compareExtensions(PrintCertificate oldCert, PrintCertificate newCert,
+    List<Difference> differences) {
+    Map<ASN1ObjectIdentifier, ExtensionInfo> newExtensions = new LinkedHashMap<>();
+    for (ExtensionInfo extension : newCert.getExtensionInfoList()) {
+      newExtensions.putIfAbsent(extension.getOid(), extension);
+    }
+    for (ExtensionInfo oldExtension : oldCert.getExtensionInfoList()) {
+      ExtensionInfo newExtension = newExtensions.remove(oldExtension.getOid());
+      if (newExtension == null) {
+        UnitDisplayData oldData = renderExtension(oldExtension);
+        differences.add(new Difference(ChangeType.removed, oldData.getName(), oldExtension.getOid(),
+          getExtensionRows(oldExtension, oldData), Collections.emptyList()));
+        continue;
+      }
+      // Identical extensions are detected on the raw extension value without decoding
+      if (oldExtension.isCritical() == newExtension.isCritical()
+        && Objects.equals(oldExtension.getExtDataBuffer(), newExtension.getExtDataBuffer())) {
+        continue;
+      }
+      UnitDisplayData oldData = renderExtension(oldExtension);
+      UnitDisplayData newData = renderExtension(newExtension);
+      addChange(differences, ChangeType.changed, newData.getName(), newExtension.getOid(),
+        getExtensionRows(oldExtension, oldData), getExtensionRows(newExtension, newData));
+    }
+    for (ExtensionInfo newExtension : newExtensions.values()) {
+      UnitDisplayData newData = renderExtension(newExtension);
+      differences.add(new Difference(ChangeType.added, newData.getName(), newExtension.getOid(),
+        Collections.emptyList(), getExtensionRows(newExtension, newData)));
+    }
+  }
+
+  private static UnitDisplayData renderExtension(ExtensionInfo extension) {
+    try {
+      return ExtensionRenderers.render(extension, extension.getSequenceNumber());
+    }
+    catch (IOException | RuntimeException ex) {
+      Logger.getLogger(CertificateDiff.class.getName()).log(Level.FINE, "Failed to render extension", ex);
+      UnitDisplayData dispData = new UnitDisplayData(UnitType.extension);
+      dispData.setName(extension.getOid().getId());
+      dispData.setId(extension.getOid().getId());
+      dispData.setCriticality(extension.isCritical());
+      dispData.setStructured(false);
+      byte[] extData = extension.getExtData();
+      dispData.setFreeText(extData == null ? "" : Hex.toHexString(extData));
+      return dispData;
+    }
+  }
+
+  private static List<String[]> getExtensionRows(ExtensionInfo extension, UnitDisplayData dispData) {
+    List<String[]> rows = new ArrayList<>();
+    rows.add(new String[] { "Criticality", extension.isCritical() ? "critical" : "not critical" });
+    if (dispData.isStructured()) {
+      for (String[] row : dispData.getDataArray()) {
+        if (row.length > 1 && row[0].length() + row[1].length() > 0) {
+          rows.add(row);
+        }
+      }
+    }
+    else if (dispData.getFreeText() != null) {
+      rows.add(new String[] { "", dispData.getFreeText().trim() });
+    }
+    return rows;
+  }
+
+  private static boolean differs(DerCertificateView oldView, DerCertificateView newView,
+    DerCertificateView.Field field) {
+    return !Objects.equals(oldView.getField(field), newView.getField(field));
+  }
+
+  private static List<String[]> row(String name, String value) {
+    List<String[]> rows = new ArrayList<>(1);
+    rows.add(new String[] { name, value });
+    return rows;
+  }
+
+  private static void addChange(List<Difference> differences, String name, List<String[]> oldRows,
+    List<String[]> newRows) {
+    addChange(differences, ChangeType.changed, name, null, oldRows, newRows);
+  }
+
+  private static void addChange(List<Difference> differences, ChangeType changeType, String name,
+    ASN1ObjectIdentifier oid, List<String[]> oldRows, List<String[]> newRows) {
+    // Count the rows of the new certificate and remove the rows present in both
+    Map<RowKey, Integer> newRowCount = new HashMap<>();
+    for (String[] row : newRows) {
+      newRowCount.merge(new RowKey(row), 1, Integer::sum);
+    }
+    List<String[]> removedRows = new ArrayList<>();
+    Map<RowKey, Integer> commonRowCount = new HashMap<>();
+    for (String[] row : oldRows) {
+      RowKey key = new RowKey(row);
+      Integer count = newRowCount.get(key);
+      if (count != null && count > 0) {
+        newRowCount.put(key, count - 1);
+        commonRowCount.merge(key, 1, Integer::sum);
+      }
+      else {
+        removedRows.add(row);
+      }
+    }
+    List<String[]> addedRows = new ArrayList<>();
+    for (String[] row : newRows) {
+      RowKey key = new RowKey(row);
+      Integer count = commonRowCount.get(key);
+      if (count != null && count > 0) {
+        commonRowCount.put(key, count - 1);
+      }
+      else {
+        addedRows.add(row);
+      }
+    }
+    differences.add(new Difference(changeType, name, oid, removedRows, addedRows));
+  }
+
+  /**
+   * Tells whether the compared certificates are identical, including their signature values.
+   *
+   * @return true if no differences were found
+   */
+  public boolean isIdentical() {
+    return differences.isEmpty();
+  }
+
+  /**
+   * @return the differences in field order followed by extension differences
+   */
+  public List<Difference> getDifferences() {
+    return differences;
+  }
+
+  /**
+   * Writes the differences as text, where removed rows are prefixed by "-" and added rows by "+".
+   *
+   * @param out the destination of the text
+   * @throws IOException on errors writing to the destination
+   */
+  public void writeText(Appendable out) throws IOException {
+    out.append("Certificate differences {\n");
+    for (Difference difference : differences) {
+      out.append(difference.getOid() == null ? "Field: " : "Extension: ").append(getTitle(difference)).append("\n");
+      for (String[] row : difference.removedRows) {
+        appendTextRow("  - ", row, out);
+      }
+      for (String[] row : difference.addedRows) {
+        appendTextRow("  + ", row, out);
+      }
+    }
+    out.append("}");
+  }
+
+  /**
+   * @return the differences as text
+   */
+  public String toText() {
+    StringBuilder b = new StringBuilder();
+    try {
+      writeText(b);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return b.toString();
+  }
+
+  /**
+   * Writes the differences as an html table.
+   *
+   * @param out the destination of the html table
+   * @param heading A heading to add to the print. Null if none.
+   * @param tableClasses The html classes to be added to print table elements. Null for default classes.
+   * @throws IOException on errors writing to the destination
+   */
+  public void writeHtml(Appendable out, String heading, CertTableClasses tableClasses) throws IOException {
+    CertTableClasses classes = tableClasses == null ? DisplayCert.DEF_TABLE_CLASSES : tableClasses;
+    if (heading != null) {
+      TableElement headTable = new TableElement();
+      headTable.addAttribute("class", classes.getHeadTableClasses());
+      headTable.addRow(heading, classes.getHeadClasses(), 2, true);
+      headTable.writeTo(out, false);
+    }
+    TableElement diffTable = new TableElement();
+    diffTable.addAttribute("class", classes.getTableClasses());
+    for (Difference difference : differences) {
+      diffTable.addRow(getTitle(difference), classes.getExtensionHeadClasses(), 2, true);
+      String[] rowClasses = difference.getOid() == null
+        ? classes.getCertFieldClasses()
+        : classes.getCertExtensionDataClasses();
+      for (String[] row : difference.removedRows) {
+        diffTable.addRow(getHtmlRow("- ", row), rowClasses);
+      }
+      for (String[] row : difference.addedRows) {
+        diffTable.addRow(getHtmlRow("+ ", row), rowClasses);
+      }
+    }
+    diffTable.writeTo(out, false);
+  }
+
+  /**
+   * @param heading A heading to add to the print. Null if none.
+   * @param tableClasses The html classes to be added to print table elements. Null for default classes.
+   * @return the differences as html
+   */
+  public String toHtml(String heading, CertTableClasses tableClasses) {
+    StringBuilder b = new StringBuilder();
+    try {
+      writeHtml(b, heading, tableClasses);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return b.toString();
+  }
+
+  @Override
+  public String toString() {
+    return toText();
+  }
+
+  private static String getTitle(Difference difference) {
+    StringBuilder b = new StringBuilder(difference.getName());
+    if (difference.getOid() != null) {
+      b.append(" (").append(difference.getOid().getId()).append(")");
+    }
+    return b.append(" - ").append(difference.getChangeType().name()).toString();
+  }
+
+  private static void appendTextRow(String prefix, String[] row, Appendable out) throws IOException {
+    out.append(prefix);
+    if (!row[0].isEmpty()) {
+      out.append(row[0].trim()).append(": ");
+    }
+    out.append(row.length > 1 ? row[1].trim().replace("\n", "\n    ") : "").append("\n");
+  }
+
+  private static String[] getHtmlRow(String prefix, String[] row) {
+    return new String[] { prefix + row[0].trim(), row.length > 1 ? row[1].trim().replace("\n", "<br>") : "" };
+  }
+
+  /**
+   * A difference of a certificate field or extension.
+   */
+  public static final class Difference {
+
+    private final ChangeType changeType;
+    private final String name;
+    private final ASN1ObjectIdentifier oid;
+    private final List<String[]> removedRows;
+    private final List<String[]> addedRows;
+
+    private Difference(ChangeType changeType, String name, ASN1ObjectIdentifier oid, List<String[]> removedRows,
+      List<String[]> addedRows) {
+      this.changeType = changeType;
+      this.name = name;
+      this.oid = oid;
+      this.removedRows = Collections.unmodifiableList(removedRows);
+      this.addedRows = Collections.unmodifiableList(addedRows);
+    }
+
+    public ChangeType getChangeType() {
+      return changeType;
+    }
+
+    /**
+     * @return the display name of the field or extension
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * @return the extension OID or null if this is a difference of a certificate field
+     */
+    public ASN1ObjectIdentifier getOid() {
+      return oid;
+    }
+
+    /**
+     * @return copies of the display rows of the old certificate that are not present in the new certificate
+     */
+    public List<String[]> getRemovedRows() {
+      return UnitDisplayData.copyRows(removedRows);
+    }
+
+    /**
+     * @return copies of the display rows of the new certificate that are not present in the old certificate
+     */
+    public List<String[]> getAddedRows() {
+      return UnitDisplayData.copyRows(addedRows);
+    }
+  }
+
+  private static final class RowKey {
+
+    private final String name;
+    private final String value;
+
+    private RowKey(String[] row) {
+      this.name = row.length > 0 ? row[0] : "";
+      this.value = row.length > 1 ? row[1] : "";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof RowKey)) {
+        return false;
+      }
+      RowKey that = (RowKey) o;
+      return name.equals(that.name) && value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * name.hashCode() + value.hashCode();
+    }
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.TBSCertList;
+import org.bouncycastle.util.encoders.Hex;
+
+import se.idsec.utils.printcert.display.html.HtmlElement;
+import se.idsec.utils.printcert.display.html.TableElement;
+import se.idsec.utils.printcert.utils.CRLStreamParser;
+import se.idsec.utils.printcert.utils.CertUtils;
+
+/**
+ * Renders CRLs as text, html or JSON while parsing them from a stream.
+ *
+ * <p>
+ * Output is written in the order of the CRL encoding: the CRL header fields, the revoked certificate entries, the CRL
+ * extensions and the signature. Each revoked certificate entry is parsed, rendered and written before the next entry is
+ * read, so memory use does not grow with the size of the CRL. A page of entries may be selected by offset and limit, in
+ * which case the entries outside the page are parsed but not rendered. The total number of entries is written after the
+ * entries.
+ * </p>
+ */
+public final class DisplayCRL {
+
+  private DisplayCRL() {
+  }
+
+  /**
+   * Writes all entries of a DER encoded CRL read from a stream according to the provided render options.
+   *
+   * @param in stream holding a DER encoded CRL
+   * @param options render options
+   * @param out the destination of the rendered CRL
+   * @throws IOException on errors reading the CRL or writing to the destination
+   */
+  public static void write(InputStream in, RenderOptions options, Appendable out) throws IOException {
+    write(in, options, 0, Long.MAX_VALUE, out);
+  }
+
+  /**
+   * Writes a page of entries of a DER encoded CRL read from a stream according to the provided render options.
+   *
+   * @param in stream holding a DER encoded CRL
+   * @param options render options
+   * @param offset the number of revoked certificate entries to skip
+   * @param limit the maximum number of revoked certificate entries to render
+   * @param out the destination of the rendered CRL
+   * @throws IOException on errors reading the CRL or writing to the destination
+   * @throws IllegalArgumentException if offset or limit is negative or the CRL is malformed
+   */
+  public static void write(InputStream in, RenderOptions options, long offset, long limit, Appendable out)
+    throws IOException {
+    if (offset < 0 || limit < 0) {
+      throw new IllegalArgumentException("Offset and limit must not be negative");
+    }
+    CRLStreamParser parser = new CRLStreamParser(in);
+    switch (options.getFormat()) {
+    case text:
+      writeText(parser, options, offset, limit, out);
+      break;
+    case html:
+      writeHtml(parser, options, offset, limit, out);
+      break;
+    case json:
+      writeJson(parser, options, offset, limit, out);
+      break;
+    default:
+      throw new AssertionError(options.getFormat().name());
+    }
+  }
+
+  private static void writeText(CRLStreamParser parser, RenderOptions options, long offset, long limit, Appendable out)
+    throws IOException {
+    boolean monospace = options.isMonospace();
+    out.append("X.509 CRL {\n");
+    DisplayCert.writeTextDisplay(getHeaderDispData(parser, options.isDecode(), false), monospace, out);
+    out.append("\n");
+    TBSCertList.CRLEntry entry;
+    while ((entry = parser.nextEntry()) != null) {
+      long entryNumber = parser.getEntryCount();
+      if (entryNumber > offset && entryNumber - offset <= limit) {
+        out.append("Revoked certificate ").append(String.valueOf(entryNumber)).append(":\n");
+        DisplayCert.writeTextRows(getEntryDispData(entry).getDataArray(), monospace, out);
+        out.append("\n");
+      }
+    }
+    out.append("Revoked certificates: ").append(String.valueOf(parser.getEntryCount())).append("\n\n");
+    for (UnitDisplayData extensionPrintData : getExtensionDispData(parser.getExtensions())) {
+      DisplayCert.writeTextDisplay(extensionPrintData, monospace, out);
+      out.append("\n");
+    }
+    DisplayCert.writeTextDisplay(getSignData(parser, options.isVerbose()), monospace, out);
+    out.append("\n");
+    out.append("}");
+  }
+
+  private static void writeHtml(CRLStreamParser parser, RenderOptions options, long offset, long limit, Appendable out)
+    throws IOException {
+    CertTableClasses tableClasses = options.getTableClasses();
+    DisplayCert.writeHtmlHeading(options.getHeading(), tableClasses, out);
+    out.append("<table");
+    if (tableClasses.getTableClasses() != null) {
+      out.append(" class='").append(tableClasses.getTableClasses()).append("'");
+    }
+    out.append(">");
+    writeHtmlRows(getHeaderDispData(parser, options.isDecode(), true), tableClasses, out);
+    TBSCertList.CRLEntry entry;
+    while ((entry = parser.nextEntry()) != null) {
+      long entryNumber = parser.getEntryCount();
+      if (entryNumber > offset && entryNumber - offset <= limit) {
+        TableElement entryRows = new TableElement();
+        entryRows.addRow("Revoked certificate " + entryNumber, tableClasses.getExtensionHeadClasses(), 2, true);
+        for (String[] strArray : getEntryDispData(entry).getDataArray()) {
+          entryRows.addRow(strArray, tableClasses.getCertExtensionDataClasses());
+        }
+        writeChildren(entryRows, out);
+      }
+    }
+    TableElement countRows = new TableElement();
+    countRows.addRow(new String[] { "Revoked certificates", String.valueOf(parser.getEntryCount()) },
+      tableClasses.getCertFieldClasses());
+    writeChildren(countRows, out);
+    for (UnitDisplayData extensionPrintData : getExtensionDispData(parser.getExtensions())) {
+      writeHtmlRows(extensionPrintData, tableClasses, out);
+    }
+    writeHtmlRows(getSignData(parser, options.isVerbose()), tableClasses, out);
+    out.append("</table>");
+  }
+
+  private static void writeJson(CRLStreamParser parser, RenderOptions options, long offset, long limit, Appendable out)
+    throws IOException {
+    out.append("{\"fields\":");
+    JsonCertWriter.writeUnit(getHeaderDispData(parser, options.isDecode(), false), out);
+    out.append(",\"entries\":[");
+    boolean first = true;
+    TBSCertList.CRLEntry entry;
+    while ((entry = parser.nextEntry()) != null) {
+      long entryNumber = parser.getEntryCount();
+      if (entryNumber > offset && entryNumber - offset <= limit) {
+        if (!first) {
+          out.append(',');
+        }
+        first = false;
+        JsonCertWriter.writeUnit(getEntryDispData(entry), out);
+      }
+    }
+    out.append("],\"entryCount\":").append(String.valueOf(parser.getEntryCount()));
+    out.append(",\"extensions\":[");
+    first = true;
+    for (UnitDisplayData extensionPrintData : getExtensionDispData(parser.getExtensions())) {
+      if (!first) {
+        out.append(',');
+      }
+      first = false;
+      JsonCertWriter.writeUnit(extensionPrintData, out);
+    }
+    out.append("],\"signature\":");
+    JsonCertWriter.writeUnit(getSignData(parser, options.isVerbose()), out);
+    out.append('}');
+  }
+
+  private static UnitDisplayData getHeaderDispData(CRLStreamParser parser, boolean decode, boolean html) {
+    UnitDisplayData udd = new UnitDisplayData(UnitType.certFields);
+    udd.setStructured(true);
+    List<String[]> dataArray = new ArrayList<>();
+    dataArray.add(new String[] { "Version", String.valueOf(parser.getVersion()) });
+    DisplayCert.addCertNameField("Issuer", parser.getIssuer(), decode, html, udd, dataArray);
+    dataArray.add(new String[] { "This update", parser.getThisUpdate().getDate().toString() });
+    if (parser.getNextUpdate() != null) {
+      dataArray.add(new String[] { "Next update", parser.getNextUpdate().getDate().toString() });
+    }
+    udd.setDataArray(dataArray);
+    return udd;
+  }
+
+  private static UnitDisplayData getEntryDispData(TBSCertList.CRLEntry entry) {
+    UnitDisplayData udd = new UnitDisplayData(UnitType.certFields);
+    udd.setStructured(true);
+    List<String[]> dataArray = new ArrayList<>();
+    dataArray.add(new String[] { "Serial number", entry.getUserCertificate().getValue().toString(16) });
+    dataArray.add(new String[] { "Revocation date", entry.getRevocationDate().getDate().toString() });
+    DisplayCert.addExtensionRows(CertUtils.getExtensions(entry.getExtensions()), dataArray);
+    udd.setDataArray(dataArray);
+    return udd;
+  }
+
+  private static List<UnitDisplayData> getExtensionDispData(Extensions extensions) {
+    return DisplayCert.getExtensionDispData(CertUtils.getExtensions(extensions));
+  }
+
+  private static UnitDisplayData getSignData(CRLStreamParser parser, boolean verbose) throws IOException {
+    UnitDisplayData dispData = new UnitDisplayData(UnitType.signature);
+    dispData.setName("CRL Signature");
+    List<String[]> da = new ArrayList<>();
+    String sigAlgo = DisplayCert.getSignatureAlgorithmName(parser.getSignatureAlgorithm());
+    if (verbose) {
+      da.add(new String[] { "Signature Algorithm", sigAlgo });
+      da.add(new String[] { "Signature", Hex.toHexString(parser.getSignatureValue().getOctets()) });
+    }
+    else {
+      da.add(new String[] { "Algorithm", sigAlgo });
+    }
+    dispData.setStructured(true);
+    dispData.setDataArray(da);
+    return dispData;
+  }
+
+
+  private static void writeHtmlRows(UnitDisplayData dispData, CertTableClasses tableClasses, Appendable out)
+    throws IOException {
+    TableElement rows = new TableElement();
+    DisplayCert.addHtmlRows(dispData, tableClasses, rows);
+    writeChildren(rows, out);
+  }
+
+  private static void writeChildren(TableElement table, Appendable out) throws IOException {
+    for (HtmlElement row : table.getElements()) {
+      row.writeTo(out, false);
+    }
+  }
+}
@@ -15,81 +15,67 @@
  */
 package se.idsec.utils.printcert.display;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.text.ParseException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
-import java.util.Vector;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import org.bouncycastle.asn1.ASN1Encodable;
 import org.bouncycastle.asn1.ASN1GeneralizedTime;
-import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
-import org.bouncycastle.asn1.ASN1Primitive;
-import org.bouncycastle.asn1.ASN1Sequence;
-import org.bouncycastle.asn1.ASN1Set;
 import org.bouncycastle.asn1.DERIA5String;
 import org.bouncycastle.asn1.DERPrintableString;
 import org.bouncycastle.asn1.DERUTF8String;
+import org.bouncycastle.asn1.edec.EdECObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.RSASSAPSSparams;
+import org.bouncycastle.asn1.x500.AttributeTypeAndValue;
+import org.bouncycastle.asn1.x500.RDN;
 import org.bouncycastle.asn1.x500.X500Name;
-import org.bouncycastle.asn1.x509.AccessDescription;
-import org.bouncycastle.asn1.x509.Attribute;
-import org.bouncycastle.asn1.x509.AuthorityInformationAccess;
-import org.bouncycastle.asn1.x509.AuthorityKeyIdentifier;
-import org.bouncycastle.asn1.x509.BasicConstraints;
-import org.bouncycastle.asn1.x509.CRLDistPoint;
-import org.bouncycastle.asn1.x509.CertificatePolicies;
-import org.bouncycastle.asn1.x509.DistributionPoint;
-import org.bouncycastle.asn1.x509.DistributionPointName;
-import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.DSAParameter;
 import org.bouncycastle.asn1.x509.GeneralName;
-import org.bouncycastle.asn1.x509.GeneralNames;
-import org.bouncycastle.asn1.x509.GeneralSubtree;
-import org.bouncycastle.asn1.x509.KeyPurposeId;
 import org.bouncycastle.asn1.x509.KeyUsage;
-import org.bouncycastle.asn1.x509.NameConstraints;
-import org.bouncycastle.asn1.x509.PolicyConstraints;
-import org.bouncycastle.asn1.x509.PolicyMappings;
-import org.bouncycastle.asn1.x509.PrivateKeyUsagePeriod;
-import org.bouncycastle.asn1.x509.SubjectDirectoryAttributes;
-import org.bouncycastle.asn1.x509.SubjectKeyIdentifier;
-import org.bouncycastle.asn1.x509.qualified.BiometricData;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x9.ECNamedCurveTable;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.operator.DefaultAlgorithmNameFinder;
+import org.bouncycastle.operator.DefaultSignatureNameFinder;
+import org.bouncycastle.util.Fingerprint;
 import org.bouncycastle.util.encoders.Hex;
-import org.w3c.dom.Element;
 
 import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.algo.DSAKeyParser;
+import se.idsec.utils.printcert.algo.ECKeyParser;
+import se.idsec.utils.printcert.algo.PKValueData;
+import se.idsec.utils.printcert.algo.PublicKeyData;
+import se.idsec.utils.printcert.algo.PublicKeyType;
+import se.idsec.utils.printcert.algo.RSAKeyParser;
 import se.idsec.utils.printcert.data.SubjectAttributeInfo;
+import se.idsec.utils.printcert.display.html.HtmlElement;
 import se.idsec.utils.printcert.display.html.TableElement;
-import se.idsec.utils.printcert.enums.OidName;
-import se.idsec.utils.printcert.enums.SubjectDnType;
-import se.idsec.utils.printcert.enums.SupportedExtension;
+import se.idsec.utils.printcert.enums.FingerprintType;
 import se.idsec.utils.printcert.extension.ExtensionInfo;
-import se.idsec.utils.printcert.utils.CertUtils;
-import se.swedenconnect.cert.extensions.AuthnContext;
-import se.swedenconnect.cert.extensions.BiometricInfo;
-import se.swedenconnect.cert.extensions.InhibitAnyPolicy;
-import se.swedenconnect.cert.extensions.QCStatements;
-import se.swedenconnect.cert.extensions.SubjectInformationAccess;
-import se.swedenconnect.cert.extensions.data.MonetaryValue;
-import se.swedenconnect.cert.extensions.data.PDSLocation;
-import se.swedenconnect.cert.extensions.data.SemanticsInformation;
-import se.swedenconnect.cert.extensions.data.saci.AttributeMapping;
-import se.swedenconnect.cert.extensions.data.saci.AuthContextInfo;
-import se.swedenconnect.cert.extensions.data.saci.IdAttributes;
-import se.swedenconnect.cert.extensions.data.saci.SAMLAuthContext;
+import se.idsec.utils.printcert.utils.OidRegistry;
 
 /**
  * @author stefan
@@ -117,7 +103,7 @@ public class DisplayCert {
     new String[] { "certTableValueRow", "certTableExtParam", "cerTableMonospaceVal" },
     new String[] { "subjectDNRow", "subjectDNParam", "subjectDNVal" }
   );
-  private static final String[] generalNameTagText = new String[] {
+  static final String[] generalNameTagText = new String[] {
     "Other Name",
     "E-Mail",
     "DNS",
@@ -127,36 +113,232 @@ public class DisplayCert {
     "URI",
     "IP Address",
     "Registered ID" };
-  private static final String[] verboseParams = new String[] {
-    "modulus",
-    "public x coord",
-    "public y coord"
-  };
+  static final DefaultAlgorithmNameFinder ALGORITHM_NAME_FINDER = new DefaultAlgorithmNameFinder();
+  private static final DefaultSignatureNameFinder SIGNATURE_NAME_FINDER = new DefaultSignatureNameFinder();
 
-  public static String certToDisplayString(PrintCertificate cert, boolean monospace, boolean verbose, boolean decode) {
+  /**
+   * Renders a certificate according to the provided render options.
+   *
+   * @param cert certificate to render
+   * @param options render options
+   * @return rendered certificate
+   */
+  public static String render(PrintCertificate cert, RenderOptions options) {
     StringBuilder b = new StringBuilder();
-    List<UnitDisplayData> dispList = new ArrayList<>();
-    dispList.add(getCertFieldDispData(cert, verbose, decode, false));
-    List<ExtensionInfo> extensionInfoList = cert.getExtensionInfoList();
-    for (int i = 0; i < extensionInfoList.size(); i++) {
+    try {
+      write(cert, options, b);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return b.toString();
+  }
+
+  /**
+   * Writes a certificate to an {@link Appendable}, such as a {@link java.io.Writer}, according to the provided render
+   * options. Text output is written section by section without first building the complete output.
+   *
+   * @param cert certificate to render
+   * @param options render options
+   * @param out the destination of the rendered certificate
+   * @throws IOException on errors writing to the destination
+   */
+  public static void write(PrintCertificate cert, RenderOptions options, Appendable out) throws IOException {
+    switch (options.getFormat()) {
+    case text:
+      writeDisplayText(cert, out, options.isMonospace(), options.isVerbose(), options.isDecode(),
+        options.getFingerprints());
+      break;
+    case html:
+      writeHtml(cert, out, options.getHeading(), options.getTableClasses(), options.isVerbose(), options.isDecode(),
+        options.getFingerprints());
+      break;
+    case json:
+      writeJson(cert, out, options.isVerbose(), options.isDecode(), options.getFingerprints());
+      break;
+    default:
+      throw new AssertionError(options.getFormat().name());
+    }
+  }
+
+  /**
+   * Writes a certificate UTF-8 encoded to an {@link OutputStream} according to the provided render options. The stream
+   * is flushed but not closed.
+   *
+   * @param cert certificate to render
+   * @param options render options
+   * @param out the destination of the rendered certificate
+   * @throws IOException on errors writing to the destination
+   */
+  public static void write(PrintCertificate cert, RenderOptions options, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    write(cert, options, writer);
+    writer.flush();
+  }
+
+  /**
+   * Writes certificates in JSON Lines format, where each certificate is written as a JSON object on a separate line.
+   *
+   * @param certificates certificates to write
+   * @param options JSON render options
+   * @param out the destination of the JSON lines
+   * @throws IOException on errors writing to the destination
+   * @throws IllegalArgumentException if the render options are not JSON options
+   */
+  public static void writeJsonLines(Iterable<? extends PrintCertificate> certificates, RenderOptions options,
+    Appendable out) throws IOException {
+    if (options.getFormat() != RenderFormat.json) {
+      throw new IllegalArgumentException("JSON Lines output requires JSON render options");
+    }
+    for (PrintCertificate cert : certificates) {
+      cert.writeTo(out, options);
+      out.append('\n');
+    }
+  }
+
+  /**
+   * Writes certificates UTF-8 encoded in JSON Lines format to an {@link OutputStream}. The stream is flushed but not
+   * closed.
+   *
+   * @param certificates certificates to write
+   * @param options JSON render options
+   * @param out the destination of the JSON lines
+   * @throws IOException on errors writing to the destination
+   * @throws IllegalArgumentException if the render options are not JSON options
+   */
+  public static void writeJsonLines(Iterable<? extends PrintCertificate> certificates, RenderOptions options,
+    OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writeJsonLines(certificates, options, writer);
+    writer.flush();
+  }
+
+  /**
+   * Parses and renders a collection of certificates using the common fork-join pool.
+   *
+   * @param certificates DER encoded certificates
+   * @param options render options
+   * @return render results in the order of the input collection
+   * @see #renderAll(Collection, RenderOptions, int)
+   */
+  public static List<RenderResult> renderAll(Collection<byte[]> certificates, RenderOptions options) {
+    return renderAll(certificates, options, 0);
+  }
+
+  /**
+   * Parses and renders a collection of certificates in parallel on a fork-join pool. Certificates that fail to parse
+   * or render are reported as failed results without affecting the rest of the batch.
+   *
+   * @param certificates DER encoded certificates
+   * @param options render options
+   * @param parallelism the maximum number of certificates rendered concurrently, or 0 to use the common fork-join pool
+   * @return render results in the order of the input collection
+   */
+  public static List<RenderResult> renderAll(Collection<byte[]> certificates, RenderOptions options, int parallelism) {
+    Objects.requireNonNull(options, "Render options must not be null");
+    if (parallelism < 0) {
+      throw new IllegalArgumentException("Parallelism must not be negative");
+    }
+    byte[][] certArray = certificates.toArray(new byte[0][]);
+    RenderResult[] results = new RenderResult[certArray.length];
+    BatchRenderTask task = new BatchRenderTask(certArray, results, options, 0, certArray.length);
+    if (parallelism == 0) {
+      ForkJoinPool.commonPool().invoke(task);
+    }
+    else {
+      ForkJoinPool pool = new ForkJoinPool(parallelism);
       try {
-        UnitDisplayData extensionPrintData = getExtensionPrintData(extensionInfoList.get(i), i);
-        dispList.add(extensionPrintData);
+        pool.invoke(task);
       }
-      catch (IOException ex) {
-        Logger.getLogger(DisplayCert.class.getName()).log(Level.SEVERE, null, ex);
+      finally {
+        pool.shutdown();
       }
     }
-    dispList.add(getCertSignData(cert, verbose));
+    return Arrays.asList(results);
+  }
 
-    b.append("X.509 Certificate {\n");
-    for (UnitDisplayData dispData : dispList) {
-      b.append(getTextDisplay(dispData, monospace)).append("\n");
+  public static String certToDisplayString(PrintCertificate cert, boolean monospace, boolean verbose, boolean decode) {
+    return render(cert, RenderOptions.text(monospace, verbose, decode));
+  }
+
+  /**
+   * Writes the text print of a certificate to an {@link Appendable}. Each section is rendered and written in turn,
+   * which keeps the extra memory needed independent of the total output size.
+   *
+   * @param cert certificate to print
+   * @param out the destination of the text print
+   * @param monospace indicates that the print is done using monospace characters
+   * @param verbose set to true to print out explicit key parameter and signature values
+   * @param decode set to true to decode name parameters
+   * @throws IOException on errors writing to the destination
+   */
+  public static void writeDisplayText(PrintCertificate cert, Appendable out, boolean monospace, boolean verbose,
+    boolean decode) throws IOException {
+    writeDisplayText(cert, out, monospace, verbose, decode, RenderOptions.DEFAULT_FINGERPRINTS);
+  }
+
+  private static void writeDisplayText(PrintCertificate cert, Appendable out, boolean monospace, boolean verbose,
+    boolean decode, Set<FingerprintType> fingerprints) throws IOException {
+    out.append("X.509 Certificate {\n");
+    writeTextDisplay(getCertFieldDispData(cert, verbose, decode, false, fingerprints), monospace, out);
+    out.append("\n");
+    for (UnitDisplayData extensionPrintData : getExtensionDispData(cert.getExtensionInfoList())) {
+      writeTextDisplay(extensionPrintData, monospace, out);
+      out.append("\n");
     }
-    b.append("}");
+    writeTextDisplay(getCertSignData(cert, verbose), monospace, out);
+    out.append("\n");
+    out.append("}");
+  }
 
-    return b.toString();
+  /**
+   * Writes the JSON representation of a certificate to an {@link Appendable}. The certificate fields, each extension
+   * and the signature are written as they are rendered, without building an intermediate object tree.
+   *
+   * @param cert certificate to print
+   * @param out the destination of the JSON object
+   * @param verbose set to true to include explicit key parameter and signature values
+   * @param decode set to true to decode name parameters
+   * @throws IOException on errors writing to the destination
+   */
+  public static void writeJson(PrintCertificate cert, Appendable out, boolean verbose, boolean decode)
+    throws IOException {
+    writeJson(cert, out, verbose, decode, RenderOptions.DEFAULT_FINGERPRINTS);
+  }
 
+  private static void writeJson(PrintCertificate cert, Appendable out, boolean verbose, boolean decode,
+    Set<FingerprintType> fingerprints) throws IOException {
+    out.append("{\"fields\":");
+    JsonCertWriter.writeUnit(getCertFieldDispData(cert, verbose, decode, false, fingerprints), out);
+    out.append(",\"extensions\":[");
+    boolean first = true;
+    for (UnitDisplayData extensionPrintData : getExtensionDispData(cert.getExtensionInfoList())) {
+      if (!first) {
+        out.append(',');
+      }
+      first = false;
+      JsonCertWriter.writeUnit(extensionPrintData, out);
+    }
+    out.append("],\"signature\":");
+    JsonCertWriter.writeUnit(getCertSignData(cert, verbose), out);
+    out.append('}');
+  }
+
+  /**
+   * Get the display data of a certificate as used by the text renderer: the certificate fields, each extension and the
+   * signature. Extensions that fail to render are omitted.
+   *
+   * @param cert certificate
+   * @param verbose set to true to include explicit key parameter and signature values
+   * @param decode set to true to decode name parameters
+   * @return display data units in print order
+   */
+  public static List<UnitDisplayData> getDisplayData(PrintCertificate cert, boolean verbose, boolean decode) {
+    List<UnitDisplayData> dispList = new ArrayList<>();
+    dispList.add(getCertFieldDispData(cert, verbose, decode, false, RenderOptions.DEFAULT_FINGERPRINTS));
+    dispList.addAll(getExtensionDispData(cert.getExtensionInfoList()));
+    dispList.add(getCertSignData(cert, verbose));
+    return dispList;
   }
 
   public static String certToHtmlString(PrintCertificate cert, String heading, boolean verbose) {
@@ -169,381 +351,210 @@ public class DisplayCert {
 
   public static String certToHtmlString(PrintCertificate cert, String heading, CertTableClasses tableClasses, boolean verbose,
     boolean decode) {
+    return render(cert, RenderOptions.html(heading, tableClasses, verbose, decode));
+  }
+
+  /**
+   * Writes the html print of a certificate to an {@link Appendable}. The html element tree is written in one pass
+   * directly to the destination.
+   *
+   * @param cert certificate to print
+   * @param out the destination of the html print
+   * @param heading A heading to add to the print. Null if none.
+   * @param tableClasses The html classes to be added to print table elements
+   * @param verbose Set to true to display explicit values of key parameters and signature value
+   * @param decode set to true to decode subject and issuer attributes
+   * @throws IOException on errors writing to the destination
+   */
+  public static void writeHtml(PrintCertificate cert, Appendable out, String heading, CertTableClasses tableClasses,
+    boolean verbose, boolean decode) throws IOException {
+    writeHtml(cert, out, heading, tableClasses, verbose, decode, RenderOptions.DEFAULT_FINGERPRINTS);
+  }
+
+  private static void writeHtml(PrintCertificate cert, Appendable out, String heading, CertTableClasses tableClasses,
+    boolean verbose, boolean decode, Set<FingerprintType> fingerprints) throws IOException {
     List<UnitDisplayData> dispList = new ArrayList<>();
-    dispList.add(getCertFieldDispData(cert, verbose, decode, true));
-    List<ExtensionInfo> extensionInfoList = cert.getExtensionInfoList();
+    dispList.add(getCertFieldDispData(cert, verbose, decode, true, fingerprints));
+    dispList.addAll(getExtensionDispData(cert.getExtensionInfoList()));
+    dispList.add(getCertSignData(cert, verbose));
+    writeHtmlDisplay(dispList, heading, tableClasses, out);
+  }
+
+  /**
+   * Renders extensions through the {@link ExtensionRenderers}. Extensions that fail to render are omitted.
+   *
+   * @param extensionInfoList extensions
+   * @return display data of each extension in extension order
+   */
+  static List<UnitDisplayData> getExtensionDispData(List<ExtensionInfo> extensionInfoList) {
+    List<UnitDisplayData> dispList = new ArrayList<>(extensionInfoList.size());
     for (int i = 0; i < extensionInfoList.size(); i++) {
       try {
-        UnitDisplayData extensionPrintData = getExtensionPrintData(extensionInfoList.get(i), i);
-        dispList.add(extensionPrintData);
+        dispList.add(ExtensionRenderers.render(extensionInfoList.get(i), i));
       }
       catch (IOException ex) {
         Logger.getLogger(DisplayCert.class.getName()).log(Level.SEVERE, null, ex);
       }
     }
-    dispList.add(getCertSignData(cert, verbose));
-    return getHtmlDisplay(dispList, heading, tableClasses);
-
-  }
-
-  private static UnitDisplayData getExtensionPrintData(ExtensionInfo extInfo, int idx) throws IOException {
-    return getExtensionPrintData(extInfo.getOid(), extInfo.getExtDataASN1(), extInfo.isCritical(), extInfo.getExtData(), idx);
+    return dispList;
   }
 
-  private static UnitDisplayData getExtensionPrintData(ASN1ObjectIdentifier oid, ASN1Primitive extDataASN1, boolean critical, byte[] bytes,
-    int idx) throws IOException {
-    SupportedExtension extension = SupportedExtension.getExtension(oid);
-    List<String[]> da = new ArrayList<>();
-
-    switch (extension) {
-    case basicConstraints:
-      BasicConstraints ext = BasicConstraints.getInstance(extDataASN1);
-      da.add(new String[] { "CA", String.valueOf(ext.isCA()) });
-      if (ext.getPathLenConstraint() != null) {
-        da.add(new String[] { "PathLen", ext.getPathLenConstraint().toString() });
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    case authorityInfoAccess:
-      AuthorityInformationAccess aia = AuthorityInformationAccess.getInstance(extDataASN1);
-      AccessDescription[] aiadescArray = aia.getAccessDescriptions();
-      if (aiadescArray != null) {
-        for (int i = 0; i < aiadescArray.length; i++) {
-          da.add(new String[] { "accessMethod" + getIndexStr(i), OidName.getName(aiadescArray[i].getAccessMethod().getId()) });
-          da.add(new String[] { "  accessLocation", getGeneralNameStr(aiadescArray[i].getAccessLocation()) });
-        }
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    //return new UnitDisplayData(extension, idx, critical, new AuthorityInfoAccessExtension(critical, bytes).toString(), true);
-    case authorityKeyIdentifier:
-      AuthorityKeyIdentifier aki = AuthorityKeyIdentifier.getInstance(extDataASN1);
-      byte[] keyIdentifier = aki.getKeyIdentifier();
-      BigInteger authorityCertSerialNumber = aki.getAuthorityCertSerialNumber();
-      GeneralNames authorityCertIssuer = aki.getAuthorityCertIssuer();
-      if (keyIdentifier != null) {
-        da.add(new String[] { "Key identifier", byteArrayToHexString(keyIdentifier) });
-      }
-      if (authorityCertIssuer != null) {
-        da.add(new String[] { "Cert Issuer", getGeneralNamesString(authorityCertIssuer) });
-      }
-      if (authorityCertSerialNumber != null) {
-        da.add(new String[] { "Cert serial", authorityCertSerialNumber.toString(16) });
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    //return new UnitDisplayData(extension, idx, critical, new AuthorityKeyIdentifierExtension(critical, bytes).toString(), true);
-    case biometricInfo:
-      BiometricInfo biometricInfo = BiometricInfo.getInstance(extDataASN1);
-      List<BiometricData> biometricDataList = biometricInfo.getBiometricDataList();
-      for (int bdIdx = 0; bdIdx < biometricDataList.size(); bdIdx++) {
-        BiometricData biometricData = biometricDataList.get(bdIdx);
-
-        da.add(new String[] { "Biometric data" + getIndexStr(bdIdx),
-          "Type: " + BiometricInfo.getTypeString(biometricData.getTypeOfBiometricData()) });
-        da.add(new String[] { "  Hash algoritm", biometricData.getHashAlgorithm().getAlgorithm().getId() });
-        da.add(new String[] { "  Hash value", Hex.toHexString(biometricData.getBiometricDataHash().getOctets()) });
-        if (biometricData.getSourceDataUriIA5() != null) {
-          da.add(new String[] { "  Source UIR", biometricData.getSourceDataUriIA5().getString() });
-        }
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    case cRLDistributionPoints:
-      CRLDistPoint crldp = CRLDistPoint.getInstance(extDataASN1);
-      DistributionPoint[] distributionPoints = crldp.getDistributionPoints();
-      if (distributionPoints != null) {
-        for (int dpIdx = 0; dpIdx < distributionPoints.length; dpIdx++) {
-          DistributionPointName dpn = distributionPoints[dpIdx].getDistributionPoint();
-          try {
-            GeneralNames dpGns = (GeneralNames) dpn.getName();
-            GeneralName[] names = dpGns.getNames();
-            for (int i = 0; i < names.length; i++) {
-              da.add(new String[] { "DistributionPoint" + getIndexStr(dpIdx), getGeneralNameStr(names[i]) });
-            }
-          }
-          catch (Exception ex) {
-          }
-        }
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    case certificateIssuer:
-      return new UnitDisplayData(extension, idx, critical, null, false);
-    case certificatePolicies:
-      CertificatePolicies cp = CertificatePolicies.getInstance(extDataASN1);
-      getPolicyText(cp, da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    //return new UnitDisplayData(extension, idx, critical, new CertificatePoliciesExtension(critical, bytes).toString(), true);
-    case extendedKeyUsage:
-      ExtendedKeyUsage eku = ExtendedKeyUsage.getInstance(extDataASN1);
-      KeyPurposeId[] usages = eku.getUsages();
-      if (usages != null) {
-        for (int i = 0; i < usages.length; i++) {
-          da.add(new String[] { "KeyPurposeId " + getIndexStr(i), OidName.getName(usages[i].getId()) });
-        }
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    //return new UnitDisplayData(extension, idx, critical, new ExtendedKeyUsageExtension(critical, bytes).toString(), true);
-    case issuerAlternativeName:
-      GeneralNames ian = GeneralNames.getInstance(extDataASN1);
-      if (ian != null) {
-        getAltNameExtensionDisp(ian, da);
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    case keyUsage:
-      KeyUsage keyUsage = KeyUsage.getInstance(extDataASN1);
-      getKeyUsageText(keyUsage, da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    case netscapeCertType:
-      KeyUsage nsct = KeyUsage.getInstance(extDataASN1);
-      getNetscapeCertTypeText(nsct, da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    case logoType:
-      return new UnitDisplayData(extension, idx, critical, null, false);
-    case inhibitAnyPolicy:
-      getInhibitAnyPolicyText(InhibitAnyPolicy.getInstance(bytes), da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    case nameConstraints:
-      getNameConstraintsText(NameConstraints.getInstance(bytes), da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    case policyConstraints:
-      getPolicyConstraintsText(PolicyConstraints.getInstance(bytes), da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    case policyMappings:
-      getPolicyMappingsText(PolicyMappings.getInstance(bytes), da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    case privateKeyUsagePeriod:
-      PrivateKeyUsagePeriod pkup = PrivateKeyUsagePeriod.getInstance(extDataASN1);
-      if (pkup.getNotBefore() != null) {
-        try {
-          da.add(new String[] { "NotBefore ", DATE_TIME_FORMATTER.format(Instant.ofEpochMilli(pkup.getNotBefore().getDate().getTime())) });
-        }
-        catch (ParseException e) {
-          da.add(new String[]{"NotBefore ", "Illegal time data"});
-        }
-      }
-      if (pkup.getNotAfter() != null) {
-        try {
-          da.add(new String[] { "NotAfter ", DATE_TIME_FORMATTER.format(Instant.ofEpochMilli(pkup.getNotAfter().getDate().getTime())) });
-        } catch (ParseException e) {
-          da.add(new String[]{"NotBefore ", "Illegal time data"});
-        }
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    case qCStatements:
-      //b.append("ObjectId: ").append(oid.getId()).append(" Criticality=").append(critical).append("\n");
-      QCStatements qcstatements = QCStatements.getInstance(extDataASN1);
-      getQcStatementsDisp(qcstatements, da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    //b.append(QCStatementsExt.getInstance(extDataASN1).toString());
-    //return new UnitDisplayData(extension, idx, critical, b.toString(), false);
-    case subjectAlternativeName:
-      GeneralNames san = GeneralNames.getInstance(extDataASN1);
-      if (san != null) {
-        getAltNameExtensionDisp(san, da);
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    case subjectDirectoryAttributes:
-      SubjectDirectoryAttributes subjectDirectoryAttributes = SubjectDirectoryAttributes.getInstance(extDataASN1);
-      try {
-        @SuppressWarnings("unchecked")
-        Vector<Attribute> attributes = subjectDirectoryAttributes.getAttributes();
-        for (Attribute attribute : attributes) {
-          List<String> valueList = Arrays.stream(attribute.getAttributeValues())
-            .map(asn1Encodable -> getStringValue(asn1Encodable))
-            .collect(Collectors.toList());
-          ASN1ObjectIdentifier attrType = attribute.getAttrType();
-          SubjectDnType subjectDnType = SubjectDnType.getNameTypeForOid(attrType);
-          String attrName = subjectDnType.getOidString() == null
-            ? attrType.getId()
-            : subjectDnType.getDispName();
-          if (!valueList.isEmpty()) {
-            String displayValue = valueList.size() == 1
-              ? valueList.get(0)
-              : "[ " + String.join(", ", valueList) + " ]";
-            da.add(new String[] { attrName, displayValue });
-          }
-        }
-      } catch (Exception ex) {
-        return new UnitDisplayData(extension, idx, critical, SubjectDirectoryAttributes.getInstance(extDataASN1).toString(), true);
-      }
-      return new UnitDisplayData(extension, idx, critical, da);
-    case subjectInfoAccess:
-      SubjectInformationAccess sia = SubjectInformationAccess.getInstance(extDataASN1);
-      AccessDescription[] siadescArray = sia.getAccessDescriptions();
-      if (siadescArray != null) {
-        for (int i = 0; i < siadescArray.length; i++) {
-          da.add(new String[] { "accessMethod" + getIndexStr(i), OidName.getName(siadescArray[i].getAccessMethod().getId()) });
-          da.add(new String[] { "  accessLocation", getGeneralNameStr(siadescArray[i].getAccessLocation()) });
-        }
+  /**
+   * Adds the rendered data of extensions as rows of another display unit, such as the extensions of a CRL entry.
+   *
+   * @param extensionInfoList extensions
+   * @param dataArray the rows to add extension data to
+   */
+  static void addExtensionRows(List<ExtensionInfo> extensionInfoList, List<String[]> dataArray) {
+    for (UnitDisplayData extensionPrintData : getExtensionDispData(extensionInfoList)) {
+      if (extensionPrintData.isStructured()) {
+        dataArray.addAll(extensionPrintData.getDataArray());
       }
-      return new UnitDisplayData(extension, idx, critical, da);
-    case subjectKeyIdentifier:
-      SubjectKeyIdentifier ski = SubjectKeyIdentifier.getInstance(extDataASN1);
-      byte[] skeyIdentifier = ski.getKeyIdentifier();
-      if (skeyIdentifier != null) {
-        da.add(new String[] { "Key identifier", byteArrayToHexString(skeyIdentifier) });
+      else {
+        dataArray.add(new String[] { extensionPrintData.getName(), extensionPrintData.getFreeText().trim() });
       }
-      return new UnitDisplayData(extension, idx, critical, da);
-    //return new UnitDisplayData(extension, idx, critical, new SubjectKeyIdentifierExtension(critical, bytes).toString(), true);
-    case ocspNocheck:
-      da.add(new String[] { "OCSP no-check", "true" });
-      return new UnitDisplayData(extension, idx, critical, da);
-      //return new UnitDisplayData(extension, idx, critical, new OCSPNoCheckExtension(critical, bytes).toString(), true);
-    case authContext:
-      AuthnContext authCont = AuthnContext.getInstance(extDataASN1);
-      getAuthnContextDisp(authCont, da);
-      return new UnitDisplayData(extension, idx, critical, da);
-    //b.append(AuthnContext.getInstance(extDataASN1));
-    //return new UnitDisplayData(extension, idx, critical, b.toString(), false);
-    case unknown:
-      UnitDisplayData unknownData = new UnitDisplayData(UnitType.extension);
-      unknownData.setCriticality(critical);
-      unknownData.setId(oid.getId());
-      unknownData.setSequence(idx);
-      unknownData.setName("Unkown extension");
-      unknownData.setStructured(false);
-      unknownData.setFreeText("Unknown data structure with " + String.valueOf(bytes.length) + " bytes of data");
-      return unknownData;
-    case signedCertificateTimestampList:
-      da.add(new String[] { "SignedTimeStampList", String.valueOf(bytes.length) + " bytes of data" });
-      return new UnitDisplayData(extension, idx, critical, da);
-    default:
-      throw new AssertionError(extension.name());
-
     }
   }
 
-  private static UnitDisplayData getCertFieldDispData(PrintCertificate cert, boolean verbose, boolean decode, boolean html) {
+  private static UnitDisplayData getCertFieldDispData(PrintCertificate cert, boolean verbose, boolean decode, boolean html,
+    Set<FingerprintType> fingerprints) {
     UnitDisplayData udd = new UnitDisplayData(UnitType.certFields);
     udd.setStructured(true);
     List<String[]> dataArray = new ArrayList<>();
     dataArray.add(new String[] { "Version", String.valueOf(cert.getVersionNumber()) });
     dataArray.add(new String[] { "Serial number", cert.getSerialNumber().toString(16) });
-    dataArray.add(new String[] { "Issuer", getCertNameFieldPrint(cert.getIssuer(), decode, html) });
+    addCertNameField("Issuer", cert.getIssuer(), decode, html, udd, dataArray);
     dataArray.add(new String[] { "Not valid before", cert.getNotBefore().toString() });
     dataArray.add(new String[] { "Not valid after", cert.getNotAfter().toString() });
-    dataArray.add(new String[] { "Subject", getCertNameFieldPrint(cert.getSubject(), decode, html) });
+    addCertNameField("Subject", cert.getSubject(), decode, html, udd, dataArray);
 
-    //Extract public key info from oiginal print.
-    List<String> textLines = CertUtils.getTextLines(cert.toOriginalString());
-    boolean pkStart = false, pkEnd = false;
-    for (String line : textLines) {
-      if (line.trim().startsWith("Public Key:")) {
-        pkStart = true;
-      }
-      if (pkStart && line.trim().length()==0) {
-        pkEnd = true;
-      }
-      if (pkStart && !pkEnd) {
-        line = line.trim();
-        String[] split = line.split(":");
-        int len = split.length;
-        if (len > 1) {
-          if (verbose || !isVerbose(split[0])) {
-            if (len == 2){
-              dataArray.add(new String[] { split[0].trim(), split[1].trim() });
-            } else {
-              dataArray.add(new String[] { line.substring(0, line.indexOf(":")), line.substring(line.indexOf(":")+2) });
-            }
-          }
-        }
-        if (len == 1) {
-          dataArray.add(new String[] { "parameter", line.trim() });
-        }
+    getPublicKeyDispData(cert.getSubjectPublicKeyInfo(), verbose, dataArray);
+
+    //Add fingerprints
+    if (!fingerprints.isEmpty()) {
+      for (Map.Entry<FingerprintType, byte[]> fingerprint : cert.getFingerprints(fingerprints).entrySet()) {
+        dataArray.add(new String[] { fingerprint.getKey().getDisplayName(), byteArrayToHexString(fingerprint.getValue()) });
       }
     }
 
-    try {
-      //Add fingerprint
-      MessageDigest md = MessageDigest.getInstance("SHA-1");
-      byte[] digest = md.digest(cert.getEncoded());
-      //dataArray.add(new String[] { "", "" });
-      dataArray.add(new String[] { "SHA1 Fingerprint", byteArrayToHexString(digest) });
+    udd.setDataArray(dataArray);
+    return udd;
+  }
+
+  static void getPublicKeyDispData(SubjectPublicKeyInfo publicKeyInfo, boolean verbose, List<String[]> da) {
+    PublicKeyData publicKeyData = new PublicKeyData(publicKeyInfo);
+    PKValueData pkValData = publicKeyData.getPkValData();
+    if (pkValData instanceof RSAKeyParser && ((RSAKeyParser) pkValData).getModulus() != null) {
+      RSAKeyParser rsaKey = (RSAKeyParser) pkValData;
+      da.add(new String[] { "Public Key", "RSA Public Key ["
+        + new Fingerprint(rsaKey.getModulus().toByteArray()) + "],["
+        + new Fingerprint(rsaKey.getPublicExponent().toByteArray(), 32) + "]" });
+      if (verbose) {
+        da.add(new String[] { "modulus", rsaKey.getModulus().toString(16) });
+      }
+      da.add(new String[] { "public exponent", rsaKey.getPublicExponent().toString(16) });
+      return;
+    }
+    if (pkValData instanceof ECKeyParser && ((ECKeyParser) pkValData).getX() != null) {
+      ECKeyParser ecKey = (ECKeyParser) pkValData;
+      da.add(new String[] { "Public Key", "EC Public Key ["
+        + getECKeyFingerprint(ecKey, publicKeyInfo.getPublicKeyData().getBytes()) + "]" });
+      da.add(new String[] { "X", ecKey.getX().toString(16) });
+      da.add(new String[] { "Y", ecKey.getY().toString(16) });
+      return;
+    }
+    if (pkValData instanceof DSAKeyParser && ((DSAKeyParser) pkValData).getY() != null) {
+      DSAKeyParser dsaKey = (DSAKeyParser) pkValData;
+      DSAParameter params = dsaKey.getParameters();
+      byte[] fingerprintData = params == null
+        ? dsaKey.getY().toByteArray()
+        : org.bouncycastle.util.Arrays.concatenate(dsaKey.getY().toByteArray(), params.getP().toByteArray(),
+          params.getQ().toByteArray(), params.getG().toByteArray());
+      da.add(new String[] { "Public Key", "DSA Public Key [" + new Fingerprint(fingerprintData) + "]" });
+      da.add(new String[] { "Y", dsaKey.getY().toString(16) });
+      return;
+    }
+    // EdDSA, XDH and unknown key types are printed by name together with the raw public key bits
+    PublicKeyType pkType = publicKeyData.getPkType();
+    byte[] keyBits = publicKeyInfo.getPublicKeyData().getBytes();
+    String keyName = pkType.equals(PublicKeyType.unknown)
+      ? getAlgorithmName(publicKeyData.getAlgorithmOid())
+      : pkType.getName();
+    da.add(new String[] { "Public Key", keyName + " Public Key [" + new Fingerprint(keyBits) + "]" });
+    da.add(new String[] { "public data", Hex.toHexString(keyBits) });
+  }
+
+  /**
+   * Display name of an algorithm OID, preferring names registered in the {@link OidRegistry}.
+   */
+  private static String getAlgorithmName(ASN1ObjectIdentifier algorithmOid) {
+    String displayName = OidRegistry.getDisplayName(algorithmOid);
+    return displayName != null ? displayName : ALGORITHM_NAME_FINDER.getAlgorithmName(algorithmOid);
+  }
 
+  /**
+   * Name of a signature algorithm in the form used by the Bouncy Castle certificate print. RSASSA-PSS names include the
+   * hash algorithm of the PSS parameters, e.g. SHA256withRSAandMGF1, and EdDSA algorithms are named Ed25519 and Ed448.
+   *
+   * @param sigAlgId signature algorithm identifier
+   * @return signature algorithm name
+   */
+  static String getSignatureAlgorithmName(AlgorithmIdentifier sigAlgId) {
+    ASN1ObjectIdentifier sigAlgOid = sigAlgId.getAlgorithm();
+    if (PKCSObjectIdentifiers.id_RSASSA_PSS.equals(sigAlgOid)) {
+      RSASSAPSSparams pssParams = RSASSAPSSparams.getInstance(sigAlgId.getParameters());
+      return ALGORITHM_NAME_FINDER.getAlgorithmName(pssParams.getHashAlgorithm()) + "withRSAandMGF1";
     }
-    catch (NoSuchAlgorithmException ex) {
-      Logger.getLogger(DisplayCert.class.getName()).log(Level.SEVERE, null, ex);
+    if (EdECObjectIdentifiers.id_Ed25519.equals(sigAlgOid)) {
+      return "Ed25519";
     }
-
-    udd.setDataArray(dataArray);
-    return udd;
+    if (EdECObjectIdentifiers.id_Ed448.equals(sigAlgOid)) {
+      return "Ed448";
+    }
+    return SIGNATURE_NAME_FINDER.getAlgorithmName(sigAlgId);
   }
 
-  private static boolean isVerbose(String string) {
-    for (String verboseStr : verboseParams) {
-      if (string.equalsIgnoreCase(verboseStr)) {
-        return true;
-      }
+  /**
+   * Key fingerprint in the form used by the Bouncy Castle EC public key print, calculated over the public point and the
+   * curve parameters a, b and G when the curve is a known named curve.
+   */
+  private static Fingerprint getECKeyFingerprint(ECKeyParser ecKey, byte[] encodedPoint) {
+    X9ECParameters curveParams = ecKey.getCurveOid() == null ? null : ECNamedCurveTable.getByOID(ecKey.getCurveOid());
+    if (curveParams == null) {
+      return new Fingerprint(encodedPoint);
     }
-    return false;
+    ECCurve curve = curveParams.getCurve();
+    return new Fingerprint(org.bouncycastle.util.Arrays.concatenate(
+      curve.createPoint(ecKey.getX(), ecKey.getY()).getEncoded(false),
+      curve.getA().getEncoded(),
+      curve.getB().getEncoded(),
+      curveParams.getG().getEncoded(false)));
   }
 
   private static UnitDisplayData getCertSignData(PrintCertificate cert, boolean verbose) {
-    List<String> textLines = CertUtils.getTextLines(cert.toOriginalString());
     UnitDisplayData dispData = new UnitDisplayData(UnitType.signature);
-    StringBuilder b = new StringBuilder();
-    int i = 0;
-    int algoStart = -1;
     List<String[]> da = new ArrayList<>();
-    // Loop through all cert lines
-    while (i < textLines.size()) {
-      String line = textLines.get(i);
-      if (line.trim().startsWith("Signature Algorithm:")) {
-        algoStart = i;
-        break;
-      }
-      i++;
-    }
-
-
-    boolean display=false;
-    if (verbose) {
-      String sigAlgo = "";
-      if (algoStart > -1) {
-        for (int j = algoStart; j < textLines.size(); j++) {
-          String line = textLines.get(j);
-          if (line.trim().toLowerCase().startsWith("extensions")){
-            break;
-          }
-          if (j == algoStart){
-            sigAlgo = line.trim().substring(21);
-          }
-          if (j == algoStart+1){
-            b.append(line.trim().substring(11));
-          }
-          if (j > algoStart +1){
-            b.append(line.trim());
-          }
-
-        }
-        dispData.setStructured(true);
-        da.add(new String[] { "Signature Algorithm", sigAlgo});
-        da.add(new String[] { "Signature", b.toString()});
-        dispData.setDataArray(da);
-        display=true;
+    try {
+      String sigAlgo = getSignatureAlgorithmName(cert.getSignatureAlgorithm());
+      if (verbose) {
+        da.add(new String[] { "Signature Algorithm", sigAlgo });
+        da.add(new String[] { "Signature", Hex.toHexString(cert.getSignature()) });
       }
-    }
-    else {
-      if (algoStart > -1) {
-        try {
-          da.add(new String[] { "Algorithm", textLines.get(algoStart).trim().substring(20).trim()});
-          dispData.setStructured(true);
-          dispData.setDataArray(da);
-          display=true;
-        } catch (Exception ex){
-          Logger.getLogger(DisplayCert.class.getName()).fine("Failed to parse Algorithm data in certificate");
-        }
+      else {
+        da.add(new String[] { "Algorithm", sigAlgo });
       }
+      dispData.setStructured(true);
+      dispData.setDataArray(da);
     }
-
-    if (!display){
+    catch (Exception ex) {
+      Logger.getLogger(DisplayCert.class.getName()).fine("Failed to parse Algorithm data in certificate");
       dispData.setStructured(false);
       dispData.setFreeText("Unable to parse algorithm and signature data");
     }
-
     return dispData;
-
   }
 
-  private static String getTextDisplay(UnitDisplayData dispData, boolean monospace) {
-    StringBuilder b = new StringBuilder();
+  static void writeTextDisplay(UnitDisplayData dispData, boolean monospace, Appendable b) throws IOException {
     int maxLen = -1;
     List<String[]> dataArray = dispData.getDataArray();
     if (dispData.isStructured() && monospace) {
@@ -555,7 +566,9 @@ public class DisplayCert {
     case certFields:
       for (String[] strArray : dataArray) {
         if (strArray[0].length() + strArray[1].length() > 0) {
-          b.append(strArray[0]).append(getSpc(maxLen - strArray[0].length())).append(": ").append(strArray[1]).append("\n");
+          b.append(strArray[0]);
+          appendSpc(maxLen - strArray[0].length(), b);
+          b.append(": ").append(strArray[1]).append("\n");
         }
         else {
           b.append("\n");
@@ -563,7 +576,7 @@ public class DisplayCert {
       }
       break;
     case extension:
-      b.append("Extension ").append(dispData.getSequence() + 1).append(":   ");
+      b.append("Extension ").append(String.valueOf(dispData.getSequence() + 1)).append(":   ");
       if (!dispData.isHasPrefix()) {
         b.append(dispData.isCriticality() ? "critical   " : "not critical   ");
         b.append(dispData.getName()).append(" (").append(dispData.getId()).append(")\n");
@@ -571,7 +584,9 @@ public class DisplayCert {
       if (dispData.isStructured()) {
         for (String[] strArray : dataArray) {
           if (strArray[0].length() + strArray[1].length() > 0) {
-            b.append("  ").append(strArray[0]).append(getSpc(maxLen - strArray[0].length())).append(": ").append(strArray[1]).append("\n");
+            b.append("  ").append(strArray[0]);
+            appendSpc(maxLen - strArray[0].length(), b);
+            b.append(": ").append(strArray[1]).append("\n");
           }
           else {
             b.append("\n");
@@ -583,11 +598,13 @@ public class DisplayCert {
       }
       break;
     case signature:
-      b.append("Certificate Signature:\n");
+      b.append(dispData.getName() == null ? "Certificate Signature" : dispData.getName()).append(":\n");
       if (dispData.isStructured()) {
         for (String[] strArray : dataArray) {
           if (strArray[0].length() + strArray[1].length() > 0) {
-            b.append(strArray[0]).append(getSpc(maxLen - strArray[0].length())).append(": ").append(strArray[1]).append("\n");
+            b.append(strArray[0]);
+            appendSpc(maxLen - strArray[0].length(), b);
+            b.append(": ").append(strArray[1]).append("\n");
           }
           else {
             b.append("\n");
@@ -602,8 +619,30 @@ public class DisplayCert {
       throw new AssertionError(type.name());
 
     }
-    return b.toString();
+  }
 
+  /**
+   * Writes the rows of a display unit as an indented block, such as a CRL entry or a single OCSP response.
+   *
+   * @param dataArray rows
+   * @param monospace indicates that the print is done using monospace characters
+   * @param out the destination of the rows
+   * @throws IOException on errors writing to the destination
+   */
+  static void writeTextRows(List<String[]> dataArray, boolean monospace, Appendable out) throws IOException {
+    int maxLen = 0;
+    if (monospace) {
+      for (String[] strArray : dataArray) {
+        maxLen = Math.max(maxLen, strArray[0].length());
+      }
+    }
+    for (String[] strArray : dataArray) {
+      out.append("  ").append(strArray[0]);
+      for (int i = strArray[0].length(); i < maxLen; i++) {
+        out.append(' ');
+      }
+      out.append(": ").append(strArray[1]).append("\n");
+    }
   }
 
   public static String byteArrayToHexString(byte[] b) {
@@ -631,26 +670,10 @@ public class DisplayCert {
     return max;
   }
 
-  private static String getSpc(int len) {
-    String spcStr = "";
+  private static void appendSpc(int len, Appendable b) throws IOException {
     for (int i = 0; i < len; i++) {
-      spcStr += " ";
-    }
-    return spcStr;
-  }
-
-  private static String getGeneralNamesString(GeneralNames genNames) {
-    GeneralName[] names = genNames.getNames();
-    StringBuilder b = new StringBuilder();
-    b.append("GeneralNames {");
-    for (int i = 0; i < names.length; i++) {
-      b.append(getGeneralNameStr(names[i]));
-      if (i + 1 < names.length) {
-        b.append(" | ");
-      }
+      b.append(' ');
     }
-    b.append("}");
-    return b.toString();
   }
 
   public static String getGeneralNameStr(GeneralName generalName) {
@@ -668,43 +691,6 @@ public class DisplayCert {
     }
   }
 
-  private static void getPolicyText(CertificatePolicies cp, List<String[]> da) {
-    try {
-      ASN1InputStream din = new ASN1InputStream(new ByteArrayInputStream(cp.getEncoded()));
-      ASN1Sequence polInfoSeq = ASN1Sequence.getInstance(din.readObject());
-      for (int i = 0; i < polInfoSeq.size(); i++) {
-        ASN1Sequence polSeq = ASN1Sequence.getInstance(polInfoSeq.getObjectAt(i));
-        ASN1ObjectIdentifier policyId = ASN1ObjectIdentifier.getInstance(polSeq.getObjectAt(0));
-        da.add(new String[] { "certificatePolicy" + getIndexStr(i), OidName.getName(policyId.getId()) });
-        if (polSeq.size() > 1) {
-          ASN1Sequence qualSeq = ASN1Sequence.getInstance(polSeq.getObjectAt(1));
-          for (int qualifierIdx = 0; qualifierIdx < qualSeq.size(); qualifierIdx++) {
-            ASN1Sequence qualInfoSeq = ASN1Sequence.getInstance(qualSeq.getObjectAt(qualifierIdx));
-            ASN1ObjectIdentifier qualifierId = ASN1ObjectIdentifier.getInstance(qualInfoSeq.getObjectAt(0));
-            da.add(new String[] { "  qualifier" + getIndexStr(qualifierIdx), OidName.getName(qualifierId.getId()) });
-            if (qualifierId.getId().equalsIgnoreCase(OidName.cpsQualifier.getOid())) {
-              da.add(new String[] { "  - CPS URI", DERIA5String.getInstance(qualInfoSeq.getObjectAt(1)).getString() });
-            }
-            if (qualifierId.getId().equalsIgnoreCase(OidName.usernoticeQualifier.getOid())) {
-              da.add(new String[] { "  - User Notice", qualInfoSeq.getObjectAt(1).toString() });
-            }
-          }
-        }
-
-      }
-
-    }
-    catch (IOException ex) {
-      Logger.getLogger(DisplayCert.class.getName()).log(Level.SEVERE, null, ex);
-    }
-
-  }
-
-  private static void getKeyUsageText(KeyUsage keyUsage, List<String[]> da) {
-    da.add(new String[] { "Usage", getKeyUsageText(keyUsage) });
-
-  }
-
   public static String getKeyUsageText(KeyUsage keyUsage) {
     List<String> usagesList = new ArrayList<>();
     StringBuilder b = new StringBuilder();
@@ -744,309 +730,91 @@ public class DisplayCert {
     return b.toString();
   }
 
-  private static void getNetscapeCertTypeText(KeyUsage keyUsage, List<String[]> da) {
-    List<String> usagesList = new ArrayList<>();
-    StringBuilder b = new StringBuilder();
-    if (keyUsage.hasUsages(KeyUsage.digitalSignature)) {
-      usagesList.add("SSL Client");
-    }
-    if (keyUsage.hasUsages(KeyUsage.nonRepudiation)) {
-      usagesList.add("SSL Server");
-    }
-    if (keyUsage.hasUsages(KeyUsage.keyEncipherment)) {
-      usagesList.add("S/MIME");
-    }
-    if (keyUsage.hasUsages(KeyUsage.dataEncipherment)) {
-      usagesList.add("Object-signing");
-    }
-    if (keyUsage.hasUsages(KeyUsage.keyAgreement)) {
-      usagesList.add("Reserved");
-    }
-    if (keyUsage.hasUsages(KeyUsage.keyCertSign)) {
-      usagesList.add("SSL-CA");
-    }
-    if (keyUsage.hasUsages(KeyUsage.cRLSign)) {
-      usagesList.add("S/MIME CA");
-    }
-    if (keyUsage.hasUsages(KeyUsage.encipherOnly)) {
-      usagesList.add("Object-signing CA");
-    }
-    for (int i = 0; i < usagesList.size(); i++) {
-      b.append(usagesList.get(i));
-      if (i + 1 < usagesList.size()) {
-        b.append(" | ");
-      }
-    }
-    da.add(new String[] { "CertType", b.toString() });
-  }
-
-  private static void getAuthnContextDisp(AuthnContext authCont, List<String[]> da) {
-    List<SAMLAuthContext> statementInfoList = authCont.getStatementInfoList();
-    for (int stIdx = 0; stIdx < statementInfoList.size(); stIdx++) {
-      da.add(new String[] { "SAMLAuthContext" + getIndexStr(stIdx), "http://id.elegnamnden.se/auth-cont/1.0/saci" });
-      SAMLAuthContext samlAuthContext = statementInfoList.get(stIdx);
-      try {
-        AuthContextInfo aci = samlAuthContext.getAuthContextInfo();
-        addDispItem(aci.getIdentityProvider(), "  Identity Provider", da);
-        addDispItem(aci.getAuthnContextClassRef(), "  Level of Assurance", da);
-        addDispItem(DATE_TIME_FORMATTER.format(aci.getAuthenticationInstant()), "  Authn Instant", da);
-        addDispItem(aci.getAssertionRef(), "  Assertion Ref", da);
-        addDispItem(aci.getServiceID(), "  ServiceID", da);
-
-        IdAttributes idAttributes = samlAuthContext.getIdAttributes();
-        if (idAttributes != null) {
-          List<AttributeMapping> attributeMappingList = idAttributes.getAttributeMappings();
-          for (int amIdx = 0; amIdx < attributeMappingList.size(); amIdx++) {
-            AttributeMapping amt = attributeMappingList.get(amIdx);
-            String ref = amt.getRef();
-            String type = amt.getType().toString();
-            if (type.equalsIgnoreCase("san")) {
-              try {
-                ref = generalNameTagText[Integer.valueOf(ref)];
-              }
-              catch (Exception e) {
-              }
-            }
-            String name = amt.getAttribute().getName();
-            String friendlyName = amt.getAttribute().getFriendlyName();
-            String friendlyNameString = friendlyName != null ? " | " + friendlyName : "";
-            List<Element> attributeValues = amt.getAttribute().getAttributeValues();
-            String attributeValueString = "";
-            if (attributeValues != null && !attributeValues.isEmpty()){
-              attributeValueString = " (" + attributeValues.get(0).getTextContent() + ")";
-            }
-            String val = "SAML: " + name + friendlyNameString + " --> Type=" + type + " Ref=" + ref + attributeValueString;
-            addDispItem(val, "  Attribute mapping " + String.valueOf(amIdx), da);
-          }
-        }
-
-      }
-      catch (Exception e) {
-      }
-    }
-  }
-
-  private static void addDispItem(Object value, String name, List<String[]> da) {
-    StringBuilder b = new StringBuilder();
-    if (value != null) {
-      b.append(value);
-      if (b.length() > 0) {
-        da.add(new String[] { name, b.toString() });
-      }
-    }
-  }
-
-  private static void getAltNameExtensionDisp(GeneralNames san, List<String[]> da) {
-    GeneralName[] names = san.getNames();
-    if (names != null) {
-      for (GeneralName name : names) {
-        String toString = name.toString();
-        try {
-          int tagNo = Integer.valueOf(toString.substring(0, toString.indexOf(":")));
-          da.add(new String[] { generalNameTagText[tagNo], toString.substring(toString.indexOf(":") + 1) });
-
-        }
-        catch (Exception e) {
-        }
-      }
-    }
-  }
-
-  private static void getPolicyMappingsText(PolicyMappings instance, List<String[]> da) {
-
-    final ASN1Sequence pmSeq = (ASN1Sequence) instance.toASN1Primitive();
-    final Iterator<ASN1Encodable> iterator = pmSeq.iterator();
-    while (iterator.hasNext()){
-      ASN1Sequence oidSeq = ASN1Sequence.getInstance(iterator.next());
-      String idp = ASN1ObjectIdentifier.getInstance(oidSeq.getObjectAt(0)).getId();
-      String sdp = ASN1ObjectIdentifier.getInstance(oidSeq.getObjectAt(0)).getId();
-      da.add(new String[]{"Mapping", "issuer: " + idp + " --> subject: " + sdp});
-    }
-  }
-
-  private static void getPolicyConstraintsText(PolicyConstraints instance, List<String[]> da) {
-
-    final BigInteger requireExplicitPolicyMapping = instance.getRequireExplicitPolicyMapping();
-    if (requireExplicitPolicyMapping != null){
-      da.add(new String[]{"Require explicit", requireExplicitPolicyMapping.toString()});
-    }
-    final BigInteger inhibitPolicyMapping = instance.getInhibitPolicyMapping();
-    if (inhibitPolicyMapping != null) {
-      da.add(new String[]{"Inhibit mapping", inhibitPolicyMapping.toString()});
-    }
-  }
-
-  private static void getNameConstraintsText(NameConstraints instance, List<String[]> da) {
-
-    final GeneralSubtree[] permittedSubtrees = instance.getPermittedSubtrees();
-    final GeneralSubtree[] excludedSubtrees = instance.getExcludedSubtrees();
-
-    printGeneralSubtree("Permitted Subtree", permittedSubtrees, da);
-    printGeneralSubtree("Excluded Subtree", excludedSubtrees, da);
-  }
-
-  private static void printGeneralSubtree(String title, GeneralSubtree[] generalSubtreeArray, List<String[]> da) {
-    if (generalSubtreeArray != null && generalSubtreeArray.length > 0 ){
-      for (int i = 0; i< generalSubtreeArray.length ; i++){
-        GeneralSubtree subtree = generalSubtreeArray[i];
-        da.add(new String[]{title + "["+i+"]", getGeneralNameStr(subtree.getBase())});
-        if (subtree.getMinimum() != null){
-          da.add(new String[]{"  minimum", subtree.getMinimum().toString()});
-        }
-        if (subtree.getMaximum() != null){
-          da.add(new String[]{"  maximum", subtree.getMaximum().toString()});
-        }
-      }
-    }
-  }
-
-  private static void getInhibitAnyPolicyText(InhibitAnyPolicy instance, List<String[]> da) {
-    da.add(new String[]{"Skip certs", instance.getSkipCerts().toString()});
-  }
-
 
 
-  private static String getHtmlDisplay(List<UnitDisplayData> dispList, String heading, CertTableClasses tableClasses) {
-    StringBuilder htmlStr = new StringBuilder();
-
+  private static void writeHtmlDisplay(List<UnitDisplayData> dispList, String heading, CertTableClasses tableClasses,
+    Appendable out) throws IOException {
     TableElement certTable = new TableElement();
     certTable.addAttribute("class", tableClasses.getTableClasses());
+    writeHtmlHeading(heading, tableClasses, out);
+    for (UnitDisplayData dispData : dispList) {
+      addHtmlRows(dispData, tableClasses, certTable);
+    }
+    certTable.writeTo(out, false);
+  }
 
+  static void writeHtmlHeading(String heading, CertTableClasses tableClasses, Appendable out) throws IOException {
     if (heading != null) {
       TableElement headTable = new TableElement();
       headTable.addAttribute("class", tableClasses.getHeadTableClasses());
       headTable.addRow(heading, tableClasses.getHeadClasses(), 2, true);
-      htmlStr.append(headTable);
+      headTable.writeTo(out, false);
     }
+  }
 
-    for (UnitDisplayData dispData : dispList) {
-      List<String[]> dataArray = dispData.getDataArray();
+  static void addHtmlRows(UnitDisplayData dispData, CertTableClasses tableClasses, TableElement certTable) {
+    List<String[]> dataArray = dispData.getDataArray();
 
-      UnitType type = dispData.getType();
-      switch (type) {
-      case certFields:
-        for (String[] strArray : dataArray) {
-          if (strArray != null && strArray.length > 1) {
-            strArray[1] = strArray[1].replaceAll("\n", "<br>");
-          }
-          certTable.addRow(strArray, tableClasses.getCertFieldClasses());
-        }
-        break;
-      case extension:
-        StringBuilder b = new StringBuilder();
-        b.append("Extension ").append(dispData.getSequence() + 1).append(":   ");
-        b.append(dispData.getName()).append(" (").append(dispData.getId()).append(") - ");
-        b.append(dispData.isCriticality() ? "critical   " : "not critical   ");
-        certTable.addRow(b.toString(), tableClasses.getExtensionHeadClasses(), 2, true);
-        if (dispData.isStructured()) {
-          for (String[] strArray : dataArray) {
-            String param = strArray[0];
-            if (param.startsWith(" ")) {
-              certTable.addRow(padParam(strArray), tableClasses.getCertExtensionSubDataClasses());
-            }
-            else {
-              certTable.addRow(strArray, tableClasses.getCertExtensionDataClasses());
-            }
-          }
-        }
-        else {
-          certTable.addRow(new String[] { "ExtensionData", dispData.getFreeText().replaceAll("\n", "<br>").trim() },
-            tableClasses.getCertExtensionDataClasses());
+    UnitType type = dispData.getType();
+    switch (type) {
+    case certFields:
+      for (int i = 0; i < dataArray.size(); i++) {
+        String[] strArray = dataArray.get(i);
+        HtmlElement htmlValue = dispData.getHtmlValue(i);
+        if (htmlValue != null) {
+          certTable.addRow(strArray[0], htmlValue, tableClasses.getCertFieldClasses());
+          continue;
         }
-        break;
-      case signature:
-        certTable.addRow("Certificate Signature", tableClasses.getExtensionHeadClasses(), 2, true);
-        if (dispData.isStructured()) {
-          for (String[] strArray : dataArray) {
-            certTable.addRow(strArray, tableClasses.getSignatureDataClassesNorm());
-          }
+        if (strArray != null && strArray.length > 1) {
+          strArray = new String[] { strArray[0], strArray[1].replace("\n", "<br>") };
         }
-        else {
-          try {
-            certTable.addRow(new String[] { "Signature value", dispData.getFreeText().trim().replaceAll("\n", "<br>") },
-              tableClasses.getSignatureDataClassesVerbose());
+        certTable.addRow(strArray, tableClasses.getCertFieldClasses());
+      }
+      break;
+    case extension:
+      StringBuilder b = new StringBuilder();
+      b.append("Extension ").append(dispData.getSequence() + 1).append(":   ");
+      b.append(dispData.getName()).append(" (").append(dispData.getId()).append(") - ");
+      b.append(dispData.isCriticality() ? "critical   " : "not critical   ");
+      certTable.addRow(b.toString(), tableClasses.getExtensionHeadClasses(), 2, true);
+      if (dispData.isStructured()) {
+        for (String[] strArray : dataArray) {
+          String param = strArray[0];
+          if (param.startsWith(" ")) {
+            certTable.addRow(padParam(strArray), tableClasses.getCertExtensionSubDataClasses());
           }
-          catch (Exception ex) {
-            certTable.addRow(new String[] { "Signature value", "Unable to parse signature value: " + ex.getMessage() });
-            Logger.getLogger(DisplayCert.class.getName()).warning("Problem parsing signature value - " + ex.getMessage());
+          else {
+            certTable.addRow(strArray, tableClasses.getCertExtensionDataClasses());
           }
         }
-        break;
-      default:
-        throw new AssertionError(type.name());
-
       }
-
-    }
-    htmlStr.append(certTable);
-    return htmlStr.toString();
-
-  }
-
-  private static void getQcStatementsDisp(QCStatements qcstatements, List<String[]> da) {
-    int idx = 0;
-    if (qcstatements.isPkixSyntaxV1()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC Syntax V1" });
-    }
-    if (qcstatements.isPkixSyntaxV2()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC Syntax V2" });
-    }
-    if (qcstatements.isPkixSyntaxV1() || qcstatements.isPkixSyntaxV2()) {
-      SemanticsInformation semanticsInfo = qcstatements.getSemanticsInfo();
-      if (semanticsInfo != null) {
-        if (semanticsInfo.getSemanticsIdentifier() != null) {
-          da.add(new String[] { "  SemanticsID", OidName.getName(semanticsInfo.getSemanticsIdentifier().getId()) });
-        }
-        if (!semanticsInfo.getNameRegistrationAuthorityList().isEmpty()) {
-          semanticsInfo.getNameRegistrationAuthorityList().forEach((name) -> {
-            da.add(new String[] { "  NameRegAuth", getGeneralNameStr(name) });
-          });
-        }
+      else {
+        certTable.addRow(new String[] { "ExtensionData", dispData.getFreeText().replaceAll("\n", "<br>").trim() },
+          tableClasses.getCertExtensionDataClasses());
       }
-    }
-
-    if (qcstatements.isQcCompliance()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "Qualified Certificate" });
-    }
-    if (qcstatements.isQcSscd()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC SSCD" });
-    }
-    if (qcstatements.isQcType()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC Type" });
-      for (ASN1ObjectIdentifier type : qcstatements.getQcTypeIdList()) {
-        if (type.getId().equalsIgnoreCase(QCStatements.QC_TYPE_ELECTRONIC_SIGNATURE.getId())) {
-          da.add(new String[] { "  Type", "Electronic Signature" });
+      break;
+    case signature:
+      certTable.addRow(dispData.getName() == null ? "Certificate Signature" : dispData.getName(),
+        tableClasses.getExtensionHeadClasses(), 2, true);
+      if (dispData.isStructured()) {
+        for (String[] strArray : dataArray) {
+          certTable.addRow(strArray, tableClasses.getSignatureDataClassesNorm());
         }
-        if (type.getId().equalsIgnoreCase(QCStatements.QC_TYPE_ELECTRONIC_SEAL.getId())) {
-          da.add(new String[] { "  Type", "Electronic Seal" });
+      }
+      else {
+        try {
+          certTable.addRow(new String[] { "Signature value", dispData.getFreeText().trim().replaceAll("\n", "<br>") },
+            tableClasses.getSignatureDataClassesVerbose());
         }
-        if (type.getId().equalsIgnoreCase(QCStatements.QC_TYPE_WEBSITE_AUTH.getId())) {
-          da.add(new String[] { "  Type", "Website Authentication" });
+        catch (Exception ex) {
+          certTable.addRow(new String[] { "Signature value", "Unable to parse signature value: " + ex.getMessage() });
+          Logger.getLogger(DisplayCert.class.getName()).warning("Problem parsing signature value - " + ex.getMessage());
         }
       }
-    }
-    if (qcstatements.isLimitValue()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "Reliance Limit" });
-      MonetaryValue monetaryValue = qcstatements.getMonetaryValue();
-      da.add(new String[] { "  Currency", monetaryValue.getCurrency() });
-      da.add(new String[] { "  Amount", monetaryValue.getAmount().toString() });
-      da.add(new String[] { "  Exponent", monetaryValue.getExponent().toString() });
-    }
-    if (qcstatements.isRetentionPeriod()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "Retention Period" });
-      da.add(new String[] { "  Years", qcstatements.getRetentionPeriodVal().toString() });
-    }
-    if (qcstatements.isPdsStatement()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "PKI Disclosure Statements" });
-      for (PDSLocation pdsLoc : qcstatements.getLocationList()) {
-        da.add(new String[] { "  Location", "Lang=" + pdsLoc.getLang() + " URL: " + pdsLoc.getUrl() });
-      }
-    }
-    if (qcstatements.isQcCClegislation()) {
-      da.add(new String[] { "Statement" + getIndexStr(idx++), "QC Legislation Countries" });
-      for (String country : qcstatements.getLegislationCountryList()) {
-        da.add(new String[] { "  Country", country });
-      }
+      break;
+    default:
+      throw new AssertionError(type.name());
+
     }
   }
 
@@ -1054,6 +822,7 @@ public class DisplayCert {
     if (strArray == null || strArray.length < 1) {
       return strArray;
     }
+    strArray = strArray.clone();
     strArray[0] = "&nbsp;&nbsp;" + strArray[0];
     //        if (strArray[0].trim().startsWith("-")) {
     //            strArray[0] = "&nbsp;&nbsp;&nbsp;-&nbsp;" + strArray[0];
@@ -1064,60 +833,97 @@ public class DisplayCert {
     return strArray;
   }
 
-  private static String getIndexStr(int i) {
-    return "[" + String.valueOf(i) + "]";
+  static void addCertNameField(String param, X500Name name, boolean decode, boolean html, UnitDisplayData udd,
+    List<String[]> dataArray) {
+    if (html && decode) {
+      List<SubjectAttributeInfo> attrInfoList = getAttributeInfoList(name);
+      if (attrInfoList != null) {
+        TableElement dnTable = new TableElement();
+        dnTable.addAttribute("class", DEF_TABLE_CLASSES.getSubjectDNTableClasses());
+        for (SubjectAttributeInfo attrInfo : attrInfoList) {
+          dnTable.addRow(new String[] { attrInfo.getDispName(), attrInfo.getValue() }, DEF_TABLE_CLASSES.getSubjectDNRowClasses());
+        }
+        udd.setHtmlValue(dataArray.size(), dnTable);
+        dataArray.add(new String[] { param, "" });
+        return;
+      }
+    }
+    dataArray.add(new String[] { param, getCertNameFieldPrint(name, decode) });
   }
 
-  private static String getCertNameFieldPrint(X500Name name, boolean decode, boolean html) {
-    List<SubjectAttributeInfo> attrInfoList = new ArrayList<>();
-    try {
-      if (!decode) {
-        return name.toString();
+  private static String getCertNameFieldPrint(X500Name name, boolean decode) {
+    if (!decode) {
+      return name.toString();
+    }
+    List<SubjectAttributeInfo> attrInfoList = getAttributeInfoList(name);
+    if (attrInfoList == null) {
+      return "Name parsing Error";
+    }
+    StringBuilder b = new StringBuilder();
+    for (int i = 0; i<attrInfoList.size(); i++) {
+      SubjectAttributeInfo attrInfo = attrInfoList.get(i);
+      if (i == 0) {
+        b.append("\n");
       }
-      ASN1InputStream ain = new ASN1InputStream(name.getEncoded());
-      ASN1Sequence nameSeq = ASN1Sequence.getInstance(ain.readObject());
+      b.append("        ").append(attrInfo.getDispName()).append(": ").append(attrInfo.getValue()).append("\n");
+    }
+    return b.toString();
+  }
 
-      Iterator<ASN1Encodable> subjDnIt = nameSeq.iterator();
-      while (subjDnIt.hasNext()) {
-        ASN1Set rdnSet = (ASN1Set) subjDnIt.next();
-        Iterator<ASN1Encodable> rdnSetIt = rdnSet.iterator();
-        while (rdnSetIt.hasNext()) {
-          ASN1Sequence rdnSeq = (ASN1Sequence) rdnSetIt.next();
-          ASN1ObjectIdentifier rdnOid = (ASN1ObjectIdentifier) rdnSeq.getObjectAt(0);
-          //String oidStr = rdnOid.getId();
-          ASN1Encodable rdnVal = rdnSeq.getObjectAt(1);
-          String rdnValStr = getStringValue(rdnVal);
-          attrInfoList.add(new SubjectAttributeInfo(rdnOid, rdnValStr));
+  private static List<SubjectAttributeInfo> getAttributeInfoList(X500Name name) {
+    List<SubjectAttributeInfo> attrInfoList = new ArrayList<>();
+    try {
+      for (RDN rdn : name.getRDNs()) {
+        for (AttributeTypeAndValue atav : rdn.getTypesAndValues()) {
+          attrInfoList.add(new SubjectAttributeInfo(atav.getType(), getStringValue(atav.getValue())));
         }
       }
-
     }
     catch (Exception e) {
-      return "Name parsing Error";
+      return null;
     }
+    return attrInfoList;
+  }
 
-    if (html) {
-      TableElement dnTable = new TableElement();
-      dnTable.addAttribute("class", DEF_TABLE_CLASSES.getSubjectDNTableClasses());
-      for (SubjectAttributeInfo attrInfo : attrInfoList) {
-        dnTable.addRow(new String[] { attrInfo.getDispName(), attrInfo.getValue() }, DEF_TABLE_CLASSES.getSubjectDNRowClasses());
-      }
-      return dnTable.toString();
+  private static class BatchRenderTask extends RecursiveAction {
+
+    private static final long serialVersionUID = -2317706734329137562L;
+    private static final int THRESHOLD = 4;
+
+    private final byte[][] certificates;
+    private final RenderResult[] results;
+    private final RenderOptions options;
+    private final int start;
+    private final int end;
+
+    BatchRenderTask(byte[][] certificates, RenderResult[] results, RenderOptions options, int start, int end) {
+      this.certificates = certificates;
+      this.results = results;
+      this.options = options;
+      this.start = start;
+      this.end = end;
     }
-    else {
-      StringBuilder b = new StringBuilder();
-      for (int i = 0; i<attrInfoList.size(); i++) {
-        SubjectAttributeInfo attrInfo = attrInfoList.get(i);
-        if (i == 0) {
-          b.append("\n");
+
+    @Override
+    protected void compute() {
+      if (end - start <= THRESHOLD) {
+        for (int i = start; i < end; i++) {
+          try {
+            results[i] = RenderResult.success(i, render(PrintCertificate.getLazyInstance(certificates[i]), options));
+          }
+          catch (Exception ex) {
+            results[i] = RenderResult.failure(i, ex);
+          }
         }
-        b.append("        ").append(attrInfo.getDispName()).append(": ").append(attrInfo.getValue()).append("\n");
+        return;
       }
-      return b.toString();
+      int middle = (start + end) >>> 1;
+      invokeAll(new BatchRenderTask(certificates, results, options, start, middle),
+        new BatchRenderTask(certificates, results, options, middle, end));
     }
   }
 
-  private static String getStringValue(ASN1Encodable rdnVal) {
+  static String getStringValue(ASN1Encodable rdnVal) {
     if (rdnVal instanceof DERUTF8String) {
       DERUTF8String utf8Str = (DERUTF8String) rdnVal;
       return utf8Str.getString();
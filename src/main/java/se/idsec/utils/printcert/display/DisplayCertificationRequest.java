@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.pkcs.Attribute;
+import org.bouncycastle.util.encoders.Hex;
+
+import se.idsec.utils.printcert.PrintCertificationRequest;
+import se.idsec.utils.printcert.display.html.TableElement;
+import se.idsec.utils.printcert.enums.OidName;
+
+/**
+ * Renders PKCS#10 certification requests as text, html or JSON.
+ *
+ * <p>
+ * Certification requests are rendered through the same pipeline as certificates: the request fields, each requested
+ * extension from the extension request attribute, rendered by the {@link ExtensionRenderers}, and the signature.
+ * </p>
+ */
+public final class DisplayCertificationRequest {
+
+  private static final Logger LOG = Logger.getLogger(DisplayCertificationRequest.class.getName());
+
+  private DisplayCertificationRequest() {
+  }
+
+  /**
+   * Renders a certification request according to the provided render options.
+   *
+   * @param request certification request to render
+   * @param options render options
+   * @return rendered certification request
+   */
+  public static String render(PrintCertificationRequest request, RenderOptions options) {
+    StringBuilder b = new StringBuilder();
+    try {
+      write(request, options, b);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return b.toString();
+  }
+
+  /**
+   * Writes a certification request to an {@link Appendable} according to the provided render options.
+   *
+   * @param request certification request to render
+   * @param options render options
+   * @param out the destination of the rendered certification request
+   * @throws IOException on errors writing to the destination
+   */
+  public static void write(PrintCertificationRequest request, RenderOptions options, Appendable out)
+    throws IOException {
+    boolean html = options.getFormat() == RenderFormat.html;
+    UnitDisplayData fieldData = getRequestFieldDispData(request, options.isVerbose(), options.isDecode(), html);
+    List<UnitDisplayData> extensionData = DisplayCert.getExtensionDispData(request.getExtensionInfoList());
+    UnitDisplayData signData = getSignData(request, options.isVerbose());
+    switch (options.getFormat()) {
+    case text:
+      out.append("PKCS#10 Certificate Request {\n");
+      DisplayCert.writeTextDisplay(fieldData, options.isMonospace(), out);
+      out.append("\n");
+      for (UnitDisplayData extensionPrintData : extensionData) {
+        DisplayCert.writeTextDisplay(extensionPrintData, options.isMonospace(), out);
+        out.append("\n");
+      }
+      DisplayCert.writeTextDisplay(signData, options.isMonospace(), out);
+      out.append("\n");
+      out.append("}");
+      break;
+    case html:
+      CertTableClasses tableClasses = options.getTableClasses();
+      DisplayCert.writeHtmlHeading(options.getHeading(), tableClasses, out);
+      TableElement reqTable = new TableElement();
+      reqTable.addAttribute("class", tableClasses.getTableClasses());
+      DisplayCert.addHtmlRows(fieldData, tableClasses, reqTable);
+      for (UnitDisplayData extensionPrintData : extensionData) {
+        DisplayCert.addHtmlRows(extensionPrintData, tableClasses, reqTable);
+      }
+      DisplayCert.addHtmlRows(signData, tableClasses, reqTable);
+      reqTable.writeTo(out, false);
+      break;
+    case json:
+      out.append("{\"fields\":");
+      JsonCertWriter.writeUnit(fieldData, out);
+      out.append(",\"extensions\":[");
+      for (int i = 0; i < extensionData.size(); i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+        JsonCertWriter.writeUnit(extensionData.get(i), out);
+      }
+      out.append("],\"signature\":");
+      JsonCertWriter.writeUnit(signData, out);
+      out.append('}');
+      break;
+    default:
+      throw new AssertionError(options.getFormat().name());
+    }
+  }
+
+  private static UnitDisplayData getRequestFieldDispData(PrintCertificationRequest request, boolean verbose,
+    boolean decode, boolean html) {
+    UnitDisplayData udd = new UnitDisplayData(UnitType.certFields);
+    udd.setStructured(true);
+    List<String[]> dataArray = new ArrayList<>();
+    dataArray.add(new String[] { "Version", String.valueOf(request.getVersionNumber()) });
+    DisplayCert.addCertNameField("Subject", request.getSubject(), decode, html, udd, dataArray);
+    DisplayCert.getPublicKeyDispData(request.getSubjectPublicKeyInfo(), verbose, dataArray);
+    for (Attribute attribute : request.getAttributes()) {
+      if (PKCSObjectIdentifiers.pkcs_9_at_extensionRequest.equals(attribute.getAttrType())) {
+        continue;
+      }
+      String attrName = OidName.getName(attribute.getAttrType());
+      for (ASN1Encodable attrValue : attribute.getAttributeValues()) {
+        dataArray.add(new String[] { attrName, DisplayCert.getStringValue(attrValue) });
+      }
+    }
+    udd.setDataArray(dataArray);
+    return udd;
+  }
+
+  private static UnitDisplayData getSignData(PrintCertificationRequest request, boolean verbose) {
+    UnitDisplayData dispData = new UnitDisplayData(UnitType.signature);
+    dispData.setName("Request Signature");
+    List<String[]> da = new ArrayList<>();
+    try {
+      String sigAlgo = DisplayCert.getSignatureAlgorithmName(request.getSignatureAlgorithm());
+      if (verbose) {
+        da.add(new String[] { "Signature Algorithm", sigAlgo });
+        da.add(new String[] { "Signature", Hex.toHexString(request.getSignature()) });
+      }
+      else {
+        da.add(new String[] { "Algorithm", sigAlgo });
+      }
+      dispData.setStructured(true);
+      dispData.setDataArray(da);
+    }
+    catch (Exception ex) {
+      LOG.fine("Failed to parse Algorithm data in certification request");
+      dispData.setStructured(false);
+      dispData.setFreeText("Unable to parse algorithm and signature data");
+    }
+    return dispData;
+  }
+}
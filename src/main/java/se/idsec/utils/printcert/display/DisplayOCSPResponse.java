@@ -0,0 +1,343 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ocsp.ResponderID;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.cert.ocsp.BasicOCSPResp;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.cert.ocsp.SingleResp;
+import org.bouncycastle.cert.ocsp.UnknownStatus;
+import org.bouncycastle.util.encoders.Hex;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.PrintOCSPResponse;
+import se.idsec.utils.printcert.display.html.TableElement;
+import se.idsec.utils.printcert.enums.FingerprintType;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+import se.idsec.utils.printcert.utils.CertUtils;
+
+/**
+ * Renders OCSP responses as text, html or JSON.
+ *
+ * <p>
+ * The response status, responder ID, production time, each single response, the response extensions and the signature
+ * are rendered through the same pipeline as certificates. Certificates embedded in the response are rendered after the
+ * response through a {@link RenderCache}, keyed by their SHA-256 fingerprint. A responder certificate included in many
+ * responses is therefore decoded and rendered once for as long as its render result stays in the cache, and a
+ * certificate included more than once in the same response is rendered once.
+ * </p>
+ */
+public final class DisplayOCSPResponse {
+
+  private static final Logger LOG = Logger.getLogger(DisplayOCSPResponse.class.getName());
+  private static final String[] RESPONSE_STATUS_NAMES = new String[] {
+    "successful",
+    "malformedRequest",
+    "internalError",
+    "tryLater",
+    null,
+    "sigRequired",
+    "unauthorized" };
+
+  private DisplayOCSPResponse() {
+  }
+
+  /**
+   * Renders an OCSP response according to the provided render options, rendering embedded certificates through the
+   * shared render cache.
+   *
+   * @param response OCSP response to render
+   * @param options render options
+   * @return rendered OCSP response
+   */
+  public static String render(PrintOCSPResponse response, RenderOptions options) {
+    StringBuilder b = new StringBuilder();
+    try {
+      write(response, options, RenderCache.getSharedInstance(), b);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return b.toString();
+  }
+
+  /**
+   * Writes an OCSP response to an {@link Appendable} according to the provided render options.
+   *
+   * @param response OCSP response to render
+   * @param options render options
+   * @param renderCache the cache used to render embedded certificates
+   * @param out the destination of the rendered OCSP response
+   * @throws IOException on errors writing to the destination
+   */
+  public static void write(PrintOCSPResponse response, RenderOptions options, RenderCache renderCache, Appendable out)
+    throws IOException {
+    boolean html = options.getFormat() == RenderFormat.html;
+    BasicOCSPResp basicResponse = response.getBasicResponse();
+    List<UnitDisplayData> dispList = new ArrayList<>();
+    dispList.add(getResponseFieldDispData(response, options.isDecode(), html));
+    List<UnitDisplayData> singleList = new ArrayList<>();
+    List<UnitDisplayData> extensionList = new ArrayList<>();
+    UnitDisplayData signData = null;
+    if (basicResponse != null) {
+      for (SingleResp singleResp : basicResponse.getResponses()) {
+        singleList.add(getSingleRespDispData(singleResp));
+      }
+      extensionList = DisplayCert.getExtensionDispData(
+        getExtensionInfoList(basicResponse.getExtensionOIDs(), basicResponse::getExtension));
+      signData = getSignData(basicResponse, options.isVerbose());
+    }
+    List<String> certificates = renderCertificates(response.getCertificates(), options, renderCache);
+
+    switch (options.getFormat()) {
+    case text:
+      out.append("OCSP Response {\n");
+      DisplayCert.writeTextDisplay(dispList.get(0), options.isMonospace(), out);
+      out.append("\n");
+      for (int i = 0; i < singleList.size(); i++) {
+        out.append("Single response ").append(String.valueOf(i + 1)).append(":\n");
+        DisplayCert.writeTextRows(singleList.get(i).getDataArray(), options.isMonospace(), out);
+        out.append("\n");
+      }
+      for (UnitDisplayData extensionPrintData : extensionList) {
+        DisplayCert.writeTextDisplay(extensionPrintData, options.isMonospace(), out);
+        out.append("\n");
+      }
+      if (signData != null) {
+        DisplayCert.writeTextDisplay(signData, options.isMonospace(), out);
+        out.append("\n");
+      }
+      for (int i = 0; i < certificates.size(); i++) {
+        out.append("Certificate ").append(String.valueOf(i + 1)).append(" of ")
+          .append(String.valueOf(certificates.size())).append(":\n");
+        out.append(certificates.get(i)).append("\n\n");
+      }
+      out.append("}");
+      break;
+    case html:
+      CertTableClasses tableClasses = options.getTableClasses();
+      DisplayCert.writeHtmlHeading(options.getHeading(), tableClasses, out);
+      TableElement respTable = new TableElement();
+      respTable.addAttribute("class", tableClasses.getTableClasses());
+      DisplayCert.addHtmlRows(dispList.get(0), tableClasses, respTable);
+      for (int i = 0; i < singleList.size(); i++) {
+        respTable.addRow("Single response " + (i + 1), tableClasses.getExtensionHeadClasses(), 2, true);
+        for (String[] strArray : singleList.get(i).getDataArray()) {
+          respTable.addRow(strArray, tableClasses.getCertExtensionDataClasses());
+        }
+      }
+      for (UnitDisplayData extensionPrintData : extensionList) {
+        DisplayCert.addHtmlRows(extensionPrintData, tableClasses, respTable);
+      }
+      if (signData != null) {
+        DisplayCert.addHtmlRows(signData, tableClasses, respTable);
+      }
+      respTable.writeTo(out, false);
+      for (String certificate : certificates) {
+        out.append(certificate);
+      }
+      break;
+    case json:
+      out.append("{\"fields\":");
+      JsonCertWriter.writeUnit(dispList.get(0), out);
+      out.append(",\"responses\":[");
+      for (int i = 0; i < singleList.size(); i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+        JsonCertWriter.writeUnit(singleList.get(i), out);
+      }
+      out.append("],\"extensions\":[");
+      for (int i = 0; i < extensionList.size(); i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+        JsonCertWriter.writeUnit(extensionList.get(i), out);
+      }
+      out.append("],\"signature\":");
+      if (signData == null) {
+        out.append("null");
+      }
+      else {
+        JsonCertWriter.writeUnit(signData, out);
+      }
+      out.append(",\"certificates\":[");
+      for (int i = 0; i < certificates.size(); i++) {
+        if (i > 0) {
+          out.append(',');
+        }
+        out.append(certificates.get(i));
+      }
+      out.append("]}");
+      break;
+    default:
+      throw new AssertionError(options.getFormat().name());
+    }
+  }
+
+  /**
+   * Get the display name of an OCSP response status.
+   *
+   * @param status OCSP response status
+   * @return status name
+   */
+  public static String getResponseStatusName(int status) {
+    String name = status >= 0 && status < RESPONSE_STATUS_NAMES.length ? RESPONSE_STATUS_NAMES[status] : null;
+    return name == null ? "unknown status " + status : name;
+  }
+
+  private static List<String> renderCertificates(List<PrintCertificate> certificates, RenderOptions options,
+    RenderCache renderCache) {
+    RenderOptions certOptions = getCertificateOptions(options);
+    List<String> results = new ArrayList<>(certificates.size());
+    Set<ByteBuffer> rendered = new HashSet<>();
+    for (PrintCertificate certificate : certificates) {
+      if (rendered.add(ByteBuffer.wrap(certificate.getFingerprint(FingerprintType.sha256)))) {
+        results.add(renderCache.render(certificate, certOptions));
+      }
+    }
+    return results;
+  }
+
+  private static RenderOptions getCertificateOptions(RenderOptions options) {
+    RenderOptions certOptions;
+    switch (options.getFormat()) {
+    case text:
+      certOptions = RenderOptions.text(options.isMonospace(), options.isVerbose(), options.isDecode());
+      break;
+    case html:
+      certOptions = RenderOptions.html(null, options.getTableClasses(), options.isVerbose(), options.isDecode());
+      break;
+    case json:
+      certOptions = RenderOptions.json(options.isVerbose(), options.isDecode());
+      break;
+    default:
+      throw new AssertionError(options.getFormat().name());
+    }
+    return certOptions.withFingerprints(options.getFingerprints());
+  }
+
+  private static UnitDisplayData getResponseFieldDispData(PrintOCSPResponse response, boolean decode, boolean html) {
+    UnitDisplayData udd = new UnitDisplayData(UnitType.certFields);
+    udd.setStructured(true);
+    List<String[]> dataArray = new ArrayList<>();
+    int status = response.getStatus();
+    dataArray.add(new String[] { "Response status", getResponseStatusName(status) + " (" + status + ")" });
+    BasicOCSPResp basicResponse = response.getBasicResponse();
+    if (basicResponse != null) {
+      dataArray.add(new String[] { "Version", String.valueOf(basicResponse.getVersion()) });
+      ResponderID responderID = basicResponse.getResponderId().toASN1Primitive();
+      if (responderID.getName() != null) {
+        DisplayCert.addCertNameField("Responder ID", responderID.getName(), decode, html, udd, dataArray);
+      }
+      else {
+        dataArray.add(new String[] { "Responder key hash", Hex.toHexString(responderID.getKeyHash()) });
+      }
+      dataArray.add(new String[] { "Produced at", basicResponse.getProducedAt().toString() });
+    }
+    udd.setDataArray(dataArray);
+    return udd;
+  }
+
+  private static UnitDisplayData getSingleRespDispData(SingleResp singleResp) {
+    UnitDisplayData udd = new UnitDisplayData(UnitType.certFields);
+    udd.setStructured(true);
+    List<String[]> dataArray = new ArrayList<>();
+    CertificateID certID = singleResp.getCertID();
+    dataArray.add(new String[] { "Serial number", certID.getSerialNumber().toString(16) });
+    dataArray.add(new String[] { "Hash algorithm",
+      DisplayCert.ALGORITHM_NAME_FINDER.getAlgorithmName(certID.getHashAlgOID()) });
+    dataArray.add(new String[] { "Issuer name hash", Hex.toHexString(certID.getIssuerNameHash()) });
+    dataArray.add(new String[] { "Issuer key hash", Hex.toHexString(certID.getIssuerKeyHash()) });
+    CertificateStatus certStatus = singleResp.getCertStatus();
+    if (certStatus == CertificateStatus.GOOD) {
+      dataArray.add(new String[] { "Certificate status", "good" });
+    }
+    else if (certStatus instanceof RevokedStatus) {
+      RevokedStatus revokedStatus = (RevokedStatus) certStatus;
+      dataArray.add(new String[] { "Certificate status", "revoked" });
+      dataArray.add(new String[] { "Revocation time", revokedStatus.getRevocationTime().toString() });
+      if (revokedStatus.hasRevocationReason()) {
+        dataArray.add(new String[] { "Reason", BuiltInExtensionRenderers.getReasonText(
+          CRLReason.lookup(revokedStatus.getRevocationReason())) });
+      }
+    }
+    else if (certStatus instanceof UnknownStatus) {
+      dataArray.add(new String[] { "Certificate status", "unknown" });
+    }
+    dataArray.add(new String[] { "This update", singleResp.getThisUpdate().toString() });
+    if (singleResp.getNextUpdate() != null) {
+      dataArray.add(new String[] { "Next update", singleResp.getNextUpdate().toString() });
+    }
+    DisplayCert.addExtensionRows(getExtensionInfoList(singleResp.getExtensionOIDs(), singleResp::getExtension),
+      dataArray);
+    udd.setDataArray(dataArray);
+    return udd;
+  }
+
+  private static List<ExtensionInfo> getExtensionInfoList(List<?> extensionOIDs,
+    Function<ASN1ObjectIdentifier, Extension> extensionLookup) {
+    if (extensionOIDs.isEmpty()) {
+      return CertUtils.getExtensions((Extensions) null);
+    }
+    Extension[] extensions = new Extension[extensionOIDs.size()];
+    for (int i = 0; i < extensions.length; i++) {
+      extensions[i] = extensionLookup.apply((ASN1ObjectIdentifier) extensionOIDs.get(i));
+    }
+    return CertUtils.getExtensions(new Extensions(extensions));
+  }
+
+  private static UnitDisplayData getSignData(BasicOCSPResp basicResponse, boolean verbose) {
+    UnitDisplayData dispData = new UnitDisplayData(UnitType.signature);
+    dispData.setName("Response Signature");
+    List<String[]> da = new ArrayList<>();
+    try {
+      String sigAlgo = DisplayCert.getSignatureAlgorithmName(basicResponse.getSignatureAlgorithmID());
+      if (verbose) {
+        da.add(new String[] { "Signature Algorithm", sigAlgo });
+        da.add(new String[] { "Signature", Hex.toHexString(basicResponse.getSignature()) });
+      }
+      else {
+        da.add(new String[] { "Algorithm", sigAlgo });
+      }
+      dispData.setStructured(true);
+      dispData.setDataArray(da);
+    }
+    catch (Exception ex) {
+      LOG.fine("Failed to parse Algorithm data in OCSP response");
+      dispData.setStructured(false);
+      dispData.setFreeText("Unable to parse algorithm and signature data");
+    }
+    return dispData;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+
+/**
+ * Renders the content of certificate extensions into display data.
+ *
+ * <p>
+ * Renderers are looked up by extension OID through {@link ExtensionRenderers}. Additional renderers are discovered
+ * with {@link java.util.ServiceLoader} from {@code META-INF/services/se.idsec.utils.printcert.display.ExtensionRenderer}
+ * and replace any built-in renderer for the same OID.
+ * </p>
+ */
+public interface ExtensionRenderer {
+
+  /**
+   * Get the OIDs of the extensions rendered by this renderer.
+   *
+   * @return extension OIDs
+   */
+  Collection<ASN1ObjectIdentifier> getOids();
+
+  /**
+   * Renders an extension.
+   *
+   * @param extension the extension to render
+   * @param index the sequence number of the extension in the certificate
+   * @return display data of the extension
+   * @throws IOException error decoding the extension
+   */
+  UnitDisplayData render(ExtensionInfo extension, int index) throws IOException;
+
+  /**
+   * Tells whether the output of this renderer depends only on the OID, criticality and value of the extension. Output
+   * of cacheable renderers is reused for identical extensions in other certificates. The display data returned by a
+   * cacheable renderer must not be modified after it has been returned.
+   *
+   * @return true if the rendered output may be cached
+   */
+  default boolean isCacheable() {
+    return false;
+  }
+}
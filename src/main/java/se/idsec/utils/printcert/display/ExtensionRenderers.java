@@ -0,0 +1,231 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+import se.idsec.utils.printcert.utils.OidRegistry;
+
+/**
+ * Registry of {@link ExtensionRenderer} instances indexed by extension OID.
+ *
+ * <p>
+ * The registry holds the built-in renderers of this library together with the renderers found by
+ * {@link ServiceLoader} when the class is initialized. Extensions without a registered renderer are rendered as
+ * unknown extensions.
+ * </p>
+ *
+ * <p>
+ * Output of cacheable renderers is kept in a cache keyed by the OID, criticality and value of the extension, and a
+ * copy with the sequence number of the requested extension is returned on a cache hit. The data rows of cached output
+ * are unmodifiable. The cache is divided into independently locked stripes, each evicting its least recently used
+ * entries when the cache holds more than {@link #MAX_CACHED_EXTENSIONS} entries. The cache is cleared when OID display
+ * names are registered in {@link OidRegistry}.
+ * </p>
+ */
+public final class ExtensionRenderers {
+
+  /** The maximum number of rendered extensions held in the cache */
+  public static final int MAX_CACHED_EXTENSIONS = 4096;
+
+  private static final Logger LOG = Logger.getLogger(ExtensionRenderers.class.getName());
+  private static final Map<ASN1ObjectIdentifier, ExtensionRenderer> RENDERERS = loadRenderers();
+  private static final int CACHE_STRIPES = 16;
+  private static final Stripe[] CACHE = createCache();
+  private static volatile long cacheRegistryVersion = OidRegistry.getVersion();
+
+  private ExtensionRenderers() {
+  }
+
+  /**
+   * Get the renderer of an extension.
+   *
+   * @param oid extension OID
+   * @return the renderer registered for the OID, or the renderer of unknown extensions
+   */
+  public static ExtensionRenderer getRenderer(ASN1ObjectIdentifier oid) {
+    ExtensionRenderer renderer = RENDERERS.get(oid);
+    return renderer == null ? BuiltInExtensionRenderers.UNKNOWN : renderer;
+  }
+
+  /**
+   * Get all registered renderers.
+   *
+   * @return unmodifiable map of renderers by extension OID
+   */
+  public static Map<ASN1ObjectIdentifier, ExtensionRenderer> getRenderers() {
+    return RENDERERS;
+  }
+
+  /**
+   * Renders an extension with its registered renderer.
+   *
+   * @param extension the extension to render
+   * @param index the sequence number of the extension in the certificate
+   * @return display data of the extension
+   * @throws IOException error decoding the extension
+   */
+  public static UnitDisplayData render(ExtensionInfo extension, int index) throws IOException {
+    ExtensionRenderer renderer = getRenderer(extension.getOid());
+    ByteBuffer extData = renderer.isCacheable() ? extension.getExtDataBuffer() : null;
+    if (extData == null) {
+      return renderer.render(extension, index);
+    }
+    long registryVersion = OidRegistry.getVersion();
+    if (registryVersion != cacheRegistryVersion) {
+      clearCache();
+      cacheRegistryVersion = registryVersion;
+    }
+    CacheKey key = new CacheKey(extension.getOid(), extension.isCritical(), extData);
+    Stripe stripe = getStripe(key);
+    UnitDisplayData cached = stripe.get(key);
+    if (cached != null) {
+      return cached.withSequence(index);
+    }
+    UnitDisplayData result = renderer.render(extension, index);
+    stripe.put(key.copy(), result.unmodifiableCopy());
+    return result;
+  }
+
+  /**
+   * Removes all cached extension display data.
+   */
+  public static void clearCache() {
+    for (Stripe stripe : CACHE) {
+      stripe.clear();
+    }
+  }
+
+  private static Stripe getStripe(CacheKey key) {
+    int h = key.hashCode();
+    h ^= (h >>> 16);
+    return CACHE[h & (CACHE_STRIPES - 1)];
+  }
+
+  private static Stripe[] createCache() {
+    Stripe[] stripes = new Stripe[CACHE_STRIPES];
+    for (int i = 0; i < CACHE_STRIPES; i++) {
+      stripes[i] = new Stripe(MAX_CACHED_EXTENSIONS / CACHE_STRIPES);
+    }
+    return stripes;
+  }
+
+  private static Map<ASN1ObjectIdentifier, ExtensionRenderer> loadRenderers() {
+    Map<ASN1ObjectIdentifier, ExtensionRenderer> renderers = new HashMap<>();
+    for (ExtensionRenderer renderer : BuiltInExtensionRenderers.getRenderers()) {
+      for (ASN1ObjectIdentifier oid : renderer.getOids()) {
+        renderers.put(oid, renderer);
+      }
+    }
+    try {
+      for (ExtensionRenderer renderer : ServiceLoader.load(ExtensionRenderer.class)) {
+        for (ASN1ObjectIdentifier oid : renderer.getOids()) {
+          LOG.fine("Registering extension renderer " + renderer.getClass().getName() + " for " + oid.getId());
+          renderers.put(oid, renderer);
+        }
+      }
+    }
+    catch (ServiceConfigurationError ex) {
+      LOG.log(Level.WARNING, "Failed to load extension renderers", ex);
+    }
+    return Collections.unmodifiableMap(renderers);
+  }
+
+  private static final class Stripe {
+
+    private final LinkedHashMap<CacheKey, UnitDisplayData> map;
+
+    private Stripe(int maxEntries) {
+      this.map = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, UnitDisplayData> eldest) {
+          return size() > maxEntries;
+        }
+      };
+    }
+
+    private synchronized UnitDisplayData get(CacheKey key) {
+      return map.get(key);
+    }
+
+    private synchronized void put(CacheKey key, UnitDisplayData value) {
+      map.put(key, value);
+    }
+
+    private synchronized void clear() {
+      map.clear();
+    }
+  }
+
+  /**
+   * Cache key holding the extension value as a buffer. Keys used for lookup refer to the buffer of the extension, while
+   * keys stored in the cache hold a copy of the value, so that the cache does not retain certificate encodings.
+   */
+  private static final class CacheKey {
+
+    private final ASN1ObjectIdentifier oid;
+    private final boolean critical;
+    private final ByteBuffer value;
+    private final int hashCode;
+
+    CacheKey(ASN1ObjectIdentifier oid, boolean critical, ByteBuffer value) {
+      this(oid, critical, value, 31 * (31 * oid.hashCode() + Boolean.hashCode(critical)) + value.hashCode());
+    }
+
+    private CacheKey(ASN1ObjectIdentifier oid, boolean critical, ByteBuffer value, int hashCode) {
+      this.oid = oid;
+      this.critical = critical;
+      this.value = value;
+      this.hashCode = hashCode;
+    }
+
+    CacheKey copy() {
+      byte[] data = new byte[value.remaining()];
+      value.duplicate().get(data);
+      return new CacheKey(oid, critical, ByteBuffer.wrap(data), hashCode);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) o;
+      return hashCode == other.hashCode && critical == other.critical && oid.equals(other.oid)
+        && value.equals(other.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
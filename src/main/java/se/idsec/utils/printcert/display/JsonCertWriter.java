@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes certificate display data as JSON directly to an {@link Appendable}.
+ *
+ * <p>
+ * Each display unit is written as an object holding either a {@code rows} array of name and value objects, for
+ * structured data, or a {@code text} value. Extension units also hold the extension index, OID, name and criticality.
+ * Empty rows, used as separators in text and html output, are omitted.
+ * </p>
+ */
+public final class JsonCertWriter {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private JsonCertWriter() {
+  }
+
+  /**
+   * Writes a display unit as a JSON object.
+   *
+   * @param dispData display data
+   * @param out the destination of the JSON object
+   * @throws IOException on errors writing to the destination
+   */
+  static void writeUnit(UnitDisplayData dispData, Appendable out) throws IOException {
+    out.append('{');
+    if (dispData.getType() == UnitType.extension) {
+      out.append("\"index\":").append(String.valueOf(dispData.getSequence()));
+      out.append(",\"oid\":");
+      writeString(dispData.getId(), out);
+      out.append(",\"name\":");
+      writeString(dispData.getName(), out);
+      out.append(",\"critical\":").append(String.valueOf(dispData.isCriticality())).append(',');
+    }
+    if (dispData.isStructured()) {
+      out.append("\"rows\":[");
+      writeRows(dispData.getDataArray(), out);
+      out.append(']');
+    }
+    else {
+      out.append("\"text\":");
+      String freeText = dispData.getFreeText();
+      writeString(freeText == null ? null : freeText.trim(), out);
+    }
+    out.append('}');
+  }
+
+  private static void writeRows(List<String[]> dataArray, Appendable out) throws IOException {
+    if (dataArray == null) {
+      return;
+    }
+    boolean first = true;
+    for (String[] row : dataArray) {
+      String name = row.length > 0 && row[0] != null ? row[0] : "";
+      String value = row.length > 1 && row[1] != null ? row[1] : "";
+      if (name.isEmpty() && value.isEmpty()) {
+        continue;
+      }
+      if (!first) {
+        out.append(',');
+      }
+      first = false;
+      out.append("{\"name\":");
+      writeString(name, out);
+      out.append(",\"value\":");
+      writeString(value, out);
+      out.append('}');
+    }
+  }
+
+  /**
+   * Get a JSON object holding an error message, used in place of a JSON print that could not be rendered.
+   *
+   * @param error error message
+   * @return JSON object with an {@code error} value
+   */
+  public static String getErrorObject(String error) {
+    StringBuilder b = new StringBuilder("{\"error\":");
+    try {
+      writeString(error, b);
+    }
+    catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+    return b.append('}').toString();
+  }
+
+  /**
+   * Writes a JSON string value, escaping characters as required by RFC 8259. Line and paragraph separators are escaped
+   * as well so that the output may be embedded in JavaScript.
+   *
+   * @param value string value or null
+   * @param out the destination of the JSON value
+   * @throws IOException on errors writing to the destination
+   */
+  public static void writeString(String value, Appendable out) throws IOException {
+    if (value == null) {
+      out.append("null");
+      return;
+    }
+    out.append('"');
+    int start = 0;
+    int len = value.length();
+    for (int i = 0; i < len; i++) {
+      char c = value.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+        continue;
+      }
+      out.append(value, start, i);
+      start = i + 1;
+      switch (c) {
+      case '"':
+        out.append("\\\"");
+        break;
+      case '\\':
+        out.append("\\\\");
+        break;
+      case '\n':
+        out.append("\\n");
+        break;
+      case '\r':
+        out.append("\\r");
+        break;
+      case '\t':
+        out.append("\\t");
+        break;
+      case '\b':
+        out.append("\\b");
+        break;
+      case '\f':
+        out.append("\\f");
+        break;
+      default:
+        out.append("\\u").append(HEX[(c >> 12) & 0xf]).append(HEX[(c >> 8) & 0xf])
+          .append(HEX[(c >> 4) & 0xf]).append(HEX[c & 0xf]);
+      }
+    }
+    out.append(value, start, len).append('"');
+  }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.enums.FingerprintType;
+import se.idsec.utils.printcert.utils.OidRegistry;
+
+/**
+ * Bounded cache of certificate render results shared between {@link PrintCertificate} instances.
+ *
+ * <p>
+ * Results are keyed by the SHA-256 fingerprint of the certificate, as cached by {@link PrintCertificate}, together
+ * with the {@link RenderOptions} and the {@link OidRegistry#getVersion() OID registry version}, so separate instances
+ * created from identical certificate bytes share their render results, while results rendered before a display name was
+ * registered are no longer used. The cache is divided into independently locked stripes, each evicting its least recently used entries when
+ * the approximate retained size of the stripe exceeds its share of the configured byte budget.
+ * </p>
+ *
+ * <p>
+ * Rendering on a cache miss takes place outside of any lock. Concurrent misses for the same key may therefore render
+ * the same certificate more than once, where the last result is retained.
+ * </p>
+ */
+public class RenderCache {
+
+  /** Default maximum retained size of the shared cache */
+  public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+  /** Default number of stripes */
+  public static final int DEFAULT_STRIPES = 16;
+
+  /** Estimated per entry overhead in bytes for key, digest, map entry and string headers */
+  private static final int ENTRY_OVERHEAD = 160;
+
+  private final Stripe[] stripes;
+  private final long maxBytes;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * Constructor with the default number of stripes.
+   *
+   * @param maxBytes the maximum approximate retained size of all cached results
+   */
+  public RenderCache(long maxBytes) {
+    this(maxBytes, DEFAULT_STRIPES);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxBytes the maximum approximate retained size of all cached results
+   * @param stripeCount the number of independently locked stripes. Rounded up to a power of 2.
+   */
+  public RenderCache(long maxBytes, int stripeCount) {
+    if (maxBytes <= 0 || stripeCount <= 0) {
+      throw new IllegalArgumentException("Cache size and stripe count must be positive");
+    }
+    int size = Integer.highestOneBit(stripeCount);
+    if (size < stripeCount) {
+      size <<= 1;
+    }
+    this.maxBytes = maxBytes;
+    this.stripes = new Stripe[size];
+    for (int i = 0; i < size; i++) {
+      stripes[i] = new Stripe(Math.max(1, maxBytes / size));
+    }
+  }
+
+  /**
+   * Get the process wide render cache with a size limit of {@link #DEFAULT_MAX_BYTES}.
+   *
+   * @return shared render cache
+   */
+  public static RenderCache getSharedInstance() {
+    return SharedInstanceHolder.INSTANCE;
+  }
+
+  /**
+   * Get the rendered certificate from the cache, rendering and caching it on a cache miss.
+   *
+   * @param cert certificate to render
+   * @param options render options
+   * @return rendered certificate
+   */
+  public String render(PrintCertificate cert, RenderOptions options) {
+    CacheKey key = new CacheKey(getDigest(cert), options, OidRegistry.getVersion());
+    Stripe stripe = getStripe(key);
+    String result = stripe.get(key);
+    if (result != null) {
+      hitCount.increment();
+      return result;
+    }
+    missCount.increment();
+    result = cert.render(options);
+    stripe.put(key, result);
+    return result;
+  }
+
+  /**
+   * Get a cached render result without rendering on a cache miss.
+   *
+   * @param cert certificate
+   * @param options render options
+   * @return the cached render result or null if not present
+   */
+  public String getIfPresent(PrintCertificate cert, RenderOptions options) {
+    CacheKey key = new CacheKey(getDigest(cert), options, OidRegistry.getVersion());
+    String result = getStripe(key).get(key);
+    if (result != null) {
+      hitCount.increment();
+    }
+    else {
+      missCount.increment();
+    }
+    return result;
+  }
+
+  /**
+   * Removes all cached results. Counters are not reset.
+   */
+  public void clear() {
+    for (Stripe stripe : stripes) {
+      stripe.clear();
+    }
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  public long getMaxBytes() {
+    return maxBytes;
+  }
+
+  /**
+   * @return the approximate retained size in bytes of all cached results
+   */
+  public long getRetainedBytes() {
+    long size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.getRetainedBytes();
+    }
+    return size;
+  }
+
+  /**
+   * @return the number of cached results
+   */
+  public int size() {
+    int size = 0;
+    for (Stripe stripe : stripes) {
+      size += stripe.size();
+    }
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "RenderCache{entries=" + size() + ", retainedBytes=" + getRetainedBytes() + ", maxBytes=" + maxBytes
+      + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+  }
+
+  private Stripe getStripe(CacheKey key) {
+    int h = key.hashCode();
+    h ^= (h >>> 16);
+    return stripes[h & (stripes.length - 1)];
+  }
+
+  private static byte[] getDigest(PrintCertificate cert) {
+    return cert.getFingerprint(FingerprintType.sha256);
+  }
+
+  private static long estimateSize(String value) {
+    return ENTRY_OVERHEAD + 2L * value.length();
+  }
+
+  private static final class SharedInstanceHolder {
+    private static final RenderCache INSTANCE = new RenderCache(DEFAULT_MAX_BYTES);
+  }
+
+  private final class Stripe {
+
+    private final long maxStripeBytes;
+    private final LinkedHashMap<CacheKey, String> map = new LinkedHashMap<>(16, 0.75f, true);
+    private long retainedBytes;
+
+    private Stripe(long maxStripeBytes) {
+      this.maxStripeBytes = maxStripeBytes;
+    }
+
+    private synchronized String get(CacheKey key) {
+      return map.get(key);
+    }
+
+    private synchronized void put(CacheKey key, String value) {
+      long size = estimateSize(value);
+      if (size > maxStripeBytes) {
+        return;
+      }
+      String previous = map.put(key, value);
+      if (previous != null) {
+        retainedBytes -= estimateSize(previous);
+      }
+      retainedBytes += size;
+      Iterator<Map.Entry<CacheKey, String>> iterator = map.entrySet().iterator();
+      while (retainedBytes > maxStripeBytes && iterator.hasNext()) {
+        Map.Entry<CacheKey, String> eldest = iterator.next();
+        iterator.remove();
+        retainedBytes -= estimateSize(eldest.getValue());
+        evictionCount.increment();
+      }
+    }
+
+    private synchronized void clear() {
+      map.clear();
+      retainedBytes = 0;
+    }
+
+    private synchronized long getRetainedBytes() {
+      return retainedBytes;
+    }
+
+    private synchronized int size() {
+      return map.size();
+    }
+  }
+
+  private static final class CacheKey {
+
+    private final byte[] digest;
+    private final RenderOptions options;
+    private final long registryVersion;
+    private final int hash;
+
+    private CacheKey(byte[] digest, RenderOptions options, long registryVersion) {
+      this.digest = digest;
+      this.options = Objects.requireNonNull(options, "Render options must not be null");
+      this.registryVersion = registryVersion;
+      this.hash = 31 * (31 * Arrays.hashCode(digest) + options.hashCode()) + Long.hashCode(registryVersion);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return hash == that.hash && registryVersion == that.registryVersion && Arrays.equals(digest, that.digest)
+        && options.equals(that.options);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
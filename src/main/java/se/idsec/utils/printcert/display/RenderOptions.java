@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import se.idsec.utils.printcert.enums.FingerprintType;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable set of options controlling how a certificate is rendered. Instances are used as keys when caching render
+ * results. Table classes are compared by identity as {@link CertTableClasses} is mutable.
+ */
+public final class RenderOptions {
+
+  /** Fingerprints displayed unless other fingerprints are selected */
+  public static final Set<FingerprintType> DEFAULT_FINGERPRINTS = Collections.unmodifiableSet(
+    EnumSet.of(FingerprintType.sha1));
+
+  /** Options used by {@code PrintCertificate.toString()} */
+  public static final RenderOptions DEFAULT_TEXT = text(true, false, false);
+
+  private final RenderFormat format;
+  private final boolean monospace;
+  private final boolean verbose;
+  private final boolean decode;
+  private final String heading;
+  private final CertTableClasses tableClasses;
+  private final Set<FingerprintType> fingerprints;
+
+  private RenderOptions(RenderFormat format, boolean monospace, boolean verbose, boolean decode, String heading,
+    CertTableClasses tableClasses, Set<FingerprintType> fingerprints) {
+    this.format = Objects.requireNonNull(format, "Format must not be null");
+    this.monospace = monospace;
+    this.verbose = verbose;
+    this.decode = decode;
+    this.heading = heading;
+    this.tableClasses = tableClasses;
+    this.fingerprints = fingerprints;
+  }
+
+  /**
+   * Options for text output.
+   *
+   * @param monospace indicates that the print is done using monospace characters
+   * @param verbose set to true to print out explicit key parameter and signature values
+   * @param decode set to true to decode name parameters
+   * @return render options
+   */
+  public static RenderOptions text(boolean monospace, boolean verbose, boolean decode) {
+    return new RenderOptions(RenderFormat.text, monospace, verbose, decode, null, null, DEFAULT_FINGERPRINTS);
+  }
+
+  /**
+   * Options for html output.
+   *
+   * @param heading A heading to add to the print. Null if none.
+   * @param tableClasses The html classes to be added to print table elements. Null for default classes.
+   * @param verbose Set to true to display explicit values of key parameters and signature value
+   * @param decode set to true to decode subject and issuer attributes
+   * @return render options
+   */
+  public static RenderOptions html(String heading, CertTableClasses tableClasses, boolean verbose, boolean decode) {
+    return new RenderOptions(RenderFormat.html, false, verbose, decode, heading,
+      tableClasses == null ? DisplayCert.DEF_TABLE_CLASSES : tableClasses, DEFAULT_FINGERPRINTS);
+  }
+
+  /**
+   * Options for JSON output.
+   *
+   * @param verbose set to true to include explicit key parameter and signature values
+   * @param decode set to true to decode subject and issuer attributes
+   * @return render options
+   */
+  public static RenderOptions json(boolean verbose, boolean decode) {
+    return new RenderOptions(RenderFormat.json, false, verbose, decode, null, null, DEFAULT_FINGERPRINTS);
+  }
+
+  /**
+   * Get a copy of these options displaying a different set of fingerprints.
+   *
+   * @param fingerprints fingerprints to display, in fingerprint type order
+   * @return render options
+   */
+  public RenderOptions withFingerprints(FingerprintType... fingerprints) {
+    return withFingerprints(Arrays.asList(fingerprints));
+  }
+
+  /**
+   * Get a copy of these options displaying a different set of fingerprints.
+   *
+   * @param fingerprints fingerprints to display, in fingerprint type order
+   * @return render options
+   */
+  public RenderOptions withFingerprints(Collection<FingerprintType> fingerprints) {
+    EnumSet<FingerprintType> fingerprintSet = EnumSet.noneOf(FingerprintType.class);
+    fingerprintSet.addAll(fingerprints);
+    return new RenderOptions(format, monospace, verbose, decode, heading, tableClasses,
+      Collections.unmodifiableSet(fingerprintSet));
+  }
+
+  public RenderFormat getFormat() {
+    return format;
+  }
+
+  public boolean isMonospace() {
+    return monospace;
+  }
+
+  public boolean isVerbose() {
+    return verbose;
+  }
+
+  public boolean isDecode() {
+    return decode;
+  }
+
+  public String getHeading() {
+    return heading;
+  }
+
+  public CertTableClasses getTableClasses() {
+    return tableClasses;
+  }
+
+  public Set<FingerprintType> getFingerprints() {
+    return fingerprints;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof RenderOptions)) {
+      return false;
+    }
+    RenderOptions that = (RenderOptions) o;
+    return format == that.format
+      && monospace == that.monospace
+      && verbose == that.verbose
+      && decode == that.decode
+      && Objects.equals(heading, that.heading)
+      && tableClasses == that.tableClasses
+      && fingerprints.equals(that.fingerprints);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(format, monospace, verbose, decode, heading, System.identityHashCode(tableClasses),
+      fingerprints);
+  }
+
+  @Override
+  public String toString() {
+    return "RenderOptions{format=" + format + ", monospace=" + monospace + ", verbose=" + verbose + ", decode=" + decode
+      + ", heading=" + heading + ", fingerprints=" + fingerprints + "}";
+  }
+}
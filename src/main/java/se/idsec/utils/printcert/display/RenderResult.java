@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+/**
+ * The result of rendering one certificate as part of a batch. Holds either the rendered output or the exception that
+ * prevented the certificate from being parsed or rendered.
+ */
+public class RenderResult {
+
+  private final int index;
+  private final String output;
+  private final Exception exception;
+
+  private RenderResult(int index, String output, Exception exception) {
+    this.index = index;
+    this.output = output;
+    this.exception = exception;
+  }
+
+  /**
+   * Creates a successful result.
+   *
+   * @param index the position of the certificate in the batch input
+   * @param output the rendered certificate
+   * @return render result
+   */
+  public static RenderResult success(int index, String output) {
+    return new RenderResult(index, output, null);
+  }
+
+  /**
+   * Creates a failed result.
+   *
+   * @param index the position of the certificate in the batch input
+   * @param exception the exception that caused the failure
+   * @return render result
+   */
+  public static RenderResult failure(int index, Exception exception) {
+    return new RenderResult(index, null, exception);
+  }
+
+  /**
+   * @return the position of the certificate in the batch input
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * @return the rendered certificate or null if rendering failed
+   */
+  public String getOutput() {
+    return output;
+  }
+
+  /**
+   * @return the exception that caused rendering to fail or null on success
+   */
+  public Exception getException() {
+    return exception;
+  }
+
+  public boolean isSuccess() {
+    return exception == null;
+  }
+
+  @Override
+  public String toString() {
+    return "RenderResult{index=" + index + (isSuccess()
+      ? ", length=" + output.length()
+      : ", exception=" + exception) + "}";
+  }
+}
@@ -15,9 +15,14 @@
  */
 package se.idsec.utils.printcert.display;
 
+import se.idsec.utils.printcert.display.html.HtmlElement;
 import se.idsec.utils.printcert.enums.SupportedExtension;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -33,6 +38,7 @@ public class UnitDisplayData {
     String freeText;
     boolean structured;
     boolean hasPrefix;
+    Map<Integer, HtmlElement> htmlValueMap;
 
     public UnitDisplayData(UnitType type) {
         this.type = type;
@@ -66,6 +72,69 @@ public class UnitDisplayData {
         this.hasPrefix=hasPrefix;
     }
 
+    /**
+     * Creates a copy of this display data with another sequence number. The copy shares the data rows of this instance,
+     * which must therefore not be modified, but holds its own html values.
+     *
+     * @param sequence sequence number of the copy
+     * @return display data copy
+     */
+    UnitDisplayData withSequence(int sequence) {
+        UnitDisplayData copy = new UnitDisplayData(type);
+        copy.name = name;
+        copy.id = id;
+        copy.sequence = sequence;
+        copy.criticality = criticality;
+        copy.dataArray = dataArray;
+        copy.freeText = freeText;
+        copy.structured = structured;
+        copy.hasPrefix = hasPrefix;
+        copy.htmlValueMap = htmlValueMap == null ? null : new HashMap<>(htmlValueMap);
+        return copy;
+    }
+
+    /**
+     * Creates a copy of this display data with copies of the data rows, which may be modified without affecting this
+     * instance.
+     *
+     * @return display data copy
+     */
+    public UnitDisplayData copy() {
+        UnitDisplayData copy = withSequence(sequence);
+        if (dataArray != null) {
+            copy.dataArray = copyRows(dataArray);
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a copy of this display data holding an unmodifiable copy of the data rows, which may be shared between
+     * certificates without being affected by changes to this instance.
+     *
+     * @return display data copy
+     */
+    UnitDisplayData unmodifiableCopy() {
+        UnitDisplayData copy = copy();
+        if (copy.dataArray != null) {
+            copy.dataArray = Collections.unmodifiableList(copy.dataArray);
+        }
+        return copy;
+    }
+
+    /**
+     * Copies data rows, including the row arrays.
+     *
+     * @param dataArray data rows
+     * @return modifiable copy of the data rows
+     */
+    static List<String[]> copyRows(List<String[]> dataArray) {
+        List<String[]> rows = new ArrayList<>(dataArray.size());
+        for (String[] row : dataArray) {
+            rows.add(row == null ? null : row.clone());
+        }
+        return rows;
+    }
+
     public String getName() {
         return name;
     }
@@ -138,6 +207,30 @@ public class UnitDisplayData {
         this.hasPrefix = hasPrefix;
     }
 
+    /**
+     * Sets an html element to be used as value of a data array row in html
+     * output instead of the text value of that row.
+     *
+     * @param row index of the row in the data array
+     * @param value html element value
+     */
+    public void setHtmlValue(int row, HtmlElement value) {
+        if (htmlValueMap == null) {
+            htmlValueMap = new HashMap<>();
+        }
+        htmlValueMap.put(row, value);
+    }
+
+    /**
+     * Get the html element value of a data array row.
+     *
+     * @param row index of the row in the data array
+     * @return html element value or null if the text value of the row is used
+     */
+    public HtmlElement getHtmlValue(int row) {
+        return htmlValueMap == null ? null : htmlValueMap.get(row);
+    }
+
 
 
 
@@ -16,6 +16,8 @@
 package se.idsec.utils.printcert.display.html;
 
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -56,62 +58,72 @@ public abstract class HtmlElement {
      */
     public String toString(boolean lineBreak) {
         StringBuilder b = new StringBuilder();
+        try {
+            writeTo(b, lineBreak);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return b.toString();
+    }
+
+    /**
+     * Writes the Html element including all it's child elements to an
+     * {@link Appendable}. Child elements are written directly to the
+     * destination without creating intermediate strings.
+     *
+     * @param out the destination of the html data
+     * @param lineBreak include line breaks in the html data for increased
+     * readability
+     * @throws IOException on errors writing to the destination
+     */
+    public void writeTo(Appendable out, boolean lineBreak) throws IOException {
         boolean tagged = false;
         if (tag.length() > 0) {
             tagged = true;
         }
         if (tagged) {
-            b.append("<").append(tag);
+            out.append("<").append(tag);
             for (Attribute attribute : attributes) {
-                b.append(attribute.toString());
+                attribute.appendTo(out);
             }
 
             if (!styles.isEmpty()) {
-                b.append(" style='");
+                out.append(" style='");
                 Iterator<Style> its = styles.iterator();
                 while (its.hasNext()) {
                     Style style = its.next();
-                    b.append(style.toString());
+                    style.appendTo(out);
                     if (its.hasNext()) {
-                        b.append("; ");
+                        out.append("; ");
                     }
                 }
-                b.append("'");
+                out.append("'");
             }
 
-            if (!action.isEmpty()) {
-                b.append(getActions(action));
+            for (Action act : action) {
+                act.appendTo(out);
             }
             if (text.length() == 0 && objects.isEmpty()) {
-                b.append("/>");
-                b.append(lineBreak ? LF : "");
+                out.append("/>");
+                out.append(lineBreak ? LF : "");
             } else {
-                b.append(">");
+                out.append(">");
                 // conditions for line break after first tag
                 if (lineBreak && !objects.isEmpty() && text.length() == 0) {
                     if (!(objects.get(0) instanceof TextObject)) {
-                        b.append(LF);
+                        out.append(LF);
                     }
                 }
-                b.append(text);
+                out.append(text);
                 for (HtmlElement html : objects) {
-                    b.append(html.toString(lineBreak));
+                    html.writeTo(out, lineBreak);
                 }
-                b.append("</").append(tag).append(">");
-                b.append(lineBreak ? LF : "");
+                out.append("</").append(tag).append(">");
+                out.append(lineBreak ? LF : "");
             }
         } else {
-            b.append(text);
+            out.append(text);
         }
-        return b.toString();
-    }
-
-    private String getActions(List<Action> action) {
-        StringBuilder b = new StringBuilder();
-        for (Action act : action) {
-            b.append(act.toString());
-        }
-        return b.toString();
     }
 
     /**
@@ -224,13 +236,21 @@ public abstract class HtmlElement {
         @Override
         public String toString() {
             StringBuilder b = new StringBuilder();
+            try {
+                appendTo(b);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return b.toString();
+        }
+
+        void appendTo(Appendable b) throws IOException {
             if (value == null) {
                 b.append(" ").append(type);
             } else {
                 b.append(" ").append(type).append("='");
                 b.append(value).append("'");
             }
-            return b.toString();
         }
     }
 
@@ -245,10 +265,12 @@ public abstract class HtmlElement {
 
         @Override
         public String toString() {
-            StringBuilder b = new StringBuilder();
+            return type + ": " + value;
+        }
+
+        void appendTo(Appendable b) throws IOException {
             b.append(type).append(": ");
             b.append(value);
-            return b.toString();
         }
     }
 
@@ -286,6 +308,15 @@ public abstract class HtmlElement {
         @Override
         public String toString() {
             StringBuilder b = new StringBuilder();
+            try {
+                appendTo(b);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return b.toString();
+        }
+
+        void appendTo(Appendable b) throws IOException {
             b.append(" ").append(event).append("='");
             b.append(function).append("(");
             for (int i = 0; i < args.length; i++) {
@@ -299,7 +330,6 @@ public abstract class HtmlElement {
                 }
             }
             b.append(")'");
-            return b.toString();
         }
 
         private boolean isNUmeric(String arg) {
@@ -33,6 +33,18 @@ public class TableCellElement extends HtmlElement {
         this(text, 1, className);
     }
 
+    /**
+     * Creates a table cell holding a child html element, which is written
+     * directly as part of this cell.
+     *
+     * @param content the html element placed in the cell
+     * @param className class name of the cell or "" for none
+     */
+    public TableCellElement(HtmlElement content, String className) {
+        this("", 1, className);
+        addHtmlElement(content);
+    }
+
     public TableCellElement(String text, int colsapn, String className) {
         this.tag = "td";
         this.text = text;
@@ -78,6 +78,22 @@ public class TableElement extends HtmlElement {
         addHtmlElement(tr);
     }
 
+    /**
+     * Adds a table row with a text parameter cell followed by a cell holding
+     * an html element, such as a nested table.
+     *
+     * @param param text of the first table cell
+     * @param content html element placed in the second table cell
+     * @param classNames class of the row followed by the classes of the two
+     *      cells, as for {@link #addRow(String[], String[], int, boolean[], String)}
+     */
+    public void addRow(String param, HtmlElement content, String[] classNames) {
+        TableRowElement tr = new TableRowElement(classNames.length > 0 ? classNames[0] : "");
+        tr.addHtmlElement(new TableCellElement(param, 1, classNames.length > 1 ? classNames[1] : ""));
+        tr.addHtmlElement(new TableCellElement(content, classNames.length > 2 ? classNames[2] : ""));
+        addHtmlElement(tr);
+    }
+
     public void addRow(String[] cells, String className, int colspan, boolean[] show) {
         addRow(cells, new String[]{className}, colspan, show, null);
     }
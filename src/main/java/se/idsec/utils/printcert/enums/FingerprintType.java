@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.enums;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Certificate fingerprint types. A fingerprint is either computed over the DER encoding of the complete certificate
+ * or over the DER encoding of the subject public key info of the certificate.
+ *
+ * @author stefan
+ */
+public enum FingerprintType {
+    sha1("SHA-1", false, "SHA1 Fingerprint"),
+    sha256("SHA-256", false, "SHA256 Fingerprint"),
+    spkiSha256("SHA-256", true, "SPKI SHA256 Fingerprint");
+
+    private final String algorithm;
+    private final boolean publicKeyInfo;
+    private final String displayName;
+    private final ThreadLocal<MessageDigest> messageDigest;
+
+    FingerprintType(String algorithm, boolean publicKeyInfo, String displayName) {
+        this.algorithm = algorithm;
+        this.publicKeyInfo = publicKeyInfo;
+        this.displayName = displayName;
+        this.messageDigest = ThreadLocal.withInitial(() -> {
+            try {
+                return MessageDigest.getInstance(algorithm);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(algorithm + " is not supported", ex);
+            }
+        });
+    }
+
+    /**
+     * @return the JCA name of the digest algorithm
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return true if the fingerprint is computed over the subject public key info rather than the complete certificate
+     */
+    public boolean isPublicKeyInfo() {
+        return publicKeyInfo;
+    }
+
+    /**
+     * @return the display name of the fingerprint
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Get the message digest instance of the current thread for this fingerprint type. Each fingerprint type has its own
+     * instance, so digests of different types can be updated side by side. The returned instance is reset.
+     *
+     * @return message digest
+     */
+    public MessageDigest getMessageDigest() {
+        MessageDigest md = messageDigest.get();
+        md.reset();
+        return md;
+    }
+}
@@ -15,7 +15,9 @@
  */
 package se.idsec.utils.printcert.enums;
 
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.x509.AccessDescription;
+import se.idsec.utils.printcert.utils.OidRegistry;
 
 /**
  *
@@ -64,15 +66,27 @@ public enum OidName {
         return oid;
     }
 
+    /**
+     * Get the display name of an OID, including display names registered with {@link OidRegistry}.
+     *
+     * @param oid OID
+     * @return display name or the OID in dot notation if no display name is available
+     */
+    public static String getName(ASN1ObjectIdentifier oid) {
+        String name = OidRegistry.getDisplayName(oid);
+        return name == null ? oid.getId() : name;
+    }
 
-
-    public static String getName(String oidStr){
-        for (OidName oid : values()){
-            if (oid.getOid().equalsIgnoreCase(oidStr)){
-                return oid.getName();
-            }
-        }
-        return oidStr;
+    /**
+     * Get the display name of an OID, including display names registered with {@link OidRegistry}.
+     *
+     * @param oidStr OID in dot notation
+     * @return display name or the provided OID string if no display name is available
+     */
+    public static String getName(String oidStr) {
+        ASN1ObjectIdentifier oid = oidStr == null ? null : ASN1ObjectIdentifier.tryFromID(oidStr);
+        String name = OidRegistry.getDisplayName(oid);
+        return name == null ? oidStr : name;
     }
 
 }
@@ -17,7 +17,6 @@ package se.idsec.utils.printcert.enums;
 
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.logging.Logger;
 import org.bouncycastle.asn1.ASN1Encodable;
@@ -26,6 +25,7 @@ import org.bouncycastle.asn1.DERPrintableString;
 import org.bouncycastle.asn1.DERUTF8String;
 import org.bouncycastle.asn1.x500.AttributeTypeAndValue;
 import org.bouncycastle.asn1.x500.style.BCStyle;
+import se.idsec.utils.printcert.utils.OidRegistry;
 
 /**
  *
@@ -62,6 +62,8 @@ public enum SubjectDnType {
     unknown("Unknown",null);
 
     private static final Logger LOG = Logger.getLogger(SubjectDnType.class.getName());
+    private static final OidRegistry.Lookup<SubjectDnType> OID_LOOKUP = OidRegistry.index(values(),
+      SubjectDnType::getOidString, unknown);
     private String dispName;
     private String oidString;
 
@@ -72,16 +74,13 @@ public enum SubjectDnType {
 
 
     public static SubjectDnType getNameTypeForOid(ASN1ObjectIdentifier oid) {
-        String oidString = oid.getId();
-        return getNameTypeForOid(oidString);
+        Objects.requireNonNull(oid, "OID must not be null");
+        return OID_LOOKUP.get(oid);
     }
 
     public static SubjectDnType getNameTypeForOid(String oidString) {
         Objects.requireNonNull(oidString, "OID must not be null");
-        return Arrays.stream(values())
-          .filter(subjectDnType -> oidString.equalsIgnoreCase(subjectDnType.getOidString()))
-          .findFirst()
-          .orElse(unknown);
+        return OID_LOOKUP.get(oidString);
     }
 
     public String getOidString() {
@@ -18,6 +18,7 @@ package se.idsec.utils.printcert.enums;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
 import org.bouncycastle.asn1.x509.Extension;
+import se.idsec.utils.printcert.utils.OidRegistry;
 import se.swedenconnect.cert.extensions.AuthnContext;
 
 /**
@@ -46,12 +47,20 @@ public enum SupportedExtension {
     subjectDirectoryAttributes("Subject Directory Attributes", Extension.subjectDirectoryAttributes),
     subjectInfoAccess("Subject Info Access", Extension.subjectInfoAccess),
     subjectKeyIdentifier("Subject Key Identifier", Extension.subjectKeyIdentifier),
+    cRLNumber("CRL Number", Extension.cRLNumber),
+    deltaCRLIndicator("Delta CRL Indicator", Extension.deltaCRLIndicator),
+    reasonCode("Reason Code", Extension.reasonCode),
+    invalidityDate("Invalidity Date", Extension.invalidityDate),
     ocspNocheck("OCSP No Check", OCSPObjectIdentifiers.id_pkix_ocsp_nocheck),
+    ocspNonce("OCSP Nonce", OCSPObjectIdentifiers.id_pkix_ocsp_nonce),
     authContext("Authentication Context", AuthnContext.OID),
     signedCertificateTimestampList("Signed Certificate Timestamp List", new ASN1ObjectIdentifier("1.3.6.1.4.1.11129.2.4.2")),
     netscapeCertType("Netscape Certificate Type", new ASN1ObjectIdentifier("2.16.840.1.113730.1.1")),
     unknown("Unknown", null);
 
+    private static final OidRegistry.Lookup<SupportedExtension> OID_LOOKUP = OidRegistry.index(values(),
+      ext -> ext.getOid() == null ? null : ext.getOid().getId(), unknown);
+
     String name;
     ASN1ObjectIdentifier oid;
 
@@ -69,15 +78,10 @@ public enum SupportedExtension {
     }
 
     public static SupportedExtension getExtension(ASN1ObjectIdentifier oid) {
-        return getExtension(oid.getId());
+        return OID_LOOKUP.get(oid);
     }
 
     public static SupportedExtension getExtension(String oid) {
-        for (SupportedExtension ext : values()) {
-            if (ext.getOid() != null && ext.getOid().getId().equalsIgnoreCase(oid)) {
-                return ext;
-            }
-        }
-        return unknown;
+        return OID_LOOKUP.get(oid);
     }
 }
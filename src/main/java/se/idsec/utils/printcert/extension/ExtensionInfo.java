@@ -16,10 +16,22 @@
 package se.idsec.utils.printcert.extension;
 
 import se.idsec.utils.printcert.enums.SupportedExtension;
+import se.idsec.utils.printcert.utils.ByteBufferInputStream;
+import org.bouncycastle.asn1.ASN1InputStream;
 import org.bouncycastle.asn1.ASN1ObjectIdentifier;
 import org.bouncycastle.asn1.ASN1Primitive;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
 /**
+ * Information about a certificate extension.
+ *
+ * <p>
+ * The ASN.1 structure of the extension value is decoded from the extension data on the first call to
+ * {@link #getExtDataASN1()}, unless it has been set explicitly. The extension data may be backed by a slice of the
+ * certificate encoding, in which case a byte array copy is only made if {@link #getExtData()} is called.
+ * </p>
  *
  * @author stefan
  */
@@ -29,8 +41,10 @@ public class ExtensionInfo {
     boolean critical;
     ASN1ObjectIdentifier oid;
     SupportedExtension extensionType;
-    byte[] extData;
-    ASN1Primitive extDataASN1;
+    volatile byte[] extData;
+    ByteBuffer extDataBuffer;
+    volatile ASN1Primitive extDataASN1;
+    private volatile boolean decodeFailed;
 
     public ExtensionInfo(int idx) {
         this.sequenceNumber = idx;
@@ -45,15 +59,73 @@ public class ExtensionInfo {
     }
 
     public byte[] getExtData() {
-        return extData;
+        byte[] result = extData;
+        if (result == null && extDataBuffer != null) {
+            ByteBuffer source = extDataBuffer.duplicate();
+            result = new byte[source.remaining()];
+            source.get(result);
+            extData = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the extension data without copying it when the extension data is backed by a buffer.
+     *
+     * @return read-only buffer holding the DER encoded extension value or null if the extension data is absent
+     */
+    public ByteBuffer getExtDataBuffer() {
+        if (extDataBuffer != null) {
+            return extDataBuffer.duplicate();
+        }
+        byte[] data = extData;
+        return data == null ? null : ByteBuffer.wrap(data).asReadOnlyBuffer();
     }
 
+    /**
+     * Sets the extension data. Any previously decoded ASN.1 structure of the extension value is discarded.
+     *
+     * @param extData the DER encoded extension value
+     */
     public void setExtData(byte[] extData) {
         this.extData = extData;
+        this.extDataBuffer = null;
+        this.extDataASN1 = null;
+        this.decodeFailed = false;
+    }
+
+    /**
+     * Sets the extension data to a buffer holding the DER encoded extension value, such as a slice provided by
+     * {@link se.idsec.utils.printcert.utils.DerCertificateView#getExtensionValue(int)}. The buffer content is not copied.
+     * Any previously decoded ASN.1 structure of the extension value is discarded.
+     *
+     * @param extDataBuffer buffer holding the DER encoded extension value between its position and limit
+     */
+    public void setExtData(ByteBuffer extDataBuffer) {
+        this.extDataBuffer = extDataBuffer == null ? null : extDataBuffer.slice().asReadOnlyBuffer();
+        this.extData = null;
+        this.extDataASN1 = null;
+        this.decodeFailed = false;
     }
 
+    /**
+     * Get the ASN.1 structure of the extension value, decoding it from the extension data on first access.
+     *
+     * @return ASN.1 structure of the extension value or null if the extension data is absent or can not be decoded
+     */
     public ASN1Primitive getExtDataASN1() {
-        return extDataASN1;
+        ASN1Primitive result = extDataASN1;
+        if (result == null && (extData != null || extDataBuffer != null) && !decodeFailed) {
+            // Decoding is idempotent, so concurrent first calls may decode the same data without harm
+            ByteBuffer source = getExtDataBuffer();
+            try (ASN1InputStream din = new ASN1InputStream(new ByteBufferInputStream(source), source.remaining())) {
+                result = din.readObject();
+                extDataASN1 = result;
+            } catch (IOException | RuntimeException e) {
+                decodeFailed = true;
+            }
+        }
+        return result;
     }
 
     public void setExtDataASN1(ASN1Primitive extDataASN1) {
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.index;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Logger;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.ASN1OctetString;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.data.SubjectAttributeInfo;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+import se.idsec.utils.printcert.utils.CertUtils;
+
+/**
+ * In-memory index of certificates supporting exact and prefix lookup on subject and issuer name attributes, serial
+ * number, subject and authority key identifiers and subject alternative names.
+ *
+ * <p>
+ * Index keys are byte arrays ordered as unsigned bytes in a {@link ConcurrentSkipListMap}, so prefix lookups are range
+ * scans. Each key maps to an immutable array of certificate ids in insertion order, which is replaced on insert.
+ * Name attribute and subject alternative name values are indexed as lower case UTF-8, while serial numbers and key
+ * identifiers are indexed as raw bytes. Certificates are added one at a time under a single writer lock, while lookups
+ * run concurrently without locking. Each lookup reads the number of indexed certificates once when it starts and
+ * ignores ids at or above it, so that it only returns certificates for which all keys had been indexed.
+ * </p>
+ */
+public class CertificateIndex {
+
+  /**
+   * Indexed certificate fields.
+   */
+  public enum IndexField {
+    subjectAttribute, issuerAttribute, serialNumber, subjectKeyId, authorityKeyId, subjectAltName
+  }
+
+  private static final int[] NO_IDS = new int[0];
+
+  private final ConcurrentSkipListMap<byte[], Postings> keyMap = new ConcurrentSkipListMap<>(Arrays::compareUnsigned);
+  private final Object writeLock = new Object();
+  private volatile PrintCertificate[] certificates = new PrintCertificate[16];
+  private volatile int size;
+
+  /**
+   * Adds a certificate to the index.
+   *
+   * @param cert certificate
+   * @return the id of the certificate in this index
+   */
+  public int add(PrintCertificate cert) {
+    synchronized (writeLock) {
+      int id = size;
+      PrintCertificate[] store = certificates;
+      if (id == store.length) {
+        store = Arrays.copyOf(store, store.length * 2);
+      }
+      store[id] = cert;
+      certificates = store;
+      for (byte[] key : getKeys(cert)) {
+        keyMap.computeIfAbsent(key, k -> new Postings()).add(id);
+      }
+      size = id + 1;
+      return id;
+    }
+  }
+
+  /**
+   * Adds certificates to the index.
+   *
+   * @param certs certificates
+   */
+  public void addAll(Collection<PrintCertificate> certs) {
+    for (PrintCertificate cert : certs) {
+      add(cert);
+    }
+  }
+
+  /**
+   * @return the number of indexed certificates
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param id certificate id
+   * @return the certificate with the given id
+   */
+  public PrintCertificate get(int id) {
+    if (id < 0 || id >= size) {
+      throw new IndexOutOfBoundsException("Certificate id " + id + " out of bounds for size " + size);
+    }
+    return certificates[id];
+  }
+
+  /**
+   * Finds certificates with a subject or issuer name attribute value.
+   *
+   * @param field {@link IndexField#subjectAttribute} or {@link IndexField#issuerAttribute}
+   * @param attributeType attribute type OID
+   * @param value attribute value, compared ignoring case
+   * @return matching certificates in insertion order
+   */
+  public List<PrintCertificate> findAttribute(IndexField field, ASN1ObjectIdentifier attributeType, String value) {
+    checkAttributeField(field);
+    return find(attributeKey(field, attributeType, value));
+  }
+
+  /**
+   * Finds certificates with a subject or issuer name attribute value starting with a prefix.
+   *
+   * @param field {@link IndexField#subjectAttribute} or {@link IndexField#issuerAttribute}
+   * @param attributeType attribute type OID
+   * @param prefix attribute value prefix, compared ignoring case
+   * @return matching certificates in insertion order
+   */
+  public List<PrintCertificate> findAttributeByPrefix(IndexField field, ASN1ObjectIdentifier attributeType,
+    String prefix) {
+    checkAttributeField(field);
+    return findByPrefix(attributeKey(field, attributeType, prefix));
+  }
+
+  /**
+   * Finds certificates with a subject alternative name.
+   *
+   * @param tagNo general name tag number as defined by {@link GeneralName}
+   * @param value name value as presented by {@link GeneralName#toString()}, compared ignoring case
+   * @return matching certificates in insertion order
+   */
+  public List<PrintCertificate> findSubjectAltName(int tagNo, String value) {
+    return find(altNameKey(tagNo, value));
+  }
+
+  /**
+   * Finds certificates with a subject alternative name starting with a prefix.
+   *
+   * @param tagNo general name tag number as defined by {@link GeneralName}
+   * @param prefix name value prefix, compared ignoring case
+   * @return matching certificates in insertion order
+   */
+  public List<PrintCertificate> findSubjectAltNameByPrefix(int tagNo, String prefix) {
+    return findByPrefix(altNameKey(tagNo, prefix));
+  }
+
+  /**
+   * Finds certificates by serial number.
+   *
+   * @param serialNumber serial number
+   * @return matching certificates in insertion order
+   */
+  public List<PrintCertificate> findSerialNumber(BigInteger serialNumber) {
+    return find(bytesKey(IndexField.serialNumber, serialNumber.toByteArray()));
+  }
+
+  /**
+   * Finds certificates by a byte valued field.
+   *
+   * @param field {@link IndexField#serialNumber}, {@link IndexField#subjectKeyId} or
+   *     {@link IndexField#authorityKeyId}, where serial numbers are given in two's complement representation
+   * @param value field value
+   * @return matching certificates in insertion order
+   */
+  public List<PrintCertificate> find(IndexField field, byte[] value) {
+    checkBytesField(field);
+    return find(bytesKey(field, value));
+  }
+
+  /**
+   * Finds certificates with a byte valued field starting with a prefix.
+   *
+   * @param field {@link IndexField#serialNumber}, {@link IndexField#subjectKeyId} or
+   *     {@link IndexField#authorityKeyId}, where serial numbers are given in two's complement representation
+   * @param prefix field value prefix
+   * @return matching certificates in insertion order
+   */
+  public List<PrintCertificate> findByPrefix(IndexField field, byte[] prefix) {
+    checkBytesField(field);
+    return findByPrefix(bytesKey(field, prefix));
+  }
+
+  private List<PrintCertificate> find(byte[] key) {
+    int limit = size;
+    Postings postings = keyMap.get(key);
+    if (postings == null) {
+      return getCertificates(NO_IDS, 0, limit);
+    }
+    int count = postings.size;
+    return getCertificates(postings.ids, count, limit);
+  }
+
+  private List<PrintCertificate> findByPrefix(byte[] prefix) {
+    int limit = size;
+    NavigableMap<byte[], Postings> range = keyMap.tailMap(prefix, true);
+    int[] ids = NO_IDS;
+    int count = 0;
+    boolean sorted = true;
+    for (Map.Entry<byte[], Postings> entry : range.entrySet()) {
+      if (!startsWith(entry.getKey(), prefix)) {
+        break;
+      }
+      Postings postings = entry.getValue();
+      int postingsSize = postings.size;
+      if (postingsSize == 0) {
+        continue;
+      }
+      int[] postingIds = postings.ids;
+      if (count + postingsSize > ids.length) {
+        ids = Arrays.copyOf(ids, Math.max(count + postingsSize, ids.length * 2));
+      }
+      System.arraycopy(postingIds, 0, ids, count, postingsSize);
+      sorted = sorted && (count == 0 || ids[count - 1] < postingIds[0]);
+      count += postingsSize;
+    }
+    if (!sorted) {
+      ids = Arrays.stream(ids, 0, count).sorted().distinct().toArray();
+      count = ids.length;
+    }
+    return getCertificates(ids, count, limit);
+  }
+
+  /**
+   * Get the certificates of sorted ids, ignoring ids of certificates that were added after the lookup started.
+   *
+   * @param ids certificate ids in ascending order
+   * @param count the number of ids to read
+   * @param limit the number of indexed certificates when the lookup started
+   * @return certificates
+   */
+  private List<PrintCertificate> getCertificates(int[] ids, int count, int limit) {
+    // The store is read after the size, so it holds all certificates with ids below the limit
+    PrintCertificate[] store = certificates;
+    List<PrintCertificate> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int id = ids[i];
+      if (id >= limit) {
+        break;
+      }
+      result.add(store[id]);
+    }
+    return result;
+  }
+
+  private static List<byte[]> getKeys(PrintCertificate cert) {
+    List<byte[]> keys = new ArrayList<>();
+    addAttributeKeys(IndexField.subjectAttribute, cert.getSubject(), keys);
+    addAttributeKeys(IndexField.issuerAttribute, cert.getIssuer(), keys);
+    keys.add(bytesKey(IndexField.serialNumber, cert.getSerialNumber().toByteArray()));
+    try {
+      byte[] subjectKeyId = cert.getSubjectKeyInfo();
+      if (subjectKeyId != null) {
+        keys.add(bytesKey(IndexField.subjectKeyId, subjectKeyId));
+      }
+      byte[] authorityKeyId = cert.getAuthorityKeyInfo();
+      if (authorityKeyId != null) {
+        keys.add(bytesKey(IndexField.authorityKeyId, authorityKeyId));
+      }
+    }
+    catch (IllegalArgumentException ex) {
+      Logger.getLogger(CertificateIndex.class.getName()).fine("Unable to index key identifiers: " + ex.getMessage());
+    }
+    ExtensionInfo altNameExtension = cert.getExtensionInfo(Extension.subjectAlternativeName.getId());
+    ASN1Primitive altNameData = altNameExtension == null ? null : altNameExtension.getExtDataASN1();
+    if (altNameData != null) {
+      try {
+        for (GeneralName generalName : GeneralNames.getInstance(altNameData).getNames()) {
+          keys.add(altNameKey(generalName.getTagNo(), getAltNameValue(generalName)));
+        }
+      }
+      catch (IllegalArgumentException ex) {
+        Logger.getLogger(CertificateIndex.class.getName()).fine("Unable to index subject alt names: " + ex.getMessage());
+      }
+    }
+    return keys;
+  }
+
+  private static void addAttributeKeys(IndexField field, X500Name name, List<byte[]> keys) {
+    try {
+      for (SubjectAttributeInfo attrInfo : CertUtils.getAttributeInfoList(
+        new X500Principal(name.getEncoded(ASN1Encoding.DER)))) {
+        if (attrInfo.getValue() != null) {
+          keys.add(attributeKey(field, attrInfo.getOid(), attrInfo.getValue()));
+        }
+      }
+    }
+    catch (IOException | IllegalArgumentException ex) {
+      Logger.getLogger(CertificateIndex.class.getName()).fine("Unable to index name attributes: " + ex.getMessage());
+    }
+  }
+
+  private static String getAltNameValue(GeneralName generalName) {
+    if (generalName.getTagNo() == GeneralName.iPAddress) {
+      byte[] address = ASN1OctetString.getInstance(generalName.getName()).getOctets();
+      StringBuilder b = new StringBuilder();
+      if (address.length == 4) {
+        for (int i = 0; i < address.length; i++) {
+          b.append(i > 0 ? "." : "").append(address[i] & 0xff);
+        }
+      }
+      else {
+        for (int i = 0; i < address.length; i += 2) {
+          b.append(i > 0 ? ":" : "").append(Integer.toHexString(((address[i] & 0xff) << 8)
+            | (i + 1 < address.length ? address[i + 1] & 0xff : 0)));
+        }
+      }
+      return b.toString();
+    }
+    return generalName.getName().toString();
+  }
+
+  private static byte[] attributeKey(IndexField field, ASN1ObjectIdentifier attributeType, String value) {
+    byte[] oid;
+    try {
+      oid = attributeType.getEncoded(ASN1Encoding.DER);
+    }
+    catch (IOException ex) {
+      throw new IllegalArgumentException("Illegal attribute type", ex);
+    }
+    byte[] valueBytes = value.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    byte[] key = new byte[1 + oid.length + valueBytes.length];
+    key[0] = (byte) field.ordinal();
+    System.arraycopy(oid, 0, key, 1, oid.length);
+    System.arraycopy(valueBytes, 0, key, 1 + oid.length, valueBytes.length);
+    return key;
+  }
+
+  private static byte[] altNameKey(int tagNo, String value) {
+    byte[] valueBytes = value.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    byte[] key = new byte[2 + valueBytes.length];
+    key[0] = (byte) IndexField.subjectAltName.ordinal();
+    key[1] = (byte) tagNo;
+    System.arraycopy(valueBytes, 0, key, 2, valueBytes.length);
+    return key;
+  }
+
+  private static byte[] bytesKey(IndexField field, byte[] value) {
+    byte[] key = new byte[1 + value.length];
+    key[0] = (byte) field.ordinal();
+    System.arraycopy(value, 0, key, 1, value.length);
+    return key;
+  }
+
+  private static boolean startsWith(byte[] key, byte[] prefix) {
+    return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+  }
+
+  private static void checkAttributeField(IndexField field) {
+    if (field != IndexField.subjectAttribute && field != IndexField.issuerAttribute) {
+      throw new IllegalArgumentException("Not a name attribute field: " + field);
+    }
+  }
+
+  private static void checkBytesField(IndexField field) {
+    if (field != IndexField.serialNumber && field != IndexField.subjectKeyId && field != IndexField.authorityKeyId) {
+      throw new IllegalArgumentException("Not a byte valued field: " + field);
+    }
+  }
+
+  /**
+   * Ascending certificate ids of a key. Ids are added under the write lock, while readers read the size before the ids,
+   * so that they only see ids that have been completely written.
+   */
+  private static final class Postings {
+
+    private volatile int[] ids = new int[2];
+    private volatile int size;
+
+    private void add(int id) {
+      int count = size;
+      // Certificates are indexed once per key, but a key may occur more than once in a certificate
+      if (count > 0 && ids[count - 1] == id) {
+        return;
+      }
+      int[] store = ids;
+      if (count == store.length) {
+        store = Arrays.copyOf(store, count * 2);
+      }
+      store[count] = id;
+      ids = store;
+      size = count + 1;
+    }
+  }
+}
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.display.DisplayCert;
+import se.idsec.utils.printcert.display.UnitDisplayData;
+
+/**
+ * In-memory full-text index over the display data of certificates.
+ *
+ * <p>
+ * Each display unit of a certificate, being the certificate fields, an extension or the signature, is indexed as a
+ * section. The tokens of a section are taken from the parameter names and values of its data rows, or from its free
+ * text, together with the extension name and OID. Text is indexed both as whitespace separated terms, such as a URL
+ * or an OID, and as the letter and digit runs within those terms.
+ * </p>
+ *
+ * <p>
+ * Queries are whitespace separated terms that must all match, ignoring case. A term matches a section that contains
+ * the term as a whole, or all letter and digit runs of the term. The index is built incrementally by adding
+ * certificates, which renders the display data of each certificate once. Searches run concurrently, while additions
+ * are exclusive.
+ * </p>
+ */
+public class CertificateTextIndex {
+
+  private final boolean verbose;
+  private final boolean decode;
+  private final Map<String, Postings> postingsMap = new HashMap<>();
+  private final List<PrintCertificate> certificates = new ArrayList<>();
+  private final List<UnitDisplayData> sections = new ArrayList<>();
+  private int[] sectionCertIds = new int[64];
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Creates a text index over the display data rendered with decoded name attributes.
+   */
+  public CertificateTextIndex() {
+    this(false, true);
+  }
+
+  /**
+   * Creates a text index.
+   *
+   * @param verbose set to true to index explicit key parameter and signature values
+   * @param decode set to true to index decoded name attributes
+   */
+  public CertificateTextIndex(boolean verbose, boolean decode) {
+    this.verbose = verbose;
+    this.decode = decode;
+  }
+
+  /**
+   * Adds a certificate to the index.
+   *
+   * @param cert certificate
+   * @return the id of the certificate in this index
+   */
+  public int add(PrintCertificate cert) {
+    List<UnitDisplayData> units = DisplayCert.getDisplayData(cert, verbose, decode);
+    lock.writeLock().lock();
+    try {
+      int certId = certificates.size();
+      certificates.add(cert);
+      for (UnitDisplayData unit : units) {
+        int sectionId = sections.size();
+        sections.add(unit);
+        if (sectionId == sectionCertIds.length) {
+          sectionCertIds = Arrays.copyOf(sectionCertIds, sectionId * 2);
+        }
+        sectionCertIds[sectionId] = certId;
+        indexText(unit.getName(), sectionId);
+        indexText(unit.getId(), sectionId);
+        indexText(unit.getFreeText(), sectionId);
+        if (unit.getDataArray() != null) {
+          for (String[] row : unit.getDataArray()) {
+            for (String cell : row) {
+              indexText(cell, sectionId);
+            }
+          }
+        }
+      }
+      return certId;
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return the number of indexed certificates
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return certificates.size();
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the sections matching all query terms.
+   *
+   * @param query whitespace separated query terms
+   * @return matching sections in certificate and print order
+   */
+  public List<Match> searchSections(String query) {
+    lock.readLock().lock();
+    try {
+      BitSet matches = null;
+      for (String term : getTerms(query)) {
+        BitSet termMatches = getTermMatches(term);
+        if (matches == null) {
+          matches = termMatches;
+        }
+        else {
+          matches.and(termMatches);
+        }
+      }
+      if (matches == null) {
+        return Collections.emptyList();
+      }
+      List<Match> result = new ArrayList<>();
+      for (int sectionId = matches.nextSetBit(0); sectionId >= 0; sectionId = matches.nextSetBit(sectionId + 1)) {
+        int certId = sectionCertIds[sectionId];
+        result.add(new Match(certId, certificates.get(certId), sections.get(sectionId)));
+      }
+      return result;
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the certificates matching all query terms, where the terms may match different sections of a certificate.
+   *
+   * @param query whitespace separated query terms
+   * @return matching certificates in insertion order
+   */
+  public List<PrintCertificate> searchCertificates(String query) {
+    lock.readLock().lock();
+    try {
+      BitSet matches = null;
+      for (String term : getTerms(query)) {
+        BitSet termMatches = getTermMatches(term);
+        BitSet certMatches = new BitSet(certificates.size());
+        for (int sectionId = termMatches.nextSetBit(0); sectionId >= 0;
+          sectionId = termMatches.nextSetBit(sectionId + 1)) {
+          certMatches.set(sectionCertIds[sectionId]);
+        }
+        if (matches == null) {
+          matches = certMatches;
+        }
+        else {
+          matches.and(certMatches);
+        }
+      }
+      if (matches == null) {
+        return Collections.emptyList();
+      }
+      List<PrintCertificate> result = new ArrayList<>(matches.cardinality());
+      for (int certId = matches.nextSetBit(0); certId >= 0; certId = matches.nextSetBit(certId + 1)) {
+        result.add(certificates.get(certId));
+      }
+      return result;
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private BitSet getTermMatches(String term) {
+    BitSet matches = new BitSet(sections.size());
+    Postings wholeTerm = postingsMap.get(term);
+    if (wholeTerm != null) {
+      wholeTerm.setAll(matches);
+    }
+    List<String> parts = getParts(term);
+    if (parts.size() == 1 && parts.get(0).equals(term)) {
+      return matches;
+    }
+    BitSet partMatches = null;
+    for (String part : parts) {
+      Postings postings = postingsMap.get(part);
+      if (postings == null) {
+        return matches;
+      }
+      BitSet current = new BitSet(sections.size());
+      postings.setAll(current);
+      if (partMatches == null) {
+        partMatches = current;
+      }
+      else {
+        partMatches.and(current);
+      }
+    }
+    if (partMatches != null) {
+      matches.or(partMatches);
+    }
+    return matches;
+  }
+
+  private void indexText(String text, int sectionId) {
+    if (text == null) {
+      return;
+    }
+    for (String term : getTerms(text)) {
+      addPosting(term, sectionId);
+      for (String part : getParts(term)) {
+        addPosting(part, sectionId);
+      }
+    }
+  }
+
+  private void addPosting(String token, int sectionId) {
+    postingsMap.computeIfAbsent(token, t -> new Postings()).add(sectionId);
+  }
+
+  /**
+   * Splits text into lower case whitespace separated terms, with surrounding punctuation removed.
+   */
+  private static List<String> getTerms(String text) {
+    List<String> terms = new ArrayList<>();
+    String lowerCase = text.toLowerCase(Locale.ROOT);
+    int len = lowerCase.length();
+    int i = 0;
+    while (i < len) {
+      while (i < len && !Character.isLetterOrDigit(lowerCase.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < len && !Character.isWhitespace(lowerCase.charAt(i))) {
+        i++;
+      }
+      int end = i;
+      while (end > start && !Character.isLetterOrDigit(lowerCase.charAt(end - 1))) {
+        end--;
+      }
+      if (end > start) {
+        terms.add(lowerCase.substring(start, end));
+      }
+    }
+    return terms;
+  }
+
+  /**
+   * Splits a term into its letter and digit runs.
+   */
+  private static List<String> getParts(String term) {
+    List<String> parts = new ArrayList<>();
+    int len = term.length();
+    int i = 0;
+    while (i < len) {
+      while (i < len && !Character.isLetterOrDigit(term.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < len && Character.isLetterOrDigit(term.charAt(i))) {
+        i++;
+      }
+      if (i > start) {
+        parts.add(term.substring(start, i));
+      }
+    }
+    return parts;
+  }
+
+  /**
+   * Growable array of ascending section ids.
+   */
+  private static final class Postings {
+
+    private int[] ids = new int[2];
+    private int size;
+
+    private void add(int sectionId) {
+      if (size > 0 && ids[size - 1] == sectionId) {
+        return;
+      }
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, size * 2);
+      }
+      ids[size++] = sectionId;
+    }
+
+    private void setAll(BitSet bitSet) {
+      for (int i = 0; i < size; i++) {
+        bitSet.set(ids[i]);
+      }
+    }
+  }
+
+  /**
+   * A section of a certificate matching a query.
+   */
+  public static final class Match {
+
+    private final int certificateId;
+    private final PrintCertificate certificate;
+    private final UnitDisplayData section;
+
+    private Match(int certificateId, PrintCertificate certificate, UnitDisplayData section) {
+      this.certificateId = certificateId;
+      this.certificate = certificate;
+      this.section = section;
+    }
+
+    /**
+     * @return the id of the certificate in the index
+     */
+    public int getCertificateId() {
+      return certificateId;
+    }
+
+    public PrintCertificate getCertificate() {
+      return certificate;
+    }
+
+    /**
+     * @return a copy of the matching display unit, being the certificate fields, an extension or the signature
+     */
+    public UnitDisplayData getSection() {
+      return section.copy();
+    }
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.bouncycastle.asn1.ASN1BitString;
+import org.bouncycastle.asn1.ASN1Encodable;
+import org.bouncycastle.asn1.ASN1GeneralizedTime;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.bouncycastle.asn1.ASN1SequenceParser;
+import org.bouncycastle.asn1.ASN1StreamParser;
+import org.bouncycastle.asn1.ASN1TaggedObject;
+import org.bouncycastle.asn1.ASN1TaggedObjectParser;
+import org.bouncycastle.asn1.ASN1UTCTime;
+import org.bouncycastle.asn1.InMemoryRepresentable;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.TBSCertList;
+import org.bouncycastle.asn1.x509.Time;
+
+/**
+ * Incremental parser of a DER encoded CRL read from a stream.
+ *
+ * <p>
+ * The CRL header fields are parsed on construction. Revoked certificate entries are then parsed one at a time by
+ * {@link #nextEntry()}, so memory use does not depend on the number of entries. The CRL extensions and signature
+ * follow the entries in the encoding and are parsed when first requested, skipping any remaining entries.
+ * </p>
+ *
+ * @author stefan
+ */
+public class CRLStreamParser {
+
+    private final ASN1SequenceParser crlParser;
+    private final ASN1SequenceParser tbsParser;
+    private final int version;
+    private final AlgorithmIdentifier signature;
+    private final X500Name issuer;
+    private final Time thisUpdate;
+    private final Time nextUpdate;
+    private ASN1SequenceParser entriesParser;
+    private ASN1Encodable pending;
+    private long entryCount;
+    private boolean entriesDone;
+    private boolean extensionsDone;
+    private Extensions extensions;
+    private AlgorithmIdentifier signatureAlgorithm;
+    private ASN1BitString signatureValue;
+
+    /**
+     * Creates a parser reading the CRL header from a stream.
+     *
+     * @param in stream holding a DER encoded CRL
+     * @throws IOException on errors reading the stream
+     * @throws IllegalArgumentException if the CRL header is malformed
+     */
+    public CRLStreamParser(InputStream in) throws IOException {
+        try {
+            this.crlParser = (ASN1SequenceParser) new ASN1StreamParser(in).readObject();
+            this.tbsParser = (ASN1SequenceParser) crlParser.readObject();
+            ASN1Encodable obj = tbsParser.readObject();
+            if (obj instanceof ASN1Integer) {
+                this.version = ((ASN1Integer) obj).intValueExact() + 1;
+                obj = tbsParser.readObject();
+            } else {
+                this.version = 1;
+            }
+            this.signature = AlgorithmIdentifier.getInstance(load(obj));
+            this.issuer = X500Name.getInstance(load(tbsParser.readObject()));
+            this.thisUpdate = Time.getInstance(load(tbsParser.readObject()));
+            obj = tbsParser.readObject();
+            if (obj instanceof ASN1UTCTime || obj instanceof ASN1GeneralizedTime) {
+                this.nextUpdate = Time.getInstance(obj);
+                obj = tbsParser.readObject();
+            } else {
+                this.nextUpdate = null;
+            }
+            if (obj instanceof ASN1SequenceParser) {
+                this.entriesParser = (ASN1SequenceParser) obj;
+            } else {
+                this.entriesDone = true;
+                this.pending = obj;
+            }
+        } catch (ClassCastException | NullPointerException | ArithmeticException ex) {
+            throw new IllegalArgumentException("Malformed CRL header", ex);
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public AlgorithmIdentifier getSignature() {
+        return signature;
+    }
+
+    public X500Name getIssuer() {
+        return issuer;
+    }
+
+    public Time getThisUpdate() {
+        return thisUpdate;
+    }
+
+    /**
+     * @return next update time or null if absent
+     */
+    public Time getNextUpdate() {
+        return nextUpdate;
+    }
+
+    /**
+     * Parses the next revoked certificate entry.
+     *
+     * @return the next entry or null if all entries have been parsed
+     * @throws IOException on errors reading the stream
+     */
+    public TBSCertList.CRLEntry nextEntry() throws IOException {
+        if (entriesDone) {
+            return null;
+        }
+        ASN1Encodable entry = entriesParser.readObject();
+        if (entry == null) {
+            entriesDone = true;
+            pending = tbsParser.readObject();
+            return null;
+        }
+        entryCount++;
+        try {
+            return TBSCertList.CRLEntry.getInstance(load(entry));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed CRL entry " + entryCount, ex);
+        }
+    }
+
+    /**
+     * @return the number of entries parsed so far, which is the total number of entries once all are parsed
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Get the CRL extensions, skipping any entries not yet parsed.
+     *
+     * @return CRL extensions or null if absent
+     * @throws IOException on errors reading the stream
+     */
+    public Extensions getExtensions() throws IOException {
+        if (!extensionsDone) {
+            while (nextEntry() != null) {
+                // Skip remaining entries
+            }
+            if (pending instanceof ASN1TaggedObjectParser) {
+                ASN1TaggedObject tagged = ASN1TaggedObject.getInstance(load(pending));
+                extensions = Extensions.getInstance(tagged, true);
+            }
+            extensionsDone = true;
+        }
+        return extensions;
+    }
+
+    /**
+     * Get the algorithm of the CRL signature, skipping any entries not yet parsed.
+     *
+     * @return signature algorithm
+     * @throws IOException on errors reading the stream
+     */
+    public AlgorithmIdentifier getSignatureAlgorithm() throws IOException {
+        readSignature();
+        return signatureAlgorithm;
+    }
+
+    /**
+     * Get the CRL signature value, skipping any entries not yet parsed.
+     *
+     * @return signature value
+     * @throws IOException on errors reading the stream
+     */
+    public ASN1BitString getSignatureValue() throws IOException {
+        readSignature();
+        return signatureValue;
+    }
+
+    private void readSignature() throws IOException {
+        if (signatureValue == null) {
+            getExtensions();
+            signatureAlgorithm = AlgorithmIdentifier.getInstance(load(crlParser.readObject()));
+            signatureValue = ASN1BitString.getInstance(load(crlParser.readObject()));
+        }
+    }
+
+    private static ASN1Primitive load(ASN1Encodable obj) throws IOException {
+        if (obj == null) {
+            throw new IllegalArgumentException("Unexpected end of CRL structure");
+        }
+        if (obj instanceof InMemoryRepresentable) {
+            return ((InMemoryRepresentable) obj).getLoadedObject();
+        }
+        return obj.toASN1Primitive();
+    }
+}
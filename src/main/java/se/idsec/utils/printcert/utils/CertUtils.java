@@ -48,6 +48,8 @@ import org.bouncycastle.asn1.DERPrintableString;
 import org.bouncycastle.asn1.DERUTF8String;
 import org.bouncycastle.asn1.oiw.OIWObjectIdentifiers;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
 import org.bouncycastle.asn1.x509.PolicyQualifierInfo;
 import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.asn1.x509.UserNotice;
@@ -111,6 +113,54 @@ public class CertUtils {
         return extList;
     }
 
+    /**
+     * Get extension information from already parsed extensions, such as those provided by
+     * {@link X509CertificateHolder#getExtensions()}. This avoids parsing the certificate DER encoding again. Extension
+     * values are decoded when first requested from the returned extension information.
+     *
+     * @param extensions extensions or null
+     * @return list of extension information in extension order
+     */
+    public static List<ExtensionInfo> getExtensions(Extensions extensions) {
+        List<ExtensionInfo> extList = new ArrayList<>();
+        if (extensions == null) {
+            return extList;
+        }
+        ASN1ObjectIdentifier[] extensionOIDs = extensions.getExtensionOIDs();
+        for (int extIdx = 0; extIdx < extensionOIDs.length; extIdx++) {
+            Extension extension = extensions.getExtension(extensionOIDs[extIdx]);
+            ExtensionInfo extInfo = new ExtensionInfo(extIdx);
+            extInfo.setOid(extension.getExtnId());
+            extInfo.setExtensionType(SupportedExtension.getExtension(extension.getExtnId()));
+            extInfo.setCritical(extension.isCritical());
+            extInfo.setExtData(extension.getExtnValue().getOctets());
+            extList.add(extInfo);
+        }
+        return extList;
+    }
+
+    /**
+     * Get extension information from a DER certificate view. The extension data of the returned extension information
+     * is backed by slices of the certificate encoding held by the view rather than by copies.
+     *
+     * @param certificateView DER certificate view
+     * @return list of extension information in extension order
+     */
+    public static List<ExtensionInfo> getExtensions(DerCertificateView certificateView) {
+        int count = certificateView.getExtensionCount();
+        List<ExtensionInfo> extList = new ArrayList<>(count);
+        for (int extIdx = 0; extIdx < count; extIdx++) {
+            ExtensionInfo extInfo = new ExtensionInfo(extIdx);
+            ASN1ObjectIdentifier extOid = certificateView.getExtensionOid(extIdx);
+            extInfo.setOid(extOid);
+            extInfo.setExtensionType(SupportedExtension.getExtension(extOid));
+            extInfo.setCritical(certificateView.isExtensionCritical(extIdx));
+            extInfo.setExtData(certificateView.getExtensionValue(extIdx));
+            extList.add(extInfo);
+        }
+        return extList;
+    }
+
     private static ExtensionInfo getExtensionInfo(ASN1Sequence extInstanceSeq, int seqNo) {
         ExtensionInfo extInfo = new ExtensionInfo(seqNo);
         try {
@@ -129,8 +179,6 @@ public class CertUtils {
             ASN1Encodable extDataObj = extInstanceSeq.getObjectAt(idx);
             if (extDataObj != null) {
                 extInfo.setExtData(DEROctetString.getInstance(extDataObj).getOctets());
-                ASN1InputStream din = new ASN1InputStream(new ByteArrayInputStream(extInfo.getExtData()));
-                extInfo.setExtDataASN1(din.readObject());
             }
 
         } catch (Exception e) {
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Read-only view of a DER encoded X.509 certificate backed by a single {@link ByteBuffer}.
+ *
+ * <p>
+ * The certificate structure is walked once on construction, recording the offset and length of each TBS certificate
+ * field and of each extension. Offsets and lengths are then available without allocation, and field content is
+ * returned as read-only slices of the backing buffer rather than as copies. Offsets are relative to the start of the
+ * certificate. Only the outer structure of the certificate is validated; field content is not decoded.
+ * </p>
+ *
+ * @author stefan
+ */
+public final class DerCertificateView {
+
+    /**
+     * Certificate fields recorded by the view.
+     */
+    public enum Field {
+        tbsCertificate, version, serialNumber, signature, issuer, validity, subject, subjectPublicKeyInfo,
+        issuerUniqueID, subjectUniqueID, extensions, signatureAlgorithm, signatureValue
+    }
+
+    private static final int SEQUENCE = 0x30;
+
+    private final ByteBuffer buffer;
+    private final int length;
+    private final int[] fieldOffsets = new int[Field.values().length];
+    private final int[] fieldLengths = new int[Field.values().length];
+    private final int[] fieldHeaderLengths = new int[Field.values().length];
+    private final int version;
+    private final int[] extOffsets;
+    private final int[] extLengths;
+    private final int[] extOidOffsets;
+    private final int[] extOidLengths;
+    private final int[] extValueOffsets;
+    private final int[] extValueLengths;
+    private final boolean[] extCritical;
+
+    // Result of the last header read, only used during construction
+    private int tag;
+    private int headerLength;
+    private int contentLength;
+
+    /**
+     * Creates a view of the certificate starting at the current position of the buffer. The buffer is not modified, and
+     * any data following the certificate is ignored.
+     *
+     * @param encoded DER encoded certificate
+     * @throws IllegalArgumentException if the certificate structure is malformed
+     */
+    public DerCertificateView(ByteBuffer encoded) {
+        this.buffer = encoded.slice().asReadOnlyBuffer();
+        Arrays.fill(fieldOffsets, -1);
+
+        readHeader(0, buffer.limit(), SEQUENCE, "Certificate");
+        this.length = headerLength + contentLength;
+        int pos = headerLength;
+
+        // TBS certificate
+        int tbsEnd = readField(Field.tbsCertificate, pos, length, SEQUENCE);
+        int tbsPos = fieldOffsets[Field.tbsCertificate.ordinal()] + fieldHeaderLengths[Field.tbsCertificate.ordinal()];
+        readHeader(tbsPos, tbsEnd, -1, "Version or serial number");
+        if (tag == 0xa0) {
+            tbsPos = readField(Field.version, tbsPos, tbsEnd, 0xa0);
+            int versionPos = fieldOffsets[Field.version.ordinal()] + fieldHeaderLengths[Field.version.ordinal()];
+            readHeader(versionPos, tbsPos, 0x02, "Version");
+            this.version = (buffer.get(versionPos + headerLength + contentLength - 1) & 0xff) + 1;
+        } else {
+            this.version = 1;
+        }
+        tbsPos = readField(Field.serialNumber, tbsPos, tbsEnd, 0x02);
+        tbsPos = readField(Field.signature, tbsPos, tbsEnd, SEQUENCE);
+        tbsPos = readField(Field.issuer, tbsPos, tbsEnd, SEQUENCE);
+        tbsPos = readField(Field.validity, tbsPos, tbsEnd, SEQUENCE);
+        tbsPos = readField(Field.subject, tbsPos, tbsEnd, SEQUENCE);
+        tbsPos = readField(Field.subjectPublicKeyInfo, tbsPos, tbsEnd, SEQUENCE);
+        while (tbsPos < tbsEnd) {
+            readHeader(tbsPos, tbsEnd, -1, "Optional TBS field");
+            switch (tag) {
+            case 0x81:
+            case 0xa1:
+                tbsPos = readField(Field.issuerUniqueID, tbsPos, tbsEnd, tag);
+                break;
+            case 0x82:
+            case 0xa2:
+                tbsPos = readField(Field.subjectUniqueID, tbsPos, tbsEnd, tag);
+                break;
+            case 0xa3:
+                tbsPos = readField(Field.extensions, tbsPos, tbsEnd, 0xa3);
+                break;
+            default:
+                throw malformed("Unexpected tag 0x" + Integer.toHexString(tag) + " in TBS certificate");
+            }
+        }
+        pos = readField(Field.signatureAlgorithm, tbsEnd, length, SEQUENCE);
+        pos = readField(Field.signatureValue, pos, length, 0x03);
+        if (pos != length) {
+            throw malformed("Unexpected data after certificate signature");
+        }
+
+        // Extensions
+        int extCount = 0;
+        int extPos = 0;
+        int extEnd = 0;
+        if (fieldOffsets[Field.extensions.ordinal()] >= 0) {
+            int extFieldPos = fieldOffsets[Field.extensions.ordinal()] + fieldHeaderLengths[Field.extensions.ordinal()];
+            readHeader(extFieldPos, extFieldPos + fieldLengths[Field.extensions.ordinal()]
+              - fieldHeaderLengths[Field.extensions.ordinal()], SEQUENCE, "Extensions");
+            extPos = extFieldPos + headerLength;
+            extEnd = extPos + contentLength;
+            for (int p = extPos; p < extEnd; p += headerLength + contentLength) {
+                readHeader(p, extEnd, SEQUENCE, "Extension");
+                extCount++;
+            }
+        }
+        this.extOffsets = new int[extCount];
+        this.extLengths = new int[extCount];
+        this.extOidOffsets = new int[extCount];
+        this.extOidLengths = new int[extCount];
+        this.extValueOffsets = new int[extCount];
+        this.extValueLengths = new int[extCount];
+        this.extCritical = new boolean[extCount];
+        for (int i = 0; i < extCount; i++) {
+            readHeader(extPos, extEnd, SEQUENCE, "Extension");
+            extOffsets[i] = extPos;
+            extLengths[i] = headerLength + contentLength;
+            int end = extPos + extLengths[i];
+            int p = extPos + headerLength;
+            readHeader(p, end, 0x06, "Extension OID");
+            extOidOffsets[i] = p;
+            extOidLengths[i] = headerLength + contentLength;
+            p += extOidLengths[i];
+            readHeader(p, end, -1, "Extension value");
+            if (tag == 0x01) {
+                extCritical[i] = contentLength == 1 && buffer.get(p + headerLength) != 0;
+                p += headerLength + contentLength;
+                readHeader(p, end, 0x04, "Extension value");
+            } else if (tag != 0x04) {
+                throw malformed("Extension value");
+            }
+            extValueOffsets[i] = p + headerLength;
+            extValueLengths[i] = contentLength;
+            if (p + headerLength + contentLength != end) {
+                throw malformed("Unexpected data in extension");
+            }
+            extPos = end;
+        }
+    }
+
+    /**
+     * Creates a view of a DER encoded certificate.
+     *
+     * @param encoded DER encoded certificate
+     * @throws IllegalArgumentException if the certificate structure is malformed
+     */
+    public DerCertificateView(byte[] encoded) {
+        this(ByteBuffer.wrap(encoded));
+    }
+
+    /**
+     * @return read-only buffer holding the DER encoded certificate
+     */
+    public ByteBuffer getEncoded() {
+        return buffer.slice(0, length);
+    }
+
+    /**
+     * @return the length of the DER encoded certificate
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return the certificate version, where 1 is returned if the version field is absent
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Tells whether a field is present. All fields except the optional version, unique identifiers and extensions are
+     * always present.
+     *
+     * @param field certificate field
+     * @return true if the field is present
+     */
+    public boolean hasField(Field field) {
+        return fieldOffsets[field.ordinal()] >= 0;
+    }
+
+    /**
+     * @param field certificate field
+     * @return the offset of the complete DER encoding of the field, or -1 if absent
+     */
+    public int getOffset(Field field) {
+        return fieldOffsets[field.ordinal()];
+    }
+
+    /**
+     * @param field certificate field
+     * @return the length of the complete DER encoding of the field, or 0 if absent
+     */
+    public int getLength(Field field) {
+        return fieldLengths[field.ordinal()];
+    }
+
+    /**
+     * @param field certificate field
+     * @return the offset of the content of the field, following the tag and length octets, or -1 if absent
+     */
+    public int getValueOffset(Field field) {
+        int offset = fieldOffsets[field.ordinal()];
+        return offset < 0 ? -1 : offset + fieldHeaderLengths[field.ordinal()];
+    }
+
+    /**
+     * @param field certificate field
+     * @return the length of the content of the field, or 0 if absent
+     */
+    public int getValueLength(Field field) {
+        return fieldLengths[field.ordinal()] - fieldHeaderLengths[field.ordinal()];
+    }
+
+    /**
+     * @param field certificate field
+     * @return read-only slice holding the complete DER encoding of the field, or null if absent
+     */
+    public ByteBuffer getField(Field field) {
+        return hasField(field) ? buffer.slice(getOffset(field), getLength(field)) : null;
+    }
+
+    /**
+     * @param field certificate field
+     * @return read-only slice holding the content of the field, or null if absent
+     */
+    public ByteBuffer getFieldValue(Field field) {
+        return hasField(field) ? buffer.slice(getValueOffset(field), getValueLength(field)) : null;
+    }
+
+    /**
+     * @return the number of extensions
+     */
+    public int getExtensionCount() {
+        return extOffsets.length;
+    }
+
+    /**
+     * Get the index of an extension.
+     *
+     * @param oid extension OID
+     * @return the index of the extension or -1 if the certificate has no such extension
+     */
+    public int indexOfExtension(ASN1ObjectIdentifier oid) {
+        byte[] encodedOid;
+        try {
+            encodedOid = oid.getEncoded(ASN1Encoding.DER);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Illegal OID", ex);
+        }
+        for (int i = 0; i < extOidOffsets.length; i++) {
+            if (extOidLengths[i] == encodedOid.length
+              && buffer.slice(extOidOffsets[i], extOidLengths[i]).equals(ByteBuffer.wrap(encodedOid))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param index extension index
+     * @return the extension OID
+     */
+    public ASN1ObjectIdentifier getExtensionOid(int index) {
+        byte[] encodedOid = new byte[extOidLengths[index]];
+        buffer.get(extOidOffsets[index], encodedOid);
+        return ASN1ObjectIdentifier.getInstance(encodedOid);
+    }
+
+    /**
+     * @param index extension index
+     * @return true if the extension is marked critical
+     */
+    public boolean isExtensionCritical(int index) {
+        return extCritical[index];
+    }
+
+    /**
+     * @param index extension index
+     * @return the offset of the complete DER encoding of the extension
+     */
+    public int getExtensionOffset(int index) {
+        return extOffsets[index];
+    }
+
+    /**
+     * @param index extension index
+     * @return the length of the complete DER encoding of the extension
+     */
+    public int getExtensionLength(int index) {
+        return extLengths[index];
+    }
+
+    /**
+     * @param index extension index
+     * @return the offset of the extension value, being the content of the extnValue octet string
+     */
+    public int getExtensionValueOffset(int index) {
+        return extValueOffsets[index];
+    }
+
+    /**
+     * @param index extension index
+     * @return the length of the extension value
+     */
+    public int getExtensionValueLength(int index) {
+        return extValueLengths[index];
+    }
+
+    /**
+     * @param index extension index
+     * @return read-only slice holding the DER encoded extension value
+     */
+    public ByteBuffer getExtensionValue(int index) {
+        return buffer.slice(extValueOffsets[index], extValueLengths[index]);
+    }
+
+    private int readField(Field field, int pos, int end, int expectedTag) {
+        readHeader(pos, end, expectedTag, field.name());
+        fieldOffsets[field.ordinal()] = pos;
+        fieldLengths[field.ordinal()] = headerLength + contentLength;
+        fieldHeaderLengths[field.ordinal()] = headerLength;
+        return pos + headerLength + contentLength;
+    }
+
+    private void readHeader(int pos, int end, int expectedTag, String element) {
+        if (pos + 2 > end) {
+            throw malformed(element + " is truncated");
+        }
+        int t = buffer.get(pos) & 0xff;
+        if ((t & 0x1f) == 0x1f) {
+            throw malformed(element + " has an unsupported tag");
+        }
+        if (expectedTag >= 0 && t != expectedTag) {
+            throw malformed(element + " has unexpected tag 0x" + Integer.toHexString(t));
+        }
+        int len = buffer.get(pos + 1) & 0xff;
+        int hLen = 2;
+        if (len > 0x7f) {
+            int lenBytes = len & 0x7f;
+            if (lenBytes == 0 || lenBytes > 4 || pos + 2 + lenBytes > end) {
+                throw malformed(element + " has an unsupported length encoding");
+            }
+            len = 0;
+            for (int i = 0; i < lenBytes; i++) {
+                len = (len << 8) | (buffer.get(pos + 2 + i) & 0xff);
+            }
+            hLen += lenBytes;
+            if (len < 0) {
+                throw malformed(element + " has an unsupported length encoding");
+            }
+        }
+        if (len > end - pos - hLen) {
+            throw malformed(element + " exceeds the enclosing structure");
+        }
+        tag = t;
+        headerLength = hLen;
+        contentLength = len;
+    }
+
+    private static IllegalArgumentException malformed(String message) {
+        return new IllegalArgumentException("Malformed certificate encoding: " + message);
+    }
+}
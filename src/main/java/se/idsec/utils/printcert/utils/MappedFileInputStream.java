@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Input stream reading a file through a sequence of memory-mapped windows, so that files larger than the 2 GB limit of
+ * a single mapping can be read without loading them onto the heap.
+ *
+ * @author stefan
+ */
+public class MappedFileInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private long position;
+    private MappedByteBuffer window;
+
+    /**
+     * Opens a file for reading in windows of 256 MB.
+     *
+     * @param file file to read
+     * @throws IOException on errors opening the file
+     */
+    public MappedFileInputStream(Path file) throws IOException {
+        this(file, PemCertificateReader.MAP_WINDOW_SIZE);
+    }
+
+    MappedFileInputStream(Path file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextWindow() ? window.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextWindow()) {
+            return -1;
+        }
+        int count = Math.min(len, window.remaining());
+        window.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean nextWindow() throws IOException {
+        while (window == null || !window.hasRemaining()) {
+            if (position >= size) {
+                return false;
+            }
+            long len = Math.min(windowSize, size - position);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, len);
+            position += len;
+        }
+        return true;
+    }
+}
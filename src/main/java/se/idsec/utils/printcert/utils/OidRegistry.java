@@ -0,0 +1,198 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import se.idsec.utils.printcert.enums.OidName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Central registry of OID lookups and OID display names.
+ *
+ * <p>
+ * The OID enums of this library use {@link #index(Object[], Function, Object)} to look up their values in constant
+ * time. Display names of OIDs, as returned by {@link OidName#getName(ASN1ObjectIdentifier)}, are held in a concurrent
+ * map that initially contains the {@link OidName} values and that may be extended by {@link #register(String, String)}
+ * or {@link #loadProperties(Properties)}, where a registered name replaces any existing name for the same OID.
+ * </p>
+ *
+ * <p>
+ * Display names are also loaded from the class path resource {@value #OID_NAMES_RESOURCE} when present. The
+ * resource is a properties file with OIDs as keys and display names as values.
+ * </p>
+ *
+ * @author stefan
+ */
+public final class OidRegistry {
+
+    /** Class path resource holding additional OID display names */
+    public static final String OID_NAMES_RESOURCE = "/print-cert-oid-names.properties";
+
+    private static final Logger LOG = Logger.getLogger(OidRegistry.class.getName());
+    private static final Map<ASN1ObjectIdentifier, String> DISPLAY_NAMES = new ConcurrentHashMap<>();
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    static {
+        for (OidName oidName : OidName.values()) {
+            DISPLAY_NAMES.putIfAbsent(new ASN1ObjectIdentifier(oidName.getOid()), oidName.getName());
+        }
+        try (InputStream in = OidRegistry.class.getResourceAsStream(OID_NAMES_RESOURCE)) {
+            if (in != null) {
+                loadProperties(in);
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            LOG.log(Level.WARNING, "Failed to load OID names from " + OID_NAMES_RESOURCE, ex);
+        }
+    }
+
+    private OidRegistry() {
+    }
+
+    /**
+     * Get the display name of an OID.
+     *
+     * @param oid OID
+     * @return the display name or null if no display name is registered for the OID
+     */
+    public static String getDisplayName(ASN1ObjectIdentifier oid) {
+        return oid == null ? null : DISPLAY_NAMES.get(oid);
+    }
+
+    /**
+     * Registers the display name of an OID, replacing any existing display name of the OID.
+     *
+     * @param oid OID
+     * @param displayName display name
+     */
+    public static void register(ASN1ObjectIdentifier oid, String displayName) {
+        DISPLAY_NAMES.put(Objects.requireNonNull(oid, "OID must not be null"),
+          Objects.requireNonNull(displayName, "Display name must not be null"));
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * Get the version of the registered display names, which changes each time a display name is registered. Used to
+     * invalidate cached output that includes display names.
+     *
+     * @return display name version
+     */
+    public static long getVersion() {
+        return VERSION.get();
+    }
+
+    /**
+     * Registers the display name of an OID, replacing any existing display name of the OID.
+     *
+     * @param oid OID in dot notation
+     * @param displayName display name
+     * @throws IllegalArgumentException if the OID is malformed
+     */
+    public static void register(String oid, String displayName) {
+        register(new ASN1ObjectIdentifier(Objects.requireNonNull(oid, "OID must not be null").trim()), displayName);
+    }
+
+    /**
+     * Registers display names from properties with OIDs as keys and display names as values.
+     *
+     * @param properties OID display names
+     * @throws IllegalArgumentException if an OID is malformed
+     */
+    public static void loadProperties(Properties properties) {
+        for (String oid : properties.stringPropertyNames()) {
+            register(oid, properties.getProperty(oid).trim());
+        }
+    }
+
+    /**
+     * Registers display names from a UTF-8 encoded properties file with OIDs as keys and display names as values.
+     *
+     * @param in properties file input
+     * @throws IOException error reading the properties
+     * @throws IllegalArgumentException if an OID is malformed
+     */
+    public static void loadProperties(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        loadProperties(properties);
+    }
+
+    /**
+     * Creates a constant time lookup of values by OID. If several values share the same OID, the first one is
+     * returned.
+     *
+     * @param values the values to index
+     * @param oidFunction function returning the OID in dot notation of a value, or null for values without OID
+     * @param defaultValue value returned for OIDs not matching any value
+     * @param <T> value type
+     * @return OID lookup
+     */
+    public static <T> Lookup<T> index(T[] values, Function<T, String> oidFunction, T defaultValue) {
+        Map<ASN1ObjectIdentifier, T> byOid = new HashMap<>();
+        Map<String, T> byId = new HashMap<>();
+        for (T value : values) {
+            String oid = oidFunction.apply(value);
+            if (oid != null) {
+                byOid.putIfAbsent(new ASN1ObjectIdentifier(oid), value);
+                byId.putIfAbsent(oid, value);
+            }
+        }
+        return new Lookup<>(byOid, byId, defaultValue);
+    }
+
+    /**
+     * Immutable lookup of values by OID.
+     *
+     * @param <T> value type
+     */
+    public static final class Lookup<T> {
+
+        private final Map<ASN1ObjectIdentifier, T> byOid;
+        private final Map<String, T> byId;
+        private final T defaultValue;
+
+        private Lookup(Map<ASN1ObjectIdentifier, T> byOid, Map<String, T> byId, T defaultValue) {
+            this.byOid = byOid;
+            this.byId = byId;
+            this.defaultValue = defaultValue;
+        }
+
+        public T get(ASN1ObjectIdentifier oid) {
+            T value = oid == null ? null : byOid.get(oid);
+            return value == null ? defaultValue : value;
+        }
+
+        public T get(String oid) {
+            T value = oid == null ? null : byId.get(oid);
+            return value == null ? defaultValue : value;
+        }
+    }
+}
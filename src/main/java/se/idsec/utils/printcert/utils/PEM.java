@@ -15,6 +15,8 @@
  */
 package se.idsec.utils.printcert.utils;
 
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * PEM Certificate format functions.
@@ -62,38 +64,130 @@ public class PEM {
         return b.toString();
     }
 
+    /**
+     * Strips the PEM armor from a certificate. If the input holds more than one certificate, the last one is returned.
+     *
+     * @param pemCert PEM certificate
+     * @return Base64 content of the certificate including any line breaks
+     */
     public static String trimPemCert(String pemCert) {
         if (pemCert == null) {
             return null;
         }
         String corePemCert = pemCert;
-        for (int i = 0; i < pemCert.length(); i++) {
-            if (pemCert.length() - i > beginCert.length()) {
-                if (pemCert.substring(i, i + beginCert.length()).equalsIgnoreCase(beginCert)) {
-                    corePemCert = pemCert.substring(i, pemCert.length());
-                }
+        for (int i = pemCert.length() - beginCert.length() - 1; i >= 0; i--) {
+            if (pemCert.regionMatches(true, i, beginCert, 0, beginCert.length())) {
+                corePemCert = pemCert.substring(i);
+                break;
             }
         }
 
         return (removeString(removeString(corePemCert, beginCert), endCert)).trim();
     }
 
+    /**
+     * Removes all case insensitive occurrences of a string together with the character following each occurrence.
+     *
+     * @param inpString input string
+     * @param removeString string to remove
+     * @return the input string with all occurrences removed, or an empty string if the input string is not longer than
+     * the string to remove
+     */
     public static String removeString(String inpString, String removeString) {
-        StringBuilder b = new StringBuilder();
-        if (inpString.length() > removeString.length()) {
-            for (int i = 0; i < inpString.length(); i++) {
-                if (inpString.length() - i >= removeString.length()) {
-                    if (inpString.substring(i, i + removeString.length()).equalsIgnoreCase(removeString)) {
-                        i = i + removeString.length();
-                    } else {
-                        b.append(inpString.charAt(i));
-                    }
-                } else {
-                    b.append(inpString.charAt(i));
+        int inpLen = inpString.length();
+        int removeLen = removeString.length();
+        if (inpLen <= removeLen) {
+            return "";
+        }
+        StringBuilder b = new StringBuilder(inpLen);
+        int start = 0;
+        int i = 0;
+        while (i <= inpLen - removeLen) {
+            if (inpString.regionMatches(true, i, removeString, 0, removeLen)) {
+                b.append(inpString, start, i);
+                i += removeLen + 1;
+                start = i;
+            } else {
+                i++;
+            }
+        }
+        if (start < inpLen) {
+            b.append(inpString, start, inpLen);
+        }
+        return b.toString();
+    }
+
+    /**
+     * Decodes the first PEM certificate in the input.
+     *
+     * @param pem PEM data
+     * @return DER encoded certificate or null if the input holds no PEM certificate
+     * @throws IllegalArgumentException if the certificate block is malformed
+     */
+    public static byte[] decodePemCert(CharSequence pem) {
+        List<byte[]> certs = decodePemCerts(pem, 1);
+        return certs.isEmpty() ? null : certs.get(0);
+    }
+
+    /**
+     * Decodes all PEM certificates in the input. Text outside of the certificate blocks is ignored, and line breaks and
+     * blanks within the blocks are skipped.
+     *
+     * @param pem PEM data
+     * @return DER encoded certificates in the order they appear in the input
+     * @throws IllegalArgumentException if a certificate block is malformed
+     */
+    public static List<byte[]> decodePemCerts(CharSequence pem) {
+        return decodePemCerts(pem, Integer.MAX_VALUE);
+    }
+
+    private static List<byte[]> decodePemCerts(CharSequence pem, int maxCount) {
+        List<byte[]> certs = new ArrayList<>();
+        if (pem == null) {
+            return certs;
+        }
+        char[] buf = new char[0];
+        int pos = 0;
+        while (certs.size() < maxCount) {
+            int begin = indexOfIgnoreCase(pem, beginCert, pos);
+            if (begin < 0) {
+                break;
+            }
+            int start = begin + beginCert.length();
+            int end = indexOfIgnoreCase(pem, endCert, start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Missing PEM certificate end marker");
+            }
+            if (buf.length < end - start) {
+                buf = new char[end - start];
+            }
+            int len = 0;
+            for (int i = start; i < end; i++) {
+                char c = pem.charAt(i);
+                if (c != ' ' && c != '\r' && c != '\n' && c != '\t') {
+                    buf[len++] = c;
                 }
             }
+            certs.add(Base64Coder.decode(buf, 0, len));
+            pos = end + endCert.length();
         }
+        return certs;
+    }
 
-        return b.toString();
+    private static int indexOfIgnoreCase(CharSequence s, String pattern, int fromIndex) {
+        char first = pattern.charAt(0);
+        for (int i = fromIndex; i <= s.length() - pattern.length(); i++) {
+            if (Character.toUpperCase(s.charAt(i)) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < pattern.length() && Character.toUpperCase(s.charAt(i + j)) == pattern.charAt(j)) {
+                j++;
+            }
+            if (j == pattern.length()) {
+                return i;
+            }
+        }
+        return -1;
     }
 }
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import se.idsec.utils.printcert.PrintCertificate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.cert.CertificateException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader of PEM certificate bundles.
+ *
+ * <p>
+ * The input is scanned byte by byte for {@code -----BEGIN CERTIFICATE-----} and {@code -----END CERTIFICATE-----}
+ * markers, and the Base64 content between them is decoded directly into a reusable buffer. Text outside of the
+ * certificate blocks, as well as other PEM blocks such as keys or CRLs, is skipped. Certificates are returned one at
+ * a time, so the memory used by the reader does not depend on the size of the bundle. Files are read through
+ * memory-mapped windows.
+ * </p>
+ *
+ * <p>
+ * A malformed certificate block causes {@link #next()} to throw an {@link IllegalArgumentException}. The reader then
+ * continues with the next block. I/O errors are thrown as {@link UncheckedIOException}.
+ * </p>
+ *
+ * @author stefan
+ */
+public class PemCertificateReader implements Iterator<PrintCertificate>, Closeable {
+
+    /** Maximum size of each memory-mapped file window */
+    static final long MAP_WINDOW_SIZE = 1L << 28;
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final byte[] BEGIN = PEM.beginCert.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = PEM.endCert.getBytes(StandardCharsets.US_ASCII);
+    private static final int[] BEGIN_FAILURE = getFailureFunction(BEGIN);
+    private static final byte[] DECODE_MAP = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_MAP, (byte) -1);
+        for (int i = 0; i < 26; i++) {
+            DECODE_MAP['A' + i] = (byte) i;
+            DECODE_MAP['a' + i] = (byte) (26 + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            DECODE_MAP['0' + i] = (byte) (52 + i);
+        }
+        DECODE_MAP['+'] = 62;
+        DECODE_MAP['/'] = 63;
+    }
+
+    private static final int OUTSIDE = 0;
+    private static final int CONTENT = 1;
+    private static final int END_MARKER = 2;
+
+    private final ByteSource source;
+    private final boolean lazy;
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private int readPos;
+    private int readLimit;
+
+    private int state = OUTSIDE;
+    private int matched;
+    private byte[] der = new byte[4096];
+    private int derLen;
+    private int quad;
+    private int quadLen;
+    private int padding;
+    private int blockCount;
+
+    private byte[] nextCert;
+    private RuntimeException nextError;
+    private boolean eof;
+
+    /**
+     * Creates a reader of a PEM file returning lazy {@link PrintCertificate} instances.
+     *
+     * @param file PEM file
+     * @throws IOException error opening the file
+     */
+    public PemCertificateReader(Path file) throws IOException {
+        this(file, true);
+    }
+
+    /**
+     * Creates a reader of a PEM file.
+     *
+     * @param file PEM file
+     * @param lazy true to return lazy {@link PrintCertificate} instances
+     * @throws IOException error opening the file
+     */
+    public PemCertificateReader(Path file, boolean lazy) throws IOException {
+        this(new MappedFileSource(FileChannel.open(file, StandardOpenOption.READ)), lazy);
+    }
+
+    /**
+     * Creates a reader of the remaining content of a buffer returning lazy {@link PrintCertificate} instances. The
+     * position of the provided buffer is not changed.
+     *
+     * @param buffer PEM data
+     */
+    public PemCertificateReader(ByteBuffer buffer) {
+        this(buffer, true);
+    }
+
+    /**
+     * Creates a reader of the remaining content of a buffer. The position of the provided buffer is not changed.
+     *
+     * @param buffer PEM data
+     * @param lazy true to return lazy {@link PrintCertificate} instances
+     */
+    public PemCertificateReader(ByteBuffer buffer, boolean lazy) {
+        this(new BufferSource(buffer.duplicate()), lazy);
+    }
+
+    /**
+     * Creates a reader of an input stream returning lazy {@link PrintCertificate} instances. The stream is closed
+     * when the reader is closed.
+     *
+     * @param in PEM data
+     */
+    public PemCertificateReader(InputStream in) {
+        this(in, true);
+    }
+
+    /**
+     * Creates a reader of an input stream. The stream is closed when the reader is closed.
+     *
+     * @param in PEM data
+     * @param lazy true to return lazy {@link PrintCertificate} instances
+     */
+    public PemCertificateReader(InputStream in, boolean lazy) {
+        this(new StreamSource(in), lazy);
+    }
+
+    private PemCertificateReader(ByteSource source, boolean lazy) {
+        this.source = source;
+        this.lazy = lazy;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextCert != null || nextError != null) {
+            return true;
+        }
+        if (eof) {
+            return false;
+        }
+        try {
+            if (scan()) {
+                nextCert = Arrays.copyOf(der, derLen);
+                return true;
+            }
+            eof = true;
+            return false;
+        } catch (IllegalArgumentException ex) {
+            nextError = ex;
+            return true;
+        } catch (IOException ex) {
+            eof = true;
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Get the DER encoding of the next certificate without parsing it.
+     *
+     * @return DER encoded certificate
+     * @throws NoSuchElementException if there are no more certificates
+     * @throws IllegalArgumentException if the next certificate block is malformed
+     */
+    public byte[] nextEncoded() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (nextError != null) {
+            RuntimeException error = nextError;
+            nextError = null;
+            throw error;
+        }
+        byte[] certBytes = nextCert;
+        nextCert = null;
+        return certBytes;
+    }
+
+    @Override
+    public PrintCertificate next() {
+        byte[] certBytes = nextEncoded();
+        try {
+            return lazy
+              ? PrintCertificate.getLazyInstance(certBytes)
+              : new PrintCertificate(certBytes);
+        } catch (IOException | CertificateException | RuntimeException ex) {
+            throw new IllegalArgumentException("Illegal certificate in PEM block " + blockCount + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        eof = true;
+        nextCert = null;
+        nextError = null;
+        source.close();
+    }
+
+    /**
+     * Scans the input until the next complete certificate block.
+     *
+     * @return true if a certificate was decoded into the DER buffer, false at end of input
+     */
+    private boolean scan() throws IOException {
+        while (true) {
+            if (readPos == readLimit) {
+                int len = source.read(readBuffer);
+                if (len < 0) {
+                    if (state != OUTSIDE) {
+                        throw malformed("Truncated PEM certificate block at end of input");
+                    }
+                    return false;
+                }
+                readPos = 0;
+                readLimit = len;
+            }
+            while (readPos < readLimit) {
+                int b = readBuffer[readPos++] & 0xff;
+                switch (state) {
+                case OUTSIDE:
+                    while (matched > 0 && b != BEGIN[matched]) {
+                        matched = BEGIN_FAILURE[matched - 1];
+                    }
+                    if (b == BEGIN[matched] && ++matched == BEGIN.length) {
+                        state = CONTENT;
+                        matched = 0;
+                        derLen = 0;
+                        quadLen = 0;
+                        padding = 0;
+                        blockCount++;
+                    }
+                    break;
+                case CONTENT:
+                    if (b < 128 && DECODE_MAP[b] >= 0) {
+                        if (padding > 0) {
+                            throw malformed("Base64 data after padding in PEM block " + blockCount);
+                        }
+                        quad = (quad << 6) | DECODE_MAP[b];
+                        if (++quadLen == 4) {
+                            writeQuad();
+                        }
+                    } else if (b == '=') {
+                        quad <<= 6;
+                        padding++;
+                        if (++quadLen == 4) {
+                            writeQuad();
+                        }
+                    } else if (b == '-') {
+                        state = END_MARKER;
+                        matched = 1;
+                    } else if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                        throw malformed("Illegal character in PEM block " + blockCount);
+                    }
+                    break;
+                default:
+                    if (b != END[matched]) {
+                        throw malformed("Malformed end of PEM block " + blockCount);
+                    }
+                    if (++matched == END.length) {
+                        if (quadLen != 0) {
+                            throw malformed("Truncated Base64 data in PEM block " + blockCount);
+                        }
+                        state = OUTSIDE;
+                        matched = 0;
+                        return true;
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeQuad() {
+        if (padding > 2) {
+            throw malformed("Illegal Base64 padding in PEM block " + blockCount);
+        }
+        if (derLen + 3 > der.length) {
+            der = Arrays.copyOf(der, der.length << 1);
+        }
+        der[derLen++] = (byte) (quad >>> 16);
+        if (padding < 2) {
+            der[derLen++] = (byte) (quad >>> 8);
+        }
+        if (padding < 1) {
+            der[derLen++] = (byte) quad;
+        }
+        quad = 0;
+        quadLen = 0;
+    }
+
+    private IllegalArgumentException malformed(String message) {
+        state = OUTSIDE;
+        matched = 0;
+        return new IllegalArgumentException(message);
+    }
+
+    private static int[] getFailureFunction(byte[] pattern) {
+        int[] failure = new int[pattern.length];
+        int k = 0;
+        for (int i = 1; i < pattern.length; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) {
+                k = failure[k - 1];
+            }
+            if (pattern[i] == pattern[k]) {
+                k++;
+            }
+            failure[i] = k;
+        }
+        return failure;
+    }
+
+    private interface ByteSource extends Closeable {
+
+        /**
+         * Reads the next part of the input into the buffer.
+         *
+         * @return the number of bytes read, or -1 at end of input
+         */
+        int read(byte[] buffer) throws IOException;
+    }
+
+    private static class StreamSource implements ByteSource {
+
+        private final InputStream in;
+
+        StreamSource(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read(byte[] buffer) throws IOException {
+            int len;
+            do {
+                len = in.read(buffer);
+            } while (len == 0);
+            return len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static class BufferSource implements ByteSource {
+
+        private final ByteBuffer buffer;
+
+        BufferSource(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read(byte[] target) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int len = Math.min(target.length, buffer.remaining());
+            buffer.get(target, 0, len);
+            return len;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class MappedFileSource implements ByteSource {
+
+        private final FileChannel channel;
+        private final long size;
+        private long position;
+        private MappedByteBuffer window;
+
+        MappedFileSource(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        @Override
+        public int read(byte[] target) throws IOException {
+            while (window == null || !window.hasRemaining()) {
+                if (position >= size) {
+                    return -1;
+                }
+                long len = Math.min(MAP_WINDOW_SIZE, size - position);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, len);
+                position += len;
+            }
+            int len = Math.min(target.length, window.remaining());
+            window.get(target, 0, len);
+            return len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            window = null;
+            channel.close();
+        }
+    }
+}
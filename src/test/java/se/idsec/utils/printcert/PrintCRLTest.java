@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.X509CRLHolder;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.idsec.utils.printcert.display.RenderOptions;
+
+/**
+ * Print CRL tests
+ */
+class PrintCRLTest {
+
+  private static final int ENTRIES = 1000;
+  private static byte[] crlBytes;
+
+  @BeforeAll
+  static void init() throws Exception {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+    kpg.initialize(new ECGenParameterSpec("secp256r1"));
+    KeyPair keyPair = kpg.generateKeyPair();
+    Date now = new Date();
+    X509v2CRLBuilder builder = new X509v2CRLBuilder(new X500Name("CN=Test CRL Issuer,O=Test Org,C=SE"), now);
+    builder.setNextUpdate(new Date(now.getTime() + 86400000L));
+    for (int i = 1; i <= ENTRIES; i++) {
+      builder.addCRLEntry(BigInteger.valueOf(i), now, i % 2 == 0 ? CRLReason.keyCompromise : CRLReason.superseded);
+    }
+    builder.addExtension(Extension.cRLNumber, false, new CRLNumber(BigInteger.valueOf(42)));
+    X509CRLHolder crl = builder.build(new JcaContentSignerBuilder("SHA256withECDSA").build(keyPair.getPrivate()));
+    crlBytes = crl.getEncoded();
+    assertEquals(ENTRIES, crl.getRevokedCertificates().size());
+  }
+
+  @Test void testText() {
+    String text = new PrintCRL(crlBytes).render(RenderOptions.DEFAULT_TEXT);
+    assertTrue(text.startsWith("X.509 CRL {\n"));
+    assertTrue(text.contains("Test CRL Issuer"));
+    assertTrue(text.contains("Next update"));
+    assertTrue(text.contains("Revoked certificate 1:\n"));
+    assertTrue(text.contains("Revoked certificate " + ENTRIES + ":\n"));
+    assertTrue(text.contains("Reason         : keyCompromise"));
+    assertTrue(text.contains("Revoked certificates: " + ENTRIES + "\n"));
+    assertTrue(text.contains("CRL Number (2.5.29.20)"));
+    assertTrue(text.contains("CRL number: 42"));
+    assertTrue(text.contains("CRL Signature:\nAlgorithm: SHA256WITHECDSA"));
+    assertTrue(text.indexOf("Revoked certificates:") < text.indexOf("CRL Number"));
+  }
+
+  @Test void testToString() {
+    String text = new PrintCRL(crlBytes).toString();
+    assertEquals(new PrintCRL(crlBytes).render(RenderOptions.DEFAULT_TEXT, 0, PrintCRL.TO_STRING_ENTRY_LIMIT), text);
+    assertTrue(text.contains("Revoked certificate " + PrintCRL.TO_STRING_ENTRY_LIMIT + ":\n"));
+    assertFalse(text.contains("Revoked certificate " + (PrintCRL.TO_STRING_ENTRY_LIMIT + 1) + ":"));
+    assertTrue(text.contains("Revoked certificates: " + ENTRIES + "\n"));
+    assertEquals("X.509 CRL of 3 bytes", new PrintCRL(new byte[] { 0x30, 0x01, 0x02 }).toString());
+  }
+
+  @Test void testPaging() {
+    String page = new PrintCRL(crlBytes).render(RenderOptions.DEFAULT_TEXT, 10, 5);
+    assertFalse(page.contains("Revoked certificate 10:"));
+    assertTrue(page.contains("Revoked certificate 11:\n  Serial number  : b\n"));
+    assertTrue(page.contains("Revoked certificate 15:"));
+    assertFalse(page.contains("Revoked certificate 16:"));
+    assertTrue(page.contains("Revoked certificates: " + ENTRIES + "\n"));
+    assertTrue(page.contains("CRL number: 42"));
+
+    String empty = new PrintCRL(crlBytes).render(RenderOptions.DEFAULT_TEXT, 0, 0);
+    assertFalse(empty.contains("Revoked certificate 1:"));
+    assertTrue(empty.contains("Revoked certificates: " + ENTRIES + "\n"));
+    assertThrows(IllegalArgumentException.class,
+      () -> new PrintCRL(crlBytes).render(RenderOptions.DEFAULT_TEXT, -1, 5));
+  }
+
+  @Test void testHtmlAndJson() {
+    PrintCRL crl = new PrintCRL(crlBytes);
+    String html = crl.render(RenderOptions.html("CRL", null, false, true), 0, 2);
+    assertTrue(html.contains("Revoked certificate 2"));
+    assertFalse(html.contains("Revoked certificate 3<"));
+    assertTrue(html.contains("CRL Signature"));
+    assertTrue(html.endsWith("</table>"));
+    assertEquals(1, html.split("<table class='table table-sm cert-table'>", -1).length - 1);
+
+    String json = crl.render(RenderOptions.json(false, true), 998, 10);
+    assertTrue(json.startsWith("{\"fields\":{\"rows\":[{\"name\":\"Version\",\"value\":\"2\"}"));
+    assertTrue(json.contains("\"entries\":[{\"rows\":[{\"name\":\"Serial number\",\"value\":\"3e7\"}"));
+    assertTrue(json.contains("{\"name\":\"Serial number\",\"value\":\"3e8\"}"));
+    assertFalse(json.contains("\"value\":\"3e6\""));
+    assertTrue(json.contains("],\"entryCount\":" + ENTRIES + ",\"extensions\":[{\"index\":0,\"oid\":\"2.5.29.20\""));
+    assertTrue(json.endsWith("]}}"));
+  }
+
+  @Test void testMappedFileAndStream(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve("test.crl");
+    Files.write(file, crlBytes);
+    String expected = new PrintCRL(crlBytes).render(RenderOptions.DEFAULT_TEXT);
+    PrintCRL fileCrl = new PrintCRL(file);
+    assertEquals(expected, fileCrl.render(RenderOptions.DEFAULT_TEXT));
+    assertEquals(ByteBuffer.wrap(crlBytes), fileCrl.getEncoded());
+    assertThrows(IOException.class, () -> new PrintCRL(dir.resolve("missing.crl")));
+
+    StringWriter writer = new StringWriter();
+    PrintCRL.write(new ByteArrayInputStream(crlBytes), RenderOptions.DEFAULT_TEXT, writer);
+    assertEquals(expected, writer.toString());
+  }
+}
@@ -19,15 +19,41 @@ package se.idsec.utils.printcert;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
 import java.security.Security;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.jce.interfaces.ECPublicKey;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import se.idsec.utils.printcert.display.DisplayCert;
+import se.idsec.utils.printcert.display.RenderOptions;
+import se.idsec.utils.printcert.display.RenderResult;
+import se.idsec.utils.printcert.enums.FingerprintType;
+import se.idsec.utils.printcert.utils.CertUtils;
 
 /**
  * Print cert tests
@@ -50,6 +76,224 @@ class PrintCertificateTest {
     testCertificate("signcert_rsa.crt");
   }
 
+  @Test void testLazyInstance() throws Exception {
+    for (String certResourceName : new String[] { "root.crt", "cacert.crt", "signcert.crt", "signcert_rsa.crt" }) {
+      byte[] certBytes = getCertBytes(certResourceName);
+      PrintCertificate printCertificate = new PrintCertificate(certBytes);
+      PrintCertificate lazyCertificate = PrintCertificate.getLazyInstance(certBytes);
+
+      assertTrue(lazyCertificate.isLazy());
+      assertNull(lazyCertificate.cert);
+      assertNull(lazyCertificate.extensionInfoList);
+      assertEquals(printCertificate.getSerialNumber(), lazyCertificate.getSerialNumber());
+      assertEquals(printCertificate.getNotAfter(), lazyCertificate.getNotAfter());
+      assertArrayEquals(printCertificate.getSubjectKeyInfo(), lazyCertificate.getSubjectKeyInfo());
+      assertNull(lazyCertificate.cert);
+      assertEquals(printCertificate.toString(true, true, true), lazyCertificate.toString(true, true, true));
+      assertEquals(printCertificate.toHtml("X.509 Certificate", true, true), lazyCertificate.toHtml("X.509 Certificate", true, true));
+      assertNotNull(lazyCertificate.derView);
+      assertNull(printCertificate.derView);
+    }
+  }
+
+  @Test void testMemoizedRenderResults() throws Exception {
+    PrintCertificate printCertificate = new PrintCertificate(getCertBytes("signcert.crt"));
+    assertFalse(printCertificate.isMemoizeRenderResults());
+    assertNotSame(printCertificate.toHtml("X.509 Certificate", true, true),
+      printCertificate.toHtml("X.509 Certificate", true, true));
+
+    printCertificate.setMemoizeRenderResults(true);
+    String html = printCertificate.toHtml("X.509 Certificate", true, true);
+    assertSame(html, printCertificate.toHtml("X.509 Certificate", true, true));
+    assertNotEquals(html, printCertificate.toHtml("X.509 Certificate", false, true));
+    assertSame(printCertificate.toString(true, true, true), printCertificate.toString(true, true, true));
+    for (int i = 0; i < PrintCertificate.MAX_MEMOIZED_RENDER_RESULTS + 2; i++) {
+      printCertificate.toHtml("Heading " + i, false, false);
+    }
+    assertEquals(PrintCertificate.MAX_MEMOIZED_RENDER_RESULTS, printCertificate.renderResults.size());
+    assertSame(html, printCertificate.toHtml("X.509 Certificate", true, true));
+  }
+
+  @Test void testRenderAll() throws Exception {
+    List<byte[]> batch = new ArrayList<>();
+    for (String certResourceName : new String[] { "root.crt", "cacert.crt", "signcert.crt", "signcert_rsa.crt" }) {
+      batch.add(getCertBytes(certResourceName));
+    }
+    batch.add(2, new byte[] { 0x30, 0x03, 0x02, 0x01, 0x01 });
+    RenderOptions options = RenderOptions.text(true, true, true);
+    List<RenderResult> results = DisplayCert.renderAll(batch, options, 2);
+    assertEquals(batch.size(), results.size());
+    for (int i = 0; i < results.size(); i++) {
+      RenderResult result = results.get(i);
+      assertEquals(i, result.getIndex());
+      if (i == 2) {
+        assertFalse(result.isSuccess());
+        assertNotNull(result.getException());
+        continue;
+      }
+      assertTrue(result.isSuccess());
+      assertEquals(PrintCertificate.getLazyInstance(batch.get(i)).render(options), result.getOutput());
+    }
+  }
+
+  @Test void testFingerprints() throws Exception {
+    byte[] certBytes = getCertBytes("signcert_rsa.crt");
+    PrintCertificate printCertificate = PrintCertificate.getLazyInstance(certBytes);
+    byte[] spki = printCertificate.getSubjectPublicKeyInfo().getEncoded();
+    Map<FingerprintType, byte[]> fingerprints = printCertificate.getFingerprints(EnumSet.allOf(FingerprintType.class));
+    assertArrayEquals(MessageDigest.getInstance("SHA-1").digest(certBytes), fingerprints.get(FingerprintType.sha1));
+    assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(certBytes), fingerprints.get(FingerprintType.sha256));
+    assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(spki), fingerprints.get(FingerprintType.spkiSha256));
+    assertArrayEquals(fingerprints.get(FingerprintType.sha256), printCertificate.getFingerprint(FingerprintType.sha256));
+
+    String text = printCertificate.render(RenderOptions.text(true, false, false)
+      .withFingerprints(FingerprintType.spkiSha256, FingerprintType.sha256));
+    assertFalse(text.contains(FingerprintType.sha1.getDisplayName()));
+    assertTrue(text.contains(DisplayCert.byteArrayToHexString(fingerprints.get(FingerprintType.spkiSha256))));
+    assertTrue(text.indexOf(FingerprintType.sha256.getDisplayName())
+      < text.indexOf(FingerprintType.spkiSha256.getDisplayName()));
+    assertTrue(printCertificate.toString().contains(DisplayCert.byteArrayToHexString(fingerprints.get(FingerprintType.sha1))));
+  }
+
+  @Test void testPublicKeyAndSignatureRows() throws Exception {
+    PrintCertificate rsaCertificate = new PrintCertificate(getCertBytes("signcert_rsa.crt"));
+    String rsaText = rsaCertificate.toString(true, false, true);
+    assertTrue(rsaText.contains("Public Key      : RSA Public Key "
+      + "[a8:d9:29:a2:ce:62:d2:87:08:1b:ae:9b:02:a4:7d:ec:0d:d9:81:bb],[56:66:d1:a4]\n"
+      + "public exponent : 10001\n"));
+    assertFalse(rsaText.contains("modulus"));
+    assertTrue(rsaText.contains("Certificate Signature:\nAlgorithm: SHA256WITHECDSA\n"));
+    assertFalse(rsaText.contains("Signature Algorithm"));
+
+    String rsaVerboseText = rsaCertificate.toString(true, true, true);
+    assertTrue(rsaVerboseText.contains("]\nmodulus         : a8df369f632106318fcc341e415376e1"));
+    assertTrue(rsaVerboseText.contains("7e03\npublic exponent : 10001\n"));
+    assertTrue(rsaVerboseText.contains("Certificate Signature:\n"
+      + "Signature Algorithm: SHA256WITHECDSA\n"
+      + "Signature          : 304502205d9415ddd95ec965e3b8b62cb35d98ed921b7ff26c246de9a95f7c8844ebce51022100"
+      + "b0ecfdb4123329240ab74496afa03c67eefec705235ff4391a87ba025afab51b\n"));
+
+    PrintCertificate ecCertificate = new PrintCertificate(getCertBytes("signcert.crt"));
+    String ecRows = "Public Key      : EC Public Key [e8:a1:83:06:37:30:7f:eb:12:e7:c7:37:d4:80:0f:25:2b:fd:07:86]\n"
+      + "X               : 9f64ebc79e53afa730232cdc4b016b6eec53112701f401d599b9c678a0981204\n"
+      + "Y               : 6ba56526668a5fe6e060e35ee336697a2e6cc14dc4fe6cc64a659b02f0dfadf7\n";
+    String ecText = ecCertificate.toString(true, false, true);
+    assertTrue(ecText.contains(ecRows));
+    assertTrue(ecText.contains("Certificate Signature:\nAlgorithm: SHA256WITHECDSA\n"));
+    String ecVerboseText = ecCertificate.toString(true, true, true);
+    assertTrue(ecVerboseText.contains(ecRows));
+    assertTrue(ecVerboseText.contains("Certificate Signature:\n"
+      + "Signature Algorithm: SHA256WITHECDSA\n"
+      + "Signature          : 30450220030a1dbd9287d3fea1eb09e638e0cc4e70e72b2dfc4cc0409eb1bfe9a21c8c6c022100"
+      + "e128ecc036e243513f93de6c79ba570aba564e87d521320d4bdbbb120b0fb3a7\n"));
+  }
+
+  @Test void testPublicKeyAndSignatureRowsOfOtherKeyTypes() throws Exception {
+    KeyPair ecKeyPair = generateKeyPair("EC");
+    assertBouncyCastleRows(generateKeyPair("DSA"), null, "SHA256withDSA", "DSA Public Key [", "Y");
+    assertBouncyCastleRows(generateKeyPair("Ed25519"), null, "Ed25519", "Ed25519 Public Key [", "public data");
+    assertBouncyCastleRows(generateKeyPair("Ed448"), null, "Ed448", "Ed448 Public Key [", "public data");
+    assertBouncyCastleRows(generateKeyPair("X25519"), ecKeyPair, "SHA256withECDSA", "X25519 Public Key [",
+      "public data");
+    assertBouncyCastleRows(generateKeyPair("RSASSA-PSS"), null, "SHA256withRSAandMGF1", "RSA Public Key [",
+      "public exponent");
+    assertBouncyCastleRows(generateKeyPair("ML-DSA-44"), null, "ML-DSA-44", "ML-DSA-44 Public Key [", "public data");
+  }
+
+  @Test void testCompressedECPublicKey() throws Exception {
+    KeyPair ecKeyPair = generateKeyPair("EC");
+    SubjectPublicKeyInfo publicKeyInfo = SubjectPublicKeyInfo.getInstance(ecKeyPair.getPublic().getEncoded());
+    ECPoint point = ((ECPublicKey) ecKeyPair.getPublic()).getQ();
+    SubjectPublicKeyInfo compressedKeyInfo = new SubjectPublicKeyInfo(publicKeyInfo.getAlgorithm(),
+      point.getEncoded(true));
+    String compressedText = new PrintCertificate(
+      issueCertificate(compressedKeyInfo, ecKeyPair.getPrivate(), "SHA256withECDSA")).toString(true, true, true);
+    String uncompressedText = new PrintCertificate(
+      issueCertificate(publicKeyInfo, ecKeyPair.getPrivate(), "SHA256withECDSA")).toString(true, true, true);
+    String keyRows = uncompressedText.substring(uncompressedText.indexOf("Public Key"),
+      uncompressedText.indexOf("SHA1 Fingerprint"));
+    assertTrue(keyRows.contains("X               : " + point.getAffineXCoord().toBigInteger().toString(16)));
+    assertTrue(compressedText.contains(keyRows));
+  }
+
+  @Test void testWriteToPropagatesIOException() throws Exception {
+    PrintCertificate printCertificate = new PrintCertificate(getCertBytes("signcert.crt"));
+    Appendable failingOut = new Appendable() {
+      @Override public Appendable append(CharSequence csq) throws IOException {
+        if ("Extension ".contentEquals(csq)) {
+          throw new IOException("Write failed");
+        }
+        return this;
+      }
+
+      @Override public Appendable append(CharSequence csq, int start, int end) throws IOException {
+        return append(csq.subSequence(start, end));
+      }
+
+      @Override public Appendable append(char c) {
+        return this;
+      }
+    };
+    IOException ex = assertThrows(IOException.class, () -> printCertificate.writeTo(failingOut, true, false, true));
+    assertEquals("Write failed", ex.getMessage());
+  }
+
+  @Test void testUndecodableKeyIdentifiers() throws Exception {
+    PrintCertificate printCertificate = PrintCertificate.getLazyInstance(getCertBytes("cacert.crt"));
+    assertNotNull(printCertificate.getSubjectKeyInfo());
+    printCertificate.getExtensionInfo(Extension.subjectKeyIdentifier.getId()).setExtData(new byte[] { 0x04, 0x05 });
+    printCertificate.getExtensionInfo(Extension.authorityKeyIdentifier.getId()).setExtData(new byte[] { 0x30 });
+    assertNull(printCertificate.getSubjectKeyInfo());
+    assertNull(printCertificate.getAuthorityKeyInfo());
+  }
+
+  /**
+   * Asserts that the public key rows and the signature algorithm of a certificate match the Bouncy Castle certificate
+   * print.
+   */
+  private void assertBouncyCastleRows(KeyPair subjectKeyPair, KeyPair issuerKeyPair, String signatureAlgorithm,
+    String keyPrefix, String keyParam) throws Exception {
+    byte[] certBytes = issueCertificate(SubjectPublicKeyInfo.getInstance(subjectKeyPair.getPublic().getEncoded()),
+      (issuerKeyPair == null ? subjectKeyPair : issuerKeyPair).getPrivate(), signatureAlgorithm);
+    String bcText = new JcaX509CertificateConverter().setProvider("BC")
+      .getCertificate(new X509CertificateHolder(certBytes)).toString();
+    String text = new PrintCertificate(certBytes).toString(true, true, true);
+
+    List<String> bcKeyLines = CertUtils.getTextLines(
+      bcText.substring(bcText.indexOf("Public Key:"), bcText.indexOf("\n\n", bcText.indexOf("Public Key:"))));
+    assertTrue(bcKeyLines.get(0).startsWith("Public Key: " + keyPrefix), bcKeyLines.get(0));
+    assertTrue(text.contains("Public Key      : " + bcKeyLines.get(0).substring(12) + "\n"), text);
+    for (String bcKeyLine : bcKeyLines.subList(1, bcKeyLines.size())) {
+      String param = bcKeyLine.substring(0, bcKeyLine.indexOf(':')).trim();
+      String value = bcKeyLine.substring(bcKeyLine.indexOf(':') + 1).trim();
+      assertTrue(text.contains("\n" + param + " ".repeat(16 - param.length()) + ": " + value + "\n"), text);
+    }
+    assertTrue(bcKeyLines.stream().anyMatch(line -> line.trim().startsWith(keyParam + ":")));
+
+    String bcSignatureAlgorithm = bcText.substring(bcText.indexOf("Signature Algorithm:") + 20).trim();
+    bcSignatureAlgorithm = bcSignatureAlgorithm.substring(0, bcSignatureAlgorithm.indexOf('\n'));
+    assertTrue(text.contains("\nSignature Algorithm: " + bcSignatureAlgorithm + "\n"), text);
+  }
+
+  private static KeyPair generateKeyPair(String algorithm) throws Exception {
+    // The SUN provider uses precomputed DSA parameters, while the BC provider generates new ones
+    return KeyPairGenerator.getInstance(algorithm, algorithm.equals("DSA") ? "SUN" : "BC").generateKeyPair();
+  }
+
+  private static byte[] issueCertificate(SubjectPublicKeyInfo publicKeyInfo, PrivateKey signingKey,
+    String signatureAlgorithm) throws Exception {
+    X500Name name = new X500Name("CN=Key test");
+    return new X509v3CertificateBuilder(name, BigInteger.ONE, new Date(), new Date(System.currentTimeMillis() + 3600000L),
+      name, publicKeyInfo)
+      .build(new JcaContentSignerBuilder(signatureAlgorithm).setProvider("BC").build(signingKey))
+      .getEncoded();
+  }
+
+  private byte[] getCertBytes(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return cf.generateCertificate(PrintCertificateTest.class.getResourceAsStream("/" + certResourceName)).getEncoded();
+  }
+
   private void testCertificate(String certResourceName) throws Exception {
 
     CertificateFactory cf = CertificateFactory.getInstance("X.509");
@@ -61,6 +305,9 @@ class PrintCertificateTest {
 
     String certificateString = printCertificate.toString(true, true, true);
     assertEquals("X.509 Certificate {", certificateString.substring(0, certificateString.indexOf("\n")));
+    StringWriter writer = new StringWriter();
+    printCertificate.writeTo(writer, true, true, true);
+    assertEquals(certificateString, writer.toString());
     String certificateHtml = printCertificate.toHtml("X.509 Certificate",true, true);
     assertEquals("<table class='table table-sm cert-table-head'", certificateHtml.substring(0, certificateHtml.indexOf(">")));
     log.info("Certificate {} text print:\n{}", certResourceName, certificateString);
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.security.KeyPair;
+import java.security.Security;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bouncycastle.asn1.DERPrintableString;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.pkcs.jcajce.JcaPKCS10CertificationRequestBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se.idsec.utils.printcert.display.RenderOptions;
+import se.idsec.utils.printcert.enums.SubjectDnType;
+import se.idsec.utils.printcert.utils.CertReqUtils;
+
+/**
+ * Print certification request tests
+ */
+class PrintCertificationRequestTest {
+
+  private static byte[] reqBytes;
+
+  @BeforeAll
+  static void init() throws Exception {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+    KeyPair keyPair = CertReqUtils.generateKeyPair("RSA", 2048);
+    Map<SubjectDnType, String> nameMap = new LinkedHashMap<>();
+    nameMap.put(SubjectDnType.country, "SE");
+    nameMap.put(SubjectDnType.orgnaizationName, "Test Org");
+    nameMap.put(SubjectDnType.cn, "Test Requester");
+    ExtensionsGenerator extGen = new ExtensionsGenerator();
+    extGen.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.digitalSignature));
+    extGen.addExtension(Extension.subjectAlternativeName, false,
+      new GeneralNames(new GeneralName(GeneralName.dNSName, "test.example.com")));
+    reqBytes = new JcaPKCS10CertificationRequestBuilder(CertReqUtils.getDn(nameMap), keyPair.getPublic())
+      .addAttribute(PKCSObjectIdentifiers.pkcs_9_at_extensionRequest, extGen.generate())
+      .addAttribute(PKCSObjectIdentifiers.pkcs_9_at_challengePassword, new DERPrintableString("secret"))
+      .build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate()))
+      .getEncoded();
+  }
+
+  @Test void testPrintRequest() throws Exception {
+    PrintCertificationRequest request = new PrintCertificationRequest(reqBytes);
+    assertEquals(1, request.getVersionNumber());
+    assertEquals(2, request.getExtensionInfoList().size());
+    assertNotNull(request.getExtensionInfo(Extension.keyUsage.getId()));
+
+    String text = request.toString(true, false, true);
+    assertTrue(text.startsWith("PKCS#10 Certificate Request {\n"));
+    assertTrue(text.contains("Common Name: Test Requester"));
+    assertTrue(text.contains("RSA Public Key"));
+    assertTrue(text.contains("public exponent"));
+    assertTrue(text.contains("secret"));
+    assertTrue(text.contains("Extension 1:   critical   Key Usage (2.5.29.15)"));
+    assertTrue(text.contains("test.example.com"));
+    assertTrue(text.contains("Request Signature:\nAlgorithm"));
+    assertFalse(text.contains("Certificate Signature"));
+
+    String html = request.toHtml("CSR", null, false, true);
+    assertTrue(html.contains("CSR"));
+    assertTrue(html.contains("Test Requester"));
+    assertTrue(html.contains("Request Signature"));
+
+    String json = request.toJson(false, true);
+    assertTrue(json.startsWith("{\"fields\":{\"rows\":[{\"name\":\"Version\",\"value\":\"1\"}"));
+    assertTrue(json.contains("\"oid\":\"2.5.29.17\""));
+    assertTrue(json.endsWith("}}"));
+
+    StringBuilder b = new StringBuilder();
+    request.writeTo(b, RenderOptions.DEFAULT_TEXT);
+    assertEquals(request.toString(), b.toString());
+    assertTrue(request.toPEM().startsWith("-----BEGIN CERTIFICATE REQUEST-----"));
+  }
+}
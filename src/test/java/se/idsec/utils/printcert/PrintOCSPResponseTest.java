@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.security.cert.CertificateFactory;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Date;
+
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cert.ocsp.BasicOCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.CertificateID;
+import org.bouncycastle.cert.ocsp.CertificateStatus;
+import org.bouncycastle.cert.ocsp.OCSPResp;
+import org.bouncycastle.cert.ocsp.OCSPRespBuilder;
+import org.bouncycastle.cert.ocsp.RespID;
+import org.bouncycastle.cert.ocsp.RevokedStatus;
+import org.bouncycastle.cert.ocsp.UnknownStatus;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.bc.BcDigestCalculatorProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import se.idsec.utils.printcert.display.RenderCache;
+import se.idsec.utils.printcert.display.RenderOptions;
+
+/**
+ * Print OCSP response tests
+ */
+class PrintOCSPResponseTest {
+
+  private static KeyPair keyPair;
+  private static X509CertificateHolder caCert;
+  private static X509CertificateHolder responderCert;
+
+  @BeforeAll
+  static void init() throws Exception {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+    KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+    kpg.initialize(new ECGenParameterSpec("secp256r1"));
+    keyPair = kpg.generateKeyPair();
+    caCert = getCert("cacert.crt");
+    responderCert = getCert("signcert.crt");
+  }
+
+  @Test void testPrintResponse() throws Exception {
+    PrintOCSPResponse response = new PrintOCSPResponse(getResponse(1, responderCert, responderCert).getEncoded());
+    assertEquals(OCSPRespBuilder.SUCCESSFUL, response.getStatus());
+    assertEquals(2, response.getCertificates().size());
+
+    RenderCache renderCache = new RenderCache(1024 * 1024);
+    StringBuilder b = new StringBuilder();
+    response.writeTo(b, RenderOptions.DEFAULT_TEXT, renderCache);
+    String text = b.toString();
+    assertTrue(text.startsWith("OCSP Response {\nResponse status: successful (0)\n"));
+    assertTrue(text.contains("Responder ID   : " + responderCert.getSubject()));
+    assertTrue(text.contains("Single response 1:\n  Serial number     : 1\n"));
+    assertTrue(text.contains("  Certificate status: good\n"));
+    assertTrue(text.contains("Single response 2:"));
+    assertTrue(text.contains("  Certificate status: revoked\n"));
+    assertTrue(text.contains("  Reason            : keyCompromise\n"));
+    assertTrue(text.contains("  Certificate status: unknown\n"));
+    assertTrue(text.contains("Extension 1:   not critical   OCSP Nonce (1.3.6.1.5.5.7.48.1.2)\n  Nonce: 01\n"));
+    assertTrue(text.contains("Response Signature:\nAlgorithm: SHA256WITHECDSA"));
+    assertTrue(text.contains("Certificate 1 of 1:\nX.509 Certificate {"));
+    assertFalse(text.contains("Certificate 2 of"));
+    assertEquals(1, renderCache.getMissCount());
+
+    // The same responder certificate in another response is rendered from the cache
+    PrintOCSPResponse response2 = new PrintOCSPResponse(getResponse(2, responderCert));
+    response2.writeTo(new StringBuilder(), RenderOptions.DEFAULT_TEXT, renderCache);
+    assertEquals(1, renderCache.getMissCount());
+    assertEquals(1, renderCache.getHitCount());
+
+    String html = response.toHtml("OCSP", null, false, true);
+    assertTrue(html.contains("Single response 3"));
+    assertTrue(html.contains("Response Signature"));
+    assertTrue(html.endsWith(
+      PrintCertificate.getLazyInstance(responderCert).render(RenderOptions.html(null, null, false, true))));
+
+    String json = response.toJson(false, true);
+    assertTrue(json.startsWith("{\"fields\":{\"rows\":[{\"name\":\"Response status\",\"value\":\"successful (0)\"}"));
+    assertTrue(json.contains("\"responses\":[{\"rows\":[{\"name\":\"Serial number\",\"value\":\"1\"}"));
+    assertTrue(json.contains("\"certificates\":[{\"fields\":"));
+    assertTrue(json.endsWith("}]}"));
+  }
+
+  @Test void testUnsuccessfulResponse() throws Exception {
+    PrintOCSPResponse response = new PrintOCSPResponse(new OCSPRespBuilder().build(OCSPRespBuilder.TRY_LATER, null));
+    assertNull(response.getBasicResponse());
+    assertTrue(response.getCertificates().isEmpty());
+    assertEquals("OCSP Response {\nResponse status: tryLater (3)\n\n}", response.toString());
+    assertEquals("{\"fields\":{\"rows\":[{\"name\":\"Response status\",\"value\":\"tryLater (3)\"}]},"
+      + "\"responses\":[],\"extensions\":[],\"signature\":null,\"certificates\":[]}", response.toJson(false, false));
+  }
+
+  private OCSPResp getResponse(int nonce, X509CertificateHolder... certs) throws Exception {
+    BcDigestCalculatorProvider digestProvider = new BcDigestCalculatorProvider();
+    BasicOCSPRespBuilder builder = new BasicOCSPRespBuilder(new RespID(responderCert.getSubject()));
+    Date now = new Date();
+    builder.addResponse(new CertificateID(digestProvider.get(CertificateID.HASH_SHA1), caCert, BigInteger.ONE),
+      CertificateStatus.GOOD);
+    builder.addResponse(new CertificateID(digestProvider.get(CertificateID.HASH_SHA1), caCert, BigInteger.TWO),
+      new RevokedStatus(now, CRLReason.keyCompromise));
+    builder.addResponse(new CertificateID(digestProvider.get(CertificateID.HASH_SHA1), caCert, BigInteger.TEN),
+      new UnknownStatus(), now, new Date(now.getTime() + 3600000L));
+    builder.setResponseExtensions(new Extensions(new Extension(OCSPObjectIdentifiers.id_pkix_ocsp_nonce, false,
+      new DEROctetString(BigInteger.valueOf(nonce).toByteArray()))));
+    return new OCSPRespBuilder().build(OCSPRespBuilder.SUCCESSFUL,
+      builder.build(new JcaContentSignerBuilder("SHA256withECDSA").build(keyPair.getPrivate()), certs, now));
+  }
+
+  private static X509CertificateHolder getCert(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return new X509CertificateHolder(cf.generateCertificate(
+      PrintOCSPResponseTest.class.getResourceAsStream("/" + certResourceName)).getEncoded());
+  }
+}
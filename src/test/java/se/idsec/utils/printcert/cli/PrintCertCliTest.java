@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.cli;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Security;
+import java.security.cert.CertificateFactory;
+import java.util.List;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.utils.CertUtils;
+
+/**
+ * Command line tool tests
+ */
+class PrintCertCliTest {
+
+  private static PrintCertificate root;
+  private static PrintCertificate ca;
+  private static PrintCertificate leaf;
+
+  @BeforeAll
+  static void init() throws Exception {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+    root = getCert("root.crt");
+    ca = getCert("cacert.crt");
+    leaf = getCert("signcert.crt");
+  }
+
+  @Test void testFormatsAndOrder(@TempDir Path dir) throws Exception {
+    Files.write(dir.resolve("a-root.pem"), root.toPEM().getBytes(StandardCharsets.US_ASCII));
+    Files.write(dir.resolve("b-ca.der"), ca.getEncoded());
+    Files.write(dir.resolve("c-chain.p7b"), CertUtils.getPKCS7(List.of(leaf, ca)));
+    Files.write(dir.resolve("d-bundle.crt"), (leaf.toPEM() + "\n" + root.toPEM()).getBytes(StandardCharsets.US_ASCII));
+    Files.write(dir.resolve("notes.txt"), "not a certificate".getBytes(StandardCharsets.US_ASCII));
+
+    Result result = run("--format=json", "--jobs", "3", dir.toString());
+    assertEquals(PrintCertCli.EXIT_OK, result.status, result.err);
+    String[] lines = result.out.split("\n");
+    assertEquals(6, lines.length);
+    assertTrue(lines[0].startsWith("{\"file\":\"" + dir.resolve("a-root.pem") + "\",\"index\":0,\"certificate\":"));
+    assertEquals("{\"file\":\"" + dir.resolve("b-ca.der") + "\",\"index\":0,\"certificate\":" + ca.toJson(false, false)
+      + "}", lines[1]);
+    assertTrue(lines[2].contains("c-chain.p7b\",\"index\":0"));
+    assertTrue(lines[3].contains("c-chain.p7b\",\"index\":1"));
+    assertEquals("{\"file\":\"" + dir.resolve("d-bundle.crt") + "\",\"index\":1,\"certificate\":"
+      + root.toJson(false, false) + "}", lines[5]);
+    assertTrue(result.err.startsWith("Processed 4 files with 6 certificates and 0 errors in "));
+
+    // Serial processing produces the same output
+    assertEquals(result.out, run("-f", "json", "-j", "1", "-q", dir.toString()).out);
+
+    Result text = run("-q", dir.resolve("b-ca.der").toString());
+    assertEquals("File: " + dir.resolve("b-ca.der") + "\n" + ca.toString(false) + "\n\n", text.out);
+    assertEquals("", text.err);
+
+    Result html = run("-q", "-f", "html", dir.resolve("d-bundle.crt").toString());
+    assertTrue(html.out.contains(dir.resolve("d-bundle.crt") + " (certificate 2 of 2)"));
+  }
+
+  @Test void testGlobAndErrors(@TempDir Path dir) throws Exception {
+    Path sub = Files.createDirectories(dir.resolve("sub"));
+    Files.write(sub.resolve("ca.pem"), ca.toPEM().getBytes(StandardCharsets.US_ASCII));
+    Files.write(sub.resolve("leaf.pem"), leaf.toPEM().getBytes(StandardCharsets.US_ASCII));
+    Files.write(sub.resolve("leaf.der"), leaf.getEncoded());
+    Files.write(dir.resolve("bad.pem"), "garbage".getBytes(StandardCharsets.US_ASCII));
+
+    Result glob = run("-q", "-f", "json", dir + "/*/*.pem");
+    assertEquals(PrintCertCli.EXIT_OK, glob.status);
+    String[] lines = glob.out.split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].contains("ca.pem"));
+    assertTrue(lines[1].contains("leaf.pem"));
+    assertEquals(3, run("-q", "-f", "json", dir + "/**.{pem,der}").out.split("\n").length);
+
+    Result bad = run(dir.resolve("bad.pem").toString(), sub.resolve("ca.pem").toString());
+    assertEquals(PrintCertCli.EXIT_ERRORS, bad.status);
+    assertTrue(bad.err.startsWith(dir.resolve("bad.pem") + ": Unrecognized certificate file format\n"));
+    assertTrue(bad.err.contains("Processed 2 files with 1 certificates and 1 errors"));
+    assertTrue(bad.out.startsWith("File: " + sub.resolve("ca.pem")));
+
+    assertEquals(PrintCertCli.EXIT_USAGE, run("--jobs", "0", dir.toString()).status);
+    assertEquals(PrintCertCli.EXIT_USAGE, run("--format", "xml", dir.toString()).status);
+    assertEquals(PrintCertCli.EXIT_USAGE, run(dir.resolve("missing.pem").toString()).status);
+    assertEquals(PrintCertCli.EXIT_USAGE, run().status);
+  }
+
+  private static Result run(String... args) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    int status = PrintCertCli.run(args, out, new PrintStream(err, true, StandardCharsets.UTF_8));
+    return new Result(status, out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8));
+  }
+
+  private static PrintCertificate getCert(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return new PrintCertificate(cf.generateCertificate(
+      PrintCertCliTest.class.getResourceAsStream("/" + certResourceName)).getEncoded());
+  }
+
+  private static final class Result {
+
+    final int status;
+    final String out;
+    final String err;
+
+    Result(int status, String out, String err) {
+      this.status = status;
+      this.out = out;
+      this.err = err;
+    }
+  }
+}
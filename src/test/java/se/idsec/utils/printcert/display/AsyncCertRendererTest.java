@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import se.idsec.utils.printcert.PrintCertificate;
+
+/**
+ * Asynchronous rendering tests
+ */
+class AsyncCertRendererTest {
+
+  @Test void testRenderFuture() throws Exception {
+    AsyncCertRenderer renderer = new AsyncCertRenderer();
+    byte[] certBytes = getCertBytes("signcert.crt");
+    RenderOptions options = RenderOptions.html("X.509 Certificate", null, true, true);
+
+    String html = renderer.render(certBytes, options).get(10, TimeUnit.SECONDS);
+    assertEquals(PrintCertificate.getLazyInstance(certBytes).render(options), html);
+
+    CompletableFuture<String> failed = renderer.render(new byte[] { 0x01, 0x02 }, options);
+    assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test void testPublisherBackPressure() throws Exception {
+    List<byte[]> source = new ArrayList<>();
+    for (String certResourceName : new String[] { "root.crt", "cacert.crt", "signcert.crt", "signcert_rsa.crt" }) {
+      source.add(getCertBytes(certResourceName));
+    }
+    source.add(1, new byte[] { 0x30, 0x00 });
+
+    CompletableFuture<List<RenderResult>> completed = new CompletableFuture<>();
+    new AsyncCertRenderer().publisher(source, RenderOptions.DEFAULT_TEXT).subscribe(new Flow.Subscriber<>() {
+      private final List<RenderResult> results = new ArrayList<>();
+      private Flow.Subscription subscription;
+
+      @Override public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+      }
+
+      @Override public void onNext(RenderResult item) {
+        results.add(item);
+        subscription.request(1);
+      }
+
+      @Override public void onError(Throwable throwable) {
+        completed.completeExceptionally(throwable);
+      }
+
+      @Override public void onComplete() {
+        completed.complete(results);
+      }
+    });
+
+    List<RenderResult> results = completed.get(10, TimeUnit.SECONDS);
+    assertEquals(source.size(), results.size());
+    for (int i = 0; i < results.size(); i++) {
+      assertEquals(i, results.get(i).getIndex());
+      assertEquals(i != 1, results.get(i).isSuccess());
+    }
+    assertTrue(results.get(0).getOutput().startsWith("X.509 Certificate {"));
+  }
+
+  private byte[] getCertBytes(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return cf.generateCertificate(AsyncCertRendererTest.class.getResourceAsStream("/" + certResourceName)).getEncoded();
+  }
+}
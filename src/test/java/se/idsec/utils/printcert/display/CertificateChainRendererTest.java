@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.security.Security;
+import java.security.cert.CertificateFactory;
+import java.util.List;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.enums.FingerprintType;
+
+/**
+ * Certificate chain rendering tests
+ */
+class CertificateChainRendererTest {
+
+  @BeforeAll
+  static void init() {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+  }
+
+  @Test void testOrderChain() throws Exception {
+    PrintCertificate root = getCert("root.crt");
+    PrintCertificate ca = getCert("cacert.crt");
+    PrintCertificate leaf = getCert("signcert.crt");
+
+    List<PrintCertificate> ordered = CertificateChainRenderer.orderChain(List.of(root, leaf, ca, getCert("root.crt")));
+    assertEquals(List.of(leaf, ca, root), ordered);
+  }
+
+  @Test void testRenderSharedIssuers() throws Exception {
+    PrintCertificate root = getCert("root.crt");
+    PrintCertificate ca = getCert("cacert.crt");
+    PrintCertificate leaf = getCert("signcert.crt");
+    RenderCache renderCache = new RenderCache(RenderCache.DEFAULT_MAX_BYTES);
+    CertificateChainRenderer renderer = new CertificateChainRenderer(renderCache);
+    RenderOptions options = RenderOptions.html(null, null, false, true);
+
+    String html = renderer.render(List.of(root, ca, leaf), options);
+    assertEquals(3, renderCache.getMissCount());
+    assertTrue(html.indexOf(leaf.toHtml(null, false, true)) < html.indexOf(ca.toHtml(null, false, true)));
+    String caAnchor = "cert-" + Hex.toHexString(ca.getFingerprint(FingerprintType.sha256));
+    assertTrue(html.contains("<a id='" + caAnchor + "'/>"));
+    assertTrue(html.contains("<a href='#" + caAnchor + "'>"));
+
+    renderer.render(List.of(getCert("signcert.crt"), getCert("cacert.crt"), getCert("root.crt")), options);
+    assertEquals(3, renderCache.getMissCount());
+    assertEquals(3, renderCache.getHitCount());
+
+    String text = renderer.render(List.of(root, ca, leaf), RenderOptions.DEFAULT_TEXT);
+    assertTrue(text.startsWith("Certificate 1 of 3\n" + leaf.toString()));
+    assertTrue(text.contains("Issued by: certificate 2 (" + ca.getSubject() + ")"));
+    assertThrows(IllegalArgumentException.class, () -> renderer.render(List.of(leaf), RenderOptions.json(false, false)));
+  }
+
+  private PrintCertificate getCert(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return PrintCertificate.getLazyInstance(cf.generateCertificate(
+      CertificateChainRendererTest.class.getResourceAsStream("/" + certResourceName)).getEncoded());
+  }
+}
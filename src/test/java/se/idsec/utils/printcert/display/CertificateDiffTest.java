@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.security.cert.CertificateFactory;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+
+/**
+ * Certificate diff tests
+ */
+class CertificateDiffTest {
+  Logger log = LoggerFactory.getLogger(CertificateDiffTest.class);
+
+  @BeforeAll
+  static void init() {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+  }
+
+  @Test void testIdentical() throws Exception {
+    PrintCertificate cert = getCert("signcert.crt");
+    CertificateDiff diff = CertificateDiff.compare(cert, PrintCertificate.getLazyInstance(cert.getEncoded()));
+    assertTrue(diff.isIdentical());
+    assertEquals("Certificate differences {\n}", diff.toText());
+  }
+
+  @Test void testDifferences() throws Exception {
+    PrintCertificate oldCert = getCert("cacert.crt");
+    PrintCertificate newCert = getCert("signcert.crt");
+    CertificateDiff diff = CertificateDiff.compare(oldCert, newCert, true);
+    log.info("Certificate diff:\n{}", diff.toText());
+    assertFalse(diff.isIdentical());
+
+    Set<String> changedFields = new HashSet<>();
+    Set<String> changedExtensions = new HashSet<>();
+    for (CertificateDiff.Difference difference : diff.getDifferences()) {
+      assertFalse(difference.getRemovedRows().isEmpty() && difference.getAddedRows().isEmpty());
+      if (!difference.getAddedRows().isEmpty()) {
+        difference.getAddedRows().get(0)[1] = "modified";
+        assertNotEquals("modified", difference.getAddedRows().get(0)[1]);
+      }
+      if (difference.getOid() == null) {
+        changedFields.add(difference.getName());
+      }
+      else {
+        changedExtensions.add(difference.getOid().getId());
+      }
+    }
+    assertTrue(changedFields.contains("Serial number"));
+    assertTrue(changedFields.contains("Subject"));
+    assertTrue(changedFields.contains("Signature"));
+    assertEquals(!oldCert.getIssuer().equals(newCert.getIssuer()), changedFields.contains("Issuer"));
+    assertTrue(changedExtensions.contains(Extension.subjectKeyIdentifier.getId()));
+
+    for (ExtensionInfo oldExtension : oldCert.getExtensionInfoList()) {
+      ExtensionInfo newExtension = newCert.getExtensionInfo(oldExtension.getOid().getId());
+      boolean identical = newExtension != null && oldExtension.isCritical() == newExtension.isCritical()
+        && oldExtension.getExtDataBuffer().equals(newExtension.getExtDataBuffer());
+      assertEquals(identical, !changedExtensions.contains(oldExtension.getOid().getId()));
+    }
+
+    String html = diff.toHtml("Certificate differences", null);
+    assertTrue(html.contains("Serial number - changed"));
+    assertTrue(html.contains(DisplayCert.DEF_TABLE_CLASSES.getTableClasses()));
+  }
+
+  @Test void testSignatureValueDifference() throws Exception {
+    // ECDSA signatures are randomized, so signing the same certificate content twice gives different signatures
+    KeyPair keyPair = KeyPairGenerator.getInstance("EC", "BC").generateKeyPair();
+    PrintCertificate oldCert = issueCertificate(keyPair, "SHA256withECDSA");
+    PrintCertificate newCert = issueCertificate(keyPair, "SHA256withECDSA");
+    assertEquals(oldCert.getTBSCertificate(), newCert.getTBSCertificate());
+
+    CertificateDiff diff = CertificateDiff.compare(oldCert, newCert);
+    assertFalse(diff.isIdentical());
+    assertEquals(1, diff.getDifferences().size());
+    CertificateDiff.Difference difference = diff.getDifferences().get(0);
+    assertEquals("Signature", difference.getName());
+    assertEquals("Signature fingerprint", difference.getRemovedRows().get(0)[0]);
+    assertFalse(diff.toText().contains(Hex.toHexString(oldCert.getSignature())));
+
+    CertificateDiff verboseDiff = CertificateDiff.compare(oldCert, newCert, true);
+    assertEquals(1, verboseDiff.getDifferences().size());
+    assertEquals(Hex.toHexString(newCert.getSignature()),
+      verboseDiff.getDifferences().get(0).getAddedRows().get(0)[1]);
+  }
+
+  @Test void testSignatureAlgorithmNames() throws Exception {
+    KeyPair pssKeyPair = KeyPairGenerator.getInstance("RSASSA-PSS", "BC").generateKeyPair();
+    KeyPair edKeyPair = KeyPairGenerator.getInstance("Ed25519", "BC").generateKeyPair();
+    CertificateDiff diff = CertificateDiff.compare(
+      issueCertificate(pssKeyPair, "SHA256withRSAandMGF1"), issueCertificate(edKeyPair, "Ed25519"));
+    CertificateDiff.Difference algorithmDifference = diff.getDifferences().stream()
+      .filter(difference -> "Signature algorithm".equals(difference.getName()))
+      .findFirst().orElseThrow();
+    assertEquals("SHA256withRSAandMGF1", algorithmDifference.getRemovedRows().get(0)[1]);
+    assertEquals("Ed25519", algorithmDifference.getAddedRows().get(0)[1]);
+  }
+
+  private PrintCertificate issueCertificate(KeyPair keyPair, String signatureAlgorithm) throws Exception {
+    X500Name name = new X500Name("CN=Diff test");
+    return new PrintCertificate(new JcaX509v3CertificateBuilder(name, BigInteger.ONE, new Date(0L),
+      new Date(4102444800000L), name, keyPair.getPublic())
+      .build(new JcaContentSignerBuilder(signatureAlgorithm).setProvider("BC").build(keyPair.getPrivate())));
+  }
+
+  private PrintCertificate getCert(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return PrintCertificate.getLazyInstance(cf.generateCertificate(
+      CertificateDiffTest.class.getResourceAsStream("/" + certResourceName)).getEncoded());
+  }
+}
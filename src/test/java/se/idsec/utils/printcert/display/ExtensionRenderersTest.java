@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.DERUTF8String;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.junit.jupiter.api.Test;
+
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+
+/**
+ * Extension renderer tests
+ */
+class ExtensionRenderersTest {
+
+  static final ASN1ObjectIdentifier TEST_OID = new ASN1ObjectIdentifier("1.2.752.201.99.1");
+
+  @Test void testServiceLoaderRenderer() throws Exception {
+    assertTrue(ExtensionRenderers.getRenderer(TEST_OID) instanceof TestRenderer);
+    UnitDisplayData dispData = ExtensionRenderers.render(getExtension(TEST_OID, new DERUTF8String("private data").getEncoded()), 3);
+    assertEquals("Test Extension", dispData.getName());
+    assertEquals(3, dispData.getSequence());
+    assertEquals("private data", dispData.getDataArray().get(0)[1]);
+  }
+
+  @Test void testCachedRendering() throws Exception {
+    assertTrue(ExtensionRenderers.getRenderer(Extension.keyUsage).isCacheable());
+    byte[] keyUsage = new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign).getEncoded();
+    UnitDisplayData first = ExtensionRenderers.render(getExtension(Extension.keyUsage, keyUsage), 1);
+    UnitDisplayData second = ExtensionRenderers.render(getExtension(Extension.keyUsage, keyUsage), 4);
+    UnitDisplayData third = ExtensionRenderers.render(getExtension(Extension.keyUsage, keyUsage), 4);
+    assertEquals(1, first.getSequence());
+    assertEquals(4, second.getSequence());
+    assertNotSame(second, third);
+    assertSame(second.getDataArray(), third.getDataArray());
+    assertEquals("Usage", second.getDataArray().get(0)[0]);
+    assertThrows(UnsupportedOperationException.class, () -> second.getDataArray().add(new String[] { "a", "b" }));
+    first.getDataArray().get(0)[1] = "modified";
+    third.setSequence(7);
+    assertNotEquals("modified", ExtensionRenderers.render(getExtension(Extension.keyUsage, keyUsage), 4).getDataArray().get(0)[1]);
+    assertEquals(4, second.getSequence());
+
+    assertFalse(ExtensionRenderers.getRenderer(Extension.subjectKeyIdentifier).isCacheable());
+    assertFalse(ExtensionRenderers.getRenderer(new ASN1ObjectIdentifier("1.2.3.4")).isCacheable());
+
+    UnitDisplayData unknown = ExtensionRenderers.render(getExtension(new ASN1ObjectIdentifier("1.2.3.4"), new byte[] { 5, 0 }), 0);
+    assertEquals("1.2.3.4", unknown.getId());
+    assertFalse(unknown.isStructured());
+  }
+
+  @Test void testCacheEviction() throws Exception {
+    ExtensionRenderers.clearCache();
+    ExtensionInfo recent = getExtension(Extension.cRLNumber, new ASN1Integer(1000000).getEncoded());
+    ExtensionInfo eldest = getExtension(Extension.cRLNumber, new ASN1Integer(1000001).getEncoded());
+    ExtensionRenderers.render(recent, 0);
+    ExtensionRenderers.render(eldest, 0);
+    List<String[]> recentRows = ExtensionRenderers.render(recent, 0).getDataArray();
+    List<String[]> eldestRows = ExtensionRenderers.render(eldest, 0).getDataArray();
+    for (int i = 0; i < 4 * ExtensionRenderers.MAX_CACHED_EXTENSIONS; i++) {
+      ExtensionRenderers.render(getExtension(Extension.cRLNumber, new ASN1Integer(i).getEncoded()), 0);
+      if (i % 16 == 0) {
+        ExtensionRenderers.render(recent, 0);
+      }
+    }
+    assertSame(recentRows, ExtensionRenderers.render(recent, 0).getDataArray());
+    assertNotSame(eldestRows, ExtensionRenderers.render(eldest, 0).getDataArray());
+  }
+
+  private ExtensionInfo getExtension(ASN1ObjectIdentifier oid, byte[] value) throws Exception {
+    ExtensionInfo extensionInfo = new ExtensionInfo(0);
+    extensionInfo.setOid(oid);
+    extensionInfo.setExtData(value);
+    extensionInfo.setExtDataASN1(ASN1ObjectIdentifier.fromByteArray(value).toASN1Primitive());
+    return extensionInfo;
+  }
+
+  /**
+   * Renderer registered through META-INF/services in the test resources
+   */
+  public static class TestRenderer implements ExtensionRenderer {
+
+    @Override public Collection<ASN1ObjectIdentifier> getOids() {
+      return List.of(TEST_OID);
+    }
+
+    @Override public UnitDisplayData render(ExtensionInfo extension, int index) {
+      List<String[]> dataArray = new ArrayList<>();
+      dataArray.add(new String[] { "Value", DERUTF8String.getInstance(extension.getExtDataASN1()).getString() });
+      return new UnitDisplayData("Test Extension", extension.getOid().getId(), index, extension.isCritical(), dataArray);
+    }
+  }
+}
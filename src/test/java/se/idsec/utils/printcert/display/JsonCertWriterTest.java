@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.display;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Security;
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+
+/**
+ * JSON output tests
+ */
+class JsonCertWriterTest {
+
+  @BeforeAll
+  static void init() {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+  }
+
+  @Test void testWriteString() throws Exception {
+    StringBuilder b = new StringBuilder();
+    JsonCertWriter.writeString("a\"b\\c\nd\u0001e\u2028", b);
+    assertEquals("\"a\\\"b\\\\c\\nd\\u0001e\\u2028\"", b.toString());
+    b.setLength(0);
+    JsonCertWriter.writeString(null, b);
+    assertEquals("null", b.toString());
+  }
+
+  @Test void testErrorObject() {
+    assertEquals("{\"error\":\"Failed: \\\"x\\\"\"}", JsonCertWriter.getErrorObject("Failed: \"x\""));
+  }
+
+  @Test void testJsonLines() throws Exception {
+    List<PrintCertificate> certificates = new ArrayList<>();
+    for (String certResourceName : new String[] { "root.crt", "cacert.crt", "signcert.crt", "signcert_rsa.crt" }) {
+      CertificateFactory cf = CertificateFactory.getInstance("X.509");
+      certificates.add(PrintCertificate.getLazyInstance(cf.generateCertificate(
+        JsonCertWriterTest.class.getResourceAsStream("/" + certResourceName)).getEncoded()));
+    }
+    RenderOptions options = RenderOptions.json(true, true);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DisplayCert.writeJsonLines(certificates, options, out);
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(certificates.size(), lines.length);
+    for (int i = 0; i < lines.length; i++) {
+      PrintCertificate cert = certificates.get(i);
+      String json = lines[i];
+      assertEquals(cert.toJson(true, true), json);
+      assertWellFormed(json);
+      assertTrue(json.startsWith("{\"fields\":{\"rows\":[{\"name\":\"Version\",\"value\":\"3\"}"));
+      assertTrue(json.contains("\"signature\":{\"rows\":[{\"name\":\"Signature Algorithm\""));
+      for (ExtensionInfo extensionInfo : cert.getExtensionInfoList()) {
+        assertTrue(json.contains("{\"index\":" + extensionInfo.getSequenceNumber() + ",\"oid\":\""
+          + extensionInfo.getOid().getId() + "\""));
+      }
+    }
+    assertThrows(IllegalArgumentException.class,
+      () -> DisplayCert.writeJsonLines(certificates, RenderOptions.DEFAULT_TEXT, new StringBuilder()));
+  }
+
+  private static void assertWellFormed(String json) {
+    int depth = 0;
+    boolean inString = false;
+    for (int i = 0; i < json.length(); i++) {
+      char c = json.charAt(i);
+      assertTrue(c >= 0x20, "Unescaped control character");
+      if (inString) {
+        if (c == '\\') {
+          i++;
+        }
+        else if (c == '"') {
+          inString = false;
+        }
+      }
+      else if (c == '"') {
+        inString = true;
+      }
+      else if (c == '{' || c == '[') {
+        depth++;
+      }
+      else if (c == '}' || c == ']') {
+        depth--;
+        assertTrue(depth >= 0 && (depth > 0 || i == json.length() - 1));
+      }
+    }
+    assertFalse(inString);
+    assertEquals(0, depth);
+  }
+}
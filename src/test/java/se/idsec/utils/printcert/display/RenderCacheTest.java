@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package se.idsec.utils.printcert.display;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Security;
+import java.security.cert.CertificateFactory;
+import java.util.Date;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.utils.OidRegistry;
+
+/**
+ * Render cache tests
+ */
+class RenderCacheTest {
+
+  @BeforeAll
+  static void init() {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+  }
+
+  @Test void testContentAddressedHits() throws Exception {
+    RenderCache cache = new RenderCache(1024 * 1024, 4);
+    byte[] certBytes = getCertBytes("cacert.crt");
+    RenderOptions options = RenderOptions.html("X.509 Certificate", null, true, true);
+
+    String html = cache.render(new PrintCertificate(certBytes), options);
+    assertSame(html, cache.render(PrintCertificate.getLazyInstance(certBytes), options));
+    assertSame(html, cache.render(new PrintCertificate(certBytes), RenderOptions.html("X.509 Certificate", null, true, true)));
+    assertNotSame(html, cache.render(new PrintCertificate(certBytes), RenderOptions.html(null, null, true, true)));
+
+    assertEquals(2, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(2, cache.size());
+    assertTrue(cache.getRetainedBytes() > 2L * html.length());
+  }
+
+  @Test void testSizeBasedEviction() throws Exception {
+    PrintCertificate cert = new PrintCertificate(getCertBytes("signcert_rsa.crt"));
+    int htmlSize = cert.toHtml(true).length();
+    RenderCache cache = new RenderCache(3L * htmlSize, 1);
+
+    for (int i = 0; i < 5; i++) {
+      cache.render(cert, RenderOptions.html("Heading " + i, null, true, true));
+    }
+    assertTrue(cache.getRetainedBytes() <= cache.getMaxBytes());
+    assertTrue(cache.getEvictionCount() >= 3);
+    assertNull(cache.getIfPresent(cert, RenderOptions.html("Heading 0", null, true, true)));
+    assertNotNull(cache.getIfPresent(cert, RenderOptions.html("Heading 4", null, true, true)));
+  }
+
+  @Test void testRegisteredDisplayNames() throws Exception {
+    ASN1ObjectIdentifier extensionOid = new ASN1ObjectIdentifier("1.2.752.201.98.1");
+    KeyPair keyPair = KeyPairGenerator.getInstance("EC", "BC").generateKeyPair();
+    X500Name name = new X500Name("CN=Display name test");
+    byte[] certBytes = new JcaX509v3CertificateBuilder(name, BigInteger.ONE, new Date(0L), new Date(4102444800000L),
+      name, keyPair.getPublic())
+      .addExtension(extensionOid, false, new DEROctetString(new byte[] { 1, 2, 3 }))
+      .build(new JcaContentSignerBuilder("SHA256withECDSA").setProvider("BC").build(keyPair.getPrivate()))
+      .getEncoded();
+
+    RenderCache cache = new RenderCache(1024 * 1024, 4);
+    PrintCertificate memoizedCert = new PrintCertificate(certBytes);
+    memoizedCert.setMemoizeRenderResults(true);
+    String cachedText = cache.render(new PrintCertificate(certBytes), RenderOptions.DEFAULT_TEXT);
+    String memoizedText = memoizedCert.render(RenderOptions.DEFAULT_TEXT);
+    assertTrue(cachedText.contains("Unkown extension (1.2.752.201.98.1)"));
+    assertSame(memoizedText, memoizedCert.render(RenderOptions.DEFAULT_TEXT));
+
+    OidRegistry.register(extensionOid, "Display name test extension");
+    String expected = "Display name test extension (1.2.752.201.98.1)";
+    assertTrue(cache.render(new PrintCertificate(certBytes), RenderOptions.DEFAULT_TEXT).contains(expected));
+    assertTrue(memoizedCert.render(RenderOptions.DEFAULT_TEXT).contains(expected));
+    assertTrue(memoizedCert.toString().contains(expected));
+    StringBuilder written = new StringBuilder();
+    memoizedCert.writeTo(written, RenderOptions.DEFAULT_TEXT);
+    assertTrue(written.toString().contains(expected));
+  }
+
+  private byte[] getCertBytes(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return cf.generateCertificate(RenderCacheTest.class.getResourceAsStream("/" + certResourceName)).getEncoded();
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.extension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.ASN1Primitive;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Extension info tests
+ */
+class ExtensionInfoTest {
+
+  @Test void testDecodeOnFirstAccess() throws Exception {
+    ExtensionInfo extensionInfo = new ExtensionInfo(0);
+    extensionInfo.setExtData(ByteBuffer.wrap(new ASN1Integer(42).getEncoded()));
+    assertNull(extensionInfo.extDataASN1);
+    ASN1Primitive decoded = extensionInfo.getExtDataASN1();
+    assertEquals(new ASN1Integer(42), decoded);
+    assertSame(decoded, extensionInfo.getExtDataASN1());
+  }
+
+  @Test void testUndecodableDataIsNotRetried() throws Exception {
+    byte[] extData = new byte[] { 0x30, 0x05, 0x02 };
+    ExtensionInfo extensionInfo = new ExtensionInfo(0);
+    extensionInfo.setExtData(extData);
+    assertNull(extensionInfo.getExtDataASN1());
+
+    // Valid data in the same array is not decoded once decoding has failed
+    System.arraycopy(new ASN1Integer(1).getEncoded(), 0, extData, 0, 3);
+    assertNull(extensionInfo.getExtDataASN1());
+
+    extensionInfo.setExtData(extData);
+    assertEquals(new ASN1Integer(1), extensionInfo.getExtDataASN1());
+  }
+
+  @Test void testSetExtDataResetsDecodedValue() throws Exception {
+    ExtensionInfo extensionInfo = new ExtensionInfo(0);
+    extensionInfo.setExtData(new ASN1Integer(1).getEncoded());
+    assertEquals(new ASN1Integer(1), extensionInfo.getExtDataASN1());
+    extensionInfo.setExtData(new ASN1Integer(2).getEncoded());
+    assertEquals(new ASN1Integer(2), extensionInfo.getExtDataASN1());
+    extensionInfo.setExtData(ByteBuffer.wrap(new ASN1Integer(3).getEncoded()));
+    assertEquals(new ASN1Integer(3), extensionInfo.getExtDataASN1());
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.security.Security;
+import java.security.cert.CertificateFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import se.idsec.utils.printcert.PrintCertificate;
+
+/**
+ * Certificate index tests
+ */
+class CertificateIndexTest {
+
+  @BeforeAll
+  static void init() {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+  }
+
+  @Test void testLookup() throws Exception {
+    PrintCertificate root = getCert("root.crt");
+    PrintCertificate ca = getCert("cacert.crt");
+    PrintCertificate leaf = getCert("signcert.crt");
+    PrintCertificate rsaLeaf = getCert("signcert_rsa.crt");
+    CertificateIndex index = new CertificateIndex();
+    index.addAll(List.of(root, ca, leaf, rsaLeaf));
+    assertEquals(4, index.size());
+    assertSame(ca, index.get(1));
+
+    assertEquals(List.of(ca), index.findAttribute(CertificateIndex.IndexField.subjectAttribute, BCStyle.CN,
+      "SIGN SERVICE CA 01"));
+    assertEquals(List.of(root, ca), index.findAttributeByPrefix(CertificateIndex.IndexField.subjectAttribute,
+      BCStyle.CN, "sign service"));
+    List<PrintCertificate> issuedByCa = index.findAttribute(CertificateIndex.IndexField.issuerAttribute, BCStyle.CN,
+      "Sign service CA 01");
+    assertTrue(issuedByCa.contains(leaf));
+    assertFalse(issuedByCa.contains(ca));
+    assertTrue(index.findAttributeByPrefix(CertificateIndex.IndexField.subjectAttribute, BCStyle.CN, "zz").isEmpty());
+
+    assertEquals(List.of(leaf), index.findSerialNumber(leaf.getSerialNumber()));
+    byte[] caKeyId = ca.getSubjectKeyInfo();
+    assertEquals(List.of(ca), index.find(CertificateIndex.IndexField.subjectKeyId, caKeyId));
+    assertEquals(List.of(ca), index.find(CertificateIndex.IndexField.authorityKeyId, root.getSubjectKeyInfo()));
+    assertEquals(List.of(ca), index.findByPrefix(CertificateIndex.IndexField.subjectKeyId,
+      Arrays.copyOf(caKeyId, 4)));
+    assertThrows(IllegalArgumentException.class,
+      () -> index.find(CertificateIndex.IndexField.subjectAttribute, caKeyId));
+  }
+
+  @Test void testSharedKeys() throws Exception {
+    PrintCertificate ca = getCert("cacert.crt");
+    PrintCertificate leaf = getCert("signcert.crt");
+    CertificateIndex index = new CertificateIndex();
+    for (int i = 0; i < 1000; i++) {
+      index.add(i % 2 == 0 ? leaf : ca);
+    }
+    List<PrintCertificate> leaves = index.findSerialNumber(leaf.getSerialNumber());
+    assertEquals(500, leaves.size());
+    assertTrue(leaves.stream().allMatch(cert -> cert == leaf));
+    List<PrintCertificate> byIssuerPrefix = index.findAttributeByPrefix(CertificateIndex.IndexField.issuerAttribute,
+      BCStyle.CN, "sign service");
+    assertEquals(1000, byIssuerPrefix.size());
+    for (int i = 0; i < byIssuerPrefix.size(); i++) {
+      assertSame(index.get(i), byIssuerPrefix.get(i));
+    }
+  }
+
+  private PrintCertificate getCert(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return PrintCertificate.getLazyInstance(cf.generateCertificate(
+      CertificateIndexTest.class.getResourceAsStream("/" + certResourceName)).getEncoded());
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.security.Security;
+import java.security.cert.CertificateFactory;
+import java.util.List;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import se.idsec.utils.printcert.PrintCertificate;
+import se.idsec.utils.printcert.display.UnitType;
+
+/**
+ * Certificate text index tests
+ */
+class CertificateTextIndexTest {
+
+  @BeforeAll
+  static void init() {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+  }
+
+  @Test void testSearch() throws Exception {
+    PrintCertificate root = getCert("root.crt");
+    PrintCertificate ca = getCert("cacert.crt");
+    PrintCertificate leaf = getCert("signcert.crt");
+    CertificateTextIndex index = new CertificateTextIndex();
+    index.add(root);
+    index.add(ca);
+    index.add(leaf);
+    assertEquals(3, index.size());
+
+    List<CertificateTextIndex.Match> matches = index.searchSections(
+      "https://sandbox.swedenconnect.se/sigca/crl/ca01.crl");
+    assertEquals(1, matches.size());
+    assertSame(leaf, matches.get(0).getCertificate());
+    assertEquals(UnitType.extension, matches.get(0).getSection().getType());
+    assertEquals("2.5.29.31", matches.get(0).getSection().getId());
+    matches.get(0).getSection().getDataArray().get(0)[1] = "modified";
+    assertNotEquals("modified", matches.get(0).getSection().getDataArray().get(0)[1]);
+    assertEquals(1, index.searchSections("ca01.crl").size());
+
+    assertEquals(List.of(leaf), index.searchCertificates("personalIdentityNumber Majlis"));
+    assertTrue(index.searchSections("personalIdentityNumber Majlis").stream()
+      .allMatch(match -> match.getCertificate() == leaf));
+    assertEquals(List.of(leaf), index.searchCertificates("1.2.752.201.5.1"));
+    assertEquals(List.of(ca), index.searchCertificates("keyCertSign \"Sign service root CA 01\" sigroot.crl"));
+    assertTrue(index.searchCertificates("no-such-term").isEmpty());
+    assertTrue(index.searchSections("   ").isEmpty());
+  }
+
+  private PrintCertificate getCert(String certResourceName) throws Exception {
+    CertificateFactory cf = CertificateFactory.getInstance("X.509");
+    return PrintCertificate.getLazyInstance(cf.generateCertificate(
+      CertificateTextIndexTest.class.getResourceAsStream("/" + certResourceName)).getEncoded());
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x509.Certificate;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.bouncycastle.asn1.x509.TBSCertificate;
+import org.junit.jupiter.api.Test;
+import se.idsec.utils.printcert.extension.ExtensionInfo;
+
+/**
+ * DER certificate view tests
+ */
+class DerCertificateViewTest {
+
+  @Test void testFieldsMatchParsedCertificate() throws Exception {
+    for (String name : new String[] { "root.crt", "cacert.crt", "signcert.crt", "signcert_rsa.crt" }) {
+      byte[] encoded = PEM.decodePemCert(new String(DerCertificateViewTest.class.getResourceAsStream("/" + name)
+        .readAllBytes(), StandardCharsets.US_ASCII));
+      ByteBuffer direct = ByteBuffer.allocateDirect(encoded.length + 10);
+      direct.put(new byte[5]).put(encoded).put(new byte[5]).position(5);
+      DerCertificateView view = new DerCertificateView(direct);
+      assertEquals(5, direct.position());
+
+      Certificate certificate = Certificate.getInstance(encoded);
+      TBSCertificate tbs = certificate.getTBSCertificate();
+      assertEquals(encoded.length, view.getLength());
+      assertEquals(ByteBuffer.wrap(encoded), view.getEncoded());
+      assertTrue(view.getEncoded().isReadOnly());
+      assertEquals(tbs.getVersionNumber(), view.getVersion());
+      assertField(tbs.getEncoded(), view, DerCertificateView.Field.tbsCertificate);
+      assertField(tbs.getSerialNumber().getEncoded(), view, DerCertificateView.Field.serialNumber);
+      assertField(tbs.getSignature().getEncoded(), view, DerCertificateView.Field.signature);
+      assertField(tbs.getIssuer().getEncoded(), view, DerCertificateView.Field.issuer);
+      assertField(tbs.getSubject().getEncoded(), view, DerCertificateView.Field.subject);
+      assertField(tbs.getSubjectPublicKeyInfo().getEncoded(), view, DerCertificateView.Field.subjectPublicKeyInfo);
+      assertField(certificate.getSignatureAlgorithm().getEncoded(), view, DerCertificateView.Field.signatureAlgorithm);
+      assertField(certificate.getSignature().getEncoded(), view, DerCertificateView.Field.signatureValue);
+      assertFalse(view.hasField(DerCertificateView.Field.issuerUniqueID));
+      assertNull(view.getField(DerCertificateView.Field.subjectUniqueID));
+
+      Extensions extensions = tbs.getExtensions();
+      ASN1ObjectIdentifier[] oids = extensions.getExtensionOIDs();
+      assertEquals(oids.length, view.getExtensionCount());
+      List<ExtensionInfo> extInfoList = CertUtils.getExtensions(view);
+      for (int i = 0; i < oids.length; i++) {
+        Extension extension = extensions.getExtension(oids[i]);
+        assertEquals(oids[i], view.getExtensionOid(i));
+        assertEquals(i, view.indexOfExtension(oids[i]));
+        assertEquals(extension.isCritical(), view.isExtensionCritical(i));
+        assertEquals(ByteBuffer.wrap(extension.getExtnValue().getOctets()), view.getExtensionValue(i));
+        assertEquals(extension.getParsedValue().toASN1Primitive(), extInfoList.get(i).getExtDataASN1());
+        assertArrayEquals(extension.getExtnValue().getOctets(), extInfoList.get(i).getExtData());
+      }
+      assertEquals(-1, view.indexOfExtension(new ASN1ObjectIdentifier("1.2.3.4")));
+    }
+  }
+
+  @Test void testMalformed() {
+    assertThrows(IllegalArgumentException.class, () -> new DerCertificateView(new byte[] { 0x30, 0x05, 0x30, 0x00 }));
+    assertThrows(IllegalArgumentException.class, () -> new DerCertificateView(new byte[] { 0x04, 0x00 }));
+    assertThrows(IllegalArgumentException.class, () -> new DerCertificateView(new byte[0]));
+  }
+
+  private void assertField(byte[] expected, DerCertificateView view, DerCertificateView.Field field) {
+    assertEquals(ByteBuffer.wrap(expected), view.getField(field));
+    ByteBuffer encoded = view.getEncoded();
+    assertEquals(encoded.get(view.getOffset(field)), expected[0]);
+    assertEquals(expected.length, view.getLength(field));
+    assertEquals(view.getLength(field) - view.getValueLength(field), view.getValueOffset(field) - view.getOffset(field));
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Mapped file input stream tests
+ */
+class MappedFileInputStreamTest {
+
+  @Test void testReadAcrossWindows(@TempDir Path dir) throws Exception {
+    byte[] content = new byte[1000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    Path file = dir.resolve("content.bin");
+    Files.write(file, content);
+
+    try (InputStream in = new MappedFileInputStream(file, 64)) {
+      assertEquals(0, in.read());
+      byte[] rest = in.readAllBytes();
+      assertEquals(content.length - 1, rest.length);
+      assertEquals((byte) 64, rest[63]);
+      assertEquals((byte) 999, rest[998]);
+      assertEquals(-1, in.read());
+    }
+    try (InputStream in = new MappedFileInputStream(file)) {
+      assertArrayEquals(content, in.readAllBytes());
+    }
+  }
+}
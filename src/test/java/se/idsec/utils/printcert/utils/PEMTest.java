@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * PEM utility tests
+ */
+class PEMTest {
+
+  @Test void testTrimAndDecode() throws Exception {
+    String root = getPem("root.crt");
+    String signCert = getPem("signcert.crt");
+    byte[] rootBytes = Base64Coder.decodeLines(PEM.trimPemCert(root));
+    byte[] signCertBytes = Base64Coder.decodeLines(PEM.trimPemCert(signCert));
+
+    String chain = "Chain:\r\n" + root.replace("\n", "\r\n") + "\n" + signCert.toLowerCase().substring(0, 28)
+      + signCert.substring(28) + "  \n";
+    assertArrayEquals(signCertBytes, Base64Coder.decodeLines(PEM.trimPemCert(chain)));
+
+    List<byte[]> certs = PEM.decodePemCerts(chain);
+    assertEquals(2, certs.size());
+    assertArrayEquals(rootBytes, certs.get(0));
+    assertArrayEquals(signCertBytes, certs.get(1));
+    assertArrayEquals(rootBytes, PEM.decodePemCert(chain));
+    assertNull(PEM.decodePemCert("no certificate"));
+    assertThrows(IllegalArgumentException.class, () -> PEM.decodePemCerts("-----BEGIN CERTIFICATE-----\nMIIB"));
+  }
+
+  @Test void testRemoveString() {
+    assertEquals("ac", PEM.removeString("aBCxc", "bc"));
+    assertEquals("a", PEM.removeString("abc", "BC"));
+    assertEquals("", PEM.removeString("bc", "bc"));
+  }
+
+  private String getPem(String certResourceName) throws Exception {
+    return new String(PEMTest.class.getResourceAsStream("/" + certResourceName).readAllBytes(), StandardCharsets.US_ASCII);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021-2025 IDsec Solutions AB
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package se.idsec.utils.printcert.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import se.idsec.utils.printcert.PrintCertificate;
+
+/**
+ * PEM bundle reader tests
+ */
+class PemCertificateReaderTest {
+
+  private static final String[] CERTS = { "root.crt", "cacert.crt", "signcert.crt", "signcert_rsa.crt" };
+
+  @BeforeAll
+  static void init() {
+    if (Security.getProvider("BC") == null) {
+      Security.insertProviderAt(new BouncyCastleProvider(), 1);
+    }
+  }
+
+  @Test void testReadBundle(@TempDir Path tempDir) throws Exception {
+    StringBuilder bundle = new StringBuilder("Bundle header text\n");
+    List<byte[]> expected = new ArrayList<>();
+    for (String certResourceName : CERTS) {
+      byte[] pem = PemCertificateReaderTest.class.getResourceAsStream("/" + certResourceName).readAllBytes();
+      expected.add(Base64Coder.decodeLines(PEM.trimPemCert(new String(pem, StandardCharsets.US_ASCII))));
+      bundle.append("subject=").append(certResourceName).append("\r\n");
+      bundle.append(new String(pem, StandardCharsets.US_ASCII).replace("\n", "\r\n")).append("\r\n");
+    }
+    bundle.append("-----BEGIN CERTIFICATE-----\nMIIB*AAA\n-----END CERTIFICATE-----\n");
+    bundle.append(PEM.getPemCert(expected.get(0), "\n"));
+    expected.add(expected.get(0));
+    byte[] bundleBytes = bundle.toString().getBytes(StandardCharsets.US_ASCII);
+
+    Path bundleFile = tempDir.resolve("bundle.pem");
+    Files.write(bundleFile, bundleBytes);
+
+    try (PemCertificateReader reader = new PemCertificateReader(bundleFile)) {
+      assertBundle(reader, expected);
+    }
+    try (PemCertificateReader reader = new PemCertificateReader(ByteBuffer.wrap(bundleBytes))) {
+      assertBundle(reader, expected);
+    }
+    try (PemCertificateReader reader = new PemCertificateReader(new ByteArrayInputStream(bundleBytes), false)) {
+      assertBundle(reader, expected);
+    }
+  }
+
+  private void assertBundle(PemCertificateReader reader, List<byte[]> expected) {
+    for (int i = 0; i < expected.size(); i++) {
+      if (i == CERTS.length) {
+        assertTrue(reader.hasNext());
+        assertThrows(IllegalArgumentException.class, reader::next);
+      }
+      assertTrue(reader.hasNext());
+      PrintCertificate cert = reader.next();
+      assertArrayEquals(expected.get(i), cert.getEncoded());
+      assertTrue(cert.toString().startsWith("X.509 Certificate {"));
+    }
+    assertFalse(reader.hasNext());
+  }
+}